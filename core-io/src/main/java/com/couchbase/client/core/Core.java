@@ -74,6 +74,7 @@ import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.error.RequestCanceledException;
 import com.couchbase.client.core.error.UnsupportedConfigMechanismException;
 import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.netty.kv.NodeHandshakeCache;
 import com.couchbase.client.core.manager.CoreBucketManagerOps;
 import com.couchbase.client.core.manager.CoreCollectionManager;
 import com.couchbase.client.core.msg.CancellationReason;
@@ -247,6 +248,11 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
 
   private final ConnectionString connectionString;
 
+  /**
+   * Shares the handshake results between the KV connections of this core.
+   */
+  private final NodeHandshakeCache handshakeCache = new NodeHandshakeCache();
+
   /**
    * @deprecated Please use {@link #create(CoreEnvironment, Authenticator, ConnectionString)} instead.
    */
@@ -994,6 +1000,14 @@ public class Core implements CoreCouchbaseOps, AutoCloseable {
     return transactionsContext;
   }
 
+  /**
+   * Returns the cache which shares the handshake results between the KV connections of this core.
+   */
+  @Stability.Internal
+  public NodeHandshakeCache handshakeCache() {
+    return handshakeCache;
+  }
+
   @Override
   public void close() {
     shutdown().block();
@@ -39,6 +39,7 @@ import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.json.Mapper;
 import com.couchbase.client.core.manager.CoreBucketManagerOps;
 import com.couchbase.client.core.manager.CoreCollectionManager;
+import com.couchbase.client.core.protostellar.ProtostellarCompression;
 import com.couchbase.client.core.protostellar.ProtostellarContext;
 import com.couchbase.client.core.protostellar.kv.ProtostellarCoreKvBinaryOps;
 import com.couchbase.client.core.protostellar.kv.ProtostellarCoreKvOps;
@@ -76,6 +77,7 @@ public class CoreProtostellar implements CoreCouchbaseOps {
 
   private final ProtostellarPool pool;
   private final ProtostellarContext ctx;
+  private final ProtostellarCompression compression;
 
   public CoreProtostellar(
     final CoreEnvironment env,
@@ -83,6 +85,7 @@ public class CoreProtostellar implements CoreCouchbaseOps {
     final ConnectionString connectionString
   ) {
     this.ctx = new ProtostellarContext(env, authenticator);
+    this.compression = new ProtostellarCompression(env.compressionConfig(), env.meter());
     notNull(connectionString, "connectionString");
 
     checkConnectionStringScheme(connectionString, ConnectionString.Scheme.COUCHBASE2);
@@ -143,6 +146,10 @@ public class CoreProtostellar implements CoreCouchbaseOps {
     return pool;
   }
 
+  public ProtostellarCompression compression() {
+    return compression;
+  }
+
   private final Map<Core.ResponseMetricIdentifier, ValueRecorder> responseMetrics = new ConcurrentHashMap<>();
 
   @Stability.Internal
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.api.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+
+/**
+ * Content which can be encoded straight into a buffer provided by core, instead of into a byte array.
+ * <p>
+ * Core checks for this interface and, where the content does not need to be available as an array (for example
+ * because it is compressed), encodes it once into a pooled buffer which is kept for all attempts of the request.
+ * Otherwise {@link #encoded()} is used as for any other content.
+ */
+@Stability.Internal
+public interface CoreBufferEncodedContent extends CoreEncodedContent {
+
+  /**
+   * Writes the encoded content into the given buffer.
+   * <p>
+   * Afterwards, {@link #flags()} returns the flags of the written content.
+   *
+   * @param buffer the buffer to write the encoded content into.
+   */
+  void encodeTo(ByteBuf buffer);
+
+}
@@ -21,12 +21,14 @@ import com.couchbase.client.core.annotation.Stability;
 import reactor.util.annotation.Nullable;
 
 import java.time.Instant;
+import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
 @Stability.Internal
 public final class CoreGetResult extends CoreKvResult {
-  private final byte[] content;
+  @Nullable private volatile byte[] content;
+  @Nullable private Supplier<byte[]> contentSupplier;
   private final int flags;
   private final long cas;
   @Nullable private final Instant expiry;
@@ -44,6 +46,31 @@ public final class CoreGetResult extends CoreKvResult {
   ) {
     super(keyspace, key, meta);
     this.content = requireNonNull(content);
+    this.contentSupplier = null;
+    this.flags = flags;
+    this.cas = cas;
+    this.expiry = expiry;
+    this.replica = replica;
+  }
+
+  /**
+   * Creates a result whose content is only produced (for example decompressed) when it is first accessed.
+   * <p>
+   * The supplier is called at most once, even if the content is accessed concurrently.
+   */
+  public CoreGetResult(
+      @Nullable CoreKvResponseMetadata meta,
+      CoreKeyspace keyspace,
+      String key,
+      Supplier<byte[]> content,
+      int flags,
+      long cas,
+      @Nullable Instant expiry,
+      boolean replica
+  ) {
+    super(keyspace, key, meta);
+    this.content = null;
+    this.contentSupplier = requireNonNull(content);
     this.flags = flags;
     this.cas = cas;
     this.expiry = expiry;
@@ -51,7 +78,19 @@ public final class CoreGetResult extends CoreKvResult {
   }
 
   public byte[] content() {
-    return content;
+    byte[] result = content;
+    if (result == null) {
+      // The supplier may record metrics (like the bytes saved by compression), so it must only run once.
+      synchronized (this) {
+        result = content;
+        if (result == null) {
+          result = requireNonNull(contentSupplier.get());
+          content = result;
+          contentSupplier = null;
+        }
+      }
+    }
+    return result;
   }
 
   public int flags() {
@@ -21,6 +21,7 @@ import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.CoreKeyspace;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.api.kv.CoreAsyncResponse;
+import com.couchbase.client.core.api.kv.CoreBufferEncodedContent;
 import com.couchbase.client.core.api.kv.CoreDurability;
 import com.couchbase.client.core.api.kv.CoreEncodedContent;
 import com.couchbase.client.core.api.kv.CoreExistsResult;
@@ -42,6 +43,7 @@ import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.RequestTracer;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.config.BucketConfig;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.endpoint.http.CoreCommonOptions;
 import com.couchbase.client.core.error.CasMismatchException;
 import com.couchbase.client.core.error.CouchbaseException;
@@ -71,6 +73,7 @@ import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import com.couchbase.client.core.msg.kv.RemoveRequest;
 import com.couchbase.client.core.msg.kv.ReplaceRequest;
 import com.couchbase.client.core.msg.kv.SubDocumentField;
+import com.couchbase.client.core.msg.kv.SubDocumentOpResponseStatus;
 import com.couchbase.client.core.msg.kv.SubdocCommandType;
 import com.couchbase.client.core.msg.kv.SubdocGetRequest;
 import com.couchbase.client.core.msg.kv.SubdocGetResponse;
@@ -82,6 +85,7 @@ import com.couchbase.client.core.projections.ProjectionsApplier;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.service.kv.ReplicaHelper;
 import com.couchbase.client.core.util.BucketConfigUtil;
+import com.couchbase.client.core.util.NanoTimestamp;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -89,7 +93,9 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
@@ -126,10 +132,27 @@ import static com.couchbase.client.core.msg.ResponseStatus.NOT_STORED;
 import static com.couchbase.client.core.msg.ResponseStatus.SUBDOC_FAILURE;
 import static com.couchbase.client.core.util.Validators.notNull;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
 @Stability.Internal
 public final class ClassicCoreKvOps implements CoreKvOps {
+  /**
+   * The maximum number of paths a single Sub-Document lookup can carry.
+   */
+  private static final int MAX_SUBDOC_LOOKUP_PATHS = 16;
+
+  /**
+   * Projections needing more lookups than this fetch the full document instead, if possible.
+   */
+  private static final int MAX_SPLIT_PROJECTION_LOOKUPS = 2;
+
+  /**
+   * How often split projection lookups are retried if the document is modified in between them.
+   */
+  private static final int MAX_SPLIT_PROJECTION_ATTEMPTS = 3;
+
   private final Core core;
   private final CoreContext ctx;
   private final Duration defaultKvTimeout;
@@ -179,28 +202,254 @@ public final class ClassicCoreKvOps implements CoreKvOps {
       );
     }
 
+    if (projections.size() > maxProjectionsPerLookup(withExpiry)) {
+      return getWithManyProjectionsAsync(common, key, projections, withExpiry);
+    }
+
     SubdocGetRequest request = getWithProjectionsOrExpiryRequest(common, key, projections, withExpiry);
     return newAsyncResponse(
         request,
-        (req, res) -> {
-          if (res.status() != SUBDOC_FAILURE) {
-            throw keyValueStatusToException(request, res);
-          }
-        },
+        ClassicCoreKvOps::subdocGetResponseCheck,
         it -> parseGetWithProjectionsOrExpiry(key, it)
     );
   }
 
+  private static void subdocGetResponseCheck(KeyValueRequest<SubdocGetResponse> request, SubdocGetResponse response) {
+    if (response.status() != SUBDOC_FAILURE) {
+      throw keyValueStatusToException(request, response);
+    }
+  }
+
+  private static int maxProjectionsPerLookup(boolean withExpiry) {
+    // The expiry is fetched through a macro, which counts against the limit.
+    return withExpiry ? MAX_SUBDOC_LOOKUP_PATHS - 1 : MAX_SUBDOC_LOOKUP_PATHS;
+  }
+
+  /**
+   * Serves projections beyond the limit of a single Sub-Document lookup.
+   * <p>
+   * Wide projections are served by fetching the full document and extracting the paths on the client, since at that
+   * point most of the document is likely needed anyway. Otherwise (or if the paths cannot be located by streaming)
+   * the paths are split into lookups which are dispatched in parallel, and merged on the client.
+   */
+  private CoreAsyncResponse<CoreGetResult> getWithManyProjectionsAsync(
+      CoreCommonOptions common,
+      String key,
+      List<String> projections,
+      boolean withExpiry
+  ) {
+    boolean extractable = ProjectionsApplier.canExtract(projections);
+    int paths = projections.size() + (withExpiry ? 1 : 0);
+    int lookups = (paths + MAX_SUBDOC_LOOKUP_PATHS - 1) / MAX_SUBDOC_LOOKUP_PATHS;
+    if (extractable && lookups > MAX_SPLIT_PROJECTION_LOOKUPS) {
+      return getFullDocumentAndExtractAsync(common, key, projections, withExpiry);
+    }
+    SplitProjectionGet get = new SplitProjectionGet(timeout(common));
+    return new CoreAsyncResponse<>(
+        getWithSplitProjectionsAsync(get, common, key, projections, withExpiry, extractable, lookups, 1),
+        get::cancel
+    );
+  }
+
+  private CompletableFuture<CoreGetResult> getWithSplitProjectionsAsync(
+      SplitProjectionGet get,
+      CoreCommonOptions common,
+      String key,
+      List<String> projections,
+      boolean withExpiry,
+      boolean extractable,
+      int lookups,
+      int attempt
+  ) {
+    Duration timeout = get.remainingTimeout();
+    List<SubdocGetRequest> requests = new ArrayList<>(lookups);
+    int start = 0;
+    while (start < projections.size()) {
+      // Only the first lookup fetches the expiry.
+      boolean first = start == 0;
+      int end = Math.min(projections.size(), start + maxProjectionsPerLookup(withExpiry && first));
+      requests.add(getWithProjectionsOrExpiryRequest(
+          common, key, projections.subList(start, end), withExpiry && first, timeout
+      ));
+      start = end;
+    }
+
+    get.track(requests);
+    List<CompletableFuture<SubdocGetResponse>> responses = new ArrayList<>(requests.size());
+    for (SubdocGetRequest request : requests) {
+      responses.add(execute(request, ClassicCoreKvOps::subdocGetResponseCheck, it -> it));
+    }
+
+    return CompletableFuture
+        .allOf(responses.toArray(new CompletableFuture<?>[0]))
+        .thenCompose(ignored -> {
+          List<SubdocGetResponse> completed = new ArrayList<>(responses.size());
+          responses.forEach(it -> completed.add(it.join()));
+          CoreGetResult merged = mergeSplitProjections(key, completed);
+          if (merged != null) {
+            return CompletableFuture.completedFuture(merged);
+          }
+          // The document changed between the lookups, so fetch a consistent copy instead.
+          if (extractable) {
+            SubdocGetRequest request = getWithProjectionsOrExpiryRequest(
+                common, key, emptyList(), withExpiry, get.remainingTimeout()
+            );
+            get.track(singletonList(request));
+            return execute(
+                request,
+                ClassicCoreKvOps::subdocGetResponseCheck,
+                it -> extractProjections(key, projections, it)
+            );
+          }
+          if (attempt < MAX_SPLIT_PROJECTION_ATTEMPTS) {
+            return getWithSplitProjectionsAsync(
+                get, common, key, projections, withExpiry, false, lookups, attempt + 1
+            );
+          }
+          throw new CouchbaseException("The document was modified concurrently while fetching "
+              + projections.size() + " projected paths in " + lookups + " lookups, giving up after " + attempt
+              + " attempts.");
+        });
+  }
+
+  /**
+   * Tracks a get with split projections across its rounds of lookups.
+   * <p>
+   * All rounds share the timeout of the get, and cancelling the get cancels the round which is currently in flight.
+   */
+  private static class SplitProjectionGet {
+    /**
+     * The timeout of a round which is started when the get already timed out, so it fails like any other request.
+     */
+    private static final Duration MIN_TIMEOUT = Duration.ofMillis(1);
+
+    private final Duration timeout;
+    private final NanoTimestamp start = NanoTimestamp.now();
+    private List<? extends KeyValueRequest<?>> inFlight = emptyList();
+    private boolean cancelled;
+
+    SplitProjectionGet(Duration timeout) {
+      this.timeout = timeout;
+    }
+
+    Duration remainingTimeout() {
+      Duration remaining = timeout.minus(start.elapsed());
+      return remaining.compareTo(MIN_TIMEOUT) < 0 ? MIN_TIMEOUT : remaining;
+    }
+
+    synchronized void track(List<? extends KeyValueRequest<?>> requests) {
+      inFlight = requests;
+      if (cancelled) {
+        requests.forEach(it -> it.cancel(CancellationReason.STOPPED_LISTENING));
+      }
+    }
+
+    synchronized void cancel() {
+      cancelled = true;
+      inFlight.forEach(it -> it.cancel(CancellationReason.STOPPED_LISTENING));
+    }
+  }
+
+  /**
+   * Merges the responses of split projection lookups, or returns null if they observed different document versions.
+   */
+  private CoreGetResult mergeSplitProjections(String key, List<SubdocGetResponse> responses) {
+    long cas = responses.get(0).cas();
+    Map<String, byte[]> pathToValue = new LinkedHashMap<>();
+    byte[] exptime = null;
+
+    for (SubdocGetResponse response : responses) {
+      if (response.error().isPresent()) {
+        throw response.error().get();
+      }
+      if (response.cas() != cas) {
+        return null;
+      }
+
+      for (SubDocumentField value : response.values()) {
+        if (value == null || value.status() != SubDocumentOpResponseStatus.SUCCESS) {
+          continue;
+        }
+        if (CoreLookupInMacro.EXPIRY_TIME.equals(value.path())) {
+          exptime = value.value();
+        } else {
+          pathToValue.put(value.path(), value.value());
+        }
+      }
+    }
+
+    byte[] content;
+    try {
+      content = ProjectionsApplier.reconstructDocument(pathToValue);
+    } catch (Exception e) {
+      throw new CouchbaseException("Unexpected Exception while decoding Sub-Document get", e);
+    }
+
+    return new CoreGetResult(
+        CoreKvResponseMetadata.from(responses.get(0).flexibleExtras()),
+        keyspace,
+        key,
+        content,
+        CodecFlags.JSON_COMPAT_FLAGS,
+        cas,
+        parseExpiry(exptime),
+        false
+    );
+  }
+
+  private CoreAsyncResponse<CoreGetResult> getFullDocumentAndExtractAsync(
+      CoreCommonOptions common,
+      String key,
+      List<String> projections,
+      boolean withExpiry
+  ) {
+    SubdocGetRequest request = getWithProjectionsOrExpiryRequest(common, key, emptyList(), withExpiry);
+    return newAsyncResponse(
+        request,
+        ClassicCoreKvOps::subdocGetResponseCheck,
+        it -> extractProjections(key, projections, it)
+    );
+  }
+
+  private CoreGetResult extractProjections(String key, List<String> projections, SubdocGetResponse response) {
+    CoreGetResult document = parseGetWithProjectionsOrExpiry(key, response);
+    byte[] content;
+    try {
+      content = ProjectionsApplier.extract(document.content(), projections);
+    } catch (Exception e) {
+      throw new CouchbaseException("Unexpected Exception while extracting projections from document", e);
+    }
+    return new CoreGetResult(
+        CoreKvResponseMetadata.from(response.flexibleExtras()),
+        keyspace,
+        key,
+        content,
+        CodecFlags.JSON_COMPAT_FLAGS,
+        document.cas(),
+        document.expiry(),
+        false
+    );
+  }
+
   private SubdocGetRequest getWithProjectionsOrExpiryRequest(
       CoreCommonOptions common,
       String key,
       List<String> projections,
       boolean withExpiry
+  ) {
+    return getWithProjectionsOrExpiryRequest(common, key, projections, withExpiry, timeout(common));
+  }
+
+  private SubdocGetRequest getWithProjectionsOrExpiryRequest(
+      CoreCommonOptions common,
+      String key,
+      List<String> projections,
+      boolean withExpiry,
+      Duration timeout
   ) {
     validateGetParams(common, key, projections, withExpiry);
     checkProjectionLimits(projections, withExpiry);
 
-    Duration timeout = timeout(common);
     RetryStrategy retryStrategy = retryStrategy(common);
     RequestSpan span = span(common, TracingIdentifiers.SPAN_REQUEST_KV_LOOKUP_IN);
     List<SubdocGetRequest.Command> commands = new ArrayList<>(16);
@@ -279,14 +528,6 @@ public final class ClassicCoreKvOps implements CoreKvOps {
       }
     }
 
-    Optional<Instant> expiration = Optional.empty();
-    if (exptime != null && exptime.length > 0) {
-      long parsed = Long.parseLong(new String(exptime, UTF_8));
-      if (parsed > 0) {
-        expiration = Optional.of(Instant.ofEpochSecond(parsed));
-      }
-    }
-
     return new CoreGetResult(
         CoreKvResponseMetadata.from(response.flexibleExtras()),
         keyspace,
@@ -294,11 +535,21 @@ public final class ClassicCoreKvOps implements CoreKvOps {
         content,
         convertedFlags,
         cas,
-        expiration.orElse(null),
+        parseExpiry(exptime),
         false
     );
   }
 
+  private static Instant parseExpiry(byte[] exptime) {
+    if (exptime != null && exptime.length > 0) {
+      long parsed = Long.parseLong(new String(exptime, UTF_8));
+      if (parsed > 0) {
+        return Instant.ofEpochSecond(parsed);
+      }
+    }
+    return null;
+  }
+
   @Override
   public CoreAsyncResponse<CoreGetResult> getAndLockAsync(
       CoreCommonOptions common,
@@ -377,25 +628,42 @@ public final class ClassicCoreKvOps implements CoreKvOps {
 
     long encodingStartNanos = System.nanoTime();
     CoreEncodedContent coreContent;
+    ByteBuf contentBuffer;
+    byte[] encoded;
     try {
       coreContent = content.get();
+      contentBuffer = encodeToBuffer(coreContent);
+      encoded = contentBuffer == null ? coreContent.encoded() : null;
     } finally {
       encodingSpan.end();
     }
     long encodingNanos = System.nanoTime() - encodingStartNanos;
 
-    InsertRequest request = new InsertRequest(
-        key,
-        coreContent.encoded(),
-        encode(expiry),
-        coreContent.flags(),
-        timeout,
-        ctx,
-        collectionIdentifier,
-        retryStrategy,
-        durability.levelIfSynchronous(),
-        span
-    );
+    InsertRequest request = contentBuffer == null
+        ? new InsertRequest(
+            key,
+            encoded,
+            encode(expiry),
+            coreContent.flags(),
+            timeout,
+            ctx,
+            collectionIdentifier,
+            retryStrategy,
+            durability.levelIfSynchronous(),
+            span
+        )
+        : new InsertRequest(
+            key,
+            contentBuffer,
+            encode(expiry),
+            coreContent.flags(),
+            timeout,
+            ctx,
+            collectionIdentifier,
+            retryStrategy,
+            durability.levelIfSynchronous(),
+            span
+        );
 
     request.context()
         .clientContext(common.clientContext())
@@ -443,26 +711,44 @@ public final class ClassicCoreKvOps implements CoreKvOps {
 
     long encodingStartNanos = System.nanoTime();
     CoreEncodedContent coreContent;
+    ByteBuf contentBuffer;
+    byte[] encoded;
     try {
       coreContent = content.get();
+      contentBuffer = encodeToBuffer(coreContent);
+      encoded = contentBuffer == null ? coreContent.encoded() : null;
     } finally {
       encodingSpan.end();
     }
     long encodingNanos = System.nanoTime() - encodingStartNanos;
 
-    UpsertRequest request = new UpsertRequest(
-        key,
-        coreContent.encoded(),
-        encode(expiry),
-        preserveExpiry,
-        coreContent.flags(),
-        timeout,
-        ctx,
-        collectionIdentifier,
-        retryStrategy,
-        durability.levelIfSynchronous(),
-        span
-    );
+    UpsertRequest request = contentBuffer == null
+        ? new UpsertRequest(
+            key,
+            encoded,
+            encode(expiry),
+            preserveExpiry,
+            coreContent.flags(),
+            timeout,
+            ctx,
+            collectionIdentifier,
+            retryStrategy,
+            durability.levelIfSynchronous(),
+            span
+        )
+        : new UpsertRequest(
+            key,
+            contentBuffer,
+            encode(expiry),
+            preserveExpiry,
+            coreContent.flags(),
+            timeout,
+            ctx,
+            collectionIdentifier,
+            retryStrategy,
+            durability.levelIfSynchronous(),
+            span
+        );
 
     request.context()
         .clientContext(common.clientContext())
@@ -505,27 +791,46 @@ public final class ClassicCoreKvOps implements CoreKvOps {
 
     long encodingStartNanos = System.nanoTime();
     CoreEncodedContent coreContent;
+    ByteBuf contentBuffer;
+    byte[] encoded;
     try {
       coreContent = content.get();
+      contentBuffer = encodeToBuffer(coreContent);
+      encoded = contentBuffer == null ? coreContent.encoded() : null;
     } finally {
       encodingSpan.end();
     }
     long encodingNanos = System.nanoTime() - encodingStartNanos;
 
-    ReplaceRequest request = new ReplaceRequest(
-        key,
-        coreContent.encoded(),
-        encode(expiry),
-        preserveExpiry,
-        coreContent.flags(),
-        timeout,
-        cas,
-        ctx,
-        collectionIdentifier,
-        retryStrategy,
-        durability.levelIfSynchronous(),
-        span
-    );
+    ReplaceRequest request = contentBuffer == null
+        ? new ReplaceRequest(
+            key,
+            encoded,
+            encode(expiry),
+            preserveExpiry,
+            coreContent.flags(),
+            timeout,
+            cas,
+            ctx,
+            collectionIdentifier,
+            retryStrategy,
+            durability.levelIfSynchronous(),
+            span
+        )
+        : new ReplaceRequest(
+            key,
+            contentBuffer,
+            encode(expiry),
+            preserveExpiry,
+            coreContent.flags(),
+            timeout,
+            cas,
+            ctx,
+            collectionIdentifier,
+            retryStrategy,
+            durability.levelIfSynchronous(),
+            span
+        );
 
     request.context()
         .clientContext(common.clientContext())
@@ -983,4 +1288,24 @@ public final class ClassicCoreKvOps implements CoreKvOps {
   private RequestSpan span(RequestSpan parent, String spanName) {
     return CbTracing.newSpan(requestTracer, spanName, parent);
   }
+
+  /**
+   * Encodes buffer-aware content straight into a pooled buffer, or returns null if it is encoded into an array.
+   * <p>
+   * Documents are compressed from their array, so the buffer is only used if compression is disabled.
+   */
+  private ByteBuf encodeToBuffer(CoreEncodedContent content) {
+    if (!(content instanceof CoreBufferEncodedContent) || ctx.environment().compressionConfig().enabled()) {
+      return null;
+    }
+
+    ByteBuf buffer = ctx.environment().ioEnvironment().allocator().directBuffer();
+    try {
+      ((CoreBufferEncodedContent) content).encodeTo(buffer);
+      return buffer;
+    } catch (Throwable t) {
+      buffer.release();
+      throw t;
+    }
+  }
 }
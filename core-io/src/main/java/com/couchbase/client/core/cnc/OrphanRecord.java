@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc;
+
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.msg.kv.BaseKeyValueRequest;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.msg.view.ViewRequest;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.util.HostAndPort;
+
+/**
+ * A fixed-size snapshot of an orphaned request, captured by the {@link OrphanReporter} at report time.
+ * <p>
+ * Only primitives and small immutable references (like the sockets) are copied over, so the request itself and
+ * everything it holds on to (encoded content, response buffers) can be garbage collected right away instead of being
+ * retained until the next emit interval. For key-value requests only the opaque is kept and the operation id is
+ * derived from it when the record is emitted.
+ */
+class OrphanRecord {
+
+  private final ServiceType serviceType;
+  private final Class<?> requestClass;
+  private final String name;
+  private final boolean keyValue;
+  private final int opaque;
+  private final String operationId;
+  private final String bucket;
+  private final String lastChannelId;
+  private final HostAndPort lastLocalSocket;
+  private final HostAndPort lastRemoteSocket;
+  private final long totalNanos;
+  private final long encodeNanos;
+  private final long dispatchNanos;
+  private final long totalDispatchNanos;
+  private final long serverMicros;
+  private final long totalServerMicros;
+  private final long timeoutMillis;
+
+  private OrphanRecord(final Request<?> request) {
+    final RequestContext ctx = request.context();
+    this.serviceType = request.serviceType();
+    this.requestClass = request.getClass();
+    this.name = request.name();
+
+    if (request instanceof KeyValueRequest) {
+      KeyValueRequest<?> kvRequest = (KeyValueRequest<?>) request;
+      this.keyValue = true;
+      this.opaque = kvRequest.opaque();
+      this.operationId = null;
+      this.bucket = kvRequest.bucket();
+    } else {
+      this.keyValue = false;
+      this.opaque = 0;
+      this.operationId = request.operationId();
+      this.bucket = request instanceof ViewRequest ? ((ViewRequest) request).bucket() : null;
+    }
+
+    this.lastChannelId = ctx.lastChannelId();
+    this.lastLocalSocket = ctx.lastDispatchedFrom();
+    this.lastRemoteSocket = ctx.lastDispatchedTo();
+    this.totalNanos = ctx.logicalRequestLatency();
+    this.encodeNanos = ctx.encodeLatency();
+    this.dispatchNanos = ctx.dispatchLatency();
+    this.totalDispatchNanos = ctx.totalDispatchLatency();
+    this.serverMicros = ctx.serverLatency();
+    this.totalServerMicros = ctx.totalServerLatency();
+    this.timeoutMillis = request.timeout().toMillis();
+  }
+
+  /**
+   * Captures the record from the given orphaned request.
+   *
+   * @param request the request to capture.
+   * @return the captured record.
+   */
+  static OrphanRecord capture(final Request<?> request) {
+    return new OrphanRecord(request);
+  }
+
+  ServiceType serviceType() {
+    return serviceType;
+  }
+
+  Class<?> requestClass() {
+    return requestClass;
+  }
+
+  String name() {
+    return name;
+  }
+
+  /**
+   * Returns the operation id, which for key-value requests is the opaque in hex format.
+   */
+  String operationId() {
+    return keyValue ? BaseKeyValueRequest.formatOperationId(opaque) : operationId;
+  }
+
+  String bucket() {
+    return bucket;
+  }
+
+  String lastChannelId() {
+    return lastChannelId;
+  }
+
+  HostAndPort lastLocalSocket() {
+    return lastLocalSocket;
+  }
+
+  HostAndPort lastRemoteSocket() {
+    return lastRemoteSocket;
+  }
+
+  long totalNanos() {
+    return totalNanos;
+  }
+
+  long encodeNanos() {
+    return encodeNanos;
+  }
+
+  long dispatchNanos() {
+    return dispatchNanos;
+  }
+
+  long totalDispatchNanos() {
+    return totalDispatchNanos;
+  }
+
+  long serverMicros() {
+    return serverMicros;
+  }
+
+  long totalServerMicros() {
+    return totalServerMicros;
+  }
+
+  long timeoutMillis() {
+    return timeoutMillis;
+  }
+
+}
@@ -24,8 +24,6 @@ import com.couchbase.client.core.deps.org.jctools.queues.MpscArrayQueue;
 import com.couchbase.client.core.env.OrphanReporterConfig;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.UnmonitoredRequest;
-import com.couchbase.client.core.msg.kv.KeyValueRequest;
-import com.couchbase.client.core.msg.view.ViewRequest;
 import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.core.util.HostAndPort;
 import com.couchbase.client.core.util.NanoTimestamp;
@@ -67,7 +65,7 @@ public class OrphanReporter {
 
   private final AtomicBoolean running = new AtomicBoolean(false);
   volatile Thread worker = null; // visible for testing
-  private final Queue<Request<?>> orphanQueue;
+  private final Queue<OrphanRecord> orphanQueue;
   private final Duration emitInterval;
   private final int sampleSize;
   private final EventBus eventBus;
@@ -138,6 +136,9 @@ public class OrphanReporter {
   /**
    * Reports an orphaned {@link Request}.
    * <p>
+   * Only a compact {@link OrphanRecord} of the request is retained, so the request (and its content) is not kept
+   * alive by the reporter.
+   * <p>
    * If the orphan could not be recorded because the buffer is full, a {@link OrphanRecordDroppedEvent} will
    * be raised on the event bus.
    * <p>
@@ -151,7 +152,7 @@ public class OrphanReporter {
         return;
       }
 
-      if (!orphanQueue.offer(request)) {
+      if (!orphanQueue.offer(OrphanRecord.capture(request))) {
         eventBus.publish(new OrphanRecordDroppedEvent(request.getClass()));
       }
   }
@@ -175,20 +176,20 @@ public class OrphanReporter {
     );
 
     /**
-     * Compares request by their logical request latency for the priority threshold queues.
+     * Compares records by their logical request latency for the priority threshold queues.
      */
-    private final Comparator<Request<?>> THRESHOLD_COMPARATOR = Comparator.comparingLong(
-      o -> o.context().logicalRequestLatency()
+    private final Comparator<OrphanRecord> THRESHOLD_COMPARATOR = Comparator.comparingLong(
+      OrphanRecord::totalNanos
     );
 
     private NanoTimestamp lastThresholdLog = NanoTimestamp.never();
     private boolean hasThresholdWritten;
 
-    private final Queue<Request<?>> kvOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> queryOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> viewOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> searchOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> analyticsOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<OrphanRecord> kvOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<OrphanRecord> queryOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<OrphanRecord> viewOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<OrphanRecord> searchOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
+    private final Queue<OrphanRecord> analyticsOrphans = new PriorityQueue<>(THRESHOLD_COMPARATOR);
 
     private long kvOrphanCount = 0;
     private long queryOrphanCount = 0;
@@ -223,25 +224,25 @@ public class OrphanReporter {
       }
 
       while (true) {
-        Request<?> request = orphanQueue.poll();
-        if (request == null) {
+        OrphanRecord record = orphanQueue.poll();
+        if (record == null) {
           return;
         }
-        final ServiceType serviceType = request.serviceType();
+        final ServiceType serviceType = record.serviceType();
         if (serviceType == ServiceType.KV) {
-          updateSet(kvOrphans, request);
+          updateSet(kvOrphans, record);
           kvOrphanCount += 1;
         } else if (serviceType == ServiceType.QUERY) {
-          updateSet(queryOrphans, request);
+          updateSet(queryOrphans, record);
           queryOrphanCount += 1;
         } else if (serviceType == ServiceType.VIEWS) {
-          updateSet(viewOrphans, request);
+          updateSet(viewOrphans, record);
           viewOrphanCount += 1;
         } else if (serviceType == ServiceType.SEARCH) {
-          updateSet(searchOrphans, request);
+          updateSet(searchOrphans, record);
           searchOrphanCount += 1;
         } else if (serviceType == ServiceType.ANALYTICS) {
-          updateSet(analyticsOrphans, request);
+          updateSet(analyticsOrphans, record);
           analyticsOrphanCount += 1;
         }
       }
@@ -251,11 +252,13 @@ public class OrphanReporter {
      * Helper method which updates the list with the span and ensures that the sample
      * size is respected.
      */
-    private void updateSet(final Queue<Request<?>> set, final Request<?> request) {
-      set.add(request);
-      // Remove the element with the lowest duration, so we only keep the highest ones consistently
-      while(set.size() > sampleSize) {
+    private void updateSet(final Queue<OrphanRecord> set, final OrphanRecord record) {
+      if (set.size() < sampleSize) {
+        set.add(record);
+      } else if (sampleSize > 0 && set.peek().totalNanos() < record.totalNanos()) {
+        // Replace the element with the lowest duration, so we only keep the highest ones consistently
         set.remove();
+        set.add(record);
       }
       hasThresholdWritten = true;
     }
@@ -330,43 +333,43 @@ public class OrphanReporter {
       logOrphans(null,  output);
     }
 
-    private Map<String, Object> convertOrphanMetadataNew(Queue<Request<?>> requests, long count) {
+    private Map<String, Object> convertOrphanMetadataNew(Queue<OrphanRecord> requests, long count) {
       Map<String, Object> output = new HashMap<>();
       List<Map<String, Object>> top = new ArrayList<>();
-      for (Request<?> request : requests) {
+      for (OrphanRecord record : requests) {
         HashMap<String, Object> fieldMap = new HashMap<>();
 
-        if (request != null) {
-          fieldMap.put(KEY_TOTAL_MICROS, TimeUnit.NANOSECONDS.toMicros(request.context().logicalRequestLatency()));
+        if (record != null) {
+          fieldMap.put(KEY_TOTAL_MICROS, TimeUnit.NANOSECONDS.toMicros(record.totalNanos()));
 
-          fieldMap.put(KEY_OPERATION_NAME, request.name());
+          fieldMap.put(KEY_OPERATION_NAME, record.name());
 
-          String operationId = request.operationId();
+          String operationId = record.operationId();
           if (operationId != null) {
             fieldMap.put(KEY_OPERATION_ID, operationId);
           }
 
-          String localId = request.context().lastChannelId();
+          String localId = record.lastChannelId();
           if (localId != null) {
             fieldMap.put(KEY_LAST_LOCAL_ID, redactSystem(localId));
           }
 
-          long encodeDuration = request.context().encodeLatency();
+          long encodeDuration = record.encodeNanos();
           if (encodeDuration > 0) {
             fieldMap.put(KEY_ENCODE_MICROS, TimeUnit.NANOSECONDS.toMicros(encodeDuration));
           }
 
-          long dispatchDuration = request.context().dispatchLatency();
+          long dispatchDuration = record.dispatchNanos();
           if (dispatchDuration > 0) {
             fieldMap.put(KEY_DISPATCH_MICROS, TimeUnit.NANOSECONDS.toMicros(dispatchDuration));
           }
-          long totalDispatchDuration = request.context().totalDispatchLatency();
+          long totalDispatchDuration = record.totalDispatchNanos();
           if (totalDispatchDuration > 0) {
             fieldMap.put(KEY_TOTAL_DISPATCH_MICROS, TimeUnit.NANOSECONDS.toMicros(totalDispatchDuration));
           }
 
-          HostAndPort local = request.context().lastDispatchedFrom();
-          HostAndPort peer = request.context().lastDispatchedTo();
+          HostAndPort local = record.lastLocalSocket();
+          HostAndPort peer = record.lastRemoteSocket();
           if (local != null) {
             fieldMap.put(KEY_LAST_LOCAL_SOCKET, redactSystem(local.toString()));
           }
@@ -374,16 +377,16 @@ public class OrphanReporter {
             fieldMap.put(KEY_LAST_REMOTE_SOCKET, redactSystem(peer.toString()));
           }
 
-          long serverDuration = request.context().serverLatency();
+          long serverDuration = record.serverMicros();
           if (serverDuration > 0) {
             fieldMap.put(KEY_SERVER_MICROS, serverDuration);
           }
-          long totalServerDuration = request.context().totalServerLatency();
+          long totalServerDuration = record.totalServerMicros();
           if (totalServerDuration > 0) {
             fieldMap.put(KEY_TOTAL_SERVER_MICROS, totalServerDuration);
           }
 
-          fieldMap.put(KEY_TIMEOUT, request.timeout().toMillis());
+          fieldMap.put(KEY_TIMEOUT, record.timeoutMillis());
         }
 
         top.add(fieldMap);
@@ -393,32 +396,31 @@ public class OrphanReporter {
       return output;
     }
 
-    private Map<String, Object> convertOrphanMetadataOld(Queue<Request<?>> requests, long count, String serviceType) {
+    private Map<String, Object> convertOrphanMetadataOld(Queue<OrphanRecord> requests, long count, String serviceType) {
       Map<String, Object> output = new HashMap<>();
       List<Map<String, Object>> top = new ArrayList<>();
-      for (Request<?> request : requests) {
+      for (OrphanRecord record : requests) {
         HashMap<String, Object> fieldMap = new HashMap<>();
 
-        if (request != null) {
-          String name = request.getClass().getSimpleName().replace("Request", "").toLowerCase();
+        if (record != null) {
+          String name = record.requestClass().getSimpleName().replace("Request", "").toLowerCase();
           fieldMap.put("s", name);
 
-          String operationId = request.operationId();
+          String operationId = record.operationId();
           if (operationId != null) {
             fieldMap.put("i", operationId);
           }
-          if (request instanceof KeyValueRequest) {
-            fieldMap.put("b", ((KeyValueRequest<?>) request).bucket());
-          } else if (request instanceof ViewRequest) {
-            fieldMap.put("b", ((ViewRequest) request).bucket());
+          String bucket = record.bucket();
+          if (bucket != null) {
+            fieldMap.put("b", bucket);
           }
-          String localId = request.context().lastChannelId();
+          String localId = record.lastChannelId();
           if (localId != null) {
             fieldMap.put("c", redactSystem(localId));
           }
 
-          HostAndPort local = request.context().lastDispatchedFrom();
-          HostAndPort peer = request.context().lastDispatchedTo();
+          HostAndPort local = record.lastLocalSocket();
+          HostAndPort peer = record.lastRemoteSocket();
           if (local != null) {
             fieldMap.put("l", redactSystem(local.toString()));
           }
@@ -426,12 +428,12 @@ public class OrphanReporter {
             fieldMap.put("r", redactSystem(peer.toString()));
           }
 
-          long serverDuration = request.context().serverLatency();
+          long serverDuration = record.serverMicros();
           if (serverDuration > 0) {
             fieldMap.put("d", serverDuration);
           }
 
-          long timeout = request.timeout().toMillis();
+          long timeout = record.timeoutMillis();
           fieldMap.put("t", timeout);
         }
 
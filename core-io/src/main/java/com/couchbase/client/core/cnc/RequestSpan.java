@@ -137,6 +137,18 @@ public interface RequestSpan {
    */
   void end();
 
+  /**
+   * Completes this span at the given point in time.
+   * <p>
+   * Implementations which are not able to back-date the end of a span fall back to {@link #end()}.
+   *
+   * @param endTime the point in time when the span ended.
+   */
+  @Stability.Internal
+  default void end(Instant endTime) {
+    end();
+  }
+
   /**
    * Allows to set a request context to the request span.
    *
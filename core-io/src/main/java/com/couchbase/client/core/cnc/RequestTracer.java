@@ -20,6 +20,7 @@ import com.couchbase.client.core.annotation.Stability;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.time.Instant;
 
 /**
  * The {@link RequestTracer} describes the tracing abstraction in the SDK.
@@ -40,6 +41,22 @@ public interface RequestTracer {
    */
   RequestSpan requestSpan(String name, RequestSpan parent);
 
+  /**
+   * Creates a new request span with or without a parent, which started at the given point in time.
+   * <p>
+   * This is used when spans are only materialized after the fact (i.e. by tail-based sampling). Implementations
+   * which are not able to back-date a span fall back to {@link #requestSpan(String, RequestSpan)}.
+   *
+   * @param name the name of the toplevel operation (i.e. "cb.get")
+   * @param parent a parent, if no parent is used supply null.
+   * @param startTime the point in time when the span started.
+   * @return a request span that wraps the actual tracer implementation span.
+   */
+  @Stability.Internal
+  default RequestSpan requestSpan(String name, RequestSpan parent, Instant startTime) {
+    return requestSpan(name, parent);
+  }
+
   /**
    * Starts the tracer if it hasn't been started, might be a noop depending on the implementation.
    */
@@ -259,6 +259,8 @@ public class TracingIdentifiers {
 
   public static final String ATTR_SERVICE = "db.couchbase.service";
 
+  public static final String ATTR_CHANNEL = "db.couchbase.channel";
+
   public static final String ATTR_COLLECTION = "db.couchbase.collection";
 
   public static final String ATTR_SCOPE = "db.couchbase.scope";
@@ -280,11 +282,24 @@ public class TracingIdentifiers {
   public static final String METER_OPERATIONS = "db.couchbase.operations";
   public static final String METER_TRANSACTION_TOTAL = "db.couchbase.transactions.total";
   public static final String METER_TRANSACTION_ATTEMPTS = "db.couchbase.transactions.attempts";
+  public static final String METER_IO_ALLOCATED_BYTES = "db.couchbase.io.allocated_bytes";
+  public static final String METER_ALLOCATOR_USED_DIRECT_MEMORY = "db.couchbase.io.allocator.used_direct_memory";
+  public static final String METER_ALLOCATOR_USED_HEAP_MEMORY = "db.couchbase.io.allocator.used_heap_memory";
+  public static final String METER_ALLOCATOR_PINNED_DIRECT_MEMORY = "db.couchbase.io.allocator.pinned_direct_memory";
+  public static final String METER_ALLOCATOR_DIRECT_ARENAS = "db.couchbase.io.allocator.direct_arenas";
+  public static final String METER_ALLOCATOR_THREAD_LOCAL_CACHES = "db.couchbase.io.allocator.thread_local_caches";
+  public static final String METER_ALLOCATOR_CHUNK_SIZE = "db.couchbase.io.allocator.chunk_size";
+  public static final String METER_PROTOSTELLAR_CHANNELS = "db.couchbase.protostellar.channels";
+  public static final String METER_PROTOSTELLAR_CHANNEL_UTILIZATION = "db.couchbase.protostellar.channel.utilization";
+  public static final String METER_PROTOSTELLAR_COMPRESSION_REQUEST_BYTES_SAVED = "db.couchbase.protostellar.compression.request_bytes_saved";
+  public static final String METER_PROTOSTELLAR_COMPRESSION_RESPONSE_BYTES_SAVED = "db.couchbase.protostellar.compression.response_bytes_saved";
+  public static final String METER_CONFIG_FETCHES_AVOIDED = "db.couchbase.config.fetches_avoided";
 
   public static final String ATTR_DURABILITY = "db.couchbase.durability";
 
   public static final String ATTR_RETRIES = "db.couchbase.retries";
   public static final String ATTR_OUTCOME = "outcome";
+  public static final String ATTR_REASON = "reason";
   public static final String TRANSACTION_OP = "transaction";
   public static final String TRANSACTION_OP_ATTEMPT = "transaction_attempt";
   public static final String TRANSACTION_OP_REPLACE = "transaction_replace";
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.events.endpoint;
+
+import com.couchbase.client.core.cnc.AbstractEvent;
+import com.couchbase.client.core.cnc.Context;
+import com.couchbase.client.core.util.HostAndPort;
+
+import java.time.Duration;
+
+import static com.couchbase.client.core.logging.RedactableArgument.redactSystem;
+
+/**
+ * This event is raised if the pool of Protostellar channels to a node could not be resized.
+ * <p>
+ * The pool keeps its current channels and tries again on its next resize run.
+ */
+public class ProtostellarPoolResizeFailedEvent extends AbstractEvent {
+
+  private final HostAndPort remote;
+  private final Throwable cause;
+
+  /**
+   * Creates a new pool resize failed event.
+   *
+   * @param context the context of the pool.
+   * @param remote the node the pool connects to.
+   * @param cause the cause of the failure.
+   */
+  public ProtostellarPoolResizeFailedEvent(final Context context, final HostAndPort remote, final Throwable cause) {
+    super(Severity.WARN, Category.ENDPOINT, Duration.ZERO, context);
+    this.remote = remote;
+    this.cause = cause;
+  }
+
+  /**
+   * Returns the cause of the failure.
+   */
+  @Override
+  public Throwable cause() {
+    return cause;
+  }
+
+  @Override
+  public String description() {
+    return "Resizing the Protostellar channel pool to " + redactSystem(remote) + " failed, retrying on the next run";
+  }
+}
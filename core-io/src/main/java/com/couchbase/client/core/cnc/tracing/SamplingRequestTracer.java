@@ -0,0 +1,585 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.tracing;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.cnc.RequestTracer;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.deps.io.grpc.ManagedChannelBuilder;
+import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.protostellar.GrpcAwareRequestTracer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.couchbase.client.core.util.Validators.notNull;
+
+/**
+ * Wraps a {@link RequestTracer} and decides once per request if spans should be created for it.
+ * <p>
+ * When the toplevel span of a request is created, the tracer samples the request with the configured ratio
+ * (head-based sampling). Sampled requests create their spans through the wrapped tracer as usual, all other
+ * requests (and every child span of them) get a {@link NoopRequestSpan}, so no span is created and no attributes
+ * are set in the wrapped tracer implementation.
+ * <p>
+ * If tail-based sampling is enabled, requests which have not been sampled upfront only buffer their timings,
+ * attributes and events. Once the toplevel span ends, the spans are only created in the wrapped tracer if the
+ * request was slower than the configured threshold or recorded an error. Note that the wrapped tracer needs to
+ * support {@link RequestTracer#requestSpan(String, RequestSpan, Instant)} and {@link RequestSpan#end(Instant)}
+ * for the materialized spans to carry their original timings.
+ * <p>
+ * If the wrapped tracer is a {@link GrpcAwareRequestTracer}, the built tracer is one as well and forwards to it.
+ * <p>
+ * The tracer can be configured on the environment like any other tracer:
+ * <pre>
+ * RequestTracer tracer = SamplingRequestTracer.builder(OpenTelemetryRequestTracer.wrap(openTelemetry))
+ *   .sampleRatio(0.01)
+ *   .tailSampling(true)
+ *   .build();
+ * </pre>
+ */
+@Stability.Volatile
+public class SamplingRequestTracer implements RequestTracer {
+
+  public static final double DEFAULT_SAMPLE_RATIO = 1.0;
+  public static final boolean DEFAULT_TAIL_SAMPLING = false;
+  public static final Duration DEFAULT_KV_THRESHOLD = Duration.ofMillis(500);
+  public static final Duration DEFAULT_THRESHOLD = Duration.ofSeconds(1);
+  public static final int DEFAULT_MAX_BUFFERED_SPANS = 32;
+
+  private final RequestTracer delegate;
+  private final double sampleRatio;
+  private final boolean tailSampling;
+  private final long kvThresholdNanos;
+  private final long thresholdNanos;
+  private final int maxBufferedSpans;
+
+  /**
+   * Creates a builder to wrap the given tracer.
+   *
+   * @param delegate the tracer which creates the spans of sampled requests.
+   * @return the builder for chaining purposes.
+   */
+  public static Builder builder(final RequestTracer delegate) {
+    return new Builder(delegate);
+  }
+
+  private SamplingRequestTracer(final Builder builder) {
+    this.delegate = builder.delegate;
+    this.sampleRatio = builder.sampleRatio;
+    this.tailSampling = builder.tailSampling;
+    this.kvThresholdNanos = builder.kvThreshold.toNanos();
+    this.thresholdNanos = builder.threshold.toNanos();
+    this.maxBufferedSpans = builder.maxBufferedSpans;
+  }
+
+  @Override
+  public RequestSpan requestSpan(final String name, final RequestSpan parent) {
+    if (parent instanceof SampledRequestSpan) {
+      return new SampledRequestSpan(delegate.requestSpan(name, ((SampledRequestSpan) parent).span));
+    } else if (parent instanceof BufferedRequestSpan) {
+      return ((BufferedRequestSpan) parent).child(name);
+    } else if (parent instanceof NoopRequestSpan) {
+      return NoopRequestSpan.INSTANCE;
+    }
+
+    if (sampleRatio >= 1.0 || (sampleRatio > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRatio)) {
+      return new SampledRequestSpan(delegate.requestSpan(name, parent));
+    } else if (tailSampling) {
+      return new BufferedRequestSpan(this, null, name, parent);
+    }
+    return NoopRequestSpan.INSTANCE;
+  }
+
+  @Override
+  public Mono<Void> start() {
+    return delegate.start();
+  }
+
+  @Override
+  public Mono<Void> stop(final Duration timeout) {
+    return delegate.stop(timeout);
+  }
+
+  /**
+   * Returns true if a buffered request should be materialized in the wrapped tracer.
+   */
+  private boolean keep(final BufferedRequestSpan root) {
+    if (root.error) {
+      return true;
+    }
+    long threshold = TracingIdentifiers.SERVICE_KV.equals(root.service) ? kvThresholdNanos : thresholdNanos;
+    return root.endNanos - root.startNanos >= threshold;
+  }
+
+  /**
+   * A span of a sampled request, which marks its children as sampled as well.
+   */
+  static class SampledRequestSpan implements RequestSpan {
+
+    private final RequestSpan span;
+
+    SampledRequestSpan(final RequestSpan span) {
+      this.span = span;
+    }
+
+    @Override
+    public void attribute(String key, String value) {
+      span.attribute(key, value);
+    }
+
+    @Override
+    public void attribute(String key, boolean value) {
+      span.attribute(key, value);
+    }
+
+    @Override
+    public void attribute(String key, long value) {
+      span.attribute(key, value);
+    }
+
+    @Override
+    public void lowCardinalityAttribute(String key, String value) {
+      span.lowCardinalityAttribute(key, value);
+    }
+
+    @Override
+    public void lowCardinalityAttribute(String key, boolean value) {
+      span.lowCardinalityAttribute(key, value);
+    }
+
+    @Override
+    public void lowCardinalityAttribute(String key, long value) {
+      span.lowCardinalityAttribute(key, value);
+    }
+
+    @Override
+    public void event(String name, Instant timestamp) {
+      span.event(name, timestamp);
+    }
+
+    @Override
+    public void status(StatusCode status) {
+      span.status(status);
+    }
+
+    @Override
+    public void recordException(Throwable err) {
+      span.recordException(err);
+    }
+
+    @Override
+    public void end() {
+      span.end();
+    }
+
+    @Override
+    public void end(Instant endTime) {
+      span.end(endTime);
+    }
+
+    @Override
+    public void requestContext(RequestContext requestContext) {
+      span.requestContext(requestContext);
+    }
+  }
+
+  /**
+   * A span of a request which has not been sampled upfront, buffering everything until the request completes.
+   * <p>
+   * All spans of one request synchronize on the toplevel span, since children are usually created and completed
+   * on a different thread than their parent.
+   */
+  static class BufferedRequestSpan implements RequestSpan {
+
+    private final SamplingRequestTracer tracer;
+    private final BufferedRequestSpan root;
+    private final String name;
+    private final RequestSpan parent;
+    private final long startNanos;
+    private long endNanos = -1;
+
+    private final List<Object[]> attributes = new ArrayList<>(8);
+    private List<Object[]> events;
+    private List<Throwable> exceptions;
+    private List<BufferedRequestSpan> children;
+    private StatusCode status;
+    private RequestContext requestContext;
+
+    // The following fields are only used on the toplevel span.
+    private Instant startTime;
+    private String service;
+    private boolean error;
+    private int spanCount;
+
+    BufferedRequestSpan(final SamplingRequestTracer tracer, final BufferedRequestSpan root, final String name,
+                        final RequestSpan parent) {
+      this.tracer = tracer;
+      this.root = root == null ? this : root;
+      this.name = name;
+      this.parent = parent;
+      this.startNanos = System.nanoTime();
+      if (root == null) {
+        this.startTime = Instant.now();
+        this.spanCount = 1;
+      }
+    }
+
+    /**
+     * Creates a buffered child span, or a noop span if the request is already completed or buffers too many spans.
+     */
+    RequestSpan child(final String name) {
+      synchronized (root) {
+        if (root.endNanos >= 0 || root.spanCount >= tracer.maxBufferedSpans) {
+          return NoopRequestSpan.INSTANCE;
+        }
+        root.spanCount++;
+        BufferedRequestSpan child = new BufferedRequestSpan(tracer, root, name, this);
+        if (children == null) {
+          children = new ArrayList<>(2);
+        }
+        children.add(child);
+        return child;
+      }
+    }
+
+    private void addAttribute(final String key, final Object value, final boolean lowCardinality) {
+      synchronized (root) {
+        attributes.add(new Object[] { key, value, lowCardinality });
+        if (this == root && lowCardinality && TracingIdentifiers.ATTR_SERVICE.equals(key) && value instanceof String) {
+          service = (String) value;
+        }
+      }
+    }
+
+    @Override
+    public void attribute(String key, String value) {
+      addAttribute(key, value, false);
+    }
+
+    @Override
+    public void attribute(String key, boolean value) {
+      addAttribute(key, value, false);
+    }
+
+    @Override
+    public void attribute(String key, long value) {
+      addAttribute(key, value, false);
+    }
+
+    @Override
+    public void lowCardinalityAttribute(String key, String value) {
+      addAttribute(key, value, true);
+    }
+
+    @Override
+    public void lowCardinalityAttribute(String key, boolean value) {
+      addAttribute(key, value, true);
+    }
+
+    @Override
+    public void lowCardinalityAttribute(String key, long value) {
+      addAttribute(key, value, true);
+    }
+
+    @Override
+    public void event(String name, Instant timestamp) {
+      synchronized (root) {
+        if (events == null) {
+          events = new ArrayList<>(2);
+        }
+        events.add(new Object[] { name, timestamp });
+      }
+    }
+
+    @Override
+    public void status(StatusCode status) {
+      synchronized (root) {
+        this.status = status;
+        if (status == StatusCode.ERROR) {
+          root.error = true;
+        }
+      }
+    }
+
+    @Override
+    public void recordException(Throwable err) {
+      synchronized (root) {
+        if (exceptions == null) {
+          exceptions = new ArrayList<>(1);
+        }
+        exceptions.add(err);
+        root.error = true;
+      }
+    }
+
+    @Override
+    public void requestContext(RequestContext requestContext) {
+      synchronized (root) {
+        this.requestContext = requestContext;
+      }
+    }
+
+    @Override
+    public void end() {
+      SpanData kept;
+      synchronized (root) {
+        if (endNanos >= 0) {
+          return;
+        }
+        endNanos = System.nanoTime();
+        if (this != root || !tracer.keep(this)) {
+          return;
+        }
+        kept = snapshot();
+      }
+      // The wrapped tracer is called outside of the lock, since spans of the request may still be modified
+      // concurrently and the wrapped tracer may take its time.
+      kept.materialize(tracer.delegate, parent);
+    }
+
+    /**
+     * Copies this span and all of its children with their original timings, must be called under the lock.
+     */
+    private SpanData snapshot() {
+      List<SpanData> childData = null;
+      if (children != null) {
+        childData = new ArrayList<>(children.size());
+        for (BufferedRequestSpan child : children) {
+          childData.add(child.snapshot());
+        }
+      }
+      return new SpanData(
+        name,
+        root.instantOf(startNanos),
+        root.instantOf(endNanos >= 0 ? endNanos : root.endNanos),
+        new ArrayList<>(attributes),
+        events == null ? null : new ArrayList<>(events),
+        exceptions == null ? null : new ArrayList<>(exceptions),
+        status,
+        requestContext,
+        childData
+      );
+    }
+
+    private Instant instantOf(final long nanos) {
+      return startTime.plusNanos(nanos - startNanos);
+    }
+  }
+
+  /**
+   * The buffered data of a span which is materialized in the wrapped tracer.
+   */
+  private static class SpanData {
+
+    private final String name;
+    private final Instant startTime;
+    private final Instant endTime;
+    private final List<Object[]> attributes;
+    private final List<Object[]> events;
+    private final List<Throwable> exceptions;
+    private final RequestSpan.StatusCode status;
+    private final RequestContext requestContext;
+    private final List<SpanData> children;
+
+    SpanData(final String name, final Instant startTime, final Instant endTime, final List<Object[]> attributes,
+             final List<Object[]> events, final List<Throwable> exceptions, final RequestSpan.StatusCode status,
+             final RequestContext requestContext, final List<SpanData> children) {
+      this.name = name;
+      this.startTime = startTime;
+      this.endTime = endTime;
+      this.attributes = attributes;
+      this.events = events;
+      this.exceptions = exceptions;
+      this.status = status;
+      this.requestContext = requestContext;
+      this.children = children;
+    }
+
+    /**
+     * Creates this span and all of its children in the wrapped tracer.
+     */
+    void materialize(final RequestTracer delegate, final RequestSpan realParent) {
+      RequestSpan span = delegate.requestSpan(name, realParent, startTime);
+      for (Object[] attribute : attributes) {
+        String key = (String) attribute[0];
+        Object value = attribute[1];
+        boolean lowCardinality = (Boolean) attribute[2];
+        if (value instanceof String) {
+          if (lowCardinality) {
+            span.lowCardinalityAttribute(key, (String) value);
+          } else {
+            span.attribute(key, (String) value);
+          }
+        } else if (value instanceof Boolean) {
+          if (lowCardinality) {
+            span.lowCardinalityAttribute(key, (Boolean) value);
+          } else {
+            span.attribute(key, (Boolean) value);
+          }
+        } else if (lowCardinality) {
+          span.lowCardinalityAttribute(key, (Long) value);
+        } else {
+          span.attribute(key, (Long) value);
+        }
+      }
+      if (events != null) {
+        for (Object[] event : events) {
+          span.event((String) event[0], (Instant) event[1]);
+        }
+      }
+      if (exceptions != null) {
+        exceptions.forEach(span::recordException);
+      }
+      if (status != null) {
+        span.status(status);
+      }
+      if (requestContext != null) {
+        span.requestContext(requestContext);
+      }
+      if (children != null) {
+        for (SpanData child : children) {
+          child.materialize(delegate, span);
+        }
+      }
+      span.end(endTime);
+    }
+  }
+
+  /**
+   * The variant for wrapped tracers which are {@link GrpcAwareRequestTracer GrpcAwareRequestTracers}, so the
+   * gRPC instrumentation and span activation keep working.
+   */
+  static class GrpcAwareSamplingRequestTracer extends SamplingRequestTracer implements GrpcAwareRequestTracer {
+
+    private final GrpcAwareRequestTracer grpcDelegate;
+
+    private GrpcAwareSamplingRequestTracer(final Builder builder) {
+      super(builder);
+      this.grpcDelegate = (GrpcAwareRequestTracer) builder.delegate;
+    }
+
+    @Override
+    public void registerGrpc(final ManagedChannelBuilder<?> builder) {
+      grpcDelegate.registerGrpc(builder);
+    }
+
+    /**
+     * Activates the span in the wrapped tracer if it is sampled, other spans do not exist there.
+     */
+    @Override
+    public AutoCloseable activateSpan(final RequestSpan span) {
+      if (span instanceof SampledRequestSpan) {
+        return grpcDelegate.activateSpan(((SampledRequestSpan) span).span);
+      }
+      return () -> { };
+    }
+  }
+
+  /**
+   * Allows to customize the {@link SamplingRequestTracer}.
+   */
+  public static class Builder {
+
+    private final RequestTracer delegate;
+    private double sampleRatio = DEFAULT_SAMPLE_RATIO;
+    private boolean tailSampling = DEFAULT_TAIL_SAMPLING;
+    private Duration kvThreshold = DEFAULT_KV_THRESHOLD;
+    private Duration threshold = DEFAULT_THRESHOLD;
+    private int maxBufferedSpans = DEFAULT_MAX_BUFFERED_SPANS;
+
+    Builder(final RequestTracer delegate) {
+      this.delegate = notNull(delegate, "RequestTracer");
+    }
+
+    /**
+     * The ratio of requests which are traced regardless of their outcome (head-based sampling).
+     *
+     * @param sampleRatio the ratio between 0.0 (none) and 1.0 (all).
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder sampleRatio(final double sampleRatio) {
+      if (sampleRatio < 0.0 || sampleRatio > 1.0) {
+        throw InvalidArgumentException.fromMessage("SampleRatio must be between 0.0 and 1.0, but was " + sampleRatio);
+      }
+      this.sampleRatio = sampleRatio;
+      return this;
+    }
+
+    /**
+     * If enabled, requests which are not sampled upfront are still traced if they are slow or fail.
+     *
+     * @param tailSampling true to enable, false otherwise.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder tailSampling(final boolean tailSampling) {
+      this.tailSampling = tailSampling;
+      return this;
+    }
+
+    /**
+     * The duration after which a KV request is considered slow for tail-based sampling.
+     *
+     * @param kvThreshold the threshold for the KV service.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder kvThreshold(final Duration kvThreshold) {
+      this.kvThreshold = notNull(kvThreshold, "KvThreshold");
+      return this;
+    }
+
+    /**
+     * The duration after which a request to any other service is considered slow for tail-based sampling.
+     *
+     * @param threshold the threshold for all non-KV services.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder threshold(final Duration threshold) {
+      this.threshold = notNull(threshold, "Threshold");
+      return this;
+    }
+
+    /**
+     * The maximum number of spans buffered per request for tail-based sampling.
+     * <p>
+     * Spans beyond this limit (i.e. of requests which are retried many times) are not recorded.
+     *
+     * @param maxBufferedSpans the maximum number of spans per request.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder maxBufferedSpans(final int maxBufferedSpans) {
+      if (maxBufferedSpans < 1) {
+        throw InvalidArgumentException.fromMessage("MaxBufferedSpans cannot be smaller than 1");
+      }
+      this.maxBufferedSpans = maxBufferedSpans;
+      return this;
+    }
+
+    public SamplingRequestTracer build() {
+      return delegate instanceof GrpcAwareRequestTracer
+        ? new GrpcAwareSamplingRequestTracer(this)
+        : new SamplingRequestTracer(this);
+    }
+  }
+
+}
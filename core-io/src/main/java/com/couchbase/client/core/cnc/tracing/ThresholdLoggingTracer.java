@@ -21,6 +21,7 @@ import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.RequestTracer;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.cnc.events.tracing.OverThresholdRequestsRecordedEvent;
+import com.couchbase.client.core.deps.org.HdrHistogram.Histogram;
 import com.couchbase.client.core.deps.org.jctools.queues.MpscArrayQueue;
 import com.couchbase.client.core.env.ThresholdLoggingTracerConfig;
 import com.couchbase.client.core.error.TracerException;
@@ -35,6 +36,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
@@ -67,7 +69,7 @@ public class ThresholdLoggingTracer implements RequestTracer {
   private static final String KEY_TIMEOUT = "timeout_ms";
 
   private final AtomicBoolean running = new AtomicBoolean(false);
-  private final Queue<Request<?>> overThresholdQueue;
+  private final Queue<ThresholdRequestRecord> overThresholdQueue;
   private final EventBus eventBus;
   private final Thread worker;
 
@@ -153,7 +155,10 @@ public class ThresholdLoggingTracer implements RequestTracer {
   }
 
   /**
-   * Finishes the span (sends it off into the queue when over threshold).
+   * Finishes the span (sends a compact record of it off into the queue when over threshold).
+   * <p>
+   * Only a {@link ThresholdRequestRecord} is queued, so the request itself (including its payload) does not need
+   * to stay reachable until the worker emits the next report.
    *
    * @param span the finished internal span from the toplevel request.
    */
@@ -161,8 +166,9 @@ public class ThresholdLoggingTracer implements RequestTracer {
     try {
       if (span.requestContext() != null) {
         final Request<?> request = span.requestContext().request();
-        if (isOverThreshold(request)) {
-          if (!overThresholdQueue.offer(request)) {
+        final String service = overThresholdService(request);
+        if (service != null) {
+          if (!overThresholdQueue.offer(ThresholdRequestRecord.capture(service, request))) {
             // TODO: what to do if dropped because queue full? raise event?
           }
         }
@@ -176,29 +182,30 @@ public class ThresholdLoggingTracer implements RequestTracer {
    * Helper method to calculate if the given request is over the configured threshold for this service.
    *
    * @param request the request to check.
-   * @return true if over threshold, false otherwise.
+   * @return the service identifier if over threshold, null otherwise.
    */
-  private boolean isOverThreshold(final Request<?> request) {
+  private String overThresholdService(final Request<?> request) {
     final long tookNanos = request.context().logicalRequestLatency();
     final ServiceType serviceType = request.serviceType();
     if (serviceType == null) {
       // Virtual service
-      if (request instanceof CoreTransactionRequest) {
-        return tookNanos >= transactionsThreshold;
+      if (request instanceof CoreTransactionRequest && tookNanos >= transactionsThreshold) {
+        return TracingIdentifiers.SERVICE_TRANSACTIONS;
       }
-      return false;
+      return null;
     }
     else if (serviceType == ServiceType.KV && tookNanos >= kvThreshold) {
-      return true;
+      return TracingIdentifiers.SERVICE_KV;
     } else if (serviceType == ServiceType.QUERY && tookNanos >= queryThreshold) {
-      return true;
+      return TracingIdentifiers.SERVICE_QUERY;
     } else if (serviceType == ServiceType.ANALYTICS && tookNanos >= analyticsThreshold) {
-      return true;
+      return TracingIdentifiers.SERVICE_ANALYTICS;
     } else if (serviceType == ServiceType.SEARCH && tookNanos >= searchThreshold) {
-      return true;
-    } else {
-      return serviceType == ServiceType.VIEWS && tookNanos >= viewThreshold;
+      return TracingIdentifiers.SERVICE_SEARCH;
+    } else if (serviceType == ServiceType.VIEWS && tookNanos >= viewThreshold) {
+      return TracingIdentifiers.SERVICE_VIEWS;
     }
+    return null;
   }
 
   @Override
@@ -222,8 +229,8 @@ public class ThresholdLoggingTracer implements RequestTracer {
   }
 
   /**
-   * The worker picks up requests from the queue and stores it in the per-service queues so that they can be dumped
-   * when configured.
+   * The worker picks up the recorded requests from the queue and stores them in the per-service aggregates so that
+   * they can be dumped when configured.
    */
   private class Worker implements Runnable {
 
@@ -240,29 +247,30 @@ public class ThresholdLoggingTracer implements RequestTracer {
     );
 
     /**
-     * Compares request by their logical request latency for the priority threshold queues.
+     * If enabled, the new output format also contains latency percentiles per operation for all requests which
+     * went over threshold in the interval, not only the top N samples.
      */
-    private final Comparator<Request<?>> THRESHOLD_COMPARATOR = Comparator.comparingLong(
-      o -> o.context().logicalRequestLatency()
+    private final boolean operationSummary = Boolean.parseBoolean(
+      System.getProperty("com.couchbase.thresholdRequestTracerOperationSummary", "false")
     );
 
-    private final Queue<Request<?>> kvThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> n1qlThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> viewThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> ftsThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> analyticsThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-    private final Queue<Request<?>> transactionsThresholds = new PriorityQueue<>(THRESHOLD_COMPARATOR);
-
-    private long kvThresholdCount = 0;
-    private long n1qlThresholdCount = 0;
-    private long viewThresholdCount = 0;
-    private long ftsThresholdCount = 0;
-    private long analyticsThresholdCount = 0;
-    private long transactionsThresholdCount = 0;
+    /**
+     * Holds the aggregates per service, in the order they are emitted in the old output format.
+     */
+    private final Map<String, ServiceThresholds> thresholds = new LinkedHashMap<>();
 
     private NanoTimestamp lastThresholdLog = NanoTimestamp.never();
     private boolean hasThresholdWritten;
 
+    Worker() {
+      thresholds.put(TracingIdentifiers.SERVICE_KV, new ServiceThresholds());
+      thresholds.put(TracingIdentifiers.SERVICE_QUERY, new ServiceThresholds());
+      thresholds.put(TracingIdentifiers.SERVICE_VIEWS, new ServiceThresholds());
+      thresholds.put(TracingIdentifiers.SERVICE_SEARCH, new ServiceThresholds());
+      thresholds.put(TracingIdentifiers.SERVICE_ANALYTICS, new ServiceThresholds());
+      thresholds.put(TracingIdentifiers.SERVICE_TRANSACTIONS, new ServiceThresholds());
+    }
+
     @Override
     public void run() {
       Thread.currentThread().setName("cb-tracing-" + REQUEST_TRACER_ID.incrementAndGet());
@@ -298,36 +306,14 @@ public class ThresholdLoggingTracer implements RequestTracer {
       }
 
       while (true) {
-        Request<?> request = overThresholdQueue.poll();
-        if (request == null) {
+        ThresholdRequestRecord record = overThresholdQueue.poll();
+        if (record == null) {
           return;
         }
-        final ServiceType serviceType = request.serviceType();
-        if (serviceType == null) {
-          // Virtual service
-          if (request instanceof CoreTransactionRequest) {
-            updateThreshold(transactionsThresholds, request);
-            transactionsThresholdCount += 1;
-          }
-        }
-        else if (serviceType == ServiceType.KV) {
-          updateThreshold(kvThresholds, request);
-          kvThresholdCount += 1;
-        } else if (serviceType == ServiceType.QUERY) {
-          updateThreshold(n1qlThresholds, request);
-          n1qlThresholdCount += 1;
-        } else if (serviceType == ServiceType.VIEWS) {
-          updateThreshold(viewThresholds, request);
-          viewThresholdCount += 1;
-        } else if (serviceType == ServiceType.SEARCH) {
-          updateThreshold(ftsThresholds, request);
-          ftsThresholdCount += 1;
-        } else if (serviceType == ServiceType.ANALYTICS) {
-          updateThreshold(analyticsThresholds, request);
-          analyticsThresholdCount += 1;
-        } else {
-          // TODO: log error
-          // LOGGER.warn("Unknown service in span {}", service);
+        ServiceThresholds service = thresholds.get(record.service());
+        if (service != null) {
+          service.record(record);
+          hasThresholdWritten = true;
         }
       }
     }
@@ -342,53 +328,12 @@ public class ThresholdLoggingTracer implements RequestTracer {
       hasThresholdWritten = false;
 
       Map<String, Object> output = new HashMap<>();
-      if (!kvThresholds.isEmpty()) {
-        output.put(
-          TracingIdentifiers.SERVICE_KV,
-          convertThresholdMetadataNew(kvThresholds, kvThresholdCount)
-        );
-        kvThresholds.clear();
-        kvThresholdCount = 0;
-      }
-      if (!n1qlThresholds.isEmpty()) {
-        output.put(
-          TracingIdentifiers.SERVICE_QUERY,
-          convertThresholdMetadataNew(n1qlThresholds, n1qlThresholdCount)
-        );
-        n1qlThresholds.clear();
-        n1qlThresholdCount = 0;
-      }
-      if (!viewThresholds.isEmpty()) {
-        output.put(
-          TracingIdentifiers.SERVICE_VIEWS,
-          convertThresholdMetadataNew(viewThresholds, viewThresholdCount)
-        );
-        viewThresholds.clear();
-        viewThresholdCount = 0;
-      }
-      if (!ftsThresholds.isEmpty()) {
-        output.put(
-          TracingIdentifiers.SERVICE_SEARCH,
-          convertThresholdMetadataNew(ftsThresholds, ftsThresholdCount)
-        );
-        ftsThresholds.clear();
-        ftsThresholdCount = 0;
-      }
-      if (!analyticsThresholds.isEmpty()) {
-        output.put(
-          TracingIdentifiers.SERVICE_ANALYTICS,
-          convertThresholdMetadataNew(analyticsThresholds, analyticsThresholdCount)
-        );
-        analyticsThresholds.clear();
-        analyticsThresholdCount = 0;
-      }
-      if (!transactionsThresholds.isEmpty()) {
-        output.put(
-                TracingIdentifiers.SERVICE_TRANSACTIONS,
-                convertThresholdMetadataNew(transactionsThresholds, transactionsThresholdCount)
-        );
-        transactionsThresholds.clear();
-        transactionsThresholdCount = 0;
+      for (Map.Entry<String, ServiceThresholds> entry : thresholds.entrySet()) {
+        ServiceThresholds service = entry.getValue();
+        if (!service.isEmpty()) {
+          output.put(entry.getKey(), convertThresholdMetadataNew(service));
+          service.clear();
+        }
       }
       logOverThreshold(output, null);
     }
@@ -400,62 +345,38 @@ public class ThresholdLoggingTracer implements RequestTracer {
       hasThresholdWritten = false;
 
       List<Map<String, Object>> output = new ArrayList<>();
-      if (!kvThresholds.isEmpty()) {
-        output.add(convertThresholdMetadataOld(kvThresholds, kvThresholdCount, TracingIdentifiers.SERVICE_KV));
-        kvThresholds.clear();
-        kvThresholdCount = 0;
-      }
-      if (!n1qlThresholds.isEmpty()) {
-        output.add(convertThresholdMetadataOld(n1qlThresholds, n1qlThresholdCount, TracingIdentifiers.SERVICE_QUERY));
-        n1qlThresholds.clear();
-        n1qlThresholdCount = 0;
-      }
-      if (!viewThresholds.isEmpty()) {
-        output.add(convertThresholdMetadataOld(viewThresholds, viewThresholdCount, TracingIdentifiers.SERVICE_VIEWS));
-        viewThresholds.clear();
-        viewThresholdCount = 0;
-      }
-      if (!ftsThresholds.isEmpty()) {
-        output.add(convertThresholdMetadataOld(ftsThresholds, ftsThresholdCount, TracingIdentifiers.SERVICE_SEARCH));
-        ftsThresholds.clear();
-        ftsThresholdCount = 0;
-      }
-      if (!analyticsThresholds.isEmpty()) {
-        output.add(convertThresholdMetadataOld(analyticsThresholds, analyticsThresholdCount, TracingIdentifiers.SERVICE_ANALYTICS));
-        analyticsThresholds.clear();
-        analyticsThresholdCount = 0;
-      }
-      if (!transactionsThresholds.isEmpty()) {
-        output.add(convertThresholdMetadataOld(transactionsThresholds, transactionsThresholdCount, TracingIdentifiers.SERVICE_TRANSACTIONS));
-        transactionsThresholds.clear();
-        transactionsThresholdCount = 0;
+      for (Map.Entry<String, ServiceThresholds> entry : thresholds.entrySet()) {
+        ServiceThresholds service = entry.getValue();
+        if (!service.isEmpty()) {
+          output.add(convertThresholdMetadataOld(service, entry.getKey()));
+          service.clear();
+        }
       }
       logOverThreshold(null, output);
     }
 
     /**
-     * Converts the metadata of the requests into the format that is suitable for dumping.
+     * Converts the metadata of the recorded requests into the format that is suitable for dumping.
      *
-     * @param requests the request data to convert
-     * @param count the total count
+     * @param service the aggregated service data to convert
      * @return the converted map
      */
-    private Map<String, Object> convertThresholdMetadataNew(final Queue<Request<?>> requests, final long count) {
+    private Map<String, Object> convertThresholdMetadataNew(final ServiceThresholds service) {
       Map<String, Object> output = new HashMap<>();
       List<Map<String, Object>> top = new ArrayList<>();
-      for (Request<?> request : requests) {
+      for (ThresholdRequestRecord record : service.top) {
         Map<String, Object> entry = new HashMap<>();
-        entry.put(KEY_TOTAL_MICROS, TimeUnit.NANOSECONDS.toMicros(request.context().logicalRequestLatency()));
+        entry.put(KEY_TOTAL_MICROS, TimeUnit.NANOSECONDS.toMicros(record.totalNanos()));
 
-        String operationId = request.operationId();
+        String operationId = record.operationId();
         if (operationId != null) {
           entry.put(KEY_OPERATION_ID, operationId);
         }
 
-        entry.put(KEY_OPERATION_NAME, request.name());
+        entry.put(KEY_OPERATION_NAME, record.operationName());
 
-        HostAndPort local = request.context().lastDispatchedFrom();
-        HostAndPort peer = request.context().lastDispatchedTo();
+        HostAndPort local = record.lastLocalSocket();
+        HostAndPort peer = record.lastRemoteSocket();
         if (local != null) {
           entry.put(KEY_LAST_LOCAL_SOCKET, redactSystem(local).toString());
         }
@@ -463,35 +384,35 @@ public class ThresholdLoggingTracer implements RequestTracer {
           entry.put(KEY_LAST_REMOTE_SOCKET, redactSystem(peer).toString());
         }
 
-        String localId = request.context().lastChannelId();
+        String localId = record.lastChannelId();
         if (localId != null) {
           entry.put(KEY_LAST_LOCAL_ID, redactSystem(localId).toString());
         }
 
-        long encodeDuration = request.context().encodeLatency();
+        long encodeDuration = record.encodeNanos();
         if (encodeDuration > 0) {
           entry.put(KEY_ENCODE_MICROS, TimeUnit.NANOSECONDS.toMicros(encodeDuration));
         }
 
-        long dispatchDuration = request.context().dispatchLatency();
+        long dispatchDuration = record.dispatchNanos();
         if (dispatchDuration > 0) {
           entry.put(KEY_DISPATCH_MICROS, TimeUnit.NANOSECONDS.toMicros(dispatchDuration));
         }
-        long totalDispatchDuration = request.context().totalDispatchLatency();
+        long totalDispatchDuration = record.totalDispatchNanos();
         if (totalDispatchDuration > 0) {
           entry.put(KEY_TOTAL_DISPATCH_MICROS, TimeUnit.NANOSECONDS.toMicros(totalDispatchDuration));
         }
 
-        long serverDuration = request.context().serverLatency();
+        long serverDuration = record.serverMicros();
         if (serverDuration > 0) {
           entry.put(KEY_SERVER_MICROS, serverDuration);
         }
-        long totalServerDuration = request.context().totalServerLatency();
+        long totalServerDuration = record.totalServerMicros();
         if (totalServerDuration > 0) {
           entry.put(KEY_TOTAL_SERVER_MICROS, totalServerDuration);
         }
 
-        entry.put(KEY_TIMEOUT, request.timeout().toMillis());
+        entry.put(KEY_TIMEOUT, record.timeoutMillis());
 
         top.add(entry);
       }
@@ -501,28 +422,47 @@ public class ThresholdLoggingTracer implements RequestTracer {
       // calls will be shown first.
       top.sort((o1, o2) -> ((Long) o2.get(KEY_TOTAL_MICROS)).compareTo((Long) o1.get(KEY_TOTAL_MICROS)));
 
-      output.put("total_count", count);
+      output.put("total_count", service.count);
       output.put("top_requests", top);
+
+      if (operationSummary && !service.operations.isEmpty()) {
+        Map<String, Object> operations = new HashMap<>();
+        for (Map.Entry<String, Histogram> operation : service.operations.entrySet()) {
+          Histogram histogram = operation.getValue();
+          Map<String, Object> operationMap = new HashMap<>();
+          operationMap.put("total_count", histogram.getTotalCount());
+
+          Map<String, Object> percentiles = new LinkedHashMap<>();
+          percentiles.put("50.0", histogram.getValueAtPercentile(50.0));
+          percentiles.put("90.0", histogram.getValueAtPercentile(90.0));
+          percentiles.put("99.0", histogram.getValueAtPercentile(99.0));
+          percentiles.put("99.9", histogram.getValueAtPercentile(99.9));
+          percentiles.put("100.0", histogram.getMaxValue());
+          operationMap.put("percentiles_us", percentiles);
+
+          operations.put(operation.getKey(), operationMap);
+        }
+        output.put("operations", operations);
+      }
       return output;
     }
 
-    private Map<String, Object> convertThresholdMetadataOld(final Queue<Request<?>> requests, final long count,
-                                                            final String ident) {
+    private Map<String, Object> convertThresholdMetadataOld(final ServiceThresholds service, final String ident) {
       Map<String, Object> output = new HashMap<>();
       List<Map<String, Object>> top = new ArrayList<>();
-      for (Request<?> request : requests) {
+      for (ThresholdRequestRecord record : service.top) {
         Map<String, Object> entry = new HashMap<>();
-        entry.put("total_us", TimeUnit.NANOSECONDS.toMicros(request.context().logicalRequestLatency()));
+        entry.put("total_us", TimeUnit.NANOSECONDS.toMicros(record.totalNanos()));
 
-        String operationId = request.operationId();
+        String operationId = record.operationId();
         if (operationId != null) {
           entry.put("last_operation_id", operationId);
         }
 
-        entry.put("operation_name", request.getClass().getSimpleName());
+        entry.put("operation_name", record.requestClassName());
 
-        HostAndPort local = request.context().lastDispatchedFrom();
-        HostAndPort peer = request.context().lastDispatchedTo();
+        HostAndPort local = record.lastLocalSocket();
+        HostAndPort peer = record.lastRemoteSocket();
         if (local != null) {
           entry.put("last_local_address", redactSystem(local).toString());
         }
@@ -530,22 +470,22 @@ public class ThresholdLoggingTracer implements RequestTracer {
           entry.put("last_remote_address", redactSystem(peer).toString());
         }
 
-        String localId = request.context().lastChannelId();
+        String localId = record.lastChannelId();
         if (localId != null) {
           entry.put("last_local_id", redactSystem(localId).toString());
         }
 
-        long encodeDuration = request.context().encodeLatency();
+        long encodeDuration = record.encodeNanos();
         if (encodeDuration > 0) {
           entry.put("encode_us", TimeUnit.NANOSECONDS.toMicros(encodeDuration));
         }
 
-        long dispatchDuration = request.context().dispatchLatency();
+        long dispatchDuration = record.dispatchNanos();
         if (dispatchDuration > 0) {
           entry.put("last_dispatch_us", TimeUnit.NANOSECONDS.toMicros(dispatchDuration));
         }
 
-        long serverDuration = request.context().serverLatency();
+        long serverDuration = record.serverMicros();
         if (serverDuration > 0) {
           entry.put("server_us", serverDuration);
         }
@@ -559,7 +499,7 @@ public class ThresholdLoggingTracer implements RequestTracer {
       top.sort((o1, o2) -> ((Long) o2.get("total_us")).compareTo((Long) o1.get("total_us")));
 
       output.put("service", ident);
-      output.put("count", count);
+      output.put("count", service.count);
       output.put("top", top);
       return output;
     }
@@ -573,16 +513,55 @@ public class ThresholdLoggingTracer implements RequestTracer {
     }
 
     /**
-     * Helper method which updates the list with the span and ensures that the sample
-     * size is respected.
+     * Aggregates the over threshold records of a single service for the current emit interval.
+     * <p>
+     * Only the top N slowest records (N being the sample size) are retained, everything else is only counted (and
+     * folded into the per-operation histograms if enabled).
      */
-    private void updateThreshold(final Queue<Request<?>> thresholds, final Request<?> request) {
-      thresholds.add(request);
-      // Remove the element with the lowest duration, so we only keep the highest ones consistently
-      while(thresholds.size() > sampleSize) {
-        thresholds.remove();
+    private class ServiceThresholds {
+
+      /**
+       * Min-heap of the slowest records, so the fastest retained one is always at the head.
+       */
+      private final PriorityQueue<ThresholdRequestRecord> top = new PriorityQueue<>(
+        Math.max(sampleSize, 1),
+        Comparator.comparingLong(ThresholdRequestRecord::totalNanos)
+      );
+
+      private final Map<String, Histogram> operations = new HashMap<>();
+
+      private long count = 0;
+
+      /**
+       * Records the request and ensures that the sample size is respected.
+       */
+      void record(final ThresholdRequestRecord record) {
+        count += 1;
+
+        if (top.size() < sampleSize) {
+          top.add(record);
+        } else if (sampleSize > 0 && top.peek().totalNanos() < record.totalNanos()) {
+          // Replace the element with the lowest duration, so we only keep the highest ones consistently
+          top.poll();
+          top.add(record);
+        }
+
+        if (operationSummary) {
+          operations
+            .computeIfAbsent(record.operationName(), k -> new Histogram(2))
+            .recordValue(TimeUnit.NANOSECONDS.toMicros(record.totalNanos()));
+        }
+      }
+
+      boolean isEmpty() {
+        return top.isEmpty();
+      }
+
+      void clear() {
+        top.clear();
+        operations.clear();
+        count = 0;
       }
-      hasThresholdWritten = true;
     }
   }
 
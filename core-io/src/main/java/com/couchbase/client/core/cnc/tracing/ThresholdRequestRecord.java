@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.tracing;
+
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.msg.kv.BaseKeyValueRequest;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.util.HostAndPort;
+
+/**
+ * A compact, immutable copy of the information the {@link ThresholdLoggingTracer} reports for a request which
+ * went over its threshold.
+ * <p>
+ * The record is captured when the span is finished, so the tracer does not need to keep the original request (and
+ * with it the payload and response) alive until the next emit interval. For key-value requests only the opaque is
+ * kept and the operation id is derived from it when the record is emitted.
+ */
+class ThresholdRequestRecord {
+
+  private final String service;
+  private final long totalNanos;
+  private final boolean keyValue;
+  private final int opaque;
+  private final String operationId;
+  private final String operationName;
+  private final String requestClassName;
+  private final HostAndPort lastLocalSocket;
+  private final HostAndPort lastRemoteSocket;
+  private final String lastChannelId;
+  private final long encodeNanos;
+  private final long dispatchNanos;
+  private final long totalDispatchNanos;
+  private final long serverMicros;
+  private final long totalServerMicros;
+  private final long timeoutMillis;
+
+  private ThresholdRequestRecord(final String service, final Request<?> request) {
+    final RequestContext ctx = request.context();
+    this.service = service;
+    this.totalNanos = ctx.logicalRequestLatency();
+    if (request instanceof KeyValueRequest) {
+      this.keyValue = true;
+      this.opaque = ((KeyValueRequest<?>) request).opaque();
+      this.operationId = null;
+    } else {
+      this.keyValue = false;
+      this.opaque = 0;
+      this.operationId = request.operationId();
+    }
+    this.operationName = request.name();
+    this.requestClassName = request.getClass().getSimpleName();
+    this.lastLocalSocket = ctx.lastDispatchedFrom();
+    this.lastRemoteSocket = ctx.lastDispatchedTo();
+    this.lastChannelId = ctx.lastChannelId();
+    this.encodeNanos = ctx.encodeLatency();
+    this.dispatchNanos = ctx.dispatchLatency();
+    this.totalDispatchNanos = ctx.totalDispatchLatency();
+    this.serverMicros = ctx.serverLatency();
+    this.totalServerMicros = ctx.totalServerLatency();
+    this.timeoutMillis = request.timeout().toMillis();
+  }
+
+  /**
+   * Captures the record from the given request.
+   *
+   * @param service the service identifier the request is aggregated under.
+   * @param request the request to capture.
+   * @return the captured record.
+   */
+  static ThresholdRequestRecord capture(final String service, final Request<?> request) {
+    return new ThresholdRequestRecord(service, request);
+  }
+
+  String service() {
+    return service;
+  }
+
+  long totalNanos() {
+    return totalNanos;
+  }
+
+  /**
+   * Returns the operation id, which for key-value requests is the opaque in hex format.
+   */
+  String operationId() {
+    return keyValue ? BaseKeyValueRequest.formatOperationId(opaque) : operationId;
+  }
+
+  String operationName() {
+    return operationName;
+  }
+
+  String requestClassName() {
+    return requestClassName;
+  }
+
+  HostAndPort lastLocalSocket() {
+    return lastLocalSocket;
+  }
+
+  HostAndPort lastRemoteSocket() {
+    return lastRemoteSocket;
+  }
+
+  String lastChannelId() {
+    return lastChannelId;
+  }
+
+  long encodeNanos() {
+    return encodeNanos;
+  }
+
+  long dispatchNanos() {
+    return dispatchNanos;
+  }
+
+  long totalDispatchNanos() {
+    return totalDispatchNanos;
+  }
+
+  long serverMicros() {
+    return serverMicros;
+  }
+
+  long totalServerMicros() {
+    return totalServerMicros;
+  }
+
+  long timeoutMillis() {
+    return timeoutMillis;
+  }
+
+}
@@ -22,6 +22,7 @@ import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.CollectionMap;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
 
 import java.util.Set;
 
@@ -179,6 +180,40 @@ public interface ConfigurationProvider {
    */
   Flux<Long> configChangeNotifications();
 
+  /**
+   * Signals to the config provider that the server sent a notification that the config of a bucket (or the
+   * global config) changed to the given version.
+   * <p>
+   * Implementations may skip the refresh if the version is not newer than the one they already have. The default
+   * implementation ignores the version and behaves like {@link #signalConfigChanged()}.
+   *
+   * @param bucketName the name of the bucket, or null if the global config changed.
+   * @param version the version announced by the server.
+   */
+  default void signalConfigChanged(@Nullable String bucketName, ConfigVersion version) {
+    signalConfigChanged();
+  }
+
+  /**
+   * Signals to the config provider that a KV connection which receives config change notifications
+   * has been opened or closed.
+   *
+   * @param bucketName the name of the bucket the connection is bound to, or null if it is not bound to one.
+   * @param active true if the connection has been opened, false if it has been closed.
+   */
+  default void signalConfigPushChannel(@Nullable String bucketName, boolean active) {
+  }
+
+  /**
+   * Returns true if at least one open KV connection receives config change notifications for the given bucket.
+   *
+   * @param bucketName the name of the bucket, or null for the connections not bound to a bucket.
+   * @return true if config changes for this bucket are pushed by the server.
+   */
+  default boolean configPushActive(@Nullable String bucketName) {
+    return false;
+  }
+
   /**
    * The value emitted by the {@link #configChangeNotifications()} feed.
    */
@@ -37,6 +37,7 @@ import com.couchbase.client.core.config.loader.ClusterManagerBucketLoader;
 import com.couchbase.client.core.config.loader.GlobalLoader;
 import com.couchbase.client.core.config.loader.KeyValueBucketLoader;
 import com.couchbase.client.core.config.refresher.ClusterManagerBucketRefresher;
+import com.couchbase.client.core.config.refresher.ConfigPushBackoff;
 import com.couchbase.client.core.config.refresher.GlobalRefresher;
 import com.couchbase.client.core.config.refresher.KeyValueBucketRefresher;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.JsonNode;
@@ -69,6 +70,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 import reactor.util.retry.Retry;
 
 import javax.naming.NamingException;
@@ -172,6 +174,11 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
 
   private final Sinks.Many<Long> configPollTrigger = Sinks.many().multicast().directBestEffort();
 
+  /**
+   * Holds the number of open KV connections which receive config change notifications, per bucket.
+   */
+  private final Map<String, AtomicInteger> configPushChannels = new ConcurrentHashMap<>();
+
   public DefaultConfigurationProvider(final Core core, final Set<SeedNode> seedNodes) {
     this(core, seedNodes, asConnectionString(seedNodes));
   }
@@ -867,6 +874,55 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
     return configPollTrigger.asFlux();
   }
 
+  @Override
+  public void signalConfigChanged(@Nullable final String bucketName, final ConfigVersion version) {
+    ConfigVersion current = currentVersion(bucketName);
+    if (current != null && version.isLessThanOrEqualTo(current)) {
+      ConfigPushBackoff.recordAvoidedFetch(
+        core.context().environment().meter(),
+        bucketName,
+        ConfigPushBackoff.REASON_NOT_NEWER
+      );
+      return;
+    }
+    signalConfigChanged();
+  }
+
+  /**
+   * Returns the version of the current config for the bucket (or the global config if the bucket name is null).
+   *
+   * @param bucketName the name of the bucket, or null for the global config.
+   * @return the current version, or null if there is no config yet.
+   */
+  private ConfigVersion currentVersion(@Nullable final String bucketName) {
+    if (bucketName == null) {
+      GlobalConfig config = currentConfig.globalConfig();
+      return config == null ? null : config.version();
+    }
+    BucketConfig config = currentConfig.bucketConfig(bucketName);
+    return config == null ? null : config.version();
+  }
+
+  @Override
+  public void signalConfigPushChannel(@Nullable final String bucketName, final boolean active) {
+    AtomicInteger channels = configPushChannels.computeIfAbsent(pushKey(bucketName), k -> new AtomicInteger());
+    if (active) {
+      channels.incrementAndGet();
+    } else {
+      channels.updateAndGet(v -> Math.max(0, v - 1));
+    }
+  }
+
+  @Override
+  public boolean configPushActive(@Nullable final String bucketName) {
+    AtomicInteger channels = configPushChannels.get(pushKey(bucketName));
+    return channels != null && channels.get() > 0;
+  }
+
+  private static String pushKey(@Nullable final String bucketName) {
+    return bucketName == null ? "" : bucketName;
+  }
+
   /**
    * Performs DNS SRV refresh.
    * <p>
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.config.refresher;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.config.ConfigurationProvider;
+import com.couchbase.client.core.util.NanoTimestamp;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a refresher should poll for a new config, backing off while the server pushes config changes.
+ *
+ * <p>When push-only config is enabled and at least one KV connection receives config change notifications for a
+ * bucket, polling the bucket regularly only confirms what the server would have told us anyway. In that case the
+ * refreshers only poll at the {@link #HEARTBEAT_INTERVAL} as a safety net, and fall back to the configured poll
+ * interval once no such connection is left or refreshing fails.</p>
+ *
+ * <p>Every poll skipped this way is counted in the {@link TracingIdentifiers#METER_CONFIG_FETCHES_AVOIDED} meter.</p>
+ */
+@Stability.Internal
+public class ConfigPushBackoff {
+
+  /**
+   * The interval at which configs are still polled while they are pushed by the server.
+   */
+  static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(30);
+
+  /**
+   * Set as the reason if a poll was skipped because the config is pushed by the server.
+   */
+  public static final String REASON_PUSH_ACTIVE = "push_active";
+
+  /**
+   * Set as the reason if a notification did not announce a newer config than the current one.
+   */
+  public static final String REASON_NOT_NEWER = "not_newer";
+
+  /**
+   * The key used for the global config, since it is not bound to a bucket.
+   */
+  private static final String GLOBAL = "";
+
+  private final boolean enabled;
+  private final Duration pollInterval;
+  private final ConfigurationProvider provider;
+  private final Meter meter;
+
+  /**
+   * Holds the time of the last skipped poll which has been counted, per bucket.
+   */
+  private final Map<String, NanoTimestamp> lastAvoided = new ConcurrentHashMap<>();
+
+  ConfigPushBackoff(final boolean enabled, final Duration pollInterval, final ConfigurationProvider provider,
+                    final Meter meter) {
+    this.enabled = enabled;
+    this.pollInterval = pollInterval;
+    this.provider = provider;
+    this.meter = meter;
+  }
+
+  /**
+   * Returns true if the config of the bucket should be polled now.
+   *
+   * @param bucketName the name of the bucket, or null for the global config.
+   * @param lastPoll the time of the last successful poll.
+   * @param failing true if the last refresh attempts failed.
+   * @return true if a config should be fetched.
+   */
+  boolean pollDue(@Nullable final String bucketName, final NanoTimestamp lastPoll, final boolean failing) {
+    if (!lastPoll.hasElapsed(pollInterval)) {
+      return false;
+    }
+
+    String key = bucketName == null ? GLOBAL : bucketName;
+    if (!enabled || failing || !provider.configPushActive(bucketName) || lastPoll.hasElapsed(HEARTBEAT_INTERVAL)) {
+      lastAvoided.remove(key);
+      return true;
+    }
+
+    // The refreshers tick more often than they poll, so only count one skipped poll per poll interval.
+    NanoTimestamp avoided = lastAvoided.get(key);
+    if (avoided == null || avoided.hasElapsed(pollInterval)) {
+      lastAvoided.put(key, NanoTimestamp.now());
+      recordAvoidedFetch(meter, bucketName, REASON_PUSH_ACTIVE);
+    }
+    return false;
+  }
+
+  /**
+   * Counts a config fetch which has not been performed.
+   *
+   * @param meter the meter to record on.
+   * @param bucketName the name of the bucket, or null for the global config.
+   * @param reason the reason why the fetch has been avoided.
+   */
+  public static void recordAvoidedFetch(final Meter meter, @Nullable final String bucketName, final String reason) {
+    Map<String, String> tags = new HashMap<>(4);
+    tags.put(TracingIdentifiers.ATTR_SYSTEM, TracingIdentifiers.ATTR_SYSTEM_COUCHBASE);
+    tags.put(TracingIdentifiers.ATTR_REASON, reason);
+    if (bucketName != null) {
+      tags.put(TracingIdentifiers.ATTR_NAME, bucketName);
+    }
+    meter.counter(TracingIdentifiers.METER_CONFIG_FETCHES_AVOIDED, tags).incrementBy(1);
+  }
+
+}
@@ -104,6 +104,11 @@ public class GlobalRefresher {
    */
   private final AtomicInteger numFailedRefreshes = new AtomicInteger(0);
 
+  /**
+   * Decides if a poll is due, backing off while the global config is pushed by the server.
+   */
+  private final ConfigPushBackoff pushBackoff;
+
   /**
    * Creates a new global refresher.
    *
@@ -115,6 +120,12 @@ public class GlobalRefresher {
     this.core = core;
     configPollInterval = core.context().environment().ioConfig().configPollInterval();
     configRequestTimeout = clampConfigRequestTimeout(configPollInterval);
+    pushBackoff = new ConfigPushBackoff(
+      core.context().environment().ioConfig().configPushOnly(),
+      configPollInterval,
+      provider,
+      core.context().environment().meter()
+    );
 
     pollRegistration = Flux.merge(
         Flux.interval(pollerInterval(), core.context().environment().scheduler()),
@@ -128,7 +139,8 @@ public class GlobalRefresher {
       // Since the POLLER_INTERVAL is smaller than the config poll interval, make sure
       // we only emit poll events if enough time has elapsed -- or if the server told us
       // there's a new config.
-      .filter(v -> v == TRIGGERED_BY_CONFIG_CHANGE_NOTIFICATION || lastPoll.hasElapsed(configPollInterval))
+      .filter(v -> v == TRIGGERED_BY_CONFIG_CHANGE_NOTIFICATION
+        || pushBackoff.pollDue(null, lastPoll, numFailedRefreshes.get() > 0))
       .flatMap(ign -> {
         List<PortInfo> nodes = filterEligibleNodes();
         if (numFailedRefreshes.get() >= nodes.size()) {
@@ -134,6 +134,10 @@ public class KeyValueBucketRefresher implements BucketRefresher {
    */
   private final EventBus eventBus;
 
+  /**
+   * Decides if a poll is due, backing off while bucket configs are pushed by the server.
+   */
+  private final ConfigPushBackoff pushBackoff;
 
   public KeyValueBucketRefresher(final ConfigurationProvider provider, final Core core) {
     this.core = core;
@@ -141,6 +145,12 @@ public class KeyValueBucketRefresher implements BucketRefresher {
     this.provider = provider;
     this.configPollInterval = core.context().environment().ioConfig().configPollInterval();
     this.configRequestTimeout = clampConfigRequestTimeout(configPollInterval);
+    this.pushBackoff = new ConfigPushBackoff(
+      core.context().environment().ioConfig().configPushOnly(),
+      configPollInterval,
+      provider,
+      core.context().environment().meter()
+    );
 
     pollRegistration = Flux.merge(
         Flux.interval(pollerInterval(), core.context().environment().scheduler()),
@@ -203,7 +213,8 @@ public class KeyValueBucketRefresher implements BucketRefresher {
    */
   private Mono<ProposedBucketConfigContext> maybeUpdateBucket(final String name, boolean triggeredByConfigChangeNotification) {
     NanoTimestamp last = registrations.get(name);
-    boolean overInterval = last != null && last.hasElapsed(configPollInterval);
+    AtomicInteger failed = numFailedRefreshes.get(name);
+    boolean overInterval = last != null && pushBackoff.pollDue(name, last, failed != null && failed.get() > 0);
     boolean allowed = triggeredByConfigChangeNotification || tainted.contains(name) || overInterval;
 
     if (allowed) {
@@ -30,6 +30,11 @@ public class AnalyticsEndpoint extends BaseEndpoint {
       ctx, ctx.environment().ioConfig().analyticsCircuitBreakerConfig(), ServiceType.ANALYTICS, false);
   }
 
+  @Override
+  protected boolean supportsHttp2() {
+    return true;
+  }
+
   @Override
   protected PipelineInitializer pipelineInitializer() {
     return new AnalyticsPipelineInitializer(context());
@@ -17,7 +17,9 @@
 package com.couchbase.client.core.endpoint;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.CbTracing;
 import com.couchbase.client.core.cnc.Event;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectionAbortedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectionFailedEvent;
@@ -28,6 +30,8 @@ import com.couchbase.client.core.cnc.events.endpoint.EndpointStateChangedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointWriteFailedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.UnexpectedEndpointConnectionFailedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.UnexpectedEndpointDisconnectedEvent;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.bootstrap.Bootstrap;
 import com.couchbase.client.core.deps.io.netty.channel.Channel;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelFuture;
@@ -52,6 +56,11 @@ import com.couchbase.client.core.env.SecurityConfig;
 import com.couchbase.client.core.error.BucketNotFoundException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.error.SecurityException;
+import com.couchbase.client.core.io.netty.CachingAddressResolverGroup;
+import com.couchbase.client.core.io.netty.Http2NegotiationHandler;
+import com.couchbase.client.core.io.netty.Http2StreamDispatcher;
+import com.couchbase.client.core.io.netty.IoUringTransport;
+import com.couchbase.client.core.io.netty.MeteredByteBufAllocator;
 import com.couchbase.client.core.io.netty.PipelineErrorHandler;
 import com.couchbase.client.core.io.netty.SslHandlerFactory;
 import com.couchbase.client.core.io.netty.TrafficCaptureHandler;
@@ -76,8 +85,10 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -136,6 +147,13 @@ public abstract class BaseEndpoint implements Endpoint {
    */
   private final AtomicInteger outstandingRequests;
 
+  /**
+   * The number of requests which can be in flight on the current channel if it is not pipelined.
+   *
+   * <p>This is one for HTTP/1.1, but an HTTP/2 channel multiplexes many requests as separate streams.</p>
+   */
+  private volatile int maxOutstandingRequests = 1;
+
   /**
    * The event loop group used for this endpoint, passed to netty.
    */
@@ -154,6 +172,11 @@ public abstract class BaseEndpoint implements Endpoint {
 
   private final int port;
 
+  /**
+   * The allocator handed to every channel of this endpoint, created on the first connect attempt.
+   */
+  private volatile ByteBufAllocator allocator;
+
   /**
    * Once connected, contains the channel to work with.
    */
@@ -221,6 +244,34 @@ public abstract class BaseEndpoint implements Endpoint {
     return endpointContext.get();
   }
 
+  /**
+   * Returns the allocator for the channels of this endpoint.
+   * <p>
+   * This is the shared allocator of the {@link com.couchbase.client.core.env.IoEnvironment}, and if a meter is
+   * configured it is wrapped so that the bytes allocated by this endpoint are counted.
+   *
+   * @param env the environment to pull the allocator and meter from.
+   * @return the allocator to use.
+   */
+  private ByteBufAllocator allocator(final CoreEnvironment env) {
+    ByteBufAllocator allocator = this.allocator;
+    if (allocator == null) {
+      allocator = env.ioEnvironment().allocator();
+      if (!(env.meter() instanceof NoopMeter)) {
+        Map<String, String> tags = new HashMap<>(4);
+        tags.put(TracingIdentifiers.ATTR_SERVICE, CbTracing.getTracingId(serviceType));
+        tags.put(TracingIdentifiers.ATTR_REMOTE_HOSTNAME, hostname);
+        tags.put(TracingIdentifiers.ATTR_REMOTE_PORT, Integer.toString(port));
+        allocator = new MeteredByteBufAllocator(
+          allocator,
+          env.meter().counter(TracingIdentifiers.METER_IO_ALLOCATED_BYTES, tags)
+        );
+      }
+      this.allocator = allocator;
+    }
+    return allocator;
+  }
+
   /**
    * Helper method to locate the right socket channel class based on the injected
    * event loop group.
@@ -233,6 +284,8 @@ public abstract class BaseEndpoint implements Endpoint {
       return KQueueSocketChannel.class;
     } else if (eventLoopGroup instanceof EpollEventLoopGroup) {
       return EpollSocketChannel.class;
+    } else if (IoUringTransport.isEventLoopGroup(eventLoopGroup)) {
+      return IoUringTransport.socketChannelClass();
     } else if (eventLoopGroup instanceof NioEventLoopGroup) {
       return NioSocketChannel.class;
     } else if (eventLoopGroup instanceof DefaultEventLoopGroup) {
@@ -249,6 +302,16 @@ public abstract class BaseEndpoint implements Endpoint {
    */
   protected abstract PipelineInitializer pipelineInitializer();
 
+  /**
+   * Returns true if the handlers of this endpoint can also be used per stream on an HTTP/2 connection.
+   *
+   * <p>If so, and it is enabled in the {@link com.couchbase.client.core.env.IoConfig}, HTTP/2 is offered to the
+   * server during the TLS handshake.</p>
+   */
+  protected boolean supportsHttp2() {
+    return false;
+  }
+
   /**
    * Starts the connect process of this endpoint.
    *
@@ -306,15 +369,17 @@ public abstract class BaseEndpoint implements Endpoint {
           .group(eventLoopGroup)
           .channel(channelFrom(eventLoopGroup))
           .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeoutMs)
+          .option(ChannelOption.ALLOCATOR, allocator(env))
           .handler(new ChannelInitializer<Channel>() {
             @Override
             protected void initChannel(final Channel ch) {
               ChannelPipeline pipeline = ch.pipeline();
 
               SecurityConfig config = env.securityConfig();
+              boolean negotiateHttp2 = config.tlsEnabled() && env.ioConfig().http2Enabled() && supportsHttp2();
               if (config.tlsEnabled()) {
                 try {
-                  pipeline.addFirst(SslHandlerFactory.get(ch.alloc(), config, endpointContext));
+                  pipeline.addFirst(SslHandlerFactory.get(ch.alloc(), config, endpointContext, negotiateHttp2));
                 } catch (Exception e) {
                   throw new SecurityException("Could not instantiate SSL Handler", e);
                 }
@@ -322,7 +387,11 @@ public abstract class BaseEndpoint implements Endpoint {
               if (env.ioConfig().servicesToCapture().contains(serviceType)) {
                 pipeline.addLast(TrafficCaptureHandler.class.getName(), new TrafficCaptureHandler(endpointContext));
               }
-              pipelineInitializer().init(BaseEndpoint.this, pipeline);
+              if (negotiateHttp2) {
+                pipeline.addLast(new Http2NegotiationHandler(BaseEndpoint.this, pipelineInitializer()));
+              } else {
+                pipelineInitializer().init(BaseEndpoint.this, pipeline);
+              }
               pipeline.addLast(new PipelineErrorHandler(BaseEndpoint.this));
             }
           });
@@ -336,6 +405,10 @@ public abstract class BaseEndpoint implements Endpoint {
           }
         }
 
+        if (env.ioConfig().dnsCacheEnabled()) {
+          channelBootstrap.resolver(CachingAddressResolverGroup.INSTANCE);
+        }
+
         state.transition(EndpointState.CONNECTING);
         attemptStart.set(System.nanoTime());
         return channelFutureIntoMono(channelBootstrap.connect())
@@ -428,6 +501,9 @@ public abstract class BaseEndpoint implements Endpoint {
               ConnectTimings.toMap(channel)
             ));
             this.endpointContext.set(newContext);
+            this.maxOutstandingRequests = Boolean.TRUE.equals(channel.attr(ChannelAttributes.HTTP2_KEY).get())
+              ? Http2StreamDispatcher.MAX_CONCURRENT_STREAMS
+              : 1;
             this.circuitBreaker.reset();
             lastConnectedAt = now;
             state.transition(EndpointState.CONNECTED);
@@ -622,7 +698,7 @@ public abstract class BaseEndpoint implements Endpoint {
 
   @Override
   public boolean freeToWrite() {
-    return pipelined || outstandingRequests.get() == 0;
+    return pipelined || outstandingRequests.get() < maxOutstandingRequests;
   }
 
   @Override
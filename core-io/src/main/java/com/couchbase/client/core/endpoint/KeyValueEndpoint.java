@@ -25,6 +25,8 @@ import com.couchbase.client.core.io.netty.kv.FeatureNegotiatingHandler;
 import com.couchbase.client.core.io.netty.kv.KeyValueMessageHandler;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocolDecodeHandler;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocolVerificationHandler;
+import com.couchbase.client.core.io.netty.kv.NodeHandshakeCache;
+import com.couchbase.client.core.io.netty.kv.PipelinedBootstrapHandler;
 import com.couchbase.client.core.io.netty.kv.SelectBucketHandler;
 import com.couchbase.client.core.io.netty.kv.ServerFeature;
 import com.couchbase.client.core.io.netty.kv.ServerPushHandler;
@@ -99,8 +101,14 @@ public class KeyValueEndpoint extends BaseEndpoint {
       // can't tolerate being interrupted by a server push request (such as a clustermap change notification).
       pipeline.addLast(new ServerPushHandler(ctx));
 
-      pipeline.addLast(new FeatureNegotiatingHandler(ctx, serverFeatures()));
-      pipeline.addLast(new ErrorMapLoadingHandler(ctx));
+      if (ctx.environment().ioConfig().pipelinedKvBootstrap()) {
+        pipeline.addLast(new PipelinedBootstrapHandler());
+      }
+
+      Set<ServerFeature> features = serverFeatures();
+      NodeHandshakeCache handshakeCache = ctx.core() == null ? null : ctx.core().handshakeCache();
+      pipeline.addLast(new FeatureNegotiatingHandler(ctx, features, handshakeCache));
+      pipeline.addLast(new ErrorMapLoadingHandler(ctx, handshakeCache, features));
 
       authenticator.authKeyValueConnection(ctx, pipeline);
 
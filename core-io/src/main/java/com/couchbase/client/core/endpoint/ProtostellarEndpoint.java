@@ -30,6 +30,8 @@ import com.couchbase.client.core.deps.io.grpc.ClientInterceptor;
 import com.couchbase.client.core.deps.io.grpc.ClientStreamTracer;
 import com.couchbase.client.core.deps.io.grpc.ConnectivityState;
 import com.couchbase.client.core.deps.io.grpc.EquivalentAddressGroup;
+import com.couchbase.client.core.deps.io.grpc.ForwardingClientCall;
+import com.couchbase.client.core.deps.io.grpc.ForwardingClientCallListener;
 import com.couchbase.client.core.deps.io.grpc.ManagedChannel;
 import com.couchbase.client.core.deps.io.grpc.ManagedChannelBuilder;
 import com.couchbase.client.core.deps.io.grpc.Metadata;
@@ -73,6 +75,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Objects.requireNonNull;
 
@@ -86,6 +89,8 @@ public class ProtostellarEndpoint {
   public static ProtostellarStatsCollector collector;
 
   private final AtomicBoolean shutdown = new AtomicBoolean(false);
+  private final AtomicInteger outstandingRequests = new AtomicInteger(0);
+  private final AtomicInteger peakOutstandingRequests = new AtomicInteger(0);
   private final ManagedChannel managedChannel;
   private final KvServiceGrpc.KvServiceFutureStub kvStub;
   private final KvServiceGrpc.KvServiceBlockingStub kvBlockingStub;
@@ -189,16 +194,62 @@ public class ProtostellarEndpoint {
       }
     };
 
+    // Tracks the calls in flight on this channel, so the pool can pick the least loaded one.
+    ClientInterceptor outstanding = new ClientInterceptor() {
+      @Override
+      public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+          @Override
+          public void start(Listener<RespT> responseListener, Metadata headers) {
+            callStarted();
+            try {
+              super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                @Override
+                public void onClose(Status status, Metadata trailers) {
+                  outstandingRequests.decrementAndGet();
+                  super.onClose(status, trailers);
+                }
+              }, headers);
+            } catch (RuntimeException ex) {
+              outstandingRequests.decrementAndGet();
+              throw ex;
+            }
+          }
+        };
+      }
+    };
+
     // withWaitForReady exists but better to do retries ourselves for ErrorContext transparency.
-    kvStub = KvServiceGrpc.newFutureStub(managedChannel).withInterceptors(ci).withCallCredentials(creds);
-    kvBlockingStub = KvServiceGrpc.newBlockingStub(managedChannel).withInterceptors(ci).withCallCredentials(creds);
-    analyticsStub = AnalyticsServiceGrpc.newStub(managedChannel).withCallCredentials(creds);
-    queryStub = QueryServiceGrpc.newStub(managedChannel).withCallCredentials(creds);
-    searchStub = SearchServiceGrpc.newStub(managedChannel).withCallCredentials(creds);
-    hooksBlockingStub = HooksServiceGrpc.newBlockingStub(managedChannel).withCallCredentials(creds);
-    collectionAdminStub = CollectionAdminServiceGrpc.newFutureStub(managedChannel).withCallCredentials(creds);
-    bucketAdminStub = BucketAdminServiceGrpc.newFutureStub(managedChannel).withCallCredentials(creds);
-    searchAdminStub = SearchAdminServiceGrpc.newFutureStub(managedChannel).withCallCredentials(creds);
+    kvStub = KvServiceGrpc.newFutureStub(managedChannel).withInterceptors(ci, outstanding).withCallCredentials(creds);
+    kvBlockingStub = KvServiceGrpc.newBlockingStub(managedChannel).withInterceptors(ci, outstanding).withCallCredentials(creds);
+    analyticsStub = AnalyticsServiceGrpc.newStub(managedChannel).withInterceptors(outstanding).withCallCredentials(creds);
+    queryStub = QueryServiceGrpc.newStub(managedChannel).withInterceptors(outstanding).withCallCredentials(creds);
+    searchStub = SearchServiceGrpc.newStub(managedChannel).withInterceptors(outstanding).withCallCredentials(creds);
+    hooksBlockingStub = HooksServiceGrpc.newBlockingStub(managedChannel).withInterceptors(outstanding).withCallCredentials(creds);
+    collectionAdminStub = CollectionAdminServiceGrpc.newFutureStub(managedChannel).withInterceptors(outstanding).withCallCredentials(creds);
+    bucketAdminStub = BucketAdminServiceGrpc.newFutureStub(managedChannel).withInterceptors(outstanding).withCallCredentials(creds);
+    searchAdminStub = SearchAdminServiceGrpc.newFutureStub(managedChannel).withInterceptors(outstanding).withCallCredentials(creds);
+  }
+
+  private void callStarted() {
+    int now = outstandingRequests.incrementAndGet();
+    peakOutstandingRequests.accumulateAndGet(now, Math::max);
+  }
+
+  /**
+   * Returns the number of calls currently in flight on this channel.
+   */
+  public int outstandingRequests() {
+    return outstandingRequests.get();
+  }
+
+  /**
+   * Returns the highest number of calls in flight since the last invocation of this method, and resets it to the
+   * current number of calls in flight.
+   */
+  @Stability.Internal
+  public int resetPeakOutstandingRequests() {
+    return peakOutstandingRequests.getAndSet(outstandingRequests.get());
   }
 
   private ManagedChannel channel(ProtostellarContext ctx) {
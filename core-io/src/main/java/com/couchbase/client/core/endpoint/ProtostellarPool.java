@@ -17,46 +17,221 @@
 package com.couchbase.client.core.endpoint;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Context;
+import com.couchbase.client.core.cnc.EventBus;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import com.couchbase.client.core.cnc.events.endpoint.ProtostellarPoolResizeFailedEvent;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.env.ProtostellarPoolConfig;
 import com.couchbase.client.core.protostellar.ProtostellarContext;
 import com.couchbase.client.core.util.HostAndPort;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import static java.util.Collections.unmodifiableList;
 
 /**
  * Maintains a pool of ProtostellarEndpoints.
+ * <p>
+ * Requests are dispatched to the endpoint with the fewest calls in flight. Periodically the pool looks at the peak
+ * number of calls in flight and adds an endpoint if the channels are close to their configured maximum of concurrent
+ * streams, or removes one if the remaining channels could comfortably carry the load. Removed endpoints are only shut
+ * down once their in-flight calls have completed.
  */
 @Stability.Internal
 public class ProtostellarPool {
-  private final List<ProtostellarEndpoint> endpoints;
+
+  /**
+   * The fraction of the total stream capacity above which a channel is added.
+   */
+  private static final double GROW_UTILIZATION = 0.75;
+
+  /**
+   * The fraction of the stream capacity (without the removed channel) below which a channel is removed.
+   */
+  private static final double SHRINK_UTILIZATION = 0.25;
+
+  private final ProtostellarPoolConfig config;
+  private final Supplier<ProtostellarEndpoint> endpointFactory;
+  private final HostAndPort remote;
+  private final Meter meter;
+  private final EventBus eventBus;
+  private final Context context;
   private final AtomicLong lastUsed = new AtomicLong(0);
+  private final List<ProtostellarEndpoint> draining = new ArrayList<>();
+  private final Map<ProtostellarEndpoint, ValueRecorder> utilization = new IdentityHashMap<>();
+  private final ValueRecorder channels;
+  private final Disposable resizer;
+  private volatile List<ProtostellarEndpoint> endpoints;
+  private int nextChannelId = 0;
+  private boolean shutdown = false;
 
   public ProtostellarPool(ProtostellarContext ctx, HostAndPort remote) {
-    // JVMCBC-1196: assuming ProtostellarPool is kept, add configuration options for it.
-    int numEndpoints = Integer.parseInt(System.getProperty("com.couchbase.protostellar.numEndpoints", "1"));
-    List<ProtostellarEndpoint> endpoints = new ArrayList<>(numEndpoints);
-    for (int i = 0; i < numEndpoints; i++) {
-      endpoints.add(new ProtostellarEndpoint(ctx, remote));
+    this(
+      ctx.environment().ioConfig().protostellarPoolConfig(),
+      () -> new ProtostellarEndpoint(ctx, remote),
+      remote,
+      ctx.environment().meter(),
+      ctx.environment().scheduler(),
+      ctx.environment().eventBus(),
+      ctx
+    );
+  }
+
+  ProtostellarPool(ProtostellarPoolConfig config, Supplier<ProtostellarEndpoint> endpointFactory, HostAndPort remote,
+                   Meter meter, Scheduler scheduler, EventBus eventBus, Context context) {
+    this.config = config;
+    this.endpointFactory = endpointFactory;
+    this.remote = remote;
+    this.eventBus = eventBus;
+    this.context = context;
+    this.meter = meter instanceof NoopMeter ? null : meter;
+    this.channels = this.meter == null ? null : this.meter.valueRecorder(TracingIdentifiers.METER_PROTOSTELLAR_CHANNELS, tags());
+
+    List<ProtostellarEndpoint> endpoints = new ArrayList<>(config.minChannels());
+    for (int i = 0; i < config.minChannels(); i++) {
+      endpoints.add(newEndpoint());
     }
     this.endpoints = unmodifiableList(endpoints);
+
+    boolean resizable = config.maxChannels() > config.minChannels();
+    if (scheduler != null && (resizable || this.meter != null)) {
+      long interval = config.resizeInterval().toMillis();
+      this.resizer = scheduler.schedulePeriodically(this::resize, interval, interval, TimeUnit.MILLISECONDS);
+    } else {
+      this.resizer = null;
+    }
+  }
+
+  private Map<String, String> tags() {
+    Map<String, String> tags = new HashMap<>(4);
+    tags.put(TracingIdentifiers.ATTR_REMOTE_HOSTNAME, remote.host());
+    tags.put(TracingIdentifiers.ATTR_REMOTE_PORT, Integer.toString(remote.port()));
+    return tags;
+  }
+
+  private ProtostellarEndpoint newEndpoint() {
+    ProtostellarEndpoint endpoint = endpointFactory.get();
+    int channelId = nextChannelId++;
+    if (meter != null) {
+      Map<String, String> tags = tags();
+      tags.put(TracingIdentifiers.ATTR_CHANNEL, Integer.toString(channelId));
+      utilization.put(endpoint, meter.valueRecorder(TracingIdentifiers.METER_PROTOSTELLAR_CHANNEL_UTILIZATION, tags));
+    }
+    return endpoint;
   }
 
-  public void shutdown(Duration timeout) {
+  public synchronized void shutdown(Duration timeout) {
+    shutdown = true;
+    if (resizer != null) {
+      resizer.dispose();
+    }
     endpoints.forEach(endpoint -> endpoint.shutdown(timeout));
+    draining.forEach(endpoint -> endpoint.shutdown(timeout));
+    draining.clear();
   }
 
+  /**
+   * Returns the endpoint with the fewest calls in flight.
+   * <p>
+   * The scan starts at a rotating offset, so that idle endpoints share the load evenly.
+   */
   public ProtostellarEndpoint endpoint() {
-    // Just using a basic round-robin strategy for now
-    int index = (int) ((lastUsed.getAndIncrement() & 0x7fffffffffffffffL) % endpoints.size());
-    // logger.info("Using endpoint {}", index);
-    return endpoints.get(index);
+    List<ProtostellarEndpoint> endpoints = this.endpoints;
+    int size = endpoints.size();
+    if (size == 1) {
+      return endpoints.get(0);
+    }
+
+    int start = (int) ((lastUsed.getAndIncrement() & 0x7fffffffffffffffL) % size);
+    ProtostellarEndpoint selected = null;
+    int selectedOutstanding = Integer.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      ProtostellarEndpoint candidate = endpoints.get((start + i) % size);
+      int outstanding = candidate.outstandingRequests();
+      if (outstanding < selectedOutstanding) {
+        selected = candidate;
+        selectedOutstanding = outstanding;
+        if (outstanding == 0) {
+          break;
+        }
+      }
+    }
+    return selected;
   }
 
   public List<ProtostellarEndpoint> endpoints() {
     return endpoints;
   }
+
+  /**
+   * Records the channel utilization and grows or shrinks the pool based on the peak calls in flight.
+   */
+  synchronized void resize() {
+    if (shutdown) {
+      return;
+    }
+
+    try {
+      List<ProtostellarEndpoint> current = endpoints;
+      int maxStreams = config.maxConcurrentStreams();
+      long peakTotal = 0;
+      ProtostellarEndpoint leastLoaded = null;
+      int leastLoadedPeak = Integer.MAX_VALUE;
+      for (ProtostellarEndpoint endpoint : current) {
+        int peak = endpoint.resetPeakOutstandingRequests();
+        peakTotal += peak;
+        if (peak < leastLoadedPeak) {
+          leastLoaded = endpoint;
+          leastLoadedPeak = peak;
+        }
+        ValueRecorder recorder = utilization.get(endpoint);
+        if (recorder != null) {
+          recorder.recordValue(peak * 100L / maxStreams);
+        }
+      }
+
+      draining.removeIf(endpoint -> {
+        if (endpoint.outstandingRequests() == 0) {
+          endpoint.shutdown(Duration.ZERO);
+          return true;
+        }
+        return false;
+      });
+
+      int size = current.size();
+      if (size < config.maxChannels() && peakTotal >= (long) size * maxStreams * GROW_UTILIZATION) {
+        List<ProtostellarEndpoint> grown = new ArrayList<>(current);
+        grown.add(newEndpoint());
+        endpoints = unmodifiableList(grown);
+      } else if (size > config.minChannels() && peakTotal < (long) (size - 1) * maxStreams * SHRINK_UTILIZATION) {
+        List<ProtostellarEndpoint> shrunk = new ArrayList<>(current);
+        shrunk.remove(leastLoaded);
+        endpoints = unmodifiableList(shrunk);
+        utilization.remove(leastLoaded);
+        draining.add(leastLoaded);
+      }
+
+      if (channels != null) {
+        channels.recordValue(endpoints.size());
+      }
+    } catch (Exception ex) {
+      // Creating a channel failed, this is retried on the next run.
+      if (eventBus != null) {
+        eventBus.publish(new ProtostellarPoolResizeFailedEvent(context, remote, ex));
+      }
+    }
+  }
 }
@@ -37,6 +37,11 @@ public class QueryEndpoint extends BaseEndpoint {
       ctx, ctx.environment().ioConfig().queryCircuitBreakerConfig(), ServiceType.QUERY, false);
   }
 
+  @Override
+  protected boolean supportsHttp2() {
+    return true;
+  }
+
   @Override
   protected PipelineInitializer pipelineInitializer() {
     return new QueryPipelineInitializer(context());
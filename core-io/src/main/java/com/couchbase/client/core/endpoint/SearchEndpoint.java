@@ -29,6 +29,11 @@ public class SearchEndpoint extends BaseEndpoint {
       ctx, ctx.environment().ioConfig().searchCircuitBreakerConfig(), ServiceType.SEARCH, false);
   }
 
+  @Override
+  protected boolean supportsHttp2() {
+    return true;
+  }
+
   @Override
   protected PipelineInitializer pipelineInitializer() {
     return new SearchPipelineInitializer(context());
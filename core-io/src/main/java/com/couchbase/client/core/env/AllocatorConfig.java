@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.env;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.error.InvalidArgumentException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Allows to tune the pooled {@link ByteBufAllocator} which is shared by all endpoints of an {@link IoEnvironment}.
+ * <p>
+ * By default (if none of the properties are customized) the SDK uses the netty default allocator, which is sized
+ * based on the number of available processors and the maximum direct memory of the JVM. In environments with tight
+ * memory limits (i.e. containers) it can make sense to size the arenas explicitly, so that the direct memory
+ * consumed by the SDK is predictable.
+ *
+ * @since 2.5.2
+ */
+@Stability.Volatile
+public class AllocatorConfig {
+
+  /**
+   * The smallest chunk size which can be configured (equal to the allocator page size).
+   */
+  public static final int MIN_CHUNK_SIZE = PooledByteBufAllocator.defaultPageSize();
+
+  /**
+   * The largest chunk size which can be configured.
+   */
+  public static final int MAX_CHUNK_SIZE = MIN_CHUNK_SIZE << 14;
+
+  /**
+   * The number of arenas, or null if the netty default should be used.
+   */
+  private final Integer arenaCount;
+
+  /**
+   * The chunk size in bytes, or null if the netty default should be used.
+   */
+  private final Integer chunkSize;
+
+  /**
+   * If thread-local caches are enabled, or null if the netty default should be used.
+   */
+  private final Boolean threadLocalCaches;
+
+  /**
+   * Creates a {@link AllocatorConfig} with default arguments.
+   *
+   * @return a new {@link AllocatorConfig}.
+   */
+  public static AllocatorConfig create() {
+    return builder().build();
+  }
+
+  /**
+   * This builder allows to customize a {@link AllocatorConfig}.
+   *
+   * @return a builder to configure {@link AllocatorConfig}.
+   */
+  public static Builder builder() {
+    return new AllocatorConfig.Builder();
+  }
+
+  /**
+   * The number of heap and direct arenas the allocator should use.
+   *
+   * @param arenaCount the number of arenas, 0 disables pooling.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  public static Builder arenaCount(int arenaCount) {
+    return builder().arenaCount(arenaCount);
+  }
+
+  /**
+   * The size of each chunk allocated by an arena.
+   *
+   * @param chunkSize the chunk size in bytes, must be a power of two between the page size and 2^14 pages.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  public static Builder chunkSize(int chunkSize) {
+    return builder().chunkSize(chunkSize);
+  }
+
+  /**
+   * If the allocator should keep thread-local caches of recently released buffers.
+   *
+   * @param threadLocalCaches true to enable, false otherwise.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  public static Builder threadLocalCaches(boolean threadLocalCaches) {
+    return builder().threadLocalCaches(threadLocalCaches);
+  }
+
+  /**
+   * Returns this config as a map so it can be exported into i.e. JSON for display.
+   */
+  @Stability.Volatile
+  Map<String, Object> exportAsMap() {
+    Map<String, Object> export = new LinkedHashMap<>();
+    export.put("arenaCount", arenaCount());
+    export.put("chunkSize", chunkSize());
+    export.put("threadLocalCaches", threadLocalCaches());
+    return export;
+  }
+
+  /**
+   * Internal constructor for an allocator config.
+   *
+   * @param builder the builder used to customize the options.
+   */
+  private AllocatorConfig(final Builder builder) {
+    this.arenaCount = builder.arenaCount;
+    this.chunkSize = builder.chunkSize;
+    this.threadLocalCaches = builder.threadLocalCaches;
+  }
+
+  /**
+   * Returns the number of heap and direct arenas.
+   *
+   * @return the number of arenas.
+   */
+  public int arenaCount() {
+    return arenaCount == null ? PooledByteBufAllocator.defaultNumDirectArena() : arenaCount;
+  }
+
+  /**
+   * Returns the chunk size in bytes.
+   *
+   * @return the chunk size.
+   */
+  public int chunkSize() {
+    return chunkSize == null
+      ? PooledByteBufAllocator.defaultPageSize() << PooledByteBufAllocator.defaultMaxOrder()
+      : chunkSize;
+  }
+
+  /**
+   * True if thread-local caches are enabled, false otherwise.
+   *
+   * @return true if enabled.
+   */
+  public boolean threadLocalCaches() {
+    return threadLocalCaches == null
+      ? PooledByteBufAllocator.defaultSmallCacheSize() > 0 || PooledByteBufAllocator.defaultNormalCacheSize() > 0
+      : threadLocalCaches;
+  }
+
+  /**
+   * Creates the allocator described by this config.
+   * <p>
+   * If nothing has been customized, the shared netty default allocator is returned so that the SDK does not
+   * allocate a second set of arenas alongside the ones other netty users in the same JVM already have.
+   *
+   * @return the allocator to use.
+   */
+  @Stability.Internal
+  public ByteBufAllocator createAllocator() {
+    if (arenaCount == null && chunkSize == null && threadLocalCaches == null) {
+      return ByteBufAllocator.DEFAULT;
+    }
+
+    int pageSize = PooledByteBufAllocator.defaultPageSize();
+    int maxOrder = Integer.numberOfTrailingZeros(chunkSize() / pageSize);
+    boolean caches = threadLocalCaches();
+
+    return new PooledByteBufAllocator(
+      PooledByteBufAllocator.defaultPreferDirect(),
+      arenaCount == null ? PooledByteBufAllocator.defaultNumHeapArena() : arenaCount,
+      arenaCount(),
+      pageSize,
+      maxOrder,
+      caches ? PooledByteBufAllocator.defaultSmallCacheSize() : 0,
+      caches ? PooledByteBufAllocator.defaultNormalCacheSize() : 0,
+      caches && PooledByteBufAllocator.defaultUseCacheForAllThreads()
+    );
+  }
+
+  /**
+   * This builder allows to customize the {@link AllocatorConfig}.
+   */
+  public static class Builder {
+
+    private Integer arenaCount = null;
+    private Integer chunkSize = null;
+    private Boolean threadLocalCaches = null;
+
+    public AllocatorConfig build() {
+      return new AllocatorConfig(this);
+    }
+
+    /**
+     * The number of heap and direct arenas the allocator should use.
+     * <p>
+     * Each arena holds at least one chunk once used, so the number of arenas multiplied by the chunk size is a
+     * lower bound for the direct memory retained by the allocator under load.
+     *
+     * @param arenaCount the number of arenas, 0 disables pooling.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder arenaCount(int arenaCount) {
+      if (arenaCount < 0) {
+        throw InvalidArgumentException.fromMessage("ArenaCount cannot be negative");
+      }
+      this.arenaCount = arenaCount;
+      return this;
+    }
+
+    /**
+     * The size of each chunk allocated by an arena.
+     *
+     * @param chunkSize the chunk size in bytes, must be a power of two between the page size and 2^14 pages.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder chunkSize(int chunkSize) {
+      if (chunkSize < MIN_CHUNK_SIZE || chunkSize > MAX_CHUNK_SIZE || Integer.bitCount(chunkSize) != 1) {
+        throw InvalidArgumentException.fromMessage("ChunkSize must be a power of two between "
+          + MIN_CHUNK_SIZE + " and " + MAX_CHUNK_SIZE + ", but was " + chunkSize);
+      }
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
+    /**
+     * If the allocator should keep thread-local caches of recently released buffers.
+     * <p>
+     * Disabling the caches reduces the memory retained per thread at the cost of more contention on the arenas.
+     *
+     * @param threadLocalCaches true to enable, false otherwise.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder threadLocalCaches(boolean threadLocalCaches) {
+      this.threadLocalCaches = threadLocalCaches;
+      return this;
+    }
+
+  }
+
+}
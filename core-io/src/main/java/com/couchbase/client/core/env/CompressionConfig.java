@@ -23,6 +23,8 @@ import java.util.Map;
 
 /**
  * Allows configuring and customizing the compression configuration.
+ * <p>
+ * It applies to document content sent and received both over classic KV connections and over couchbase2://.
  *
  * @since 2.0.0
  */
@@ -33,12 +33,14 @@ import com.couchbase.client.core.cnc.tracing.NoopRequestTracer;
 import com.couchbase.client.core.cnc.tracing.ThresholdLoggingTracer;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.io.netty.AllocatorMetricsSampler;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.retry.BestEffortRetryStrategy;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.service.AbstractPooledEndpointServiceConfig;
 import com.couchbase.client.core.transaction.config.CoreTransactionsConfig;
 import com.couchbase.client.core.transaction.util.CoreTransactionsSchedulers;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
@@ -121,6 +123,11 @@ public class CoreEnvironment implements AutoCloseable {
    */
   private static final RetryStrategy DEFAULT_RETRY_STRATEGY = BestEffortRetryStrategy.INSTANCE;
 
+  /**
+   * The interval at which the allocator metrics are sampled into the meter.
+   */
+  private static final Duration ALLOCATOR_METRICS_SAMPLE_INTERVAL = Duration.ofSeconds(10);
+
   private final UserAgent userAgent;
   private final Supplier<EventBus> eventBus;
   private final Timer timer;
@@ -140,6 +147,7 @@ public class CoreEnvironment implements AutoCloseable {
   private final Supplier<Executor> executor;
   private final int schedulerThreadCount;
   private final OrphanReporter orphanReporter;
+  private final Disposable allocatorMetricsSampler;
   private final long maxNumRequestsInRetry;
   private final List<RequestCallback> requestCallbacks;
   private final CoreTransactionsConfig transactionsConfig;
@@ -228,6 +236,14 @@ public class CoreEnvironment implements AutoCloseable {
     orphanReporter = new OrphanReporter(eventBus.get(), orphanReporterConfig);
     orphanReporter.start().block();
 
+    AllocatorMetricsSampler sampler = new AllocatorMetricsSampler(meter.get(), ioEnvironment.allocator());
+    if (!(meter.get() instanceof NoopMeter) && sampler.hasMetrics()) {
+      long interval = ALLOCATOR_METRICS_SAMPLE_INTERVAL.toMillis();
+      allocatorMetricsSampler = scheduler.get().schedulePeriodically(sampler, interval, interval, TimeUnit.MILLISECONDS);
+    } else {
+      allocatorMetricsSampler = null;
+    }
+
     if (ioConfig.idleHttpConnectionTimeout().toMillis() > AbstractPooledEndpointServiceConfig.DEFAULT_IDLE_TIME.toMillis()) {
       eventBus.get().publish(new HighIdleHttpConnectionTimeoutConfiguredEvent());
     }
@@ -505,6 +521,12 @@ public class CoreEnvironment implements AutoCloseable {
         return Mono.empty();
       }))
       .then(ioEnvironment.shutdown(timeout))
+      .then(Mono.defer(() -> {
+        if (allocatorMetricsSampler != null) {
+          allocatorMetricsSampler.dispose();
+        }
+        return Mono.empty();
+      }))
       .then(Mono.defer(() -> {
         if (requestTracer instanceof OwnedSupplier) {
           return requestTracer.get().stop(timeout);
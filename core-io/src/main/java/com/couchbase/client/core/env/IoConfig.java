@@ -23,6 +23,7 @@ import com.couchbase.client.core.node.MemcachedHashingStrategy;
 import com.couchbase.client.core.node.Sdk2CompatibleMemcachedHashingStrategy;
 import com.couchbase.client.core.node.StandardMemcachedHashingStrategy;
 import com.couchbase.client.core.service.AbstractPooledEndpointServiceConfig;
+import com.couchbase.client.core.service.KeyValueServiceConfig;
 import com.couchbase.client.core.service.ServiceType;
 
 import java.time.Duration;
@@ -41,18 +42,26 @@ public class IoConfig {
 
   public static final boolean DEFAULT_MUTATION_TOKENS_ENABLED = true;
   public static final boolean DEFAULT_DNS_SRV_ENABLED = true;
+  public static final boolean DEFAULT_HTTP2_ENABLED = false;
   public static final boolean DEFAULT_TCP_KEEPALIVE_ENABLED = true;
   public static final Duration DEFAULT_TCP_KEEPALIVE_TIME = Duration.ofSeconds(60);
   public static final Duration DEFAULT_CONFIG_POLL_INTERVAL = Duration.ofMillis(2500);
+  public static final boolean DEFAULT_CONFIG_PUSH_ONLY = false;
+  public static final boolean DEFAULT_DNS_CACHE_ENABLED = false;
   public static final NetworkResolution DEFAULT_NETWORK_RESOLUTION = NetworkResolution.AUTO;
   public static final int DEFAULT_NUM_KV_CONNECTIONS = 1;
+  public static final KvPartitionAffinity DEFAULT_KV_PARTITION_AFFINITY = KeyValueServiceConfig.DEFAULT_PARTITION_AFFINITY;
+  public static final boolean DEFAULT_PIPELINED_KV_BOOTSTRAP = false;
   public static final int DEFAULT_MAX_HTTP_CONNECTIONS = AbstractPooledEndpointServiceConfig.DEFAULT_MAX_ENDPOINTS;
   public static final Duration DEFAULT_IDLE_HTTP_CONNECTION_TIMEOUT = AbstractPooledEndpointServiceConfig.DEFAULT_IDLE_TIME;
+  public static final boolean DEFAULT_WARM_HTTP_CONNECTION_POOL = false;
   public static final Duration DEFAULT_CONFIG_IDLE_REDIAL_TIMEOUT = Duration.ofMinutes(5);
   public static final MemcachedHashingStrategy DEFAULT_MEMCACHED_HASHING_STRATEGY = StandardMemcachedHashingStrategy.INSTANCE;
 
   private final boolean mutationTokensEnabled;
   private final Duration configPollInterval;
+  private final boolean configPushOnly;
+  private final boolean dnsCacheEnabled;
   private final CircuitBreakerConfig kvCircuitBreakerConfig;
   private final CircuitBreakerConfig queryCircuitBreakerConfig;
   private final CircuitBreakerConfig viewCircuitBreakerConfig;
@@ -64,21 +73,29 @@ public class IoConfig {
   private final Set<ServiceType> captureTraffic;
   private final NetworkResolution networkResolution;
   private final boolean dnsSrvEnabled;
+  private final boolean http2Enabled;
   private final boolean tcpKeepAlivesEnabled;
   private final Duration tcpKeepAliveTime;
   private final int numKvConnections;
+  private final KvPartitionAffinity kvPartitionAffinity;
+  private final boolean pipelinedKvBootstrap;
   private final int maxHttpConnections;
   private final Duration idleHttpConnectionTimeout;
+  private final boolean warmHttpConnectionPool;
   private final Duration configIdleRedialTimeout;
   private final MemcachedHashingStrategy memcachedHashingStrategy;
   private final TimerConfig timerConfig;
+  private final ProtostellarPoolConfig protostellarPoolConfig;
 
   private IoConfig(Builder builder) {
     mutationTokensEnabled = builder.mutationTokensEnabled;
     dnsSrvEnabled = builder.dnsSrvEnabled;
+    http2Enabled = builder.http2Enabled;
     configPollInterval = Optional
       .ofNullable(builder.configPollInterval)
       .orElse(DEFAULT_CONFIG_POLL_INTERVAL);
+    configPushOnly = builder.configPushOnly;
+    dnsCacheEnabled = builder.dnsCacheEnabled;
     kvCircuitBreakerConfig = builder.kvCircuitBreakerConfig.build();
     queryCircuitBreakerConfig = builder.queryCircuitBreakerConfig.build();
     viewCircuitBreakerConfig = builder.viewCircuitBreakerConfig.build();
@@ -94,11 +111,15 @@ public class IoConfig {
     tcpKeepAlivesEnabled = builder.tcpKeepAlivesEnabled;
     tcpKeepAliveTime = builder.tcpKeepAliveTime;
     numKvConnections = builder.numKvConnections;
+    kvPartitionAffinity = builder.kvPartitionAffinity;
+    pipelinedKvBootstrap = builder.pipelinedKvBootstrap;
     maxHttpConnections = builder.maxHttpConnections;
     idleHttpConnectionTimeout = builder.idleHttpConnectionTimeout;
+    warmHttpConnectionPool = builder.warmHttpConnectionPool;
     configIdleRedialTimeout = builder.configIdleRedialTimeout;
     memcachedHashingStrategy = builder.memcachedHashingStrategy;
     timerConfig = builder.timerConfig.build();
+    protostellarPoolConfig = builder.protostellarPoolConfig.build();
   }
 
   public static IoConfig create() {
@@ -117,10 +138,25 @@ public class IoConfig {
     return builder().enableDnsSrv(dnsSrvEnabled);
   }
 
+  @Stability.Volatile
+  public static Builder enableHttp2(boolean http2Enabled) {
+    return builder().enableHttp2(http2Enabled);
+  }
+
   public static Builder configPollInterval(Duration configPollInterval) {
     return builder().configPollInterval(configPollInterval);
   }
 
+  @Stability.Volatile
+  public static Builder configPushOnly(boolean configPushOnly) {
+    return builder().configPushOnly(configPushOnly);
+  }
+
+  @Stability.Volatile
+  public static Builder enableDnsCache(boolean dnsCacheEnabled) {
+    return builder().enableDnsCache(dnsCacheEnabled);
+  }
+
   public static Builder kvCircuitBreakerConfig(CircuitBreakerConfig.Builder kvCircuitBreakerConfig) {
     return builder().kvCircuitBreakerConfig(kvCircuitBreakerConfig);
   }
@@ -185,6 +221,16 @@ public class IoConfig {
     return builder().numKvConnections(numKvConnections);
   }
 
+  @Stability.Volatile
+  public static Builder kvPartitionAffinity(KvPartitionAffinity kvPartitionAffinity) {
+    return builder().kvPartitionAffinity(kvPartitionAffinity);
+  }
+
+  @Stability.Volatile
+  public static Builder pipelinedKvBootstrap(boolean pipelinedKvBootstrap) {
+    return builder().pipelinedKvBootstrap(pipelinedKvBootstrap);
+  }
+
   public static Builder maxHttpConnections(int maxHttpConnections) {
     return builder().maxHttpConnections(maxHttpConnections);
   }
@@ -193,6 +239,11 @@ public class IoConfig {
     return builder().idleHttpConnectionTimeout(idleHttpConnectionTimeout);
   }
 
+  @Stability.Volatile
+  public static Builder warmHttpConnectionPool(boolean warmHttpConnectionPool) {
+    return builder().warmHttpConnectionPool(warmHttpConnectionPool);
+  }
+
   public static Builder configIdleRedialTimeout(Duration configIdleRedialTimeout) {
     return builder().configIdleRedialTimeout(configIdleRedialTimeout);
   }
@@ -254,10 +305,25 @@ public class IoConfig {
     return dnsSrvEnabled;
   }
 
+  @Stability.Volatile
+  public boolean http2Enabled() {
+    return http2Enabled;
+  }
+
   public Duration configPollInterval() {
     return configPollInterval;
   }
 
+  @Stability.Volatile
+  public boolean configPushOnly() {
+    return configPushOnly;
+  }
+
+  @Stability.Volatile
+  public boolean dnsCacheEnabled() {
+    return dnsCacheEnabled;
+  }
+
   /**
    * Lists the services on which traffic should be captured.
    *
@@ -283,6 +349,16 @@ public class IoConfig {
     return numKvConnections;
   }
 
+  @Stability.Volatile
+  public KvPartitionAffinity kvPartitionAffinity() {
+    return kvPartitionAffinity;
+  }
+
+  @Stability.Volatile
+  public boolean pipelinedKvBootstrap() {
+    return pipelinedKvBootstrap;
+  }
+
   public int maxHttpConnections() {
     return maxHttpConnections;
   }
@@ -291,6 +367,11 @@ public class IoConfig {
     return idleHttpConnectionTimeout;
   }
 
+  @Stability.Volatile
+  public boolean warmHttpConnectionPool() {
+    return warmHttpConnectionPool;
+  }
+
   public Duration configIdleRedialTimeout() {
     return configIdleRedialTimeout;
   }
@@ -304,6 +385,11 @@ public class IoConfig {
     return timerConfig;
   }
 
+  @Stability.Volatile
+  public ProtostellarPoolConfig protostellarPoolConfig() {
+    return protostellarPoolConfig;
+  }
+
   /**
    * Returns this config as a map so it can be exported into i.e. JSON for display.
    */
@@ -314,9 +400,12 @@ public class IoConfig {
     export.put("mutationTokensEnabled", mutationTokensEnabled);
     export.put("networkResolution", networkResolution.name());
     export.put("dnsSrvEnabled", dnsSrvEnabled);
+    export.put("http2Enabled", http2Enabled);
     export.put("tcpKeepAlivesEnabled", tcpKeepAlivesEnabled);
     export.put("tcpKeepAliveTimeMs", tcpKeepAliveTime.toMillis());
     export.put("configPollIntervalMs", configPollInterval.toMillis());
+    export.put("configPushOnly", configPushOnly);
+    export.put("dnsCacheEnabled", dnsCacheEnabled);
     export.put("kvCircuitBreakerConfig", kvCircuitBreakerConfig.enabled() ? kvCircuitBreakerConfig.exportAsMap() : "disabled");
     export.put("queryCircuitBreakerConfig", queryCircuitBreakerConfig.enabled() ? queryCircuitBreakerConfig.exportAsMap() : "disabled");
     export.put("viewCircuitBreakerConfig", viewCircuitBreakerConfig.enabled() ? viewCircuitBreakerConfig.exportAsMap() : "disabled");
@@ -326,11 +415,15 @@ public class IoConfig {
     export.put("eventingCircuitBreakerConfig", eventingCircuitBreakerConfig.enabled() ? eventingCircuitBreakerConfig.exportAsMap() : "disabled");
     export.put("backupCircuitBreakerConfig", backupCircuitBreakerConfig.enabled() ? backupCircuitBreakerConfig.exportAsMap() : "disabled");
     export.put("numKvConnections", numKvConnections);
+    export.put("kvPartitionAffinity", kvPartitionAffinity.name());
+    export.put("pipelinedKvBootstrap", pipelinedKvBootstrap);
     export.put("maxHttpConnections", maxHttpConnections);
     export.put("idleHttpConnectionTimeoutMs", idleHttpConnectionTimeout.toMillis());
+    export.put("warmHttpConnectionPool", warmHttpConnectionPool);
     export.put("configIdleRedialTimeoutMs", configIdleRedialTimeout.toMillis());
     export.put("memcachedHashingStrategy", memcachedHashingStrategy.getClass().getSimpleName());
     export.put("timerConfig", timerConfig.exportAsMap());
+    export.put("protostellarPoolConfig", protostellarPoolConfig.exportAsMap());
     return export;
   }
 
@@ -338,6 +431,8 @@ public class IoConfig {
 
     private boolean mutationTokensEnabled = DEFAULT_MUTATION_TOKENS_ENABLED;
     private Duration configPollInterval;
+    private boolean configPushOnly = DEFAULT_CONFIG_PUSH_ONLY;
+    private boolean dnsCacheEnabled = DEFAULT_DNS_CACHE_ENABLED;
     private CircuitBreakerConfig.Builder kvCircuitBreakerConfig = CircuitBreakerConfig.builder().enabled(false);
     private CircuitBreakerConfig.Builder queryCircuitBreakerConfig = CircuitBreakerConfig.builder().enabled(false);
     private CircuitBreakerConfig.Builder viewCircuitBreakerConfig = CircuitBreakerConfig.builder().enabled(false);
@@ -349,14 +444,19 @@ public class IoConfig {
     private Set<ServiceType> captureTraffic;
     private NetworkResolution networkResolution = DEFAULT_NETWORK_RESOLUTION;
     private boolean dnsSrvEnabled = DEFAULT_DNS_SRV_ENABLED;
+    private boolean http2Enabled = DEFAULT_HTTP2_ENABLED;
     private boolean tcpKeepAlivesEnabled = DEFAULT_TCP_KEEPALIVE_ENABLED;
     private Duration tcpKeepAliveTime = DEFAULT_TCP_KEEPALIVE_TIME;
     private int numKvConnections = DEFAULT_NUM_KV_CONNECTIONS;
+    private KvPartitionAffinity kvPartitionAffinity = DEFAULT_KV_PARTITION_AFFINITY;
+    private boolean pipelinedKvBootstrap = DEFAULT_PIPELINED_KV_BOOTSTRAP;
     private int maxHttpConnections = DEFAULT_MAX_HTTP_CONNECTIONS;
     private Duration idleHttpConnectionTimeout = DEFAULT_IDLE_HTTP_CONNECTION_TIMEOUT;
+    private boolean warmHttpConnectionPool = DEFAULT_WARM_HTTP_CONNECTION_POOL;
     private Duration configIdleRedialTimeout = DEFAULT_CONFIG_IDLE_REDIAL_TIMEOUT;
     private MemcachedHashingStrategy memcachedHashingStrategy = DEFAULT_MEMCACHED_HASHING_STRATEGY;
     private TimerConfig.Builder timerConfig = TimerConfig.builder();
+    private ProtostellarPoolConfig.Builder protostellarPoolConfig = ProtostellarPoolConfig.builder();
 
     public IoConfig build() {
       return new IoConfig(this);
@@ -367,6 +467,40 @@ public class IoConfig {
       return this;
     }
 
+    /**
+     * Configures whether configs are mainly kept up to date by the notifications the server pushes.
+     * <p>
+     * By default, configs are polled at the {@link #configPollInterval(Duration)} for every open bucket, even if
+     * the server notifies the KV connections of every config change. With this enabled, a bucket whose config
+     * changes are pushed is only polled every 30 seconds as a safety net. Regular polling resumes as soon as no
+     * connection receives notifications anymore or refreshing the config fails.
+     *
+     * @param configPushOnly true if polling should back off while configs are pushed, false otherwise (the default).
+     * @return this, for chaining
+     */
+    @Stability.Volatile
+    public Builder configPushOnly(boolean configPushOnly) {
+      this.configPushOnly = configPushOnly;
+      return this;
+    }
+
+    /**
+     * Configures whether the hostnames of the nodes are resolved through a shared cache.
+     * <p>
+     * By default, every new connection resolves the hostname of its node on the event loop, which blocks all
+     * other connections on that event loop while a slow DNS server answers. With this enabled, hostnames are
+     * resolved off the event loop and the results are cached. Once an entry expired, it is still used while it
+     * is refreshed in the background, so reconnecting to many nodes at once does not wait on DNS.
+     *
+     * @param dnsCacheEnabled true if hostname lookups should be cached, false otherwise (the default).
+     * @return this, for chaining
+     */
+    @Stability.Volatile
+    public Builder enableDnsCache(boolean dnsCacheEnabled) {
+      this.dnsCacheEnabled = dnsCacheEnabled;
+      return this;
+    }
+
     /**
      * Configures whether mutation tokens will be returned from the server for all mutation operations.
      *
@@ -382,6 +516,22 @@ public class IoConfig {
       return this;
     }
 
+    /**
+     * Configures whether the query, search and analytics services should use HTTP/2 where the server supports it.
+     * <p>
+     * HTTP/2 is negotiated through ALPN as part of the TLS handshake, so it only applies if TLS is enabled. If the
+     * server does not select it, the connection falls back to HTTP/1.1. An HTTP/2 connection multiplexes many
+     * requests as separate streams, so far fewer connections (and TLS handshakes) are needed under load.
+     *
+     * @param http2Enabled true if HTTP/2 should be negotiated, false otherwise (the default).
+     * @return this, for chaining
+     */
+    @Stability.Volatile
+    public Builder enableHttp2(boolean http2Enabled) {
+      this.http2Enabled = http2Enabled;
+      return this;
+    }
+
     public Builder enableTcpKeepAlives(boolean tcpKeepAlivesEnabled) {
       this.tcpKeepAlivesEnabled = tcpKeepAlivesEnabled;
       return this;
@@ -639,6 +789,46 @@ public class IoConfig {
       return this;
     }
 
+    /**
+     * Configures how KV requests are assigned to the connection their partition is pinned to.
+     * <p>
+     * This only matters with more than one {@link #numKvConnections(int)}. With {@link KvPartitionAffinity#PINNED}
+     * (the default), all requests for a partition share one connection and only use the least loaded one while it is
+     * not connected or not writable.
+     * <p>
+     * {@link KvPartitionAffinity#LOAD_AWARE} additionally moves requests to the least loaded connection when the
+     * pinned one falls far behind, and {@link KvPartitionAffinity#NONE} always uses the least loaded connection. Both
+     * help when a single hot partition or a slow socket holds up a connection, but give up ordering: pipelined async
+     * mutations to the same key may be sent on different connections and be applied in a different order than they
+     * were issued.
+     *
+     * @param kvPartitionAffinity how requests are assigned to their partition's connection.
+     * @return this, for chaining
+     */
+    @Stability.Volatile
+    public Builder kvPartitionAffinity(KvPartitionAffinity kvPartitionAffinity) {
+      this.kvPartitionAffinity = notNull(kvPartitionAffinity, "KvPartitionAffinity");
+      return this;
+    }
+
+    /**
+     * Configures whether the KV connection handshake is written to the network in as few flushes as possible.
+     * <p>
+     * The handshake steps (feature negotiation, error map, SASL and bucket selection) are already sent without
+     * waiting for the previous response where they do not depend on it. With this enabled, all frames written
+     * while the connection becomes active are queued and flushed together, so they usually leave in a single
+     * packet instead of one write per step, which shortens the bootstrap over high latency links. The time saved
+     * by the overlapping steps is part of the connect timings.
+     *
+     * @param pipelinedKvBootstrap true if the handshake frames should be flushed together, false otherwise (the default).
+     * @return this, for chaining
+     */
+    @Stability.Volatile
+    public Builder pipelinedKvBootstrap(boolean pipelinedKvBootstrap) {
+      this.pipelinedKvBootstrap = pipelinedKvBootstrap;
+      return this;
+    }
+
     public Builder maxHttpConnections(int maxHttpConnections) {
       this.maxHttpConnections = maxHttpConnections;
       return this;
@@ -649,6 +839,23 @@ public class IoConfig {
       return this;
     }
 
+    /**
+     * Configures whether the HTTP service pools keep connections warm based on their recent concurrency.
+     * <p>
+     * By default a pool closes connections once they have been idle for the {@link #idleHttpConnectionTimeout},
+     * so the first requests after a quiet period pay the connect (and TLS) latency again. With a warm pool, every
+     * pool keeps about as many connections as it recently needed (and a few more), connecting new ones ahead of
+     * demand, and only shrinks once it has not been used for a few minutes.
+     *
+     * @param warmHttpConnectionPool true if the pools should be kept warm, false otherwise (the default).
+     * @return this, for chaining
+     */
+    @Stability.Volatile
+    public Builder warmHttpConnectionPool(boolean warmHttpConnectionPool) {
+      this.warmHttpConnectionPool = warmHttpConnectionPool;
+      return this;
+    }
+
     public Builder configIdleRedialTimeout(final Duration configIdleRedialTimeout) {
       this.configIdleRedialTimeout = configIdleRedialTimeout;
       return this;
@@ -686,5 +893,21 @@ public class IoConfig {
     public TimerConfig.Builder timerConfig() {
       return timerConfig;
     }
+
+    /**
+     * Configures the pool of Protostellar gRPC channels by passing its config builder to the given consumer.
+     *
+     * @return this, for chaining
+     */
+    @Stability.Volatile
+    public Builder protostellarPoolConfig(Consumer<ProtostellarPoolConfig.Builder> builderConsumer) {
+      builderConsumer.accept(protostellarPoolConfig);
+      return this;
+    }
+
+    @Stability.Volatile
+    public ProtostellarPoolConfig.Builder protostellarPoolConfig() {
+      return protostellarPoolConfig;
+    }
   }
 }
@@ -17,6 +17,7 @@
 package com.couchbase.client.core.env;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.channel.EventLoopGroup;
 import com.couchbase.client.core.deps.io.netty.channel.epoll.Epoll;
 import com.couchbase.client.core.deps.io.netty.channel.epoll.EpollEventLoopGroup;
@@ -25,6 +26,7 @@ import com.couchbase.client.core.deps.io.netty.channel.kqueue.KQueueEventLoopGro
 import com.couchbase.client.core.deps.io.netty.channel.nio.NioEventLoopGroup;
 import com.couchbase.client.core.deps.io.netty.util.concurrent.DefaultThreadFactory;
 import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.io.netty.IoUringTransport;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -78,12 +80,16 @@ public class IoEnvironment {
    * Native IO is enabled by default.
    */
   public static final boolean DEFAULT_NATIVE_IO_ENABLED = true;
+  public static final boolean DEFAULT_IO_URING_ENABLED = false;
 
   @Stability.Internal
   public static final int DEFAULT_EVENT_LOOP_THREAD_COUNT = fairThreadCount();
 
   private final boolean nativeIoEnabled;
+  private final boolean ioUringEnabled;
   private final int eventLoopThreadCount;
+  private final AllocatorConfig allocatorConfig;
+  private final ByteBufAllocator allocator;
   private final Supplier<EventLoopGroup> managerEventLoopGroup;
   private final Supplier<EventLoopGroup> kvEventLoopGroup;
   private final Supplier<EventLoopGroup> queryEventLoopGroup;
@@ -273,6 +279,36 @@ public class IoEnvironment {
     return builder().enableNativeIo(nativeIoEnabled);
   }
 
+  /**
+   * If set to true (disabled by default) will use the io_uring transport on linux where it is available.
+   * <p>
+   * io_uring can batch socket reads and writes into fewer system calls than epoll, which may help
+   * high-throughput KV workloads, so measure it against your workload before enabling it. If the kernel or
+   * platform does not support it, the SDK falls back to the other native transports. It has no effect if native
+   * IO is disabled.
+   *
+   * @param ioUringEnabled if the io_uring transport should be used if available.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  @Stability.Volatile
+  public static Builder enableIoUring(boolean ioUringEnabled) {
+    return builder().enableIoUring(ioUringEnabled);
+  }
+
+  /**
+   * Allows to tune the pooled {@link ByteBufAllocator} shared by all endpoints.
+   * <p>
+   * If not customized, the default netty allocator is used. See {@link AllocatorConfig} for the available
+   * options.
+   *
+   * @param allocatorConfig the allocator config to use.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  @Stability.Volatile
+  public static Builder allocatorConfig(final AllocatorConfig.Builder allocatorConfig) {
+    return builder().allocatorConfig(allocatorConfig);
+  }
+
   /**
    * Returns this environment as a map so it can be exported into i.e. JSON for display.
    */
@@ -280,7 +316,9 @@ public class IoEnvironment {
   Map<String, Object> exportAsMap() {
     final Map<String, Object> export = new LinkedHashMap<>();
     export.put("nativeIoEnabled", nativeIoEnabled);
+    export.put("ioUringEnabled", ioUringEnabled);
     export.put("eventLoopThreadCount", eventLoopThreadCount);
+    export.put("allocator", allocatorConfig.exportAsMap());
 
     final Set<String> eventLoopGroups = new HashSet<>();
     eventLoopGroups.add(managerEventLoopGroup.get().getClass().getSimpleName());
@@ -298,7 +336,10 @@ public class IoEnvironment {
 
   private IoEnvironment(final Builder builder) {
     nativeIoEnabled = builder.nativeIoEnabled;
+    ioUringEnabled = builder.ioUringEnabled;
     eventLoopThreadCount = builder.eventLoopThreadCount;
+    allocatorConfig = builder.allocatorConfig.build();
+    allocator = allocatorConfig.createAllocator();
 
     Supplier<EventLoopGroup> httpDefaultGroup = null;
     if (builder.queryEventLoopGroup == null
@@ -307,16 +348,16 @@ public class IoEnvironment {
       || builder.viewEventLoopGroup == null
       || builder.eventingEventLoopGroup == null
       || builder.backupEventLoopGroup == null) {
-      httpDefaultGroup = createEventLoopGroup(nativeIoEnabled, eventLoopThreadCount, "cb-io-http");
+      httpDefaultGroup = createEventLoopGroup(nativeIoEnabled, ioUringEnabled, eventLoopThreadCount, "cb-io-http");
     }
 
     managerEventLoopGroup = builder.managerEventLoopGroup == null
-      ? createEventLoopGroup(nativeIoEnabled, 1, "cb-io-manager")
+      ? createEventLoopGroup(nativeIoEnabled, ioUringEnabled, 1, "cb-io-manager")
       : builder.managerEventLoopGroup;
     sanityCheckEventLoop(managerEventLoopGroup);
 
     kvEventLoopGroup = builder.kvEventLoopGroup == null
-      ? createEventLoopGroup(nativeIoEnabled, eventLoopThreadCount, "cb-io-kv")
+      ? createEventLoopGroup(nativeIoEnabled, ioUringEnabled, eventLoopThreadCount, "cb-io-kv")
       : builder.kvEventLoopGroup;
     sanityCheckEventLoop(kvEventLoopGroup);
 
@@ -444,6 +485,16 @@ public class IoEnvironment {
     return nativeIoEnabled;
   }
 
+  /**
+   * Returns true if the io_uring transport should be used where it is available.
+   *
+   * @return true if enabled.
+   */
+  @Stability.Volatile
+  public boolean ioUringEnabled() {
+    return ioUringEnabled;
+  }
+
   /**
    * Returns the thread count per event loop.
    */
@@ -451,6 +502,22 @@ public class IoEnvironment {
     return eventLoopThreadCount;
   }
 
+  /**
+   * Returns the allocator config in use.
+   */
+  @Stability.Volatile
+  public AllocatorConfig allocatorConfig() {
+    return allocatorConfig;
+  }
+
+  /**
+   * Returns the {@link ByteBufAllocator} shared by all endpoints.
+   */
+  @Stability.Internal
+  public ByteBufAllocator allocator() {
+    return allocator;
+  }
+
   /**
    * Instructs all the owned event loops to shut down.
    *
@@ -500,18 +567,23 @@ public class IoEnvironment {
    * available on the current platform.
    *
    * <p>If KQueue or Epoll native transports are available, it will use those. If not
-   * there is always the fallback to the Nio transport which is always available.</p>
+   * there is always the fallback to the Nio transport which is always available. The io_uring
+   * transport is preferred over all of them if it is enabled and available.</p>
    *
    * @param nativeIoEnabled native IO enabled.
+   * @param ioUringEnabled io_uring enabled.
    * @param numThreads number of threads to to assign to the group.
    * @param poolName the name of the threads.
    * @return the created group.
    */
-  private static OwnedSupplier<EventLoopGroup> createEventLoopGroup(final boolean nativeIoEnabled, final int numThreads,
+  private static OwnedSupplier<EventLoopGroup> createEventLoopGroup(final boolean nativeIoEnabled,
+                                                                    final boolean ioUringEnabled, final int numThreads,
                                                                     final String poolName) {
     final ThreadFactory threadFactory = new DefaultThreadFactory(poolName, true);
 
-    if (nativeIoEnabled && Epoll.isAvailable()) {
+    if (nativeIoEnabled && ioUringEnabled && IoUringTransport.isAvailable()) {
+      return new OwnedSupplier<>(IoUringTransport.createEventLoopGroup(numThreads, threadFactory));
+    } else if (nativeIoEnabled && Epoll.isAvailable()) {
       return new OwnedSupplier<>(new EpollEventLoopGroup(numThreads, threadFactory));
     } else if (nativeIoEnabled && KQueue.isAvailable()) {
       return new OwnedSupplier<>(new KQueueEventLoopGroup(numThreads, threadFactory));
@@ -540,6 +612,7 @@ public class IoEnvironment {
   public static class Builder {
 
     private boolean nativeIoEnabled = DEFAULT_NATIVE_IO_ENABLED;
+    private boolean ioUringEnabled = DEFAULT_IO_URING_ENABLED;
     private Supplier<EventLoopGroup> managerEventLoopGroup = null;
     private Supplier<EventLoopGroup> kvEventLoopGroup = null;
     private Supplier<EventLoopGroup> queryEventLoopGroup = null;
@@ -549,6 +622,7 @@ public class IoEnvironment {
     private Supplier<EventLoopGroup> eventingEventLoopGroup = null;
     private Supplier<EventLoopGroup> backupEventLoopGroup = null;
     private int eventLoopThreadCount = DEFAULT_EVENT_LOOP_THREAD_COUNT;
+    private AllocatorConfig.Builder allocatorConfig = AllocatorConfig.builder();
 
     /**
      * Allows to specify a custom event loop group (I/O event loop thread pool) for the management service.
@@ -707,6 +781,23 @@ public class IoEnvironment {
       return this;
     }
 
+    /**
+     * If set to true (disabled by default) will use the io_uring transport on linux where it is available.
+     * <p>
+     * io_uring can batch socket reads and writes into fewer system calls than epoll, which may help
+     * high-throughput KV workloads, so measure it against your workload before enabling it. If the kernel or
+     * platform does not support it, the SDK falls back to the other native transports. It has no effect if native
+     * IO is disabled.
+     *
+     * @param ioUringEnabled if the io_uring transport should be used if available.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder enableIoUring(final boolean ioUringEnabled) {
+      this.ioUringEnabled = ioUringEnabled;
+      return this;
+    }
+
     /**
      * Overrides the number of threads used per event loop.
      * <p>
@@ -728,6 +819,21 @@ public class IoEnvironment {
       return this;
     }
 
+    /**
+     * Allows to tune the pooled {@link ByteBufAllocator} shared by all endpoints.
+     * <p>
+     * If not customized, the default netty allocator is used. See {@link AllocatorConfig} for the available
+     * options.
+     *
+     * @param allocatorConfig the allocator config to use.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder allocatorConfig(final AllocatorConfig.Builder allocatorConfig) {
+      this.allocatorConfig = notNull(allocatorConfig, "AllocatorConfig");
+      return this;
+    }
+
     @Stability.Internal
     public IoEnvironment build() {
       return new IoEnvironment(this);
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.env;
+
+import com.couchbase.client.core.annotation.Stability;
+
+/**
+ * Describes how KV requests are assigned to the connections of a node when more than one is open.
+ */
+@Stability.Volatile
+public enum KvPartitionAffinity {
+
+  /**
+   * All requests for a partition use the same connection, and only move to the least loaded one if it is not
+   * connected or not writable. This keeps the requests for a partition in order on the wire.
+   */
+  PINNED,
+
+  /**
+   * Like {@link #PINNED}, but requests also move to the least loaded connection if the pinned one has fallen far
+   * behind it. Pipelined requests for the same key may then be sent on different connections and complete out of
+   * order.
+   */
+  LOAD_AWARE,
+
+  /**
+   * Every request uses the least loaded connection, which spreads a single hot partition over all connections
+   * but does not keep its requests in order.
+   */
+  NONE
+
+}
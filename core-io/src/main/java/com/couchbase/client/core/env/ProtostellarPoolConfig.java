@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.env;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.InvalidArgumentException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.couchbase.client.core.util.Validators.notNull;
+
+/**
+ * Configures the pool of gRPC channels used when connecting over Protostellar.
+ * <p>
+ * Every channel is a single HTTP/2 connection, which limits the number of concurrent streams and serializes its
+ * frames on one event loop. The pool starts with {@link Builder#minChannels(int)} channels and adds channels (up to
+ * {@link Builder#maxChannels(int)}) when the streams in flight approach the configured maximum per channel. Idle
+ * channels beyond the minimum are removed again.
+ */
+@Stability.Volatile
+public class ProtostellarPoolConfig {
+  public static final int DEFAULT_MIN_CHANNELS = 1;
+  public static final int DEFAULT_MAX_CHANNELS = 4;
+  public static final int DEFAULT_MAX_CONCURRENT_STREAMS = 100;
+  public static final Duration DEFAULT_RESIZE_INTERVAL = Duration.ofSeconds(1);
+
+  private final int minChannels;
+  private final int maxChannels;
+  private final int maxConcurrentStreams;
+  private final Duration resizeInterval;
+
+  private ProtostellarPoolConfig(Builder builder) {
+    if (builder.maxChannels < builder.minChannels) {
+      throw InvalidArgumentException.fromMessage("MaxChannels (" + builder.maxChannels
+        + ") cannot be smaller than MinChannels (" + builder.minChannels + ")");
+    }
+    minChannels = builder.minChannels;
+    maxChannels = builder.maxChannels;
+    maxConcurrentStreams = builder.maxConcurrentStreams;
+    resizeInterval = builder.resizeInterval;
+  }
+
+  public static ProtostellarPoolConfig create() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int minChannels() {
+    return minChannels;
+  }
+
+  public int maxChannels() {
+    return maxChannels;
+  }
+
+  public int maxConcurrentStreams() {
+    return maxConcurrentStreams;
+  }
+
+  public Duration resizeInterval() {
+    return resizeInterval;
+  }
+
+  @Stability.Internal
+  public Map<String, Object> exportAsMap() {
+    Map<String, Object> export = new LinkedHashMap<>();
+    export.put("minChannels", minChannels);
+    export.put("maxChannels", maxChannels);
+    export.put("maxConcurrentStreams", maxConcurrentStreams);
+    export.put("resizeIntervalMs", resizeInterval.toMillis());
+    return export;
+  }
+
+  public static class Builder {
+    private int minChannels = DEFAULT_MIN_CHANNELS;
+    private int maxChannels = DEFAULT_MAX_CHANNELS;
+    private int maxConcurrentStreams = DEFAULT_MAX_CONCURRENT_STREAMS;
+    private Duration resizeInterval = DEFAULT_RESIZE_INTERVAL;
+
+    /**
+     * The number of channels which are always kept open.
+     * <p>
+     * It defaults to 1.
+     */
+    @Stability.Volatile
+    public Builder minChannels(int minChannels) {
+      if (minChannels < 1) {
+        throw InvalidArgumentException.fromMessage("MinChannels cannot be smaller than 1");
+      }
+      this.minChannels = minChannels;
+      return this;
+    }
+
+    /**
+     * The maximum number of channels the pool grows to under load.
+     * <p>
+     * It defaults to 4. Setting it to the same value as {@link #minChannels(int)} disables resizing.
+     */
+    @Stability.Volatile
+    public Builder maxChannels(int maxChannels) {
+      if (maxChannels < 1) {
+        throw InvalidArgumentException.fromMessage("MaxChannels cannot be smaller than 1");
+      }
+      this.maxChannels = maxChannels;
+      return this;
+    }
+
+    /**
+     * The number of concurrent streams a single channel should carry at most.
+     * <p>
+     * This should be aligned with the {@code MAX_CONCURRENT_STREAMS} setting advertised by the server. The pool
+     * adds a channel once the streams in flight reach three quarters of this value across all channels.
+     * <p>
+     * It defaults to 100.
+     */
+    @Stability.Volatile
+    public Builder maxConcurrentStreams(int maxConcurrentStreams) {
+      if (maxConcurrentStreams < 1) {
+        throw InvalidArgumentException.fromMessage("MaxConcurrentStreams cannot be smaller than 1");
+      }
+      this.maxConcurrentStreams = maxConcurrentStreams;
+      return this;
+    }
+
+    /**
+     * How often the pool checks the channel utilization to decide if it should grow or shrink.
+     * <p>
+     * It defaults to 1 second.
+     */
+    @Stability.Volatile
+    public Builder resizeInterval(Duration resizeInterval) {
+      this.resizeInterval = notNull(resizeInterval, "ResizeInterval");
+      return this;
+    }
+
+    public ProtostellarPoolConfig build() {
+      return new ProtostellarPoolConfig(this);
+    }
+  }
+}
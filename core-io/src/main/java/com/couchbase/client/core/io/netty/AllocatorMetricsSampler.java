@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocatorMetric;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocatorMetricProvider;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocatorMetric;
+
+import java.util.Collections;
+
+import static com.couchbase.client.core.cnc.TracingIdentifiers.METER_ALLOCATOR_CHUNK_SIZE;
+import static com.couchbase.client.core.cnc.TracingIdentifiers.METER_ALLOCATOR_DIRECT_ARENAS;
+import static com.couchbase.client.core.cnc.TracingIdentifiers.METER_ALLOCATOR_PINNED_DIRECT_MEMORY;
+import static com.couchbase.client.core.cnc.TracingIdentifiers.METER_ALLOCATOR_THREAD_LOCAL_CACHES;
+import static com.couchbase.client.core.cnc.TracingIdentifiers.METER_ALLOCATOR_USED_DIRECT_MEMORY;
+import static com.couchbase.client.core.cnc.TracingIdentifiers.METER_ALLOCATOR_USED_HEAP_MEMORY;
+
+/**
+ * Periodically samples the metrics exposed by a netty allocator into the {@link Meter}.
+ * <p>
+ * The meter abstraction does not know about gauges, so every sample is recorded into a {@link ValueRecorder}
+ * instead. The recorded distribution over an emit interval then describes how the allocator usage evolved.
+ */
+@Stability.Internal
+public class AllocatorMetricsSampler implements Runnable {
+
+  private final ByteBufAllocatorMetric metric;
+  private final PooledByteBufAllocator pooled;
+
+  private final ValueRecorder usedDirectMemory;
+  private final ValueRecorder usedHeapMemory;
+  private final ValueRecorder pinnedDirectMemory;
+  private final ValueRecorder directArenas;
+  private final ValueRecorder threadLocalCaches;
+  private final ValueRecorder chunkSize;
+
+  public AllocatorMetricsSampler(final Meter meter, final ByteBufAllocator allocator) {
+    this.metric = allocator instanceof ByteBufAllocatorMetricProvider
+      ? ((ByteBufAllocatorMetricProvider) allocator).metric()
+      : null;
+    this.pooled = allocator instanceof PooledByteBufAllocator ? (PooledByteBufAllocator) allocator : null;
+
+    this.usedDirectMemory = meter.valueRecorder(METER_ALLOCATOR_USED_DIRECT_MEMORY, Collections.emptyMap());
+    this.usedHeapMemory = meter.valueRecorder(METER_ALLOCATOR_USED_HEAP_MEMORY, Collections.emptyMap());
+    if (pooled != null) {
+      this.pinnedDirectMemory = meter.valueRecorder(METER_ALLOCATOR_PINNED_DIRECT_MEMORY, Collections.emptyMap());
+      this.directArenas = meter.valueRecorder(METER_ALLOCATOR_DIRECT_ARENAS, Collections.emptyMap());
+      this.threadLocalCaches = meter.valueRecorder(METER_ALLOCATOR_THREAD_LOCAL_CACHES, Collections.emptyMap());
+      this.chunkSize = meter.valueRecorder(METER_ALLOCATOR_CHUNK_SIZE, Collections.emptyMap());
+    } else {
+      this.pinnedDirectMemory = null;
+      this.directArenas = null;
+      this.threadLocalCaches = null;
+      this.chunkSize = null;
+    }
+  }
+
+  /**
+   * Returns true if the allocator exposes metrics which can be sampled.
+   */
+  public boolean hasMetrics() {
+    return metric != null;
+  }
+
+  @Override
+  public void run() {
+    if (metric == null) {
+      return;
+    }
+
+    usedDirectMemory.recordValue(metric.usedDirectMemory());
+    usedHeapMemory.recordValue(metric.usedHeapMemory());
+
+    if (pooled != null) {
+      PooledByteBufAllocatorMetric pooledMetric = pooled.metric();
+      pinnedDirectMemory.recordValue(pooled.pinnedDirectMemory());
+      directArenas.recordValue(pooledMetric.numDirectArenas());
+      threadLocalCaches.recordValue(pooledMetric.numThreadLocalCaches());
+      chunkSize.recordValue(pooledMetric.chunkSize());
+    }
+  }
+
+}
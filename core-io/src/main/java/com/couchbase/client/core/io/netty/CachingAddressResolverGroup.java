@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.resolver.AddressResolver;
+import com.couchbase.client.core.deps.io.netty.resolver.AddressResolverGroup;
+import com.couchbase.client.core.deps.io.netty.resolver.InetNameResolver;
+import com.couchbase.client.core.deps.io.netty.util.NetUtil;
+import com.couchbase.client.core.deps.io.netty.util.concurrent.EventExecutor;
+import com.couchbase.client.core.deps.io.netty.util.concurrent.Promise;
+import com.couchbase.client.core.util.DnsResolutionCache;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Resolves the addresses netty connects to through a {@link DnsResolutionCache}, so the event loop never blocks
+ * on a DNS lookup.
+ */
+@Stability.Internal
+public class CachingAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+
+  public static final CachingAddressResolverGroup INSTANCE =
+    new CachingAddressResolverGroup(DnsResolutionCache.defaultInstance());
+
+  private final DnsResolutionCache cache;
+
+  public CachingAddressResolverGroup(final DnsResolutionCache cache) {
+    this.cache = requireNonNull(cache);
+  }
+
+  @Override
+  protected AddressResolver<InetSocketAddress> newResolver(final EventExecutor executor) {
+    return new CachingNameResolver(executor, cache).asAddressResolver();
+  }
+
+  private static class CachingNameResolver extends InetNameResolver {
+    private final DnsResolutionCache cache;
+
+    CachingNameResolver(final EventExecutor executor, final DnsResolutionCache cache) {
+      super(executor);
+      this.cache = cache;
+    }
+
+    @Override
+    protected void doResolve(final String inetHost, final Promise<InetAddress> promise) {
+      InetAddress literal = literal(inetHost);
+      if (literal != null) {
+        promise.trySuccess(literal);
+        return;
+      }
+      cache.resolveAddresses(inetHost).subscribe(addresses -> promise.trySuccess(addresses.get(0)), promise::tryFailure);
+    }
+
+    @Override
+    protected void doResolveAll(final String inetHost, final Promise<List<InetAddress>> promise) {
+      InetAddress literal = literal(inetHost);
+      if (literal != null) {
+        promise.trySuccess(Collections.singletonList(literal));
+        return;
+      }
+      cache.resolveAddresses(inetHost).subscribe(promise::trySuccess, promise::tryFailure);
+    }
+
+    /**
+     * IP addresses do not need a lookup, so they are returned right away instead of filling up the cache.
+     */
+    private static InetAddress literal(final String inetHost) {
+      return NetUtil.createInetAddressFromIpAddressString(inetHost);
+    }
+  }
+
+}
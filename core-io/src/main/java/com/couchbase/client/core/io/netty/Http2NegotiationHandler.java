@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelDuplexHandler;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandler;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelPipeline;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.ApplicationProtocolNames;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.SslHandler;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import com.couchbase.client.core.endpoint.BaseEndpoint;
+import com.couchbase.client.core.endpoint.PipelineInitializer;
+import com.couchbase.client.core.io.netty.kv.ChannelAttributes;
+
+import java.net.SocketAddress;
+
+/**
+ * Waits for the TLS handshake and then sets up the pipeline for the protocol the server selected through ALPN.
+ *
+ * <p>If the server selected HTTP/2, the channel is set up to multiplex requests as streams through the
+ * {@link Http2StreamDispatcher}. Otherwise the regular HTTP/1.1 handlers of the endpoint are added, just as if
+ * HTTP/2 had never been offered.</p>
+ *
+ * <p>Like the KV handshake handlers, this handler intercepts the connect promise, so the endpoint only considers
+ * the channel connected (and starts writing to it) once the pipeline is complete.</p>
+ */
+@Stability.Internal
+public class Http2NegotiationHandler extends ChannelDuplexHandler {
+
+  private final BaseEndpoint endpoint;
+  private final PipelineInitializer pipelineInitializer;
+
+  /**
+   * Holds the intercepted promise from up the pipeline which is completed once the protocol is negotiated.
+   */
+  private ChannelPromise interceptedConnectPromise;
+
+  public Http2NegotiationHandler(final BaseEndpoint endpoint, final PipelineInitializer pipelineInitializer) {
+    this.endpoint = endpoint;
+    this.pipelineInitializer = pipelineInitializer;
+  }
+
+  @Override
+  public void connect(final ChannelHandlerContext ctx, final SocketAddress remoteAddress,
+                      final SocketAddress localAddress, final ChannelPromise promise) {
+    interceptedConnectPromise = promise;
+    ChannelPromise downstream = ctx.newPromise();
+    downstream.addListener(f -> {
+      if (!f.isSuccess() && !interceptedConnectPromise.isDone()) {
+        interceptedConnectPromise.tryFailure(f.cause());
+      }
+    });
+    ctx.connect(remoteAddress, localAddress, downstream);
+  }
+
+  /**
+   * The handlers which need to see the channel becoming active are only added once the protocol is known.
+   */
+  @Override
+  public void channelActive(final ChannelHandlerContext ctx) {
+    // fired further once the pipeline is set up
+  }
+
+  @Override
+  public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) {
+    if (!(evt instanceof SslHandshakeCompletionEvent)) {
+      ctx.fireUserEventTriggered(evt);
+      return;
+    }
+
+    SslHandshakeCompletionEvent handshake = (SslHandshakeCompletionEvent) evt;
+    if (!handshake.isSuccess()) {
+      interceptedConnectPromise.tryFailure(handshake.cause());
+      ctx.fireUserEventTriggered(evt);
+      return;
+    }
+
+    SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
+    boolean http2 = ApplicationProtocolNames.HTTP_2.equals(sslHandler.applicationProtocol());
+    try {
+      configurePipeline(ctx.pipeline(), http2);
+      ctx.channel().attr(ChannelAttributes.HTTP2_KEY).set(http2);
+      ctx.fireChannelActive();
+      interceptedConnectPromise.trySuccess();
+    } catch (Exception ex) {
+      interceptedConnectPromise.tryFailure(ex);
+    }
+    ctx.fireUserEventTriggered(evt);
+    ctx.pipeline().remove(this);
+  }
+
+  /**
+   * Adds the handlers for the negotiated protocol, keeping the {@link PipelineErrorHandler} at the end.
+   */
+  private void configurePipeline(final ChannelPipeline pipeline, final boolean http2) {
+    ChannelHandler errorHandler = pipeline.remove(PipelineErrorHandler.class);
+    if (http2) {
+      Http2StreamDispatcher.init(endpoint, pipelineInitializer, pipeline);
+    } else {
+      pipelineInitializer.init(endpoint, pipeline);
+    }
+    pipeline.addLast(errorHandler);
+  }
+
+}
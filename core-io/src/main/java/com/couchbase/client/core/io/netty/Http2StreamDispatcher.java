@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.events.io.GenericFailureDetectedEvent;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelInboundHandlerAdapter;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelInitializer;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelOutboundHandlerAdapter;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelPipeline;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http.HttpClientCodec;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http2.Http2MultiplexHandler;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http2.Http2StreamChannel;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import com.couchbase.client.core.deps.io.netty.util.concurrent.Future;
+import com.couchbase.client.core.endpoint.BaseEndpoint;
+import com.couchbase.client.core.endpoint.PipelineInitializer;
+import com.couchbase.client.core.io.IoContext;
+import com.couchbase.client.core.io.netty.kv.ChannelAttributes;
+import com.couchbase.client.core.msg.Request;
+
+/**
+ * Dispatches every request written to an HTTP/2 connection onto its own stream.
+ *
+ * <p>Each stream is a child channel with the same handlers the endpoint uses on an HTTP/1.1 connection, only with
+ * the HTTP/1.1 codec replaced by one translating to and from HTTP/2 frames. Since every stream carries exactly one
+ * request, the message handlers work unchanged, while the connection itself carries many requests at once.</p>
+ */
+@Stability.Internal
+public class Http2StreamDispatcher extends ChannelOutboundHandlerAdapter {
+
+  /**
+   * The number of requests the endpoint will have in flight on one HTTP/2 connection.
+   * <p>
+   * This is the minimum number of concurrent streams servers should allow according to RFC 9113. If the server
+   * allows fewer, the streams above its limit are buffered until earlier ones complete.
+   */
+  public static final int MAX_CONCURRENT_STREAMS = 100;
+
+  private final BaseEndpoint endpoint;
+  private final PipelineInitializer streamInitializer;
+  private Http2StreamChannelBootstrap bootstrap;
+
+  Http2StreamDispatcher(final BaseEndpoint endpoint, final PipelineInitializer streamInitializer) {
+    this.endpoint = endpoint;
+    this.streamInitializer = streamInitializer;
+  }
+
+  /**
+   * Adds the HTTP/2 connection handlers and the dispatcher to the pipeline.
+   *
+   * @param endpoint the endpoint owning the connection.
+   * @param streamInitializer the initializer of the endpoint, applied to every stream.
+   * @param pipeline the pipeline of the connection.
+   */
+  public static void init(final BaseEndpoint endpoint, final PipelineInitializer streamInitializer,
+                          final ChannelPipeline pipeline) {
+    pipeline.addLast(Http2FrameCodecBuilder.forClient().encoderEnforceMaxConcurrentStreams(true).build());
+    // The server never opens streams, so there is nothing to initialize for inbound ones
+    pipeline.addLast(new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+    pipeline.addLast(new Http2StreamDispatcher(endpoint, streamInitializer));
+  }
+
+  @Override
+  public void handlerAdded(final ChannelHandlerContext ctx) {
+    bootstrap = new Http2StreamChannelBootstrap(ctx.channel()).handler(new ChannelInitializer<Http2StreamChannel>() {
+      @Override
+      protected void initChannel(final Http2StreamChannel ch) {
+        ch.attr(ChannelAttributes.CHANNEL_ID_KEY).set(ctx.channel().attr(ChannelAttributes.CHANNEL_ID_KEY).get());
+        ChannelPipeline pipeline = ch.pipeline();
+        pipeline.addLast(new Http2StreamFrameToHttpObjectCodec(false));
+        streamInitializer.init(endpoint, pipeline);
+        if (pipeline.get(HttpClientCodec.class) != null) {
+          pipeline.remove(HttpClientCodec.class);
+        }
+        pipeline.addLast(new StreamErrorHandler(endpoint));
+      }
+    });
+  }
+
+  @Override
+  public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+    if (!(msg instanceof Request)) {
+      ctx.write(msg, promise);
+      return;
+    }
+
+    bootstrap.open().addListener((Future<Http2StreamChannel> f) -> {
+      if (f.isSuccess()) {
+        f.getNow().writeAndFlush(msg).addListener(w -> {
+          if (w.isSuccess()) {
+            promise.trySuccess();
+          } else {
+            promise.tryFailure(w.cause());
+          }
+        });
+      } else {
+        promise.tryFailure(f.cause());
+      }
+    });
+  }
+
+  /**
+   * Closes a stream if anything goes wrong on it, which sends the request it carries into retry.
+   * <p>
+   * Unlike the {@link PipelineErrorHandler} it does not notify the endpoint when the channel goes inactive, since
+   * a stream closing is the normal end of every request.
+   */
+  private static class StreamErrorHandler extends ChannelInboundHandlerAdapter {
+
+    private final BaseEndpoint endpoint;
+
+    StreamErrorHandler(final BaseEndpoint endpoint) {
+      this.endpoint = endpoint;
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+      IoContext ioContext = new IoContext(
+        endpoint.context(),
+        ctx.channel().localAddress(),
+        ctx.channel().remoteAddress(),
+        endpoint.context().bucket()
+      );
+      endpoint.context().environment().eventBus().publish(new GenericFailureDetectedEvent(ioContext, cause));
+      ctx.close();
+    }
+  }
+
+}
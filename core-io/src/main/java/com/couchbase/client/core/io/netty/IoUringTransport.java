@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.channel.Channel;
+import com.couchbase.client.core.deps.io.netty.channel.EventLoopGroup;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides access to the io_uring transport, if it is available on this platform.
+ *
+ * <p>The io_uring transport is still part of the netty incubator, so it is only referenced reflectively. If its
+ * classes are not on the classpath, the native library cannot be loaded or the kernel does not support io_uring,
+ * the transport is reported as unavailable and the caller falls back to the other transports.</p>
+ */
+@Stability.Internal
+public final class IoUringTransport {
+
+  private static final String PACKAGE = "com.couchbase.client.core.deps.io.netty.incubator.channel.uring.";
+
+  private static final Class<? extends EventLoopGroup> EVENT_LOOP_GROUP_CLASS;
+  private static final Class<? extends Channel> SOCKET_CHANNEL_CLASS;
+  private static final Throwable UNAVAILABILITY_CAUSE;
+
+  static {
+    Class<? extends EventLoopGroup> groupClass = null;
+    Class<? extends Channel> channelClass = null;
+    Throwable cause = null;
+    try {
+      Class<?> ioUring = Class.forName(PACKAGE + "IOUring");
+      if ((Boolean) ioUring.getMethod("isAvailable").invoke(null)) {
+        groupClass = Class.forName(PACKAGE + "IOUringEventLoopGroup").asSubclass(EventLoopGroup.class);
+        channelClass = Class.forName(PACKAGE + "IOUringSocketChannel").asSubclass(Channel.class);
+      } else {
+        cause = (Throwable) ioUring.getMethod("unavailabilityCause").invoke(null);
+      }
+    } catch (Throwable t) {
+      cause = t;
+    }
+    EVENT_LOOP_GROUP_CLASS = groupClass;
+    SOCKET_CHANNEL_CLASS = channelClass;
+    UNAVAILABILITY_CAUSE = cause;
+  }
+
+  private IoUringTransport() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Returns true if the io_uring transport can be used on this platform.
+   */
+  public static boolean isAvailable() {
+    return EVENT_LOOP_GROUP_CLASS != null;
+  }
+
+  /**
+   * Returns the reason why the transport is not available, or null if it is.
+   */
+  public static Throwable unavailabilityCause() {
+    return UNAVAILABILITY_CAUSE;
+  }
+
+  /**
+   * Returns true if the given group is an io_uring event loop group.
+   *
+   * @param group the group to check.
+   */
+  public static boolean isEventLoopGroup(final EventLoopGroup group) {
+    return EVENT_LOOP_GROUP_CLASS != null && EVENT_LOOP_GROUP_CLASS.isInstance(group);
+  }
+
+  /**
+   * Returns the socket channel class to use with an io_uring event loop group.
+   *
+   * @throws IllegalStateException if the transport is not available.
+   */
+  public static Class<? extends Channel> socketChannelClass() {
+    if (SOCKET_CHANNEL_CLASS == null) {
+      throw new IllegalStateException("The io_uring transport is not available", UNAVAILABILITY_CAUSE);
+    }
+    return SOCKET_CHANNEL_CLASS;
+  }
+
+  /**
+   * Creates a new io_uring event loop group.
+   *
+   * @param numThreads the number of threads in the group.
+   * @param threadFactory the factory for the threads.
+   * @return the created group.
+   * @throws IllegalStateException if the transport is not available or the group cannot be created.
+   */
+  public static EventLoopGroup createEventLoopGroup(final int numThreads, final ThreadFactory threadFactory) {
+    if (EVENT_LOOP_GROUP_CLASS == null) {
+      throw new IllegalStateException("The io_uring transport is not available", UNAVAILABILITY_CAUSE);
+    }
+    try {
+      Constructor<? extends EventLoopGroup> constructor =
+        EVENT_LOOP_GROUP_CLASS.getConstructor(int.class, ThreadFactory.class);
+      return constructor.newInstance(numThreads, threadFactory);
+    } catch (InvocationTargetException ex) {
+      throw new IllegalStateException("Could not create the io_uring event loop group", ex.getCause());
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalStateException("Could not create the io_uring event loop group", ex);
+    }
+  }
+
+}
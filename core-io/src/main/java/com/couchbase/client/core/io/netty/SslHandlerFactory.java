@@ -19,6 +19,8 @@ package com.couchbase.client.core.io.netty;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.events.io.CustomTlsCiphersEnabledEvent;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.ApplicationProtocolConfig;
+import com.couchbase.client.core.deps.io.netty.handler.ssl.ApplicationProtocolNames;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.OpenSsl;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.SslContextBuilder;
 import com.couchbase.client.core.deps.io.netty.handler.ssl.SslHandler;
@@ -53,8 +55,28 @@ public class SslHandlerFactory {
 
   public static SslHandler get(final ByteBufAllocator allocator, final SecurityConfig config,
                                final EndpointContext endpointContext) throws Exception {
+    return get(allocator, config, endpointContext, false);
+  }
+
+  /**
+   * Creates a new {@link SslHandler}, optionally offering HTTP/2 through ALPN.
+   *
+   * @param negotiateHttp2 if h2 (and http/1.1 as the fallback) should be offered to the server.
+   */
+  public static SslHandler get(final ByteBufAllocator allocator, final SecurityConfig config,
+                               final EndpointContext endpointContext, final boolean negotiateHttp2) throws Exception {
     SslContextBuilder context = sslContextBuilder(config.nativeTlsEnabled());
 
+    if (negotiateHttp2) {
+      context.applicationProtocolConfig(new ApplicationProtocolConfig(
+        ApplicationProtocolConfig.Protocol.ALPN,
+        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+        ApplicationProtocolNames.HTTP_2,
+        ApplicationProtocolNames.HTTP_1_1
+      ));
+    }
+
     if (config.trustManagerFactory() != null) {
       context.trustManager(config.trustManagerFactory());
     } else if (config.trustCertificates() != null && !config.trustCertificates().isEmpty()) {
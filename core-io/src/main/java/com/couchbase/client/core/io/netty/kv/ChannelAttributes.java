@@ -62,4 +62,10 @@ public class ChannelAttributes {
   public static final AttributeKey<Set<SaslMechanism>> SASL_MECHS_KEY =
     AttributeKey.newInstance("SaslMechs");
 
+  /**
+   * Set to true once HTTP/2 has been negotiated on a channel.
+   */
+  public static final AttributeKey<Boolean> HTTP2_KEY =
+    AttributeKey.newInstance("Http2");
+
 }
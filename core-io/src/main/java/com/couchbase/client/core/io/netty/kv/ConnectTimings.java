@@ -35,6 +35,11 @@ import java.util.TreeMap;
  */
 public class ConnectTimings {
 
+  /**
+   * The key under which the {@link #pipeliningSavings(Channel)} are exported.
+   */
+  public static final String PIPELINING_SAVINGS = "PipeliningSavings";
+
   private final List<Timing> timings = Collections.synchronizedList(new ArrayList<>());
 
   private ConnectTimings() {
@@ -117,6 +122,16 @@ public class ConnectTimings {
         .append(")\n");
     }
 
+    Duration savings = pipeliningSavings(channel);
+    if (!savings.isZero()) {
+      sb
+        .append(" -> ")
+        .append(PIPELINING_SAVINGS)
+        .append(": ~")
+        .append(savings.toMillis())
+        .append("ms\n");
+    }
+
     return sb.toString();
   }
 
@@ -129,9 +144,54 @@ public class ConnectTimings {
     for (ConnectTimings.Timing timing : timings(channel)) {
       timings.put(timing.clazz.getSimpleName(), timing.latency());
     }
+
+    Duration savings = pipeliningSavings(channel);
+    if (!savings.isZero()) {
+      timings.put(PIPELINING_SAVINGS, savings);
+    }
     return timings;
   }
 
+  /**
+   * Returns how much time the bootstrap saved by overlapping its steps instead of running them one after another.
+   *
+   * <p>This is the sum of the latencies of all completed steps minus the time from the start of the first to the end
+   * of the last one. Only completed steps are taken into account.</p>
+   *
+   * @param channel the channel to compute the savings for.
+   * @return the saved time, or {@link Duration#ZERO} if the steps did not overlap.
+   */
+  public static Duration pipeliningSavings(final Channel channel) {
+    if (channel == null) {
+      return Duration.ZERO;
+    }
+
+    List<Timing> timings = timings(channel);
+    Duration sum = Duration.ZERO;
+    NanoTimestamp firstStart = null;
+    NanoTimestamp lastEnd = null;
+    synchronized (timings) {
+      for (Timing timing : timings) {
+        if (!timing.isComplete()) {
+          continue;
+        }
+        sum = sum.plus(timing.latency());
+        if (firstStart == null || timing.start.compareTo(firstStart) < 0) {
+          firstStart = timing.start;
+        }
+        if (lastEnd == null || timing.end.compareTo(lastEnd) > 0) {
+          lastEnd = timing.end;
+        }
+      }
+    }
+
+    if (firstStart == null) {
+      return Duration.ZERO;
+    }
+    Duration savings = sum.minus(lastEnd.minus(firstStart));
+    return savings.isNegative() ? Duration.ZERO : savings;
+  }
+
   private static List<Timing> timings(final Channel channel) {
     ConnectTimings ct = channel.attr(ChannelAttributes.CONNECT_TIMINGS_KEY).get();
     return ct == null ? Collections.emptyList() : ct.timings;
@@ -33,7 +33,9 @@ import com.couchbase.client.core.msg.kv.BaseKeyValueRequest;
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -74,6 +76,16 @@ public class ErrorMapLoadingHandler extends ChannelDuplexHandler {
    */
   private final EndpointContext endpointContext;
 
+  /**
+   * Shares the loaded error map between connections to the same node, if set.
+   */
+  private final NodeHandshakeCache handshakeCache;
+
+  /**
+   * The features requested by the connection, which are part of the cache key.
+   */
+  private final Set<ServerFeature> requestedFeatures;
+
   /**
    * Holds the timeout for the full error map loading phase.
    */
@@ -97,7 +109,24 @@ public class ErrorMapLoadingHandler extends ChannelDuplexHandler {
    * @param endpointContext the core context used to refer to values like the core id.
    */
   public ErrorMapLoadingHandler(final EndpointContext endpointContext) {
+    this(endpointContext, null, Collections.emptySet());
+  }
+
+  /**
+   * Creates a new {@link ErrorMapLoadingHandler} which shares the loaded error map through a cache.
+   * <p>
+   * With a cache, the error map is only requested once the features have been negotiated, and only if the
+   * {@link FeatureNegotiatingHandler} did not find a cached error map loaded with the same features.
+   *
+   * @param endpointContext the core context used to refer to values like the core id.
+   * @param handshakeCache the cache shared by all connections, or null if none should be used.
+   * @param requestedFeatures the features the connection requests, which are part of the cache key.
+   */
+  public ErrorMapLoadingHandler(final EndpointContext endpointContext, final NodeHandshakeCache handshakeCache,
+                                final Set<ServerFeature> requestedFeatures) {
     this.endpointContext = endpointContext;
+    this.handshakeCache = handshakeCache;
+    this.requestedFeatures = requestedFeatures;
     this.timeout = endpointContext.environment().timeoutConfig().connectTimeout();
   }
 
@@ -142,8 +171,10 @@ public class ErrorMapLoadingHandler extends ChannelDuplexHandler {
         );
       }
     }, timeout.toNanos(), TimeUnit.NANOSECONDS);
-    ConnectTimings.start(ctx.channel(), this.getClass());
-    ctx.writeAndFlush(buildErrorMapRequest(ctx));
+
+    if (handshakeCache == null || ctx.pipeline().get(FeatureNegotiatingHandler.class) == null) {
+      sendErrorMapRequest(ctx);
+    }
 
     // Fire the channel active immediately so the upper handler in the pipeline gets a chance to
     // pipeline its request before the response of this one arrives. This helps speeding up the
@@ -151,13 +182,50 @@ public class ErrorMapLoadingHandler extends ChannelDuplexHandler {
     ctx.fireChannelActive();
   }
 
+  /**
+   * Once the features have been negotiated, either uses the cached error map or requests it from the server.
+   */
+  @Override
+  public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) {
+    if (evt != NodeHandshakeCache.FEATURES_NEGOTIATED) {
+      ctx.fireUserEventTriggered(evt);
+      return;
+    }
+
+    if (ctx.channel().attr(ChannelAttributes.ERROR_MAP_KEY).get() != null) {
+      ConnectTimings.record(ctx.channel(), this.getClass());
+      interceptedConnectPromise.trySuccess();
+      ctx.pipeline().remove(this);
+    } else {
+      sendErrorMapRequest(ctx);
+    }
+  }
+
+  private void sendErrorMapRequest(final ChannelHandlerContext ctx) {
+    ConnectTimings.start(ctx.channel(), this.getClass());
+    ctx.writeAndFlush(buildErrorMapRequest(ctx));
+  }
+
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+    if (msg instanceof ByteBuf && MemcacheProtocol.opcode((ByteBuf) msg) != MemcacheProtocol.Opcode.ERROR_MAP.opcode()) {
+      // The request is sent after the feature negotiation when a cache is used, so responses to the requests of
+      // the following handlers may arrive first.
+      ctx.fireChannelRead(msg);
+      return;
+    }
+
     Optional<Duration> latency = ConnectTimings.stop(ctx.channel(), this.getClass(), false);
 
     if (msg instanceof ByteBuf) {
       if (successful((ByteBuf) msg)) {
         Optional<ErrorMap> loadedMap = extractErrorMap((ByteBuf) msg);
+        if (handshakeCache != null) {
+          Set<ServerFeature> features = ctx.channel().attr(ChannelAttributes.SERVER_FEATURE_KEY).get();
+          loadedMap = loadedMap.map(m ->
+            handshakeCache.errorMap(endpointContext.remoteSocket(), requestedFeatures, features, m)
+          );
+        }
         loadedMap.ifPresent(errorMap -> ctx.channel().attr(ChannelAttributes.ERROR_MAP_KEY).set(errorMap));
         endpointContext.environment().eventBus().publish(
           new ErrorMapLoadedEvent(ioContext, latency.orElse(Duration.ZERO), loadedMap)
@@ -79,6 +79,11 @@ public class FeatureNegotiatingHandler extends ChannelDuplexHandler {
    */
   private final EndpointContext endpointContext;
 
+  /**
+   * Shares the negotiated features between connections to the same node, if set.
+   */
+  private final NodeHandshakeCache handshakeCache;
+
   /**
    * Once connected, holds the io context for more debug information.
    */
@@ -99,9 +104,24 @@ public class FeatureNegotiatingHandler extends ChannelDuplexHandler {
    */
   public FeatureNegotiatingHandler(final EndpointContext endpointContext,
                             final Set<ServerFeature> features) {
+    this(endpointContext, features, null);
+  }
+
+  /**
+   * Creates a new {@link FeatureNegotiatingHandler} which shares the negotiated features through a cache.
+   * <p>
+   * Once negotiated, the cached error map is set on the channel if it has been loaded with the same features.
+   *
+   * @param endpointContext the core context used to refer to values like the core id.
+   * @param features    the list of features that should be negotiated from the client side.
+   * @param handshakeCache the cache shared by all connections, or null if none should be used.
+   */
+  public FeatureNegotiatingHandler(final EndpointContext endpointContext, final Set<ServerFeature> features,
+                                   final NodeHandshakeCache handshakeCache) {
     this.endpointContext = endpointContext;
     this.timeout = endpointContext.environment().timeoutConfig().connectTimeout();
     this.features = features;
+    this.handshakeCache = handshakeCache;
   }
 
   /**
@@ -189,11 +209,22 @@ public class FeatureNegotiatingHandler extends ChannelDuplexHandler {
         );
       }
       Set<ServerFeature> negotiated = extractFeaturesFromBody((ByteBuf) msg);
+      if (handshakeCache != null) {
+        negotiated = handshakeCache.features(endpointContext.remoteSocket(), features, negotiated);
+        ErrorMap errorMap = handshakeCache.errorMap(endpointContext.remoteSocket(), features, negotiated);
+        if (errorMap != null) {
+          ctx.channel().attr(ChannelAttributes.ERROR_MAP_KEY).set(errorMap);
+        }
+      }
       ctx.channel().attr(ChannelAttributes.SERVER_FEATURE_KEY).set(negotiated);
       endpointContext.environment().eventBus().publish(
         new FeaturesNegotiatedEvent(ioContext, latency.orElse(Duration.ZERO), new ArrayList<>(negotiated))
       );
       interceptedConnectPromise.trySuccess();
+      if (handshakeCache != null) {
+        // Lets the error map loading handler decide whether the cached error map can be used.
+        ctx.fireUserEventTriggered(NodeHandshakeCache.FEATURES_NEGOTIATED);
+      }
       ctx.pipeline().remove(this);
     } else {
       interceptedConnectPromise.tryFailure(new CouchbaseException("Unexpected response "
@@ -147,6 +147,11 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
    */
   private ErrorMap errorMap;
 
+  /**
+   * True if the server pushes config change notifications on this connection.
+   */
+  private boolean configPushChannel;
+
   /**
    * Knows if the tracer is an internal or external one for optimizations.
    */
@@ -198,6 +203,11 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
 
     boolean compression = features.contains(ServerFeature.SNAPPY);
 
+    if (features.contains(ServerFeature.CLUSTERMAP_CHANGE_NOTIFICATION_BRIEF)) {
+      configPushChannel = true;
+      ioContext.core().configurationProvider().signalConfigPushChannel(bucketName.orElse(null), true);
+    }
+
     channelContext = new KeyValueChannelContext(
       compression ? compressionConfig : null,
       bucketName,
@@ -288,6 +298,10 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
 
   @Override
   public void channelInactive(final ChannelHandlerContext ctx) {
+    if (configPushChannel) {
+      configPushChannel = false;
+      ioContext.core().configurationProvider().signalConfigPushChannel(bucketName.orElse(null), false);
+    }
     for (KeyValueRequest<? extends  Response> request : writtenRequests.values()) {
       RetryOrchestrator.maybeRetry(ioContext, request, RetryReason.CHANNEL_CLOSED_WHILE_IN_FLIGHT);
     }
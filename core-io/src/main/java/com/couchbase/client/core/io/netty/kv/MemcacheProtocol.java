@@ -153,6 +153,15 @@ public enum MemcacheProtocol {
    */
   public static final int UNITS_NOT_PRESENT = -1;
 
+  /**
+   * Direct request bodies of at least this size are not copied into the request buffer, but composed with it.
+   * <p>
+   * Both parts of the composed request are direct, so the transport writes them with a single gathering write
+   * instead of copying them into one buffer. Smaller bodies are still copied since that is cheaper than the
+   * bookkeeping of the composite buffer.
+   */
+  static final int COMPOSITE_BODY_THRESHOLD = 1024;
+
   /**
    * Create a flexible memcached protocol request with all fields necessary.
    */
@@ -168,8 +177,7 @@ public enum MemcacheProtocol {
     int extrasSize = extras.readableBytes();
     int framingExtrasSize = framingExtras.readableBytes();
     int totalBodySize = framingExtrasSize + extrasSize + keySize + body.readableBytes();
-    return alloc
-      .buffer(HEADER_SIZE + totalBodySize)
+    ByteBuf request = requestBuffer(alloc, HEADER_SIZE + totalBodySize, body)
       .writeByte(Magic.FLEXIBLE_REQUEST.magic())
       .writeByte(opcode.opcode())
       .writeByte(framingExtrasSize)
@@ -182,8 +190,8 @@ public enum MemcacheProtocol {
       .writeLong(cas)
       .writeBytes(framingExtras)
       .writeBytes(extras)
-      .writeBytes(key)
-      .writeBytes(body);
+      .writeBytes(key);
+    return appendBody(alloc, request, body);
   }
 
   /**
@@ -195,8 +203,7 @@ public enum MemcacheProtocol {
     int keySize = key.readableBytes();
     int extrasSize = extras.readableBytes();
     int totalBodySize = extrasSize + keySize + body.readableBytes();
-    return alloc
-      .buffer(HEADER_SIZE + totalBodySize)
+    ByteBuf request = requestBuffer(alloc, HEADER_SIZE + totalBodySize, body)
       .writeByte(Magic.REQUEST.magic())
       .writeByte(opcode.opcode())
       .writeShort(keySize)
@@ -207,8 +214,34 @@ public enum MemcacheProtocol {
       .writeInt(opaque)
       .writeLong(cas)
       .writeBytes(extras)
-      .writeBytes(key)
-      .writeBytes(body);
+      .writeBytes(key);
+    return appendBody(alloc, request, body);
+  }
+
+  private static boolean composeBody(final ByteBuf body) {
+    return body.isDirect() && body.readableBytes() >= COMPOSITE_BODY_THRESHOLD;
+  }
+
+  /**
+   * Allocates the buffer for a request of the given size, which only leaves room for the body if it is copied.
+   */
+  private static ByteBuf requestBuffer(final ByteBufAllocator alloc, final int size, final ByteBuf body) {
+    return composeBody(body) ? alloc.directBuffer(size - body.readableBytes()) : alloc.buffer(size);
+  }
+
+  /**
+   * Completes the request by appending the body, either by copying it or by composing it with the request.
+   * <p>
+   * A composed body is retained, so callers still release it as usual once the request is built.
+   */
+  private static ByteBuf appendBody(final ByteBufAllocator alloc, final ByteBuf request, final ByteBuf body) {
+    if (!composeBody(body)) {
+      return request.writeBytes(body);
+    }
+    return alloc
+      .compositeDirectBuffer(2)
+      .addComponent(true, request)
+      .addComponent(true, body.retainedSlice());
   }
 
   /**
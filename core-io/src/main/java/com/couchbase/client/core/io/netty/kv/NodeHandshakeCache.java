@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.util.HostAndPort;
+import com.couchbase.client.core.util.NanoTimestamp;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Caches the handshake results which are the same for all KV connections of a core to a node.
+ * <p>
+ * Every connection negotiates its features and loads the error map, but as long as the server on the other end
+ * stays the same, the results are identical. With this cache, all connections to a node which request the same
+ * features share one instance of the negotiated feature set and the parsed {@link ErrorMap}, and new connections
+ * skip loading the error map when it is already known.
+ * <p>
+ * The cached error map is only used once the connection negotiated the same features it was loaded with, so a
+ * node which has been upgraded (and usually negotiates a different set of features) gets its error map loaded
+ * again. Entries also expire after a while, so a changed error map is picked up eventually.
+ * <p>
+ * Each core holds its own cache (see {@link com.couchbase.client.core.Core#handshakeCache()}), since cores may
+ * request different features and connect to different clusters which reuse the same addresses.
+ */
+@Stability.Internal
+public class NodeHandshakeCache {
+
+  /**
+   * Fired down the pipeline once the features of a connection which uses this cache have been negotiated.
+   */
+  static final Object FEATURES_NEGOTIATED = new Object() {
+    @Override
+    public String toString() {
+      return "FeaturesNegotiated";
+    }
+  };
+
+  private static final int DEFAULT_MAX_ENTRIES = 256;
+  private static final Duration DEFAULT_EXPIRY = Duration.ofMinutes(10);
+
+  private final int maxEntries;
+  private final Duration expiry;
+  private final LinkedHashMap<Key, Entry> entries;
+
+  public NodeHandshakeCache() {
+    this(DEFAULT_MAX_ENTRIES, DEFAULT_EXPIRY);
+  }
+
+  NodeHandshakeCache(final int maxEntries, final Duration expiry) {
+    this.maxEntries = maxEntries;
+    this.expiry = expiry;
+    this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+        return size() > NodeHandshakeCache.this.maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Stores the negotiated features of a connection and returns the instance shared by all connections to the node.
+   * <p>
+   * If the features differ from the cached ones, the entry is replaced and its error map is dropped.
+   *
+   * @param node the node the connection negotiated with.
+   * @param requested the features the connection requested.
+   * @param negotiated the negotiated features.
+   * @return the shared set, equal to the negotiated one.
+   */
+  synchronized Set<ServerFeature> features(final HostAndPort node, final Set<ServerFeature> requested,
+                                           final Set<ServerFeature> negotiated) {
+    Key key = new Key(node, requested);
+    Entry entry = lookup(key);
+    if (entry != null && entry.features.equals(negotiated)) {
+      return entry.features;
+    }
+
+    entry = new Entry(Collections.unmodifiableSet(negotiated));
+    entries.put(key, entry);
+    return entry.features;
+  }
+
+  /**
+   * Returns the cached error map for a connection which negotiated the given features.
+   *
+   * @param node the node the connection negotiated with.
+   * @param requested the features the connection requested.
+   * @param negotiated the features the connection negotiated.
+   * @return the error map, or null if there is none which has been loaded with the same features.
+   */
+  synchronized ErrorMap errorMap(final HostAndPort node, final Set<ServerFeature> requested,
+                                 final Set<ServerFeature> negotiated) {
+    Entry entry = lookup(new Key(node, requested));
+    if (entry == null || !entry.features.equals(negotiated)) {
+      return null;
+    }
+    return entry.errorMap;
+  }
+
+  /**
+   * Stores the error map loaded by a connection and returns the instance shared by all connections to the node.
+   *
+   * @param node the node the error map has been loaded from.
+   * @param requested the features the connection requested.
+   * @param negotiated the features negotiated on the connection which loaded the error map.
+   * @param errorMap the loaded error map.
+   * @return the shared error map, equal to the loaded one.
+   */
+  synchronized ErrorMap errorMap(final HostAndPort node, final Set<ServerFeature> requested,
+                                 final Set<ServerFeature> negotiated, final ErrorMap errorMap) {
+    Entry entry = lookup(new Key(node, requested));
+    if (entry == null || negotiated == null || !entry.features.equals(negotiated)) {
+      // The node changed while this connection was bootstrapping, do not cache what it has seen.
+      return errorMap;
+    }
+
+    if (entry.errorMap == null || entry.errorMap.compareTo(errorMap) != 0) {
+      entry.errorMap = errorMap;
+    }
+    return entry.errorMap;
+  }
+
+  private Entry lookup(final Key key) {
+    Entry entry = entries.get(key);
+    if (entry != null && entry.created.hasElapsed(expiry)) {
+      entries.remove(key);
+      return null;
+    }
+    return entry;
+  }
+
+  private static class Key {
+    private final HostAndPort node;
+    private final Set<ServerFeature> requested;
+
+    Key(final HostAndPort node, final Set<ServerFeature> requested) {
+      this.node = node;
+      this.requested = requested.isEmpty() ? EnumSet.noneOf(ServerFeature.class) : EnumSet.copyOf(requested);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return node.equals(key.node) && requested.equals(key.requested);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(node, requested);
+    }
+  }
+
+  private static class Entry {
+    private final NanoTimestamp created = NanoTimestamp.now();
+    private final Set<ServerFeature> features;
+    private ErrorMap errorMap;
+
+    Entry(final Set<ServerFeature> features) {
+      this.features = features;
+    }
+  }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelDuplexHandler;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Flushes all handshake requests which are written while the channel becomes active at once.
+ *
+ * <p>The handshake handlers above this one write their request and immediately propagate the channel active
+ * event, so the next handler can pipeline its request without waiting for the response. Each of them flushes
+ * on its own though, which can put every request into its own packet. This handler holds back those flushes
+ * until the channel active event has passed through all of them and then flushes once, so the feature
+ * negotiation, error map, SASL and (where the mechanism allows) select bucket requests leave together.</p>
+ *
+ * <p>Once the initial flush is done, the handler removes itself from the pipeline.</p>
+ */
+@Stability.Internal
+public class PipelinedBootstrapHandler extends ChannelDuplexHandler {
+
+  /**
+   * True while the channel active event is propagated and flushes are held back.
+   */
+  private boolean holdFlushes;
+
+  @Override
+  public void channelActive(final ChannelHandlerContext ctx) {
+    holdFlushes = true;
+    try {
+      ctx.fireChannelActive();
+    } finally {
+      holdFlushes = false;
+      ctx.flush();
+      ctx.pipeline().remove(this);
+    }
+  }
+
+  @Override
+  public void flush(final ChannelHandlerContext ctx) {
+    if (!holdFlushes) {
+      ctx.flush();
+    }
+  }
+
+}
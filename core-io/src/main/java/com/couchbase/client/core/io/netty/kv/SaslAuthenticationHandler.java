@@ -35,6 +35,7 @@ import com.couchbase.client.core.error.AuthenticationFailureException;
 import com.couchbase.client.core.error.context.KeyValueIoErrorContext;
 import com.couchbase.client.core.io.IoContext;
 import com.couchbase.client.core.io.netty.kv.sasl.CouchbaseSaslClientFactory;
+import com.couchbase.client.core.io.netty.kv.sasl.DeferrableSaslClient;
 import com.couchbase.client.core.json.Mapper;
 import com.couchbase.client.core.msg.kv.BaseKeyValueRequest;
 import com.couchbase.client.core.util.Bytes;
@@ -51,6 +52,8 @@ import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -379,19 +382,69 @@ public class SaslAuthenticationHandler extends ChannelDuplexHandler implements C
 
     byte[] payload = bodyAsBytes(response);
 
+    if (saslClient instanceof DeferrableSaslClient
+      && ((DeferrableSaslClient) saslClient).shouldEvaluateOffEventLoop(payload)) {
+      evaluateOffEventLoop(ctx, payload, MemcacheProtocol.status(response));
+      return;
+    }
+
     try {
-      byte[] evaluatedBytes = saslClient.evaluateChallenge(payload);
-      if (evaluatedBytes != null && evaluatedBytes.length > 0) {
-        ctx.writeAndFlush(buildStepRequest(ctx, evaluatedBytes));
-        maybePropagateChannelActive(ctx);
-      } else {
-        throw new SaslException("Evaluation returned empty payload, this is unexpected!");
-      }
+      sendStepRequest(ctx, saslClient.evaluateChallenge(payload));
     } catch (SaslException e) {
       failConnect(ctx, "Failure while evaluating SASL Auth Response.", response, e, MemcacheProtocol.status(response));
     }
   }
 
+  /**
+   * Evaluates a CPU intensive challenge (like deriving the SCRAM keys from the password) on the core scheduler,
+   * so it does not hold up the other channels on this event loop, and continues on the event loop afterwards.
+   *
+   * @param ctx the channel context.
+   * @param payload the challenge to evaluate.
+   * @param status the status of the response which carried the challenge.
+   */
+  private void evaluateOffEventLoop(final ChannelHandlerContext ctx, final byte[] payload, final short status) {
+    final SaslClient client = saslClient;
+    CompletableFuture
+      .supplyAsync(() -> {
+        try {
+          return client.evaluateChallenge(payload);
+        } catch (SaslException e) {
+          throw new CompletionException(e);
+        }
+      }, endpointContext.environment().scheduler()::schedule)
+      .whenCompleteAsync((evaluatedBytes, error) -> {
+        if (interceptedConnectPromise.isDone() || client != saslClient) {
+          // the connect attempt timed out or failed in the meantime
+          return;
+        }
+        try {
+          if (error != null) {
+            throw error instanceof CompletionException ? error.getCause() : error;
+          }
+          sendStepRequest(ctx, evaluatedBytes);
+        } catch (Throwable t) {
+          failConnect(ctx, "Failure while evaluating SASL Auth Response.", null, t, status);
+        }
+      }, ctx.executor());
+  }
+
+  /**
+   * Sends the evaluated challenge to the server as the next SASL step.
+   *
+   * @param ctx the channel context.
+   * @param evaluatedBytes the evaluated challenge.
+   * @throws SaslException if the evaluation did not produce a payload.
+   */
+  private void sendStepRequest(final ChannelHandlerContext ctx, final byte[] evaluatedBytes) throws SaslException {
+    if (evaluatedBytes != null && evaluatedBytes.length > 0) {
+      ctx.writeAndFlush(buildStepRequest(ctx, evaluatedBytes));
+      maybePropagateChannelActive(ctx);
+    } else {
+      throw new SaslException("Evaluation returned empty payload, this is unexpected!");
+    }
+  }
+
   /**
    * Helper method to build the SASL step request based on the evaluated challenge.
    *
@@ -17,12 +17,17 @@
 package com.couchbase.client.core.io.netty.kv;
 
 import com.couchbase.client.core.cnc.events.io.UnknownServerPushRequestReceivedEvent;
+import com.couchbase.client.core.config.ConfigVersion;
+import com.couchbase.client.core.config.ConfigurationProvider;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelInboundHandlerAdapter;
 import com.couchbase.client.core.endpoint.EndpointContext;
 
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 public class ServerPushHandler extends ChannelInboundHandlerAdapter {
@@ -42,7 +47,7 @@ public class ServerPushHandler extends ChannelInboundHandlerAdapter {
           MemcacheProtocol.ServerPushOpcode opcode = MemcacheProtocol.ServerPushOpcode.of(opcodeByte);
 
           if (opcode == MemcacheProtocol.ServerPushOpcode.CLUSTERMAP_CHANGE_NOTIFICATION) {
-            this.endpointContext.core().configurationProvider().signalConfigChanged();
+            signalConfigChanged(buf);
             return;
           }
 
@@ -59,4 +64,25 @@ public class ServerPushHandler extends ChannelInboundHandlerAdapter {
 
     ctx.fireChannelRead(msg);
   }
+
+  /**
+   * Passes a clustermap change notification on to the config provider.
+   *
+   * <p>The notification carries the epoch and revision of the new config in its extras and the bucket name (if
+   * any) as its key, which allows the provider to skip configs it already has.</p>
+   *
+   * @param buf the notification received.
+   */
+  private void signalConfigChanged(final ByteBuf buf) {
+    ConfigurationProvider provider = endpointContext.core().configurationProvider();
+    Optional<ByteBuf> extras = MemcacheProtocol.extras(buf);
+    if (!extras.isPresent() || extras.get().readableBytes() < 2 * Long.BYTES) {
+      provider.signalConfigChanged();
+      return;
+    }
+
+    ConfigVersion version = new ConfigVersion(extras.get().getLong(0), extras.get().getLong(Long.BYTES));
+    String bucketName = MemcacheProtocol.key(buf).map(key -> key.toString(UTF_8)).orElse(null);
+    provider.signalConfigChanged(bucketName, version);
+  }
 }
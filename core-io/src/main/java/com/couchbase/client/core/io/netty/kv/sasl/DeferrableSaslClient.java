@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv.sasl;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import javax.security.sasl.SaslClient;
+
+/**
+ * A {@link SaslClient} which can tell up front if evaluating a challenge is expensive, so the caller can move
+ * the evaluation off the event loop.
+ */
+@Stability.Internal
+public interface DeferrableSaslClient extends SaslClient {
+
+  /**
+   * Returns true if evaluating the given challenge is CPU intensive and should not run on an I/O thread.
+   *
+   * @param challenge the challenge which is about to be evaluated.
+   * @return true if the evaluation should be deferred to another thread.
+   */
+  boolean shouldEvaluateOffEventLoop(byte[] challenge);
+
+}
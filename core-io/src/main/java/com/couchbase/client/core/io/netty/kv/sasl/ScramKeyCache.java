@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv.sasl;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caches the SCRAM client and server keys derived from a password, so that new connections do not have to
+ * run the expensive PBKDF2 derivation again.
+ * <p>
+ * Entries are keyed by mechanism, user, salt and iteration count, and additionally carry a fingerprint of the
+ * password so a changed password is never answered from the cache. The cache holds a bounded number of entries
+ * which expire after a while, and the key material of every entry is wiped when it is evicted.
+ */
+class ScramKeyCache {
+
+  static final ScramKeyCache INSTANCE = new ScramKeyCache(64, Duration.ofMinutes(30));
+
+  private final int maxEntries;
+  private final long expiryNanos;
+  private final LinkedHashMap<Key, Entry> entries;
+
+  ScramKeyCache(final int maxEntries, final Duration expiry) {
+    this.maxEntries = maxEntries;
+    this.expiryNanos = expiry.toNanos();
+    this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+        if (size() > ScramKeyCache.this.maxEntries) {
+          eldest.getValue().wipe();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns true if keys derived from this password are cached for the given parameters.
+   */
+  synchronized boolean contains(final Key key, final byte[] passwordFingerprint) {
+    return lookup(key, passwordFingerprint) != null;
+  }
+
+  /**
+   * Returns copies of the client and server key, or null if they are not cached for this password.
+   */
+  synchronized byte[][] get(final Key key, final byte[] passwordFingerprint) {
+    Entry entry = lookup(key, passwordFingerprint);
+    return entry == null ? null : new byte[][] { entry.clientKey.clone(), entry.serverKey.clone() };
+  }
+
+  private Entry lookup(final Key key, final byte[] passwordFingerprint) {
+    expire();
+    Entry entry = entries.get(key);
+    return entry != null && MessageDigest.isEqual(entry.passwordFingerprint, passwordFingerprint) ? entry : null;
+  }
+
+  synchronized void put(final Key key, final byte[] passwordFingerprint, final byte[] clientKey,
+                        final byte[] serverKey) {
+    Entry previous = entries.put(
+      key,
+      new Entry(passwordFingerprint.clone(), clientKey.clone(), serverKey.clone(), System.nanoTime())
+    );
+    if (previous != null) {
+      previous.wipe();
+    }
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private void expire() {
+    long now = System.nanoTime();
+    Iterator<Entry> it = entries.values().iterator();
+    while (it.hasNext()) {
+      Entry entry = it.next();
+      if (now - entry.createdNanos >= expiryNanos) {
+        entry.wipe();
+        it.remove();
+      }
+    }
+  }
+
+  static final class Key {
+    private final String mechanism;
+    private final String username;
+    private final byte[] salt;
+    private final int iterations;
+
+    Key(final String mechanism, final String username, final byte[] salt, final int iterations) {
+      this.mechanism = mechanism;
+      this.username = username;
+      this.salt = salt.clone();
+      this.iterations = iterations;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key other = (Key) o;
+      return iterations == other.iterations
+        && mechanism.equals(other.mechanism)
+        && username.equals(other.username)
+        && Arrays.equals(salt, other.salt);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(mechanism, username, Arrays.hashCode(salt), iterations);
+    }
+  }
+
+  private static final class Entry {
+    private final byte[] passwordFingerprint;
+    private final byte[] clientKey;
+    private final byte[] serverKey;
+    private final long createdNanos;
+
+    Entry(final byte[] passwordFingerprint, final byte[] clientKey, final byte[] serverKey,
+          final long createdNanos) {
+      this.passwordFingerprint = passwordFingerprint;
+      this.clientKey = clientKey;
+      this.serverKey = serverKey;
+      this.createdNanos = createdNanos;
+    }
+
+    void wipe() {
+      Arrays.fill(passwordFingerprint, (byte) 0);
+      Arrays.fill(clientKey, (byte) 0);
+      Arrays.fill(serverKey, (byte) 0);
+    }
+  }
+
+}
@@ -35,25 +35,28 @@ import java.security.Key;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-class ScramSaslClient implements SaslClient  {
+class ScramSaslClient implements DeferrableSaslClient {
 
   private static final byte[] CLIENT_KEY = "Client Key".getBytes(UTF_8);
   private static final byte[] SERVER_KEY = "Server Key".getBytes(UTF_8);
 
   private final String name;
+  private final ScramKeyCache keyCache;
   private final String hmacAlgorithm;
   private final CallbackHandler callbacks;
   private final MessageDigest digest;
 
   private String clientNonce;
   private byte[] salt;
-  private byte[] saltedPassword;
+  private byte[] clientKey;
+  private byte[] serverKey;
   private int iterationCount;
   private String clientFirstMessage;
   private String clientFirstMessageBare;
@@ -64,7 +67,13 @@ class ScramSaslClient implements SaslClient  {
 
   ScramSaslClient(final ScramSaslClientFactory.Mode mode, final CallbackHandler callbackHandler)
     throws NoSuchAlgorithmException  {
+    this(mode, callbackHandler, ScramKeyCache.INSTANCE);
+  }
+
+  ScramSaslClient(final ScramSaslClientFactory.Mode mode, final CallbackHandler callbackHandler,
+                  final ScramKeyCache keyCache) throws NoSuchAlgorithmException  {
     callbacks = callbackHandler;
+    this.keyCache = keyCache;
 
     switch (mode) {
       case SCRAM_SHA512:
@@ -103,6 +112,32 @@ class ScramSaslClient implements SaslClient  {
     return true;
   }
 
+  /**
+   * Only the server-first-message needs the keys derived from the password, which is expensive
+   * unless they are already cached.
+   */
+  @Override
+  public boolean shouldEvaluateOffEventLoop(final byte[] challenge) {
+    if (clientFirstMessage == null || serverFirstMessage != null) {
+      return false;
+    }
+    try {
+      HashMap<String, String> attributes = new HashMap<>();
+      decodeAttributes(attributes, new String(challenge, UTF_8));
+      if (!attributes.containsKey("s") || !attributes.containsKey("i")) {
+        return false;
+      }
+      byte[] challengeSalt = Base64.getDecoder().decode(attributes.get("s"));
+      return !keyCache.contains(
+        new ScramKeyCache.Key(name, getUserName(), challengeSalt, Integer.parseInt(attributes.get("i"))),
+        passwordFingerprint(challengeSalt, getPassword())
+      );
+    } catch (Exception ex) {
+      // Let the evaluation itself report the malformed challenge
+      return false;
+    }
+  }
+
   @Override
   public byte[] evaluateChallenge(byte[] challenge) throws SaslException {
     if (clientFirstMessage == null) {
@@ -145,8 +180,8 @@ class ScramSaslClient implements SaslClient  {
         throw InvalidArgumentException.fromMessage("missing mandatory key in serverFirstMessage");
       }
 
-      // We have the salt, time to generate the salted password
-      generateSaltedPassword();
+      // We have the salt, time to derive the keys from the salted password
+      deriveKeys();
 
       clientFinalMessageNoProof = "c=biws,r=" + nonce;
       String client_final_message = clientFinalMessageNoProof + ",p=" + Base64.getEncoder().encodeToString(getClientProof());
@@ -202,7 +237,12 @@ class ScramSaslClient implements SaslClient  {
 
   @Override
   public void dispose() {
-
+    if (clientKey != null) {
+      Arrays.fill(clientKey, (byte) 0);
+    }
+    if (serverKey != null) {
+      Arrays.fill(serverKey, (byte) 0);
+    }
   }
 
   private String getUserName() throws SaslException {
@@ -300,7 +340,7 @@ class ScramSaslClient implements SaslClient  {
     }
   }
 
-  private void generateSaltedPassword() throws SaslException {
+  private String getPassword() throws SaslException {
     final PasswordCallback passwordCallback = new PasswordCallback("Password", false);
     try {
       callbacks.handle(new Callback[]{passwordCallback});
@@ -314,8 +354,35 @@ class ScramSaslClient implements SaslClient  {
     }
 
     String password = new String(pw);
-    saltedPassword = pbkdf2(password, salt, iterationCount);
     passwordCallback.clearPassword();
+    return password;
+  }
+
+  private void deriveKeys() throws SaslException {
+    String password = getPassword();
+    ScramKeyCache.Key cacheKey = new ScramKeyCache.Key(name, getUserName(), salt, iterationCount);
+    byte[] fingerprint = passwordFingerprint(salt, password);
+    byte[][] cached = keyCache.get(cacheKey, fingerprint);
+    if (cached != null) {
+      clientKey = cached[0];
+      serverKey = cached[1];
+      return;
+    }
+
+    byte[] saltedPassword = pbkdf2(password, salt, iterationCount);
+    clientKey = hmac(saltedPassword, CLIENT_KEY);
+    serverKey = hmac(saltedPassword, SERVER_KEY);
+    Arrays.fill(saltedPassword, (byte) 0);
+    keyCache.put(cacheKey, fingerprint, clientKey, serverKey);
+  }
+
+  /**
+   * Identifies the password the cached keys were derived from, without keeping the password itself.
+   */
+  private byte[] passwordFingerprint(final byte[] salt, final String password) {
+    digest.reset();
+    digest.update(salt);
+    return digest.digest(password.getBytes(UTF_8));
   }
 
   /**
@@ -326,7 +393,6 @@ class ScramSaslClient implements SaslClient  {
    * ServerSignature := HMAC(ServerKey, AuthMessage)</p>
    */
   private byte[] getServerSignature() {
-    byte[] serverKey = hmac(saltedPassword, SERVER_KEY);
     return hmac(serverKey, getAuthMessage().getBytes(UTF_8));
   }
 
@@ -343,12 +409,12 @@ class ScramSaslClient implements SaslClient  {
    * ClientProof     := ClientKey XOR ClientSignature</p>
    */
   private byte[] getClientProof() {
-    byte[] clientKey = hmac(saltedPassword, CLIENT_KEY);
     byte[] storedKey = digest.digest(clientKey);
     byte[] clientSignature = hmac(storedKey, getAuthMessage().getBytes(UTF_8));
 
-    xor(clientKey, clientSignature);
-    return clientKey;
+    byte[] clientProof = clientKey.clone();
+    xor(clientProof, clientSignature);
+    return clientProof;
   }
 
   private static void decodeAttributes(HashMap<String, String> attributes, String string) {
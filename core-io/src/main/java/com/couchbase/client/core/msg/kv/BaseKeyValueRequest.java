@@ -17,6 +17,7 @@
 package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.CbTracing;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
@@ -266,6 +267,17 @@ public abstract class BaseKeyValueRequest<R extends Response>
 
   @Override
   public String operationId() {
+    return formatOperationId(opaque);
+  }
+
+  /**
+   * Formats the opaque of a key-value request as its operation id.
+   *
+   * @param opaque the opaque of the request.
+   * @return the operation id, the opaque in hex format.
+   */
+  @Stability.Internal
+  public static String formatOperationId(final int opaque) {
     return "0x" + Integer.toHexString(opaque);
   }
 
@@ -48,6 +48,7 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
 public class InsertRequest extends BaseKeyValueRequest<InsertResponse> implements SyncDurabilityRequest {
 
   private final byte[] content;
+  private final ByteBuf contentBuffer;
   private final long expiration;
   private final int flags;
   private final Optional<DurabilityLevel> syncReplicationType;
@@ -58,8 +59,33 @@ public class InsertRequest extends BaseKeyValueRequest<InsertResponse> implement
                        final CoreContext ctx, CollectionIdentifier collectionIdentifier,
                        final RetryStrategy retryStrategy,
                        final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
+    this(key, content, null, expiration, flags, timeout, ctx, collectionIdentifier, retryStrategy, syncReplicationType,
+      span);
+  }
+
+  /**
+   * Creates a request whose content is already encoded into the given buffer.
+   * <p>
+   * The request takes over the buffer, sends it uncompressed on every attempt and releases it once completed.
+   */
+  public InsertRequest(final String key, final ByteBuf contentBuffer, final long expiration,
+                       final int flags, final Duration timeout,
+                       final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                       final RetryStrategy retryStrategy,
+                       final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
+    this(key, null, contentBuffer, expiration, flags, timeout, ctx, collectionIdentifier, retryStrategy,
+      syncReplicationType, span);
+    response().whenComplete((response, failure) -> ReferenceCountUtil.release(contentBuffer));
+  }
+
+  private InsertRequest(final String key, final byte[] content, final ByteBuf contentBuffer, final long expiration,
+                        final int flags, final Duration timeout,
+                        final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                        final RetryStrategy retryStrategy,
+                        final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
     super(timeout, ctx, retryStrategy, key, collectionIdentifier, span);
     this.content = content;
+    this.contentBuffer = contentBuffer;
     this.expiration = expiration;
     this.flags = flags;
     this.syncReplicationType = syncReplicationType;
@@ -82,7 +108,9 @@ public class InsertRequest extends BaseKeyValueRequest<InsertResponse> implement
 
       byte datatype = 0;
       CompressionConfig config = ctx.compressionConfig();
-      if (config != null && config.enabled() && this.content.length >= config.minSize()) {
+      if (contentBuffer != null) {
+        content = contentBuffer.retainedDuplicate();
+      } else if (config != null && config.enabled() && this.content.length >= config.minSize()) {
         ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
         if (maybeCompressed != null) {
           datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
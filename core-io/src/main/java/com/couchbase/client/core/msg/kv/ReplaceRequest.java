@@ -48,6 +48,7 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.mutationFle
 public class ReplaceRequest extends BaseKeyValueRequest<ReplaceResponse> implements SyncDurabilityRequest {
 
   private final byte[] content;
+  private final ByteBuf contentBuffer;
   private final long expiration;
   private final boolean preserveExpiry;
   private final int flags;
@@ -59,13 +60,39 @@ public class ReplaceRequest extends BaseKeyValueRequest<ReplaceResponse> impleme
                         final long cas, final CoreContext ctx, CollectionIdentifier collectionIdentifier,
                         final RetryStrategy retryStrategy,
                         final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
+    this(key, content, null, expiration, preserveExpiry, flags, timeout, cas, ctx, collectionIdentifier, retryStrategy,
+      syncReplicationType, span);
+  }
+
+  /**
+   * Creates a request whose content is already encoded into the given buffer.
+   * <p>
+   * The request takes over the buffer, sends it uncompressed on every attempt and releases it once completed.
+   */
+  public ReplaceRequest(final String key, final ByteBuf contentBuffer, final long expiration,
+                        final boolean preserveExpiry, final int flags, final Duration timeout,
+                        final long cas, final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                        final RetryStrategy retryStrategy,
+                        final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
+    this(key, null, contentBuffer, expiration, preserveExpiry, flags, timeout, cas, ctx, collectionIdentifier,
+      retryStrategy, syncReplicationType, span);
+    response().whenComplete((response, failure) -> ReferenceCountUtil.release(contentBuffer));
+  }
+
+  private ReplaceRequest(final String key, final byte[] content, final ByteBuf contentBuffer, final long expiration,
+                         final boolean preserveExpiry, final int flags, final Duration timeout,
+                         final long cas, final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                         final RetryStrategy retryStrategy,
+                         final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
     super(timeout, ctx, retryStrategy, key, collectionIdentifier, span);
 
     if (expiration != 0 && preserveExpiry) {
+      ReferenceCountUtil.release(contentBuffer);
       throw InvalidArgumentException.fromMessage("For replace, must not specify both `expiry` and `preserveExpiry`.");
     }
 
     this.content = content;
+    this.contentBuffer = contentBuffer;
     this.expiration = expiration;
     this.preserveExpiry = preserveExpiry;
     this.flags = flags;
@@ -89,7 +116,9 @@ public class ReplaceRequest extends BaseKeyValueRequest<ReplaceResponse> impleme
       key = encodedKeyWithCollection(alloc, ctx);
       byte datatype = 0;
       CompressionConfig config = ctx.compressionConfig();
-      if (config != null && config.enabled() && this.content.length >= config.minSize()) {
+      if (contentBuffer != null) {
+        content = contentBuffer.retainedDuplicate();
+      } else if (config != null && config.enabled() && this.content.length >= config.minSize()) {
         ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
         if (maybeCompressed != null) {
           datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
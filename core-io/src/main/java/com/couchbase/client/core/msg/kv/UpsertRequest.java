@@ -48,6 +48,7 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
 public class UpsertRequest extends BaseKeyValueRequest<UpsertResponse> implements SyncDurabilityRequest {
 
   private final byte[] content;
+  private final ByteBuf contentBuffer;
   private final long expiration;
   private final boolean preserveExpiry;
   private final int flags;
@@ -58,8 +59,33 @@ public class UpsertRequest extends BaseKeyValueRequest<UpsertResponse> implement
                        final CoreContext ctx, CollectionIdentifier collectionIdentifier,
                        final RetryStrategy retryStrategy,
                        final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
+    this(key, content, null, expiration, preserveExpiry, flags, timeout, ctx, collectionIdentifier, retryStrategy,
+      syncReplicationType, span);
+  }
+
+  /**
+   * Creates a request whose content is already encoded into the given buffer.
+   * <p>
+   * The request takes over the buffer, sends it uncompressed on every attempt and releases it once completed.
+   */
+  public UpsertRequest(final String key, final ByteBuf contentBuffer,
+                       final long expiration, final boolean preserveExpiry, final int flags, final Duration timeout,
+                       final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                       final RetryStrategy retryStrategy,
+                       final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
+    this(key, null, contentBuffer, expiration, preserveExpiry, flags, timeout, ctx, collectionIdentifier, retryStrategy,
+      syncReplicationType, span);
+    response().whenComplete((response, failure) -> ReferenceCountUtil.release(contentBuffer));
+  }
+
+  private UpsertRequest(final String key, final byte[] content, final ByteBuf contentBuffer,
+                        final long expiration, final boolean preserveExpiry, final int flags, final Duration timeout,
+                        final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                        final RetryStrategy retryStrategy,
+                        final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
     super(timeout, ctx, retryStrategy, key, collectionIdentifier, span);
     this.content = content;
+    this.contentBuffer = contentBuffer;
     this.expiration = expiration;
     this.preserveExpiry = preserveExpiry;
     this.flags = flags;
@@ -83,7 +109,9 @@ public class UpsertRequest extends BaseKeyValueRequest<UpsertResponse> implement
 
       byte datatype = 0;
       CompressionConfig config = ctx.compressionConfig();
-      if (config != null && config.enabled() && this.content.length >= config.minSize()) {
+      if (contentBuffer != null) {
+        content = contentBuffer.retainedDuplicate();
+      } else if (config != null && config.enabled() && this.content.length >= config.minSize()) {
         ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
         if (maybeCompressed != null) {
           datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
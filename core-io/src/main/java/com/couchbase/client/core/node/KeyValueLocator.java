@@ -43,6 +43,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.zip.CRC32;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -295,4 +296,26 @@ public class KeyValueLocator implements Locator {
     return (int) rv &numPartitions - 1;
   }
 
+  /**
+   * Returns the index of the node currently hosting the active partition of the given key.
+   * <p>
+   * This is useful to group bulk operations by the node they will be dispatched to.
+   *
+   * @param id the document id.
+   * @param config the current config of the bucket the document lives in.
+   * @return the node index in the config, or -1 if it cannot be determined (i.e. for memcached buckets or
+   *   partitions without an active node).
+   */
+  public static int activeNodeIndexForKey(final String id, final BucketConfig config) {
+    if (!(config instanceof CouchbaseBucketConfig)) {
+      return -1;
+    }
+    CouchbaseBucketConfig couchbaseConfig = (CouchbaseBucketConfig) config;
+    int numPartitions = couchbaseConfig.numberOfPartitions();
+    if (numPartitions == 0) {
+      return -1;
+    }
+    return couchbaseConfig.nodeIndexForActive(partitionForKey(id.getBytes(UTF_8), numPartitions), false);
+  }
+
 }
@@ -438,13 +438,18 @@ public class Node implements Stateful<NodeState> {
     switch (serviceType) {
       case KV:
         return new KeyValueService(
-          KeyValueServiceConfig.endpoints(env.ioConfig().numKvConnections()).build(), ctx, address, port, bucket, authenticator);
+          KeyValueServiceConfig
+            .endpoints(env.ioConfig().numKvConnections())
+            .partitionAffinity(env.ioConfig().kvPartitionAffinity())
+            .build(),
+          ctx, address, port, bucket, authenticator);
       case MANAGER:
         return new ManagerService(ctx, address, port);
       case QUERY:
         return new QueryService(QueryServiceConfig
           .maxEndpoints(env.ioConfig().maxHttpConnections())
           .idleTime(env.ioConfig().idleHttpConnectionTimeout())
+          .warmPool(env.ioConfig().warmHttpConnectionPool())
           .build(),
           ctx, address, port
         );
@@ -452,18 +457,21 @@ public class Node implements Stateful<NodeState> {
         return new ViewService(ViewServiceConfig
           .maxEndpoints(env.ioConfig().maxHttpConnections())
           .idleTime(env.ioConfig().idleHttpConnectionTimeout())
+          .warmPool(env.ioConfig().warmHttpConnectionPool())
           .build(),
           ctx, address, port);
       case SEARCH:
         return new SearchService(SearchServiceConfig
           .maxEndpoints(env.ioConfig().maxHttpConnections())
           .idleTime(env.ioConfig().idleHttpConnectionTimeout())
+          .warmPool(env.ioConfig().warmHttpConnectionPool())
           .build(),
           ctx, address, port);
       case ANALYTICS:
         return new AnalyticsService(AnalyticsServiceConfig
           .maxEndpoints(env.ioConfig().maxHttpConnections())
           .idleTime(env.ioConfig().idleHttpConnectionTimeout())
+          .warmPool(env.ioConfig().warmHttpConnectionPool())
           .build(),
           ctx, address, port);
       case EVENTING:
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.projections;
+
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.JsonNode;
+import com.couchbase.client.core.json.Mapper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assembles a projected JSON document by splicing the raw bytes of the projected fragments into the structure
+ * described by their paths.
+ * <p>
+ * Only the skeleton of objects and arrays leading to the fragments is kept in memory; the fragments themselves are
+ * never parsed, and the result is written into a single array of the exact size.
+ * <p>
+ * Not thread safe.
+ */
+class ProjectedDocumentWriter {
+
+  private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+  private final ObjectNode root = new ObjectNode();
+
+  /**
+   * Follows the path, creating the objects and arrays leading to it, and puts the fragment at the leaf.
+   * <p>
+   * This mirrors how the fragments used to be inserted into a Jackson tree, so the output has the same structure.
+   */
+  void insert(List<PathElement> path, byte[] fragment) {
+    insertRecursive(root, path, new RawNode(fragment));
+  }
+
+  private static void insertRecursive(final ContainerNode out, final List<PathElement> path, final RawNode content) {
+    if (path.isEmpty()) {
+      return;
+    }
+
+    PathElement next = path.get(0);
+
+    if (path.size() == 1) {
+      if (next instanceof PathArray) {
+        ArrayNode toInsert = new ArrayNode();
+        toInsert.elements.add(content);
+        out.put(((PathArray) next).str(), toInsert);
+      } else {
+        out.put(((PathObjectOrField) next).str(), content);
+      }
+      return;
+    }
+
+    List<PathElement> remaining = path.subList(1, path.size());
+
+    if (next instanceof PathArray) {
+      ArrayNode toInsert = new ArrayNode();
+      out.put(((PathArray) next).str(), toInsert);
+      insertRecursive(out instanceof ObjectNode ? toInsert : out, remaining, content);
+    } else {
+      String name = ((PathObjectOrField) next).str();
+      ObjectNode createIn;
+      if (out instanceof ObjectNode) {
+        createIn = ((ObjectNode) out).objectAt(name);
+      } else {
+        createIn = new ObjectNode();
+        out.put(name, createIn);
+      }
+      insertRecursive(createIn, remaining, content);
+    }
+  }
+
+  /**
+   * Returns the bytes of the projected document.
+   */
+  byte[] toBytes() {
+    byte[] result = new byte[root.size()];
+    int written = root.writeTo(result, 0);
+    if (written != result.length) {
+      throw new IllegalStateException("Expected to write " + result.length + " bytes, but wrote " + written);
+    }
+    return result;
+  }
+
+  private abstract static class Node {
+    /**
+     * The number of bytes this node serializes to.
+     */
+    abstract int size();
+
+    /**
+     * Writes this node at the given position and returns the position after it.
+     */
+    abstract int writeTo(byte[] out, int pos);
+  }
+
+  private abstract static class ContainerNode extends Node {
+    /**
+     * Objects set the named value, arrays append it.
+     */
+    abstract void put(String name, Node value);
+  }
+
+  private static final class RawNode extends Node {
+    private final byte[] value;
+
+    RawNode(byte[] value) {
+      this.value = value == null || value.length == 0 ? NULL : value;
+    }
+
+    @Override
+    int size() {
+      return value.length;
+    }
+
+    @Override
+    int writeTo(byte[] out, int pos) {
+      System.arraycopy(value, 0, out, pos, value.length);
+      return pos + value.length;
+    }
+  }
+
+  private static final class ObjectNode extends ContainerNode {
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+
+    @Override
+    void put(String name, Node value) {
+      Field existing = fields.get(name);
+      if (existing != null) {
+        existing.value = value;
+      } else {
+        fields.put(name, new Field(name, value));
+      }
+    }
+
+    /**
+     * Returns the object stored under the name, creating it if needed.
+     */
+    ObjectNode objectAt(String name) {
+      Field existing = fields.get(name);
+      if (existing != null && existing.value instanceof ObjectNode) {
+        return (ObjectNode) existing.value;
+      }
+      ObjectNode created = existing != null && existing.value instanceof RawNode
+        ? fromRaw((RawNode) existing.value)
+        : new ObjectNode();
+      put(name, created);
+      return created;
+    }
+
+    /**
+     * A fragment is about to have another fragment nested in it, so its fields have to be split up.
+     */
+    private static ObjectNode fromRaw(RawNode raw) {
+      JsonNode tree = Mapper.decodeIntoTree(raw.value);
+      if (!tree.isObject()) {
+        throw new IllegalArgumentException("Cannot project into non-object value: " + tree);
+      }
+      ObjectNode result = new ObjectNode();
+      Iterator<Map.Entry<String, JsonNode>> it = tree.fields();
+      while (it.hasNext()) {
+        Map.Entry<String, JsonNode> field = it.next();
+        result.put(field.getKey(), new RawNode(Mapper.encodeAsBytes(field.getValue())));
+      }
+      return result;
+    }
+
+    @Override
+    int size() {
+      int size = 2 + Math.max(0, fields.size() - 1);
+      for (Field field : fields.values()) {
+        size += field.quotedName.length + 3 + field.value.size();
+      }
+      return size;
+    }
+
+    @Override
+    int writeTo(byte[] out, int pos) {
+      out[pos++] = '{';
+      boolean first = true;
+      for (Field field : fields.values()) {
+        if (!first) {
+          out[pos++] = ',';
+        }
+        first = false;
+        out[pos++] = '"';
+        System.arraycopy(field.quotedName, 0, out, pos, field.quotedName.length);
+        pos += field.quotedName.length;
+        out[pos++] = '"';
+        out[pos++] = ':';
+        pos = field.value.writeTo(out, pos);
+      }
+      out[pos++] = '}';
+      return pos;
+    }
+  }
+
+  private static final class Field {
+    private final byte[] quotedName;
+    private Node value;
+
+    Field(String name, Node value) {
+      this.quotedName = JsonStringEncoder.getInstance().quoteAsUTF8(name);
+      this.value = value;
+    }
+  }
+
+  private static final class ArrayNode extends ContainerNode {
+    private final List<Node> elements = new ArrayList<>(1);
+
+    /**
+     * Nested arrays are appended as they are, everything else is wrapped in an object holding the named value.
+     */
+    @Override
+    void put(String name, Node value) {
+      if (value instanceof ArrayNode) {
+        elements.add(value);
+      } else {
+        ObjectNode holder = new ObjectNode();
+        holder.put(name, value);
+        elements.add(holder);
+      }
+    }
+
+    @Override
+    int size() {
+      int size = 2 + Math.max(0, elements.size() - 1);
+      for (Node element : elements) {
+        size += element.size();
+      }
+      return size;
+    }
+
+    @Override
+    int writeTo(byte[] out, int pos) {
+      out[pos++] = '[';
+      for (int i = 0; i < elements.size(); i++) {
+        if (i > 0) {
+          out[pos++] = ',';
+        }
+        pos = elements.get(i).writeTo(out, pos);
+      }
+      out[pos++] = ']';
+      return pos;
+    }
+  }
+}
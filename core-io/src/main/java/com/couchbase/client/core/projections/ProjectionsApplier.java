@@ -16,15 +16,14 @@
 
 package com.couchbase.client.core.projections;
 
-import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.JsonNode;
-import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.node.ArrayNode;
-import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.node.ContainerNode;
-import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.node.ObjectNode;
-import com.couchbase.client.core.json.Mapper;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.json.stream.JsonStreamParser;
 import com.couchbase.client.core.msg.kv.SubDocumentField;
 import com.couchbase.client.core.msg.kv.SubDocumentOpResponseStatus;
 import com.couchbase.client.core.msg.kv.SubdocGetResponse;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -47,7 +46,7 @@ public class ProjectionsApplier {
    * subdoc response fields into the object structure.
    */
   public static byte[] reconstructDocument(SubdocGetResponse subdocGetResponse) {
-    ObjectNode result = Mapper.createObjectNode();
+    ProjectedDocumentWriter result = new ProjectedDocumentWriter();
 
     for (SubDocumentField field : subdocGetResponse.values()) {
       if (field == null
@@ -57,102 +56,73 @@ public class ProjectionsApplier {
         continue;
       }
 
-      insert(result, field);
+      result.insert(JsonPathParser.parse(field.path()), field.value());
     }
 
-    return Mapper.encodeAsBytes(result);
+    return result.toBytes();
   }
 
   public static byte[] reconstructDocument(Map<String, byte[]> pathToValue) {
-    ObjectNode result = Mapper.createObjectNode();
-    pathToValue.forEach((path, value) -> insert(result, path, value));
-    return Mapper.encodeAsBytes(result);
+    ProjectedDocumentWriter result = new ProjectedDocumentWriter();
+    pathToValue.forEach((path, value) -> result.insert(JsonPathParser.parse(path), value));
+    return result.toBytes();
   }
 
-  private static void insert(ObjectNode document, SubDocumentField field) {
-    insert(document, field.path(), field.value());
-  }
-
-  private static void insert(ObjectNode document, String path, byte[] value) {
-    List<PathElement> parsedPath = JsonPathParser.parse(path);
-    JsonNode content = Mapper.decodeIntoTree(value);
-    insertRecursive(document, parsedPath, content);
+  /**
+   * Returns true if all paths can be located with {@link #extract(byte[], List)}.
+   * <p>
+   * This is not the case for paths with array indices or escaped field names, and for paths which are (or are
+   * nested inside) another path of the list.
+   */
+  public static boolean canExtract(List<String> paths) {
+    for (int i = 0; i < paths.size(); i++) {
+      String path = paths.get(i);
+      if (path.isEmpty() || path.indexOf('[') >= 0 || path.indexOf('`') >= 0) {
+        return false;
+      }
+      for (int j = 0; j < paths.size(); j++) {
+        if (i != j && (path.equals(paths.get(j)) || paths.get(j).startsWith(path + "."))) {
+          return false;
+        }
+      }
+    }
+    return true;
   }
 
   /**
-   * Will follow `path`, constructing JSON as it does into `out`, and inserting `content` at the leaf
-   *
-   * @param out must be either a ObjectNode or ArrayNode, and the JSON will be constructed into it
+   * Returns the bytes of a JSON Object created by projecting the given paths of the full document into the object
+   * structure, the same as if they had been fetched with Sub-Document lookups.
+   * <p>
+   * The document is scanned with a streaming parser, so only the projected values are materialized. The paths must
+   * satisfy {@link #canExtract(List)}.
    */
-  private static void insertRecursive(final ContainerNode<?> out,
-                                      final List<PathElement> path,
-                                      final JsonNode content) {
-    if (path.isEmpty()) {
-      // Recursion is done
-      return;
+  public static byte[] extract(byte[] document, List<String> paths) {
+    Map<String, byte[]> found = new HashMap<>();
+    JsonStreamParser.Builder builder = JsonStreamParser.builder();
+    for (String path : paths) {
+      builder.doOnValue(toJsonPointer(path), value -> found.put(path, value.readBytes()));
     }
 
-    if (path.size() == 1) {
-      // At leaf of path
-      PathElement leaf = path.get(0);
-
-      if (leaf instanceof PathArray) {
-        PathArray v = (PathArray) leaf;
-
-        ArrayNode toInsert = out.arrayNode().add(content);
+    try (JsonStreamParser parser = builder.build()) {
+      parser.feed(Unpooled.wrappedBuffer(document));
+      parser.endOfInput();
+    }
 
-        if (out.isObject()) {
-          ((ObjectNode) out).set(v.str(), toInsert);
-        } else {
-          ((ArrayNode) out).add(toInsert);
-        }
-      } else {
-        PathObjectOrField v = (PathObjectOrField) leaf;
-
-        if (out.isObject()) {
-          ((ObjectNode) out).set(v.str(), content);
-        } else {
-          ObjectNode toInsert = out.objectNode();
-          toInsert.set(v.str(), content);
-          ((ArrayNode) out).add(toInsert);
-        }
-      }
-    } else {
-      // Non-leaf
-      PathElement next = path.get(0);
-      List<PathElement> remaining = path.subList(1, path.size());
-
-      if (next instanceof PathArray) {
-        PathArray v = (PathArray) next;
-        ArrayNode toInsert = out.arrayNode();
-
-        if (out.isObject()) {
-          ((ObjectNode) out).set(v.str(), toInsert);
-          insertRecursive(toInsert, remaining, content);
-        } else {
-          ((ArrayNode) out).add(toInsert);
-          insertRecursive(out, remaining, content);
-        }
-      } else {
-        PathObjectOrField v = (PathObjectOrField) next;
-
-        if (out.isObject()) {
-          ObjectNode createIn = (ObjectNode) out.get(v.str());
-          if (createIn == null) {
-            createIn = out.objectNode();
-          }
-          ((ObjectNode) out).set(v.str(), createIn);
-          insertRecursive(createIn, remaining, content);
-        } else {
-          ObjectNode toCreate = out.objectNode();
-          ObjectNode nextToCreate = out.objectNode();
-          toCreate.set(v.str(), nextToCreate);
-          ((ArrayNode) out).add(toCreate);
-          insertRecursive(nextToCreate, remaining, content);
-        }
+    Map<String, byte[]> pathToValue = new LinkedHashMap<>();
+    for (String path : paths) {
+      byte[] value = found.get(path);
+      if (value != null) {
+        pathToValue.put(path, value);
       }
     }
+    return reconstructDocument(pathToValue);
   }
-}
-
 
+  private static String toJsonPointer(String path) {
+    StringBuilder pointer = new StringBuilder(path.length() + 1);
+    for (String name : path.split("\\.", -1)) {
+      pointer.append('/').append(name.replace("~", "~0").replace("/", "~1"));
+    }
+    return pointer.toString();
+  }
+}
@@ -23,7 +23,10 @@ import com.couchbase.client.core.api.search.queries.CoreGeoPoint;
 import com.couchbase.client.core.cnc.CbTracing;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.deps.com.google.protobuf.ByteOutput;
+import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
 import com.couchbase.client.core.deps.com.google.protobuf.Timestamp;
+import com.couchbase.client.core.deps.com.google.protobuf.UnsafeByteOperations;
 import com.couchbase.client.core.deps.io.grpc.Deadline;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.error.FeatureNotAvailableException;
@@ -34,6 +37,9 @@ import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.util.annotation.Nullable;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
@@ -46,6 +52,8 @@ import static com.couchbase.client.protostellar.kv.v1.DurabilityLevel.DURABILITY
 
 @Stability.Internal
 public class CoreProtostellarUtil {
+  private static final byte[] EMPTY_BYTES = new byte[0];
+
   private CoreProtostellarUtil() {}
 
   public static Duration kvTimeout(Optional<Duration> customTimeout, CoreProtostellar core) {
@@ -182,6 +190,88 @@ public class CoreProtostellarUtil {
     return Math.toIntExact(expiry.getSeconds());
   }
 
+  /**
+   * Wraps the given bytes into a {@link ByteString} without copying them.
+   * <p>
+   * The array must not be modified afterwards, which holds for encoded document content: it is produced by the
+   * transcoder (or handed over by the user) for the sole purpose of being written to the wire.
+   */
+  public static ByteString wrap(byte[] content) {
+    return UnsafeByteOperations.unsafeWrap(content);
+  }
+
+  /**
+   * Returns the content of the {@link ByteString} as a byte array, avoiding the copy of {@link ByteString#toByteArray()}
+   * when the string is backed by an array of exactly its size.
+   * <p>
+   * This is the case for bytes fields parsed off the wire, which each own a freshly allocated array. The returned
+   * array is shared with the (otherwise discarded) response message, so it must only be used once the response has
+   * been fully converted.
+   */
+  public static byte[] unwrap(ByteString content) {
+    if (content.isEmpty()) {
+      return EMPTY_BYTES;
+    }
+
+    ArrayCapture capture = new ArrayCapture(content.size());
+    try {
+      UnsafeByteOperations.unsafeWriteTo(content, capture);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return capture.array != null ? capture.array : content.toByteArray();
+  }
+
+  /**
+   * Captures the backing array of a {@link ByteString} if it is handed over as a single, complete chunk.
+   */
+  private static class ArrayCapture extends ByteOutput {
+    private final int expectedSize;
+    private byte[] array;
+    private boolean fragmented;
+
+    ArrayCapture(int expectedSize) {
+      this.expectedSize = expectedSize;
+    }
+
+    private void chunk(byte[] value, int offset, int length) {
+      if (!fragmented && array == null && offset == 0 && length == expectedSize && value.length == expectedSize) {
+        array = value;
+      } else {
+        array = null;
+        fragmented = true;
+      }
+    }
+
+    @Override
+    public void write(byte value) {
+      array = null;
+      fragmented = true;
+    }
+
+    @Override
+    public void write(byte[] value, int offset, int length) {
+      chunk(value, offset, length);
+    }
+
+    @Override
+    public void writeLazy(byte[] value, int offset, int length) {
+      chunk(value, offset, length);
+    }
+
+    @Override
+    public void write(ByteBuffer value) {
+      array = null;
+      fragmented = true;
+    }
+
+    @Override
+    public void writeLazy(ByteBuffer value) {
+      array = null;
+      fragmented = true;
+    }
+  }
+
   public static RequestSpan createSpan(CoreProtostellar core,
                                        String spanName,
                                        CoreDurability durability,
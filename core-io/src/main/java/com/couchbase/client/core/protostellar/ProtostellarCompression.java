@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.protostellar;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.deps.org.iq80.snappy.Snappy;
+import com.couchbase.client.core.env.CompressionConfig;
+import com.couchbase.client.protostellar.kv.v1.CompressionEnabled;
+import reactor.util.annotation.Nullable;
+
+import java.util.Collections;
+
+/**
+ * Applies the {@link CompressionConfig} to document content sent and received over Protostellar.
+ * <p>
+ * Content is compressed with Snappy, the same as on the classic KV path, and only sent compressed if it is at least
+ * {@link CompressionConfig#minSize()} bytes long and shrinks to at most {@link CompressionConfig#minRatio()} of its
+ * size. The bytes saved on the wire are tracked in both directions.
+ */
+@Stability.Internal
+public class ProtostellarCompression {
+
+  private final CompressionConfig config;
+  @Nullable private final Counter requestBytesSaved;
+  @Nullable private final Counter responseBytesSaved;
+
+  public ProtostellarCompression(CompressionConfig config, Meter meter) {
+    this.config = config;
+    if (meter instanceof NoopMeter) {
+      this.requestBytesSaved = null;
+      this.responseBytesSaved = null;
+    } else {
+      this.requestBytesSaved = meter.counter(
+        TracingIdentifiers.METER_PROTOSTELLAR_COMPRESSION_REQUEST_BYTES_SAVED, Collections.emptyMap());
+      this.responseBytesSaved = meter.counter(
+        TracingIdentifiers.METER_PROTOSTELLAR_COMPRESSION_RESPONSE_BYTES_SAVED, Collections.emptyMap());
+    }
+  }
+
+  public boolean enabled() {
+    return config.enabled();
+  }
+
+  /**
+   * The compression mode to ask the server for when reading documents, or null if compression is disabled.
+   */
+  @Nullable
+  public CompressionEnabled readMode() {
+    return config.enabled() ? CompressionEnabled.COMPRESSION_ENABLED_OPTIONAL : null;
+  }
+
+  /**
+   * Compresses the content if it is eligible and compresses well enough.
+   *
+   * @param content the uncompressed content.
+   * @return the compressed content, or null if it should be sent uncompressed.
+   */
+  @Nullable
+  public byte[] compress(byte[] content) {
+    if (!config.enabled() || content.length < config.minSize()) {
+      return null;
+    }
+
+    byte[] compressed = Snappy.compress(content);
+    if (((double) compressed.length / content.length) > config.minRatio()) {
+      return null;
+    }
+
+    if (requestBytesSaved != null) {
+      requestBytesSaved.incrementBy(content.length - compressed.length);
+    }
+    return compressed;
+  }
+
+  /**
+   * Decompresses content which has been received compressed from the server.
+   *
+   * @param compressed the compressed content.
+   * @return the uncompressed content.
+   */
+  public byte[] decompress(byte[] compressed) {
+    byte[] content = Snappy.uncompress(compressed, 0, compressed.length);
+    if (responseBytesSaved != null) {
+      responseBytesSaved.incrementBy(content.length - compressed.length);
+    }
+    return content;
+  }
+}
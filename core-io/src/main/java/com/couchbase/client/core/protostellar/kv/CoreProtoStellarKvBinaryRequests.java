@@ -21,7 +21,6 @@ import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.api.kv.CoreDurability;
 import com.couchbase.client.core.api.kv.CoreExpiry;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
-import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
 import com.couchbase.client.core.endpoint.http.CoreCommonOptions;
 import com.couchbase.client.core.protostellar.CoreProtostellarUtil;
 import com.couchbase.client.core.protostellar.ProtostellarKeyValueRequest;
@@ -58,7 +57,7 @@ public class CoreProtoStellarKvBinaryRequests {
       .setScopeName(keyspace.scope())
       .setCollectionName(keyspace.collection())
       .setKey(key)
-      .setContent(ByteString.copyFrom(content));
+      .setContent(CoreProtostellarUtil.wrap(content));
 
     if (cas != 0) {
       request.setCas(cas);
@@ -93,7 +92,7 @@ public class CoreProtoStellarKvBinaryRequests {
       .setScopeName(keyspace.scope())
       .setCollectionName(keyspace.collection())
       .setKey(key)
-      .setContent(ByteString.copyFrom(content));
+      .setContent(CoreProtostellarUtil.wrap(content));
 
     if (cas != 0) {
       request.setCas(cas);
@@ -27,12 +27,12 @@ import com.couchbase.client.core.api.kv.CoreSubdocMutateCommand;
 import com.couchbase.client.core.cnc.CbTracing;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
-import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
 import com.couchbase.client.core.deps.com.google.protobuf.Timestamp;
 import com.couchbase.client.core.endpoint.http.CoreCommonOptions;
 import com.couchbase.client.core.protostellar.CoreProtostellarUtil;
 import com.couchbase.client.core.protostellar.ProtostellarKeyValueRequest;
 import com.couchbase.client.core.protostellar.ProtostellarRequest;
+import com.couchbase.client.protostellar.kv.v1.CompressionEnabled;
 import com.couchbase.client.protostellar.kv.v1.GetAndLockRequest;
 import com.couchbase.client.protostellar.kv.v1.GetAndTouchRequest;
 import com.couchbase.client.protostellar.kv.v1.GetRequest;
@@ -96,6 +96,11 @@ public class CoreProtostellarKeyValueRequests {
       request.addAllProject(projections);
     }
 
+    CompressionEnabled compression = core.compression().readMode();
+    if (compression != null) {
+      request.setCompression(compression);
+    }
+
     Duration timeout = CoreProtostellarUtil.kvTimeout(opts.timeout(), core);
 
     return new ProtostellarKeyValueRequest<>(request.build(),
@@ -119,17 +124,21 @@ public class CoreProtostellarKeyValueRequests {
                                                                                                                  Duration lockTime) {
     validateGetAndLockParams(opts, key, lockTime);
 
-    GetAndLockRequest request = com.couchbase.client.protostellar.kv.v1.GetAndLockRequest.newBuilder()
+    GetAndLockRequest.Builder request = com.couchbase.client.protostellar.kv.v1.GetAndLockRequest.newBuilder()
       .setBucketName(keyspace.bucket())
       .setScopeName(keyspace.scope())
       .setCollectionName(keyspace.collection())
       .setKey(key)
-      .setLockTime((int) lockTime.toMillis())
-      .build();
+      .setLockTime((int) lockTime.toMillis());
+
+    CompressionEnabled compression = core.compression().readMode();
+    if (compression != null) {
+      request.setCompression(compression);
+    }
 
     Duration timeout = CoreProtostellarUtil.kvTimeout(opts.timeout(), core);
 
-    return new ProtostellarKeyValueRequest<>(request,
+    return new ProtostellarKeyValueRequest<>(request.build(),
       core,
       keyspace,
       key,
@@ -162,6 +171,11 @@ public class CoreProtostellarKeyValueRequests {
       () -> request.setExpiryTime(NO_EXPIRY)
     );
 
+    CompressionEnabled compression = core.compression().readMode();
+    if (compression != null) {
+      request.setCompression(compression);
+    }
+
     Duration timeout = CoreProtostellarUtil.kvTimeout(opts.timeout(), core);
 
     return new ProtostellarKeyValueRequest<>(request.build(),
@@ -196,9 +210,15 @@ public class CoreProtostellarKeyValueRequests {
       .setScopeName(keyspace.scope())
       .setCollectionName(keyspace.collection())
       .setKey(key)
-      .setContentUncompressed(ByteString.copyFrom(encoded.getT1().encoded()))
       .setContentFlags(encoded.getT1().flags());
 
+    byte[] compressed = core.compression().compress(encoded.getT1().encoded());
+    if (compressed != null) {
+      request.setContentCompressed(CoreProtostellarUtil.wrap(compressed));
+    } else {
+      request.setContentUncompressed(CoreProtostellarUtil.wrap(encoded.getT1().encoded()));
+    }
+
     expiry.when(
       absolute -> request.setExpiryTime(toExpiryTime(absolute)),
       relative -> request.setExpirySecs(toExpirySeconds(relative)),
@@ -245,9 +265,15 @@ public class CoreProtostellarKeyValueRequests {
       .setScopeName(keyspace.scope())
       .setCollectionName(keyspace.collection())
       .setKey(key)
-      .setContentUncompressed(ByteString.copyFrom(encoded.getT1().encoded()))
       .setContentFlags(encoded.getT1().flags());
 
+    byte[] compressed = core.compression().compress(encoded.getT1().encoded());
+    if (compressed != null) {
+      request.setContentCompressed(CoreProtostellarUtil.wrap(compressed));
+    } else {
+      request.setContentUncompressed(CoreProtostellarUtil.wrap(encoded.getT1().encoded()));
+    }
+
     if (cas != 0) {
       request.setCas(cas);
     }
@@ -299,10 +325,16 @@ public class CoreProtostellarKeyValueRequests {
       .setScopeName(keyspace.scope())
       .setCollectionName(keyspace.collection())
       .setKey(key)
-      .setContentUncompressed(ByteString.copyFrom(encoded.getT1().encoded()))
       .setContentFlags(encoded.getT1().flags())
       .setPreserveExpiryOnExisting(preserveExpiry);
 
+    byte[] compressed = core.compression().compress(encoded.getT1().encoded());
+    if (compressed != null) {
+      request.setContentCompressed(CoreProtostellarUtil.wrap(compressed));
+    } else {
+      request.setContentUncompressed(CoreProtostellarUtil.wrap(encoded.getT1().encoded()));
+    }
+
     expiry.when(
       absolute -> request.setExpiryTime(toExpiryTime(absolute)),
       relative -> request.setExpirySecs(toExpirySeconds(relative)),
@@ -335,6 +367,8 @@ public class CoreProtostellarKeyValueRequests {
     CoreEncodedContent encoded;
     try {
       encoded = content.get();
+      // Buffer-aware content is only encoded into an array on demand, which should be covered by the span.
+      encoded.encoded();
     } finally {
       encodeSpan.end();
     }
@@ -541,7 +575,7 @@ public class CoreProtostellarKeyValueRequests {
           MutateInRequest.Spec.Builder builder = MutateInRequest.Spec.newBuilder()
             .setOperation(operation)
             .setPath(path)
-            .setContent(ByteString.copyFrom(command.fragment()));
+            .setContent(CoreProtostellarUtil.wrap(command.fragment()));
 
           if (command.xattr() || command.expandMacro() || command.createParent()) {
             MutateInRequest.Spec.Flags.Builder flagsBuilder = MutateInRequest.Spec.Flags.newBuilder();
@@ -26,6 +26,7 @@ import com.couchbase.client.core.api.kv.CoreSubdocGetCommand;
 import com.couchbase.client.core.api.kv.CoreSubdocGetResult;
 import com.couchbase.client.core.api.kv.CoreSubdocMutateCommand;
 import com.couchbase.client.core.api.kv.CoreSubdocMutateResult;
+import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.error.subdoc.PathNotFoundException;
 import com.couchbase.client.core.msg.kv.MutationToken;
@@ -53,6 +54,7 @@ import reactor.util.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * For converting Protostellar GRPC KV responses.
@@ -104,33 +106,45 @@ public class CoreProtostellarKeyValueResponses {
     return mutationToken;
   }
 
-  public static CoreGetResult convertResponse(CoreKeyspace keyspace, String key, GetResponse response) {
+  /**
+   * Compressed content is only decompressed once it is accessed, which is when the user decodes it.
+   */
+  private static Supplier<byte[]> content(CoreProtostellar core, boolean hasCompressed, ByteString compressed, ByteString uncompressed) {
+    if (hasCompressed) {
+      byte[] bytes = CoreProtostellarUtil.unwrap(compressed);
+      return () -> core.compression().decompress(bytes);
+    }
+    byte[] bytes = CoreProtostellarUtil.unwrap(uncompressed);
+    return () -> bytes;
+  }
+
+  public static CoreGetResult convertResponse(CoreProtostellar core, CoreKeyspace keyspace, String key, GetResponse response) {
     return new CoreGetResult(CoreKvResponseMetadata.NONE,
       keyspace,
       key,
-      response.getContentUncompressed().toByteArray(),
+      content(core, response.hasContentCompressed(), response.getContentCompressed(), response.getContentUncompressed()),
       response.getContentFlags(),
       response.getCas(),
       CoreProtostellarUtil.convertExpiry(response.hasExpiry(), response.getExpiry()),
       false);
   }
 
-  public static CoreGetResult convertResponse(CoreKeyspace keyspace, String key, GetAndLockResponse response) {
+  public static CoreGetResult convertResponse(CoreProtostellar core, CoreKeyspace keyspace, String key, GetAndLockResponse response) {
     return new CoreGetResult(CoreKvResponseMetadata.NONE,
       keyspace,
       key,
-      response.getContentUncompressed().toByteArray(),
+      content(core, response.hasContentCompressed(), response.getContentCompressed(), response.getContentUncompressed()),
       response.getContentFlags(),
       response.getCas(),
       CoreProtostellarUtil.convertExpiry(response.hasExpiry(), response.getExpiry()),
       false);
   }
 
-  public static CoreGetResult convertResponse(CoreKeyspace keyspace, String key, GetAndTouchResponse response) {
+  public static CoreGetResult convertResponse(CoreProtostellar core, CoreKeyspace keyspace, String key, GetAndTouchResponse response) {
     return new CoreGetResult(CoreKvResponseMetadata.NONE,
       keyspace,
       key,
-      response.getContentUncompressed().toByteArray(),
+      content(core, response.hasContentCompressed(), response.getContentCompressed(), response.getContentUncompressed()),
       response.getContentFlags(),
       response.getCas(),
       CoreProtostellarUtil.convertExpiry(response.hasExpiry(), response.getExpiry()),
@@ -146,7 +160,7 @@ public class CoreProtostellarKeyValueResponses {
 
       responses.add(new SubDocumentField(SubDocumentOpResponseStatus.SUCCESS,
         Optional.empty(),
-        resp.getContent().toByteArray(),
+        CoreProtostellarUtil.unwrap(resp.getContent()),
         original.path(),
         original.type()));
     }
@@ -179,7 +193,7 @@ public class CoreProtostellarKeyValueResponses {
 
       responses.add(new SubDocumentField(stat,
               Optional.ofNullable(exception),
-              resp.getContent().toByteArray(),
+              CoreProtostellarUtil.unwrap(resp.getContent()),
               original.path(),
               original.type()));
     }
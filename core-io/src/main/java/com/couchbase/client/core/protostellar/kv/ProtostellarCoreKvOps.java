@@ -83,7 +83,7 @@ public final class ProtostellarCoreKvOps implements CoreKvOps {
         // However, we've measured the impact and found zero difference.
         return endpoint.kvBlockingStub().withDeadline(req.deadline()).get(req.request());
       },
-      (response) -> convertResponse(keyspace, key, response));
+      (response) -> convertResponse(core, keyspace, key, response));
   }
 
   @Override
@@ -93,7 +93,7 @@ public final class ProtostellarCoreKvOps implements CoreKvOps {
     return CoreProtostellarAccessors.async(core,
       req,
       (endpoint) -> endpoint.kvStub().withDeadline(req.deadline()).get(req.request()),
-      (response) -> convertResponse(keyspace, key, response));
+      (response) -> convertResponse(core, keyspace, key, response));
   }
 
   @Override
@@ -103,7 +103,7 @@ public final class ProtostellarCoreKvOps implements CoreKvOps {
     return CoreProtostellarAccessors.reactive(core,
       req,
       (endpoint) -> endpoint.kvStub().withDeadline(req.deadline()).get(req.request()),
-      (response) -> convertResponse(keyspace, key, response));
+      (response) -> convertResponse(core, keyspace, key, response));
   }
 
   @Override
@@ -112,7 +112,7 @@ public final class ProtostellarCoreKvOps implements CoreKvOps {
     return CoreProtostellarAccessors.async(core,
       req,
       (endpoint) -> endpoint.kvStub().withDeadline(req.deadline()).getAndLock(req.request()),
-      (response) -> convertResponse(keyspace, key, response));
+      (response) -> convertResponse(core, keyspace, key, response));
   }
 
   @Override
@@ -121,7 +121,7 @@ public final class ProtostellarCoreKvOps implements CoreKvOps {
     return CoreProtostellarAccessors.async(core,
       req,
       (endpoint) -> endpoint.kvStub().withDeadline(req.deadline()).getAndTouch(req.request()),
-      (response) -> convertResponse(keyspace, key, response));
+      (response) -> convertResponse(core, keyspace, key, response));
   }
 
   @Override
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.retry;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.node.NodeIdentifier;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import static com.couchbase.client.core.util.Validators.notNull;
+
+/**
+ * Retries operations with decorrelated jitter until they time out or the retry budget of their node is exhausted.
+ * <p>
+ * The {@link BestEffortRetryStrategy} derives the delay only from the number of attempts, so many requests which
+ * hit the same condition at the same time (for example while a node fails over) also retry at the same time, over
+ * and over again. This strategy picks each delay randomly between the base delay of the {@link RetryReason} and
+ * three times the previous delay (capped at the maximum delay), which spreads the retries out. The same jitter is
+ * applied to the reasons which are always retried, no matter the strategy, like {@link RetryReason#KV_NOT_MY_VBUCKET}.
+ * <p>
+ * In addition, every retry takes a token from the retry budget of the node the request has been routed to.
+ * The budget refills at a fixed rate, and once it is empty, requests are not retried anymore but fail right away
+ * instead of adding even more load to a node which is already struggling. Reasons which only wait for the SDK
+ * itself (like {@link RetryReason#BUCKET_OPEN_IN_PROGRESS}), the reasons which are always retried and requests
+ * which could not be routed to a node (like on {@link RetryReason#NODE_NOT_AVAILABLE}) do not take from any
+ * budget.
+ * <p>
+ * The delays and the budget can be customized per {@link RetryReason} through the {@link #builder()}.
+ */
+@Stability.Volatile
+public class JitteredRetryStrategy implements RetryStrategy {
+
+  /**
+   * The default policy, which retries after 1 to 500 milliseconds like the {@link BestEffortRetryStrategy}.
+   */
+  public static final Policy DEFAULT_POLICY = Policy.jittered(Duration.ofMillis(1), Duration.ofMillis(500));
+
+  /**
+   * The default number of retries a node can take in a burst.
+   */
+  public static final int DEFAULT_BUDGET_CAPACITY = 1000;
+
+  /**
+   * The default number of retries per second a node can take once its burst capacity is used up.
+   */
+  public static final int DEFAULT_BUDGET_REFILL_PER_SECOND = 100;
+
+  /**
+   * Returns the default {@link JitteredRetryStrategy} instance.
+   */
+  public static final JitteredRetryStrategy INSTANCE = builder().build();
+
+  /**
+   * Reasons raised before the request is routed to a node, so the node it was routed to before is not involved.
+   */
+  private static final Set<RetryReason> NOT_ROUTED = EnumSet.of(
+    RetryReason.NODE_NOT_AVAILABLE,
+    RetryReason.SERVICE_NOT_AVAILABLE
+  );
+
+  private final Map<RetryReason, Policy> policies;
+  private final Policy defaultPolicy;
+  private final int budgetCapacity;
+  private final int budgetRefillPerSecond;
+  private final LongSupplier nanoClock;
+  private final Map<NodeIdentifier, TokenBucket> budgets = new ConcurrentHashMap<>();
+
+  JitteredRetryStrategy(final Builder builder, final LongSupplier nanoClock) {
+    this.policies = new EnumMap<>(builder.policies);
+    this.defaultPolicy = builder.defaultPolicy;
+    this.budgetCapacity = builder.budgetCapacity;
+    this.budgetRefillPerSecond = builder.budgetRefillPerSecond;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Creates a builder to customize the policies and the retry budget.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public CompletableFuture<RetryAction> shouldRetry(final Request<? extends Response> request, final RetryReason reason) {
+    if (!request.idempotent() && !reason.allowsNonIdempotentRetry()) {
+      return CompletableFuture.completedFuture(RetryAction.noRetry());
+    }
+
+    Policy policy = policy(reason);
+    if (!policy.retry) {
+      return CompletableFuture.completedFuture(RetryAction.noRetry());
+    }
+
+    RequestContext ctx = request.context();
+    if (policy.budgeted) {
+      NodeIdentifier node = routedTo(request, reason);
+      if (node != null && !budget(node).tryAcquire(nanoClock.getAsLong())) {
+        return CompletableFuture.completedFuture(RetryAction.noRetry());
+      }
+    }
+    return CompletableFuture.completedFuture(RetryAction.withDuration(policy.nextDelay(ctx.lastRetryDuration())));
+  }
+
+  /**
+   * Jitters the reasons which are always retried like all others, but they never fail because of an empty budget.
+   */
+  @Override
+  public Duration alwaysRetryDelay(final Request<? extends Response> request, final RetryReason reason) {
+    Policy policy = policy(reason);
+    if (!policy.retry) {
+      policy = defaultPolicy;
+    }
+    return policy.nextDelay(request.context().lastRetryDuration());
+  }
+
+  private Policy policy(final RetryReason reason) {
+    return policies.getOrDefault(reason, defaultPolicy);
+  }
+
+  /**
+   * Returns the node the request has been routed to for the attempt which failed, or null if it is not known.
+   */
+  private static NodeIdentifier routedTo(final Request<? extends Response> request, final RetryReason reason) {
+    if (request.target() != null) {
+      return request.target();
+    }
+    return NOT_ROUTED.contains(reason) ? null : request.context().lastDispatchedToNode();
+  }
+
+  private TokenBucket budget(final NodeIdentifier node) {
+    return budgets.computeIfAbsent(
+      node,
+      k -> new TokenBucket(budgetCapacity, budgetRefillPerSecond, nanoClock.getAsLong())
+    );
+  }
+
+  @Override
+  public String toString() {
+    return "Jittered{" +
+      "defaultPolicy=" + defaultPolicy +
+      ", policies=" + policies +
+      ", budgetCapacity=" + budgetCapacity +
+      ", budgetRefillPerSecond=" + budgetRefillPerSecond +
+      '}';
+  }
+
+  /**
+   * Describes how requests are retried for a {@link RetryReason}.
+   */
+  public static class Policy {
+
+    private static final Policy NO_RETRY = new Policy(false, Duration.ZERO, Duration.ZERO, false);
+
+    private final boolean retry;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final boolean budgeted;
+
+    private Policy(final boolean retry, final Duration baseDelay, final Duration maxDelay, final boolean budgeted) {
+      this.retry = retry;
+      this.baseDelay = baseDelay;
+      this.maxDelay = maxDelay;
+      this.budgeted = budgeted;
+    }
+
+    /**
+     * Retries with decorrelated jitter between the given bounds, taking from the retry budget of the node.
+     *
+     * @param baseDelay the lowest delay, the first retry happens after up to three times this delay.
+     * @param maxDelay the highest delay.
+     * @return the created policy.
+     */
+    public static Policy jittered(final Duration baseDelay, final Duration maxDelay) {
+      notNull(baseDelay, "BaseDelay");
+      notNull(maxDelay, "MaxDelay");
+      if (baseDelay.isNegative() || baseDelay.isZero() || maxDelay.compareTo(baseDelay) < 0) {
+        throw InvalidArgumentException.fromMessage("The base delay must be positive and not larger than the max delay");
+      }
+      return new Policy(true, baseDelay, maxDelay, true);
+    }
+
+    /**
+     * Does not retry at all.
+     */
+    public static Policy noRetry() {
+      return NO_RETRY;
+    }
+
+    /**
+     * Returns a copy of this policy which does not take from the retry budget.
+     */
+    public Policy unbudgeted() {
+      return retry ? new Policy(true, baseDelay, maxDelay, false) : this;
+    }
+
+    Duration nextDelay(final Duration lastDelay) {
+      long base = baseDelay.toNanos();
+      long last = lastDelay == null ? base : Math.max(base, lastDelay.toNanos());
+      long upper = Math.min(maxDelay.toNanos(), last > Long.MAX_VALUE / 3 ? Long.MAX_VALUE : last * 3);
+      if (upper <= base) {
+        return baseDelay;
+      }
+      return Duration.ofNanos(ThreadLocalRandom.current().nextLong(base, upper + 1));
+    }
+
+    @Override
+    public String toString() {
+      if (!retry) {
+        return "NoRetry";
+      }
+      return "Jittered{baseDelay=" + baseDelay + ", maxDelay=" + maxDelay + ", budgeted=" + budgeted + "}";
+    }
+  }
+
+  /**
+   * Holds the retries a node can still take, refilled at a fixed rate.
+   */
+  private static class TokenBucket {
+    private final int capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(final int capacity, final int refillPerSecond, final long now) {
+      this.capacity = capacity;
+      this.refillPerNano = refillPerSecond / (double) Duration.ofSeconds(1).toNanos();
+      this.tokens = capacity;
+      this.lastRefill = now;
+    }
+
+    synchronized boolean tryAcquire(final long now) {
+      long elapsed = now - lastRefill;
+      if (elapsed > 0) {
+        tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+        lastRefill = now;
+      }
+      if (tokens < 1) {
+        return false;
+      }
+      tokens -= 1;
+      return true;
+    }
+  }
+
+  public static class Builder {
+
+    private final Map<RetryReason, Policy> policies = new EnumMap<>(RetryReason.class);
+    private Policy defaultPolicy = DEFAULT_POLICY;
+    private int budgetCapacity = DEFAULT_BUDGET_CAPACITY;
+    private int budgetRefillPerSecond = DEFAULT_BUDGET_REFILL_PER_SECOND;
+
+    Builder() {
+      Policy waitForSdk = DEFAULT_POLICY.unbudgeted();
+      policies.put(RetryReason.BUCKET_OPEN_IN_PROGRESS, waitForSdk);
+      policies.put(RetryReason.GLOBAL_CONFIG_LOAD_IN_PROGRESS, waitForSdk);
+      policies.put(RetryReason.COLLECTION_MAP_REFRESH_IN_PROGRESS, waitForSdk);
+      policies.put(RetryReason.SEARCH_TOO_MANY_REQUESTS, Policy.jittered(Duration.ofMillis(100), Duration.ofSeconds(2)));
+    }
+
+    /**
+     * Sets the policy for all reasons which do not have their own.
+     *
+     * @param defaultPolicy the policy to use by default.
+     * @return this, for chaining.
+     */
+    public Builder defaultPolicy(final Policy defaultPolicy) {
+      this.defaultPolicy = notNull(defaultPolicy, "DefaultPolicy");
+      return this;
+    }
+
+    /**
+     * Sets the policy for a single reason.
+     *
+     * @param reason the reason the policy applies to.
+     * @param policy the policy to use.
+     * @return this, for chaining.
+     */
+    public Builder policy(final RetryReason reason, final Policy policy) {
+      policies.put(notNull(reason, "RetryReason"), notNull(policy, "Policy"));
+      return this;
+    }
+
+    /**
+     * Configures the retry budget of each node.
+     *
+     * @param capacity the number of retries a node can take in a burst.
+     * @param refillPerSecond the number of retries per second a node can take once the burst capacity is used up.
+     * @return this, for chaining.
+     */
+    public Builder retryBudget(final int capacity, final int refillPerSecond) {
+      if (capacity < 1 || refillPerSecond < 0) {
+        throw InvalidArgumentException.fromMessage("The capacity must be positive and the refill rate must not be negative");
+      }
+      this.budgetCapacity = capacity;
+      this.budgetRefillPerSecond = refillPerSecond;
+      return this;
+    }
+
+    public JitteredRetryStrategy build() {
+      return new JitteredRetryStrategy(this, System::nanoTime);
+    }
+  }
+
+}
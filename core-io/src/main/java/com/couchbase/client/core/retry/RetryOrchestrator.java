@@ -55,7 +55,11 @@ public class RetryOrchestrator {
     }
 
     if (reason.alwaysRetry()) {
-      retryWithDuration(ctx, request, controlledBackoff(request.context().retryAttempts()), reason);
+      RetryStrategy strategy = request.retryStrategy();
+      Duration duration = strategy == null
+        ? controlledBackoff(request.context().retryAttempts())
+        : strategy.alwaysRetryDelay(request, reason);
+      retryWithDuration(ctx, request, duration, reason);
       return;
     }
 
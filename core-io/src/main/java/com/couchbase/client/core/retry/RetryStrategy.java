@@ -16,6 +16,7 @@
 
 package com.couchbase.client.core.retry;
 
+import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
 
@@ -35,4 +36,19 @@ public interface RetryStrategy {
    */
   CompletableFuture<RetryAction> shouldRetry(Request<? extends Response> request, RetryReason reason);
 
+  /**
+   * Returns the retry delay for a reason which is always retried (see {@link RetryReason#alwaysRetry()}), in which
+   * case {@link #shouldRetry(Request, RetryReason)} is not consulted.
+   * <p>
+   * Strategies which wrap or delegate to another strategy should forward this call, so its delay still applies.
+   *
+   * @param request the request to be retried.
+   * @param reason the reason why the request is retried.
+   * @return the retry delay.
+   */
+  @Stability.Volatile
+  default Duration alwaysRetryDelay(Request<? extends Response> request, RetryReason reason) {
+    return RetryOrchestrator.controlledBackoff(request.context().retryAttempts());
+  }
+
 }
@@ -43,11 +43,13 @@ public abstract class AbstractPooledEndpointServiceConfig implements ServiceConf
   private final int minEndpoints;
   private final int maxEndpoints;
   private final Duration idleTime;
+  private final boolean warmPool;
 
   AbstractPooledEndpointServiceConfig(Builder<?> builder) {
     this.minEndpoints = builder.minEndpoints;
     this.maxEndpoints = builder.maxEndpoints;
     this.idleTime = requireNonNull(builder.idleTime);
+    this.warmPool = builder.warmPool;
   }
 
   @Override
@@ -70,12 +72,18 @@ public abstract class AbstractPooledEndpointServiceConfig implements ServiceConf
     return false;
   }
 
+  @Override
+  public boolean warmPool() {
+    return warmPool;
+  }
+
   // public so methods can be invoked via reflection without requiring Method.setAccessible(true)
   public abstract static class Builder<SELF extends Builder<?>> {
 
     private int minEndpoints;
     private int maxEndpoints;
     private Duration idleTime;
+    private boolean warmPool;
 
     public SELF minEndpoints(int minEndpoints) {
       if (minEndpoints < 0) {
@@ -103,6 +111,11 @@ public abstract class AbstractPooledEndpointServiceConfig implements ServiceConf
       return self();
     }
 
+    public SELF warmPool(boolean warmPool) {
+      this.warmPool = warmPool;
+      return self();
+    }
+
     @SuppressWarnings("unchecked")
     private SELF self() {
       return (SELF) this;
@@ -115,6 +128,7 @@ public abstract class AbstractPooledEndpointServiceConfig implements ServiceConf
       "minEndpoints=" + minEndpoints +
       ", maxEndpoints=" + maxEndpoints +
       ", idleTime=" + idleTime +
+      ", warmPool=" + warmPool +
       '}';
   }
 }
@@ -20,15 +20,25 @@ import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.endpoint.Endpoint;
 import com.couchbase.client.core.endpoint.KeyValueEndpoint;
 import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.KvPartitionAffinity;
 import com.couchbase.client.core.service.strategy.PartitionSelectionStrategy;
 
 import java.util.Optional;
+
+import static com.couchbase.client.core.env.KvPartitionAffinity.LOAD_AWARE;
+import static com.couchbase.client.core.env.KvPartitionAffinity.NONE;
+import static com.couchbase.client.core.env.KvPartitionAffinity.PINNED;
+
 /**
  *
  */
 public class KeyValueService extends PooledService {
 
-  private static final EndpointSelectionStrategy STRATEGY = new PartitionSelectionStrategy();
+  private static final EndpointSelectionStrategy STRATEGY = new PartitionSelectionStrategy(PINNED);
+  private static final EndpointSelectionStrategy LOAD_AWARE_STRATEGY = new PartitionSelectionStrategy(LOAD_AWARE);
+  private static final EndpointSelectionStrategy SPREAD_STRATEGY = new PartitionSelectionStrategy(NONE);
+
+  private final EndpointSelectionStrategy strategy;
 
   private final String hostname;
   private final int port;
@@ -47,6 +57,20 @@ public class KeyValueService extends PooledService {
     this.port = port;
     this.bucketName = bucketName;
     this.authenticator = authenticator;
+    this.strategy = serviceConfig instanceof KeyValueServiceConfig
+      ? strategy(((KeyValueServiceConfig) serviceConfig).partitionAffinity())
+      : STRATEGY;
+  }
+
+  private static EndpointSelectionStrategy strategy(final KvPartitionAffinity partitionAffinity) {
+    switch (partitionAffinity) {
+      case LOAD_AWARE:
+        return LOAD_AWARE_STRATEGY;
+      case NONE:
+        return SPREAD_STRATEGY;
+      default:
+        return STRATEGY;
+    }
   }
 
   /**
@@ -70,7 +94,7 @@ public class KeyValueService extends PooledService {
 
   @Override
   protected EndpointSelectionStrategy selectionStrategy() {
-    return STRATEGY;
+    return strategy;
   }
 
   @Override
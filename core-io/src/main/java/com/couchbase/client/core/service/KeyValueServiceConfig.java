@@ -16,16 +16,20 @@
 
 package com.couchbase.client.core.service;
 
+import com.couchbase.client.core.env.KvPartitionAffinity;
+
 import java.time.Duration;
 
 public class KeyValueServiceConfig implements ServiceConfig {
 
   public static final int DEFAULT_ENDPOINTS = 1;
+  public static final KvPartitionAffinity DEFAULT_PARTITION_AFFINITY = KvPartitionAffinity.PINNED;
 
   private final int endpoints;
+  private final KvPartitionAffinity partitionAffinity;
 
   public static Builder builder() {
-    return new Builder().endpoints(DEFAULT_ENDPOINTS);
+    return new Builder().endpoints(DEFAULT_ENDPOINTS).partitionAffinity(DEFAULT_PARTITION_AFFINITY);
   }
 
   public static Builder endpoints(int endpoints) {
@@ -34,6 +38,7 @@ public class KeyValueServiceConfig implements ServiceConfig {
 
   private KeyValueServiceConfig(Builder builder) {
     this.endpoints = builder.endpoints;
+    this.partitionAffinity = builder.partitionAffinity;
   }
 
   @Override
@@ -56,14 +61,27 @@ public class KeyValueServiceConfig implements ServiceConfig {
     return true;
   }
 
+  /**
+   * How requests are assigned to the endpoint their partition is pinned to.
+   */
+  public KvPartitionAffinity partitionAffinity() {
+    return partitionAffinity;
+  }
+
   public static class Builder {
     private int endpoints;
+    private KvPartitionAffinity partitionAffinity;
 
     public Builder endpoints(int endpoints) {
       this.endpoints = endpoints;
       return this;
     }
 
+    public Builder partitionAffinity(KvPartitionAffinity partitionAffinity) {
+      this.partitionAffinity = partitionAffinity;
+      return this;
+    }
+
     public KeyValueServiceConfig build() {
       return new KeyValueServiceConfig(this);
     }
@@ -73,6 +91,7 @@ public class KeyValueServiceConfig implements ServiceConfig {
   public String toString() {
     return "KeyValueServiceConfig{" +
       "endpoints=" + endpoints +
+      ", partitionAffinity=" + partitionAffinity +
       '}';
   }
 }
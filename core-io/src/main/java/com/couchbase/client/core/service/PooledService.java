@@ -97,6 +97,16 @@ abstract class PooledService implements Service {
    */
   private final List<Endpoint> reservedEndpoints;
 
+  /**
+   * Decides how many endpoints to keep connected if the warm pool is enabled, null otherwise.
+   */
+  private final WarmPoolPolicy warmPoolPolicy;
+
+  /**
+   * The time of the last idle check, used to find the endpoints which were in use since.
+   */
+  private long lastIdleCheck;
+
   /**
    * Creates a new {@link PooledService}.
    *
@@ -155,6 +165,10 @@ abstract class PooledService implements Service {
     this.disconnected = new AtomicBoolean(false);
     this.serviceContext = serviceContext;
     this.fixedPool = serviceConfig.minEndpoints() == serviceConfig.maxEndpoints();
+    this.warmPoolPolicy = serviceConfig.warmPool() && !fixedPool
+      ? new WarmPoolPolicy(WarmPoolPolicy.DEFAULT_DECAY)
+      : null;
+    this.lastIdleCheck = System.nanoTime();
 
     scheduleCleanIdleConnections();
   }
@@ -189,17 +203,28 @@ abstract class PooledService implements Service {
    * Note that we explicitly do not make any clean up attempts on the {@link #reservedEndpoints}. They will either come
    * into our endpoint pool when connected, or fall out of the pool when they are disconnected immediately. We only need
    * to take them into account when checking how many endpoints we have flying around to clean up at max.
+   * <p>
+   * If the warm pool is enabled, the pool keeps as many endpoints as the {@link WarmPoolPolicy} asks for based
+   * on the recent concurrency, and connects new ones if it has fewer than that.
    */
   private synchronized void cleanIdleConnections() {
     if (disconnected.get()) {
       return;
     }
 
+    int keepEndpoints = serviceConfig.minEndpoints();
+    if (warmPoolPolicy != null) {
+      long now = System.nanoTime();
+      warmPoolPolicy.record(endpointsInUseSince(lastIdleCheck), now);
+      lastIdleCheck = now;
+      keepEndpoints = warmPoolPolicy.targetSize(serviceConfig.minEndpoints(), serviceConfig.maxEndpoints());
+    }
+
     final List<Endpoint> endpoints = new ArrayList<>(this.endpoints);
     Collections.shuffle(endpoints);
 
     for (Endpoint endpoint : endpoints) {
-      if ((this.endpoints.size() + this.reservedEndpoints.size()) == serviceConfig.minEndpoints()) {
+      if ((this.endpoints.size() + this.reservedEndpoints.size()) <= keepEndpoints) {
         break;
       }
 
@@ -233,9 +258,31 @@ abstract class PooledService implements Service {
       }
     }
 
+    for (int i = this.endpoints.size() + this.reservedEndpoints.size(); i < keepEndpoints; i++) {
+      Endpoint endpoint = createEndpoint();
+      endpointStates.register(endpoint, endpoint);
+      endpoint.connect();
+      this.endpoints.add(endpoint);
+    }
+
     scheduleCleanIdleConnections();
   }
 
+  /**
+   * Returns the number of endpoints which have outstanding requests or received a response since the given time,
+   * including the reserved ones which are connecting for a request.
+   */
+  private int endpointsInUseSince(final long since) {
+    int inUse = reservedEndpoints.size();
+    for (Endpoint endpoint : endpoints) {
+      long lastResponseReceived = endpoint.lastResponseReceived();
+      if (endpoint.outstandingRequests() > 0 || (lastResponseReceived != 0 && lastResponseReceived - since > 0)) {
+        inUse++;
+      }
+    }
+    return inUse;
+  }
+
   /**
    * Helper method to publish an event with enriched context when an idle endpoint has been removed.
    *
@@ -19,12 +19,13 @@ package com.couchbase.client.core.service;
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.endpoint.Endpoint;
 import com.couchbase.client.core.endpoint.QueryEndpoint;
-import com.couchbase.client.core.service.strategy.RoundRobinSelectionStrategy;
+import com.couchbase.client.core.service.strategy.LeastOutstandingSelectionStrategy;
 
 import java.util.Optional;
 
 public class QueryService extends PooledService {
 
+  private final EndpointSelectionStrategy selectionStrategy = new LeastOutstandingSelectionStrategy();
   private final String hostname;
   private final int port;
 
@@ -42,7 +43,7 @@ public class QueryService extends PooledService {
 
   @Override
   protected EndpointSelectionStrategy selectionStrategy() {
-    return new RoundRobinSelectionStrategy();
+    return selectionStrategy;
   }
 
   @Override
@@ -30,6 +30,14 @@ public interface ServiceConfig {
 
   boolean pipelined();
 
+  /**
+   * If the pool should keep endpoints connected based on its recent concurrency, instead of shrinking to
+   * {@link #minEndpoints()} as soon as endpoints are idle.
+   */
+  default boolean warmPool() {
+    return false;
+  }
+
   default public Map<String, Object> exportAsMap() {
     Map<String, Object> exported = new LinkedHashMap<>();
     exported.put("min", minEndpoints());
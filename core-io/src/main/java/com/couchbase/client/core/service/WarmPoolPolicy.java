@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service;
+
+import java.time.Duration;
+
+/**
+ * Decides how many endpoints a {@link PooledService} keeps connected based on its recent concurrency.
+ *
+ * <p>The policy tracks an exponentially weighted moving average of the number of endpoints in use. The average
+ * follows increases immediately and decays slowly, so a pool that was busy recently stays warm through a quiet
+ * period instead of shrinking down to its minimum and paying the connect (and TLS) latency on the next burst.
+ * A bit of headroom on top of the average lets the pool connect ahead of demand.</p>
+ *
+ * <p>This class is not thread-safe, the pool only uses it from its synchronized idle check.</p>
+ */
+class WarmPoolPolicy {
+
+  /**
+   * The time it takes the average to decay to about a third of its value without any load.
+   */
+  static final Duration DEFAULT_DECAY = Duration.ofSeconds(60);
+
+  /**
+   * The factor applied to the average to connect ahead of demand.
+   */
+  private static final double HEADROOM = 1.5;
+
+  /**
+   * Below this average the pool is considered unused and allowed to shrink back to its minimum.
+   */
+  private static final double UNUSED = 0.05;
+
+  private final long decayNanos;
+  private double average;
+  private long lastSampleNanos;
+
+  WarmPoolPolicy(final Duration decay) {
+    this.decayNanos = decay.toNanos();
+  }
+
+  /**
+   * Records the number of endpoints in use at the given time.
+   *
+   * @param inUse the number of endpoints which carried requests since the last sample.
+   * @param nowNanos the current {@link System#nanoTime()}.
+   */
+  void record(final int inUse, final long nowNanos) {
+    if (inUse >= average) {
+      average = inUse;
+    } else {
+      long elapsed = lastSampleNanos == 0 ? 0 : nowNanos - lastSampleNanos;
+      double alpha = 1 - Math.exp(-(double) elapsed / decayNanos);
+      average += alpha * (inUse - average);
+    }
+    lastSampleNanos = nowNanos;
+  }
+
+  /**
+   * Returns the number of endpoints the pool should keep connected.
+   *
+   * @param minEndpoints the configured minimum of the pool.
+   * @param maxEndpoints the configured maximum of the pool.
+   * @return the target size, always within the configured bounds.
+   */
+  int targetSize(final int minEndpoints, final int maxEndpoints) {
+    if (average < UNUSED) {
+      return minEndpoints;
+    }
+    int target = (int) Math.ceil(average * HEADROOM);
+    return Math.max(minEndpoints, Math.min(maxEndpoints, target));
+  }
+
+  double average() {
+    return average;
+  }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.service.EndpointSelectionStrategy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects the connected endpoint with the fewest outstanding requests.
+ *
+ * <p>An HTTP/1.1 endpoint only accepts a request when it has none outstanding, so for those this behaves like
+ * round-robin over the idle endpoints. Endpoints which carry many requests at once (like HTTP/2 ones) are
+ * balanced by their actual load instead of by turn.</p>
+ *
+ * <p>The scan starts at a rotating offset, so endpoints with the same load are picked in turn.</p>
+ */
+public class LeastOutstandingSelectionStrategy implements EndpointSelectionStrategy {
+
+  private final AtomicInteger skip = new AtomicInteger(0);
+
+  @Override
+  public <R extends Request<? extends Response>> Endpoint select(final R request,
+                                                                 final List<Endpoint> endpoints) {
+    // `endpoints` is mutable and might be modified concurrently, so check again for empty list
+    // to prevent the upcoming % operations from throwing ArithmeticException.
+    int endpointsSize = endpoints.size();
+    if (endpointsSize == 0) {
+      return null;
+    }
+
+    int startIndex = (skip.incrementAndGet() & 0x7fffffff) % endpointsSize;
+
+    Endpoint selected = null;
+    long selectedOutstanding = Long.MAX_VALUE;
+    for (int i = 0; i < endpointsSize; i++) {
+      Endpoint endpoint;
+      try {
+        endpoint = endpoints.get((startIndex + i) % endpointsSize);
+      } catch (IndexOutOfBoundsException ignore) {
+        // Endpoint list was modified concurrently, later iterations might wrap around to the start.
+        continue;
+      }
+
+      if (endpoint.state() != EndpointState.CONNECTED || !endpoint.freeToWrite()) {
+        continue;
+      }
+
+      long outstanding = endpoint.outstandingRequests();
+      if (outstanding == 0) {
+        return endpoint;
+      }
+      if (outstanding < selectedOutstanding) {
+        selected = endpoint;
+        selectedOutstanding = outstanding;
+      }
+    }
+    return selected;
+  }
+
+}
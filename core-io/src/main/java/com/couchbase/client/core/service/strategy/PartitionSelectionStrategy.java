@@ -18,15 +18,52 @@ package com.couchbase.client.core.service.strategy;
 
 import com.couchbase.client.core.endpoint.Endpoint;
 import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.env.KvPartitionAffinity;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import com.couchbase.client.core.service.EndpointSelectionStrategy;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Selects the KV endpoint for a request based on its partition.
+ *
+ * <p>With {@link KvPartitionAffinity#PINNED} (the default), all requests for a partition go to the same endpoint
+ * as long as it is connected and writable. Otherwise the request goes to the least loaded endpoint instead of into
+ * retry.</p>
+ *
+ * <p>With {@link KvPartitionAffinity#LOAD_AWARE} the request also goes to the least loaded endpoint if the pinned
+ * one has fallen {@link #SPILL_THRESHOLD} or more requests behind it (for example because its socket is slow).</p>
+ *
+ * <p>With {@link KvPartitionAffinity#NONE} every request goes to the least loaded endpoint, which spreads a single
+ * hot partition over all connections.</p>
+ */
 public class PartitionSelectionStrategy implements EndpointSelectionStrategy {
 
+  /**
+   * The number of outstanding requests by which the pinned endpoint may exceed the least loaded one before
+   * {@link KvPartitionAffinity#LOAD_AWARE} moves requests away from it.
+   */
+  static final int SPILL_THRESHOLD = 32;
+
+  private final KvPartitionAffinity partitionAffinity;
+  private final AtomicInteger skip = new AtomicInteger(0);
+
+  public PartitionSelectionStrategy() {
+    this(KvPartitionAffinity.PINNED);
+  }
+
+  /**
+   * Creates a new strategy.
+   *
+   * @param partitionAffinity how requests are assigned to the endpoint their partition is pinned to.
+   */
+  public PartitionSelectionStrategy(final KvPartitionAffinity partitionAffinity) {
+    this.partitionAffinity = partitionAffinity;
+  }
+
   @Override
   public <R extends Request<? extends Response>> Endpoint select(final R request, final List<Endpoint> endpoints) {
     int size = endpoints.size();
@@ -34,13 +71,77 @@ public class PartitionSelectionStrategy implements EndpointSelectionStrategy {
       return null;
     }
 
+    if (size == 1) {
+      Endpoint endpoint = endpoints.get(0);
+      return usable(endpoint) ? endpoint : null;
+    }
+
+    if (partitionAffinity == KvPartitionAffinity.NONE) {
+      return leastLoaded(endpoints, skip.incrementAndGet() & 0x7fffffff);
+    }
+
     short partition = ((KeyValueRequest<?>) request).partition();
-    Endpoint endpoint = size == 1 ? endpoints.get(0) : endpoints.get(partition % size);
-    if (endpoint != null && endpoint.state() == EndpointState.CONNECTED && endpoint.freeToWrite()) {
-      return endpoint;
+    Endpoint pinned = null;
+    try {
+      pinned = endpoints.get(partition % size);
+    } catch (IndexOutOfBoundsException ignore) {
+      // Endpoint list was modified concurrently, fall back to any other endpoint.
     }
 
-    return null;
+    boolean pinnedUsable = usable(pinned);
+    if (pinnedUsable
+      && (partitionAffinity == KvPartitionAffinity.PINNED || pinned.outstandingRequests() < SPILL_THRESHOLD)) {
+      return pinned;
+    }
+
+    Endpoint leastLoaded = leastLoaded(endpoints, partition);
+    if (pinnedUsable
+      && (leastLoaded == null || pinned.outstandingRequests() < leastLoaded.outstandingRequests() + SPILL_THRESHOLD)) {
+      return pinned;
+    }
+    return leastLoaded;
+  }
+
+  /**
+   * Returns the usable endpoint with the fewest outstanding requests, or null if none is usable.
+   *
+   * @param endpoints the endpoints to choose from.
+   * @param offset where to start the scan, which decides between endpoints with the same load.
+   */
+  private static Endpoint leastLoaded(final List<Endpoint> endpoints, final int offset) {
+    int size = endpoints.size();
+    if (size == 0) {
+      return null;
+    }
+
+    Endpoint selected = null;
+    long selectedOutstanding = Long.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      Endpoint endpoint;
+      try {
+        endpoint = endpoints.get((offset + i) % size);
+      } catch (IndexOutOfBoundsException ignore) {
+        // Endpoint list was modified concurrently, later iterations might wrap around to the start.
+        continue;
+      }
+      if (!usable(endpoint)) {
+        continue;
+      }
+
+      long outstanding = endpoint.outstandingRequests();
+      if (outstanding == 0) {
+        return endpoint;
+      }
+      if (outstanding < selectedOutstanding) {
+        selected = endpoint;
+        selectedOutstanding = outstanding;
+      }
+    }
+    return selected;
+  }
+
+  private static boolean usable(final Endpoint endpoint) {
+    return endpoint != null && endpoint.state() == EndpointState.CONNECTED && endpoint.freeToWrite();
   }
 
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.util;
+
+import com.couchbase.client.core.annotation.Stability;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetAddress;
+import java.security.Security;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches the results of DNS SRV and hostname lookups for as long as their TTL allows.
+ *
+ * <p>Lookups never block the caller: all of them complete asynchronously, and hostname lookups which rely on the
+ * blocking JDK resolver are moved onto the bounded elastic scheduler. Concurrent lookups for the same name share
+ * one request.</p>
+ *
+ * <p>Once an entry expired, it is still returned for a short while (see {@link #STALE_FOR}, but never longer than
+ * the TTL of the entry) while it is refreshed in the background, so a burst of reconnects does not wait on a slow
+ * DNS server. If the refresh fails, the stale entry keeps being served until that period ends. Entries with a TTL
+ * of zero are not cached at all. Failed lookups are never cached either, no matter the
+ * {@code networkaddress.cache.negative.ttl} of the JVM.</p>
+ *
+ * <p>The actual lookups are performed by a {@link Lookup}, which can be replaced in tests.</p>
+ */
+@Stability.Internal
+public class DnsResolutionCache {
+
+  /**
+   * The upper bound for the TTL of an entry, no matter what the DNS server returned.
+   */
+  static final Duration MAX_TTL = Duration.ofMinutes(5);
+
+  /**
+   * How long an expired entry is still returned while it is refreshed.
+   */
+  static final Duration STALE_FOR = Duration.ofMinutes(1);
+
+  /**
+   * The TTL used for hostname lookups through the JDK if the JVM does not configure one, which matches the default
+   * of the JDK's own address cache.
+   */
+  static final Duration DEFAULT_JDK_LOOKUP_TTL = Duration.ofSeconds(30);
+
+  private static volatile DnsResolutionCache defaultInstance;
+
+  private final LongSupplier nanoClock;
+  private final Table<HostAndPort> srvRecords;
+  private final Table<InetAddress> addresses;
+
+  /**
+   * Creates a new cache which uses the given lookup.
+   *
+   * @param lookup performs the actual DNS lookups.
+   */
+  public DnsResolutionCache(final Lookup lookup) {
+    this(lookup, System::nanoTime);
+  }
+
+  DnsResolutionCache(final Lookup lookup, final LongSupplier nanoClock) {
+    requireNonNull(lookup);
+    this.nanoClock = requireNonNull(nanoClock);
+    this.srvRecords = new Table<>(lookup::srv);
+    this.addresses = new Table<>(lookup::addresses);
+  }
+
+  /**
+   * Returns the cache shared by the whole process, which resolves through the system's DNS configuration.
+   */
+  public static DnsResolutionCache defaultInstance() {
+    DnsResolutionCache instance = defaultInstance;
+    if (instance == null) {
+      synchronized (DnsResolutionCache.class) {
+        instance = defaultInstance;
+        if (instance == null) {
+          instance = new DnsResolutionCache(new SystemLookup());
+          defaultInstance = instance;
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Resolves the targets of a DNS SRV record.
+   *
+   * @param name the full name of the SRV record.
+   * @return the targets, never empty.
+   */
+  public Mono<List<HostAndPort>> resolveSrv(final String name) {
+    return srvRecords.resolve(name);
+  }
+
+  /**
+   * Resolves all addresses of a hostname.
+   *
+   * @param host the hostname to resolve.
+   * @return the addresses, never empty.
+   */
+  public Mono<List<InetAddress>> resolveAddresses(final String host) {
+    return addresses.resolve(host);
+  }
+
+  /**
+   * Returns the TTL for hostname lookups through the JDK, which does not expose the TTL of the records.
+   * <p>
+   * Like the JDK's own address cache, this honors the {@code networkaddress.cache.ttl} security property and falls
+   * back to the {@code sun.net.inetaddr.ttl} system property. A negative value (cache forever) is capped at
+   * {@link #MAX_TTL}, and zero disables caching.
+   *
+   * @param securityProperty the value of the {@code networkaddress.cache.ttl} security property, may be null.
+   * @param systemProperty the value of the {@code sun.net.inetaddr.ttl} system property, may be null.
+   * @return the TTL to use.
+   */
+  static Duration jdkLookupTtl(final String securityProperty, final String systemProperty) {
+    for (String value : Arrays.asList(securityProperty, systemProperty)) {
+      if (value == null) {
+        continue;
+      }
+      try {
+        long seconds = Long.parseLong(value.trim());
+        return seconds < 0 || seconds > MAX_TTL.getSeconds() ? MAX_TTL : Duration.ofSeconds(seconds);
+      } catch (NumberFormatException e) {
+        // Ignored like the JDK does, so the next source or the default applies.
+      }
+    }
+    return DEFAULT_JDK_LOOKUP_TTL;
+  }
+
+  /**
+   * Performs the actual lookups for the cache.
+   */
+  public interface Lookup {
+
+    /**
+     * Looks up the targets of a DNS SRV record.
+     *
+     * @param name the full name of the SRV record.
+     * @return the targets and their TTL, failing with a {@link javax.naming.NameNotFoundException} if there is none.
+     */
+    Mono<Answer<HostAndPort>> srv(String name);
+
+    /**
+     * Looks up the addresses of a hostname.
+     *
+     * @param host the hostname to resolve.
+     * @return the addresses and their TTL, failing with an {@link java.net.UnknownHostException} if there is none.
+     */
+    Mono<Answer<InetAddress>> addresses(String host);
+  }
+
+  /**
+   * The result of a lookup.
+   *
+   * @param <T> the type of the values.
+   */
+  public static class Answer<T> {
+    private final List<T> values;
+    private final Duration ttl;
+
+    public Answer(final List<T> values, final Duration ttl) {
+      this.values = Collections.unmodifiableList(values);
+      this.ttl = requireNonNull(ttl);
+    }
+
+    public List<T> values() {
+      return values;
+    }
+
+    public Duration ttl() {
+      return ttl;
+    }
+  }
+
+  /**
+   * Holds the entries of one kind of lookup.
+   */
+  private class Table<T> {
+    private final Function<String, Mono<Answer<T>>> lookup;
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final Map<String, Mono<List<T>>> inFlight = new ConcurrentHashMap<>();
+
+    Table(final Function<String, Mono<Answer<T>>> lookup) {
+      this.lookup = lookup;
+    }
+
+    Mono<List<T>> resolve(final String name) {
+      return Mono.defer(() -> {
+        long now = nanoClock.getAsLong();
+        Entry<T> entry = entries.get(name);
+        if (entry != null) {
+          if (now - entry.expiresAt < 0) {
+            return Mono.just(entry.values);
+          }
+          if (now - entry.staleUntil < 0) {
+            refresh(name).subscribe(v -> { }, e -> { });
+            return Mono.just(entry.values);
+          }
+        }
+        return refresh(name);
+      });
+    }
+
+    private Mono<List<T>> refresh(final String name) {
+      return inFlight.computeIfAbsent(name, k -> lookup
+        .apply(k)
+        .map(answer -> {
+          Duration ttl = answer.ttl().compareTo(MAX_TTL) > 0 ? MAX_TTL : answer.ttl();
+          if (ttl.isNegative() || ttl.isZero()) {
+            entries.remove(k);
+          } else {
+            Duration staleFor = ttl.compareTo(STALE_FOR) > 0 ? STALE_FOR : ttl;
+            long expiresAt = nanoClock.getAsLong() + ttl.toNanos();
+            entries.put(k, new Entry<>(answer.values(), expiresAt, expiresAt + staleFor.toNanos()));
+          }
+          return answer.values();
+        })
+        .doFinally(signal -> inFlight.remove(k))
+        .cache()
+      );
+    }
+  }
+
+  private static class Entry<T> {
+    private final List<T> values;
+    private final long expiresAt;
+    private final long staleUntil;
+
+    Entry(final List<T> values, final long expiresAt, final long staleUntil) {
+      this.values = values;
+      this.expiresAt = expiresAt;
+      this.staleUntil = staleUntil;
+    }
+  }
+
+  /**
+   * Looks up SRV records through dnsjava and hostnames through the JDK, so the hosts file and the security
+   * properties of the JVM are still honored.
+   */
+  private static class SystemLookup implements Lookup {
+    private final DnsSrvResolver srvResolver = new DnsSrvResolver(ForkJoinPool.commonPool());
+    private final Duration jdkLookupTtl = jdkLookupTtl(
+      Security.getProperty("networkaddress.cache.ttl"),
+      System.getProperty("sun.net.inetaddr.ttl")
+    );
+
+    @Override
+    public Mono<Answer<HostAndPort>> srv(final String name) {
+      return srvResolver.lookup(name);
+    }
+
+    @Override
+    public Mono<Answer<InetAddress>> addresses(final String host) {
+      return Mono
+        .fromCallable(() -> new Answer<>(Arrays.asList(InetAddress.getAllByName(host)), jdkLookupTtl))
+        .subscribeOn(Schedulers.boundedElastic());
+    }
+  }
+
+}
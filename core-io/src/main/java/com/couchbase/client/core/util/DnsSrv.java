@@ -21,7 +21,6 @@ import com.couchbase.client.core.annotation.Stability;
 import javax.naming.NameNotFoundException;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ForkJoinPool;
 
 import static com.couchbase.client.core.util.CbCollections.transform;
 
@@ -46,6 +45,8 @@ public class DnsSrv {
 
   /**
    * Fetch a bootstrap list from DNS SRV using default OS name resolution.
+   * <p>
+   * Results are cached for as long as the TTL of the records allows, see {@link DnsResolutionCache}.
    *
    * @param serviceName the DNS SRV locator.
    * @param full if the service name is the full one or needs to be enriched by the couchbase prefixes.
@@ -62,8 +63,7 @@ public class DnsSrv {
     }
 
     try {
-      DnsSrvResolver resolver = new DnsSrvResolver(ForkJoinPool.commonPool());
-      List<HostAndPort> results = resolver.resolve(fullService)
+      List<HostAndPort> results = DnsResolutionCache.defaultInstance().resolveSrv(fullService)
         .blockOptional().orElseThrow(() -> new NoSuchElementException("No value present"));
       return transform(results, HostAndPort::host);
 
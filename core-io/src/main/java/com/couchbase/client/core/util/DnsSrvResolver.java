@@ -31,6 +31,7 @@ import reactor.util.annotation.Nullable;
 import javax.naming.NameNotFoundException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.Executor;
 
@@ -63,6 +64,13 @@ public class DnsSrvResolver {
   }
 
   public Mono<List<HostAndPort>> resolve(String name) {
+    return lookup(name).map(DnsResolutionCache.Answer::values);
+  }
+
+  /**
+   * Like {@link #resolve(String)}, but also returns the lowest TTL of the records.
+   */
+  public Mono<DnsResolutionCache.Answer<HostAndPort>> lookup(String name) {
     Name parsedName = parseName(name);
 
     return Mono.defer(() -> {
@@ -81,19 +89,23 @@ public class DnsSrvResolver {
             ? Mono.error(new NameNotFoundException(t.toString()))
             : Mono.error(t)
         )
-        .map(lookupResult ->
-          lookupResult.getRecords().stream()
+        .flatMap(lookupResult -> {
+          List<SRVRecord> records = lookupResult.getRecords().stream()
             .map(record -> (SRVRecord) record)
+            .collect(toList());
+          if (records.isEmpty()) {
+            return Mono.error(new NameNotFoundException("DNS SRV lookup was apparently successful, but returned no records."));
+          }
+
+          List<HostAndPort> targets = records.stream()
             .map(record -> new HostAndPort(
               record.getTarget().toString(true),
               record.getPort()
             ))
-            .collect(toList())
-        ).flatMap(it ->
-          it.isEmpty()
-            ? Mono.error(new NameNotFoundException("DNS SRV lookup was apparently successful, but returned no records."))
-            : Mono.just(it)
-        );
+            .collect(toList());
+          long ttl = records.stream().mapToLong(SRVRecord::getTTL).min().getAsLong();
+          return Mono.just(new DnsResolutionCache.Answer<>(targets, Duration.ofSeconds(ttl)));
+        });
     });
   }
 
@@ -17,13 +17,21 @@
 package com.couchbase.client.core.cnc;
 
 import com.couchbase.client.core.env.OrphanReporterConfig;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.service.ServiceType;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Verifies basic functionality of the {@link OrphanReporter}.
@@ -56,6 +64,30 @@ class OrphanReporterTest {
     reporter.stop().block();
   }
 
+  @Test
+  void capturesCompactRecordFromKeyValueRequest() {
+    GetRequest request = mock(GetRequest.class);
+    RequestContext context = mock(RequestContext.class);
+    when(request.context()).thenReturn(context);
+    when(request.serviceType()).thenReturn(ServiceType.KV);
+    when(request.name()).thenReturn("get");
+    when(request.opaque()).thenReturn(0x1f);
+    when(request.bucket()).thenReturn("travel-sample");
+    when(request.timeout()).thenReturn(Duration.ofMillis(2500));
+    when(context.logicalRequestLatency()).thenReturn(Duration.ofMillis(10).toNanos());
+    when(context.serverLatency()).thenReturn(123L);
+
+    OrphanRecord record = OrphanRecord.capture(request);
+
+    assertEquals(ServiceType.KV, record.serviceType());
+    assertEquals("0x1f", record.operationId());
+    assertEquals("get", record.name());
+    assertEquals("travel-sample", record.bucket());
+    assertEquals(Duration.ofMillis(10).toNanos(), record.totalNanos());
+    assertEquals(123L, record.serverMicros());
+    assertEquals(2500, record.timeoutMillis());
+  }
+
   private static OrphanReporter newOrphanReporter(OrphanReporterConfig.Builder builder) {
     return new OrphanReporter(new SimpleEventBus(false), builder.build());
   }
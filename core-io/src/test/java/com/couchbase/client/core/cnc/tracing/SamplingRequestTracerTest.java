@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.tracing;
+
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.cnc.RequestTracer;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.deps.io.grpc.ManagedChannelBuilder;
+import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.protostellar.GrpcAwareRequestTracer;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SamplingRequestTracerTest {
+
+  @Test
+  void createsAllSpansWhenSampled() {
+    RecordingTracer recording = new RecordingTracer();
+    RequestTracer tracer = SamplingRequestTracer.builder(recording).sampleRatio(1.0).build();
+
+    RequestSpan root = tracer.requestSpan("get", null);
+    RequestSpan child = tracer.requestSpan("dispatch_to_server", root);
+    child.end();
+    root.end();
+
+    assertEquals(2, recording.spans.size());
+    assertSame(recording.spans.get(0), recording.spans.get(1).parent);
+    assertTrue(recording.spans.get(0).ended);
+    assertTrue(recording.spans.get(1).ended);
+  }
+
+  @Test
+  void createsNoSpansWhenNotSampled() {
+    RecordingTracer recording = new RecordingTracer();
+    RequestTracer tracer = SamplingRequestTracer.builder(recording).sampleRatio(0.0).build();
+
+    RequestSpan root = tracer.requestSpan("get", null);
+    RequestSpan child = tracer.requestSpan("dispatch_to_server", root);
+
+    assertSame(NoopRequestSpan.INSTANCE, root);
+    assertSame(NoopRequestSpan.INSTANCE, child);
+    assertTrue(recording.spans.isEmpty());
+  }
+
+  @Test
+  void tailSamplingDropsFastRequests() {
+    RecordingTracer recording = new RecordingTracer();
+    RequestTracer tracer = SamplingRequestTracer.builder(recording)
+      .sampleRatio(0.0)
+      .tailSampling(true)
+      .kvThreshold(Duration.ofHours(1))
+      .build();
+
+    RequestSpan root = tracer.requestSpan("get", null);
+    root.lowCardinalityAttribute(TracingIdentifiers.ATTR_SERVICE, TracingIdentifiers.SERVICE_KV);
+    tracer.requestSpan("dispatch_to_server", root).end();
+    root.end();
+
+    assertTrue(recording.spans.isEmpty());
+  }
+
+  @Test
+  void tailSamplingKeepsSlowRequests() {
+    RecordingTracer recording = new RecordingTracer();
+    RequestTracer tracer = SamplingRequestTracer.builder(recording)
+      .sampleRatio(0.0)
+      .tailSampling(true)
+      .kvThreshold(Duration.ZERO)
+      .build();
+
+    RequestSpan root = tracer.requestSpan("get", null);
+    root.lowCardinalityAttribute(TracingIdentifiers.ATTR_SERVICE, TracingIdentifiers.SERVICE_KV);
+    RequestSpan child = tracer.requestSpan("dispatch_to_server", root);
+    child.attribute(TracingIdentifiers.ATTR_OPERATION_ID, "0x1");
+    child.end();
+    root.end();
+
+    assertEquals(2, recording.spans.size());
+    RecordedSpan realRoot = recording.spans.get(0);
+    RecordedSpan realChild = recording.spans.get(1);
+    assertEquals("get", realRoot.name);
+    assertEquals(TracingIdentifiers.SERVICE_KV, realRoot.attributes.get(TracingIdentifiers.ATTR_SERVICE));
+    assertSame(realRoot, realChild.parent);
+    assertEquals("0x1", realChild.attributes.get(TracingIdentifiers.ATTR_OPERATION_ID));
+    assertNotNull(realRoot.startTime);
+    assertNotNull(realRoot.endTime);
+    assertTrue(!realChild.startTime.isBefore(realRoot.startTime));
+    assertTrue(!realChild.endTime.isAfter(realRoot.endTime));
+  }
+
+  @Test
+  void tailSamplingKeepsFailedRequests() {
+    RecordingTracer recording = new RecordingTracer();
+    RequestTracer tracer = SamplingRequestTracer.builder(recording)
+      .sampleRatio(0.0)
+      .tailSampling(true)
+      .threshold(Duration.ofHours(1))
+      .build();
+
+    RequestSpan root = tracer.requestSpan("query", null);
+    root.status(RequestSpan.StatusCode.ERROR);
+    root.end();
+
+    assertEquals(1, recording.spans.size());
+    assertEquals(RequestSpan.StatusCode.ERROR, recording.spans.get(0).status);
+  }
+
+  @Test
+  void materializesOutsideOfTheLock() {
+    List<Boolean> heldLock = new ArrayList<>();
+    RequestSpan[] root = new RequestSpan[1];
+    RecordingTracer recording = new RecordingTracer() {
+      @Override
+      public RequestSpan requestSpan(String name, RequestSpan parent, Instant startTime) {
+        heldLock.add(Thread.holdsLock(root[0]));
+        return super.requestSpan(name, parent, startTime);
+      }
+    };
+    RequestTracer tracer = SamplingRequestTracer.builder(recording)
+      .sampleRatio(0.0)
+      .tailSampling(true)
+      .threshold(Duration.ZERO)
+      .build();
+
+    root[0] = tracer.requestSpan("query", null);
+    tracer.requestSpan("dispatch_to_server", root[0]).end();
+    root[0].end();
+
+    assertEquals(2, heldLock.size());
+    assertFalse(heldLock.contains(true));
+  }
+
+  @Test
+  void forwardsGrpcAwareness() throws Exception {
+    GrpcAwareRecordingTracer recording = new GrpcAwareRecordingTracer();
+    assertFalse(SamplingRequestTracer.builder(new RecordingTracer()).build() instanceof GrpcAwareRequestTracer);
+
+    RequestTracer tracer = SamplingRequestTracer.builder(recording).sampleRatio(1.0).build();
+    assertTrue(tracer instanceof GrpcAwareRequestTracer);
+
+    ((GrpcAwareRequestTracer) tracer).registerGrpc(null);
+    assertTrue(recording.registered);
+
+    RequestSpan span = tracer.requestSpan("get", null);
+    ((GrpcAwareRequestTracer) tracer).activateSpan(span).close();
+    assertSame(recording.spans.get(0), recording.activated);
+
+    // Spans which do not exist in the wrapped tracer are not activated there.
+    recording.activated = null;
+    ((GrpcAwareRequestTracer) tracer).activateSpan(NoopRequestSpan.INSTANCE).close();
+    assertNull(recording.activated);
+  }
+
+  @Test
+  void rejectsInvalidRatio() {
+    assertThrows(InvalidArgumentException.class,
+      () -> SamplingRequestTracer.builder(new RecordingTracer()).sampleRatio(1.5));
+  }
+
+  static class RecordingTracer implements RequestTracer {
+    final List<RecordedSpan> spans = new ArrayList<>();
+
+    @Override
+    public RequestSpan requestSpan(String name, RequestSpan parent) {
+      return requestSpan(name, parent, null);
+    }
+
+    @Override
+    public RequestSpan requestSpan(String name, RequestSpan parent, Instant startTime) {
+      RecordedSpan span = new RecordedSpan(name, (RecordedSpan) parent, startTime);
+      spans.add(span);
+      return span;
+    }
+
+    @Override
+    public Mono<Void> start() {
+      return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> stop(Duration timeout) {
+      return Mono.empty();
+    }
+  }
+
+  static class GrpcAwareRecordingTracer extends RecordingTracer implements GrpcAwareRequestTracer {
+    boolean registered;
+    RequestSpan activated;
+
+    @Override
+    public void registerGrpc(ManagedChannelBuilder<?> builder) {
+      registered = true;
+    }
+
+    @Override
+    public AutoCloseable activateSpan(RequestSpan span) {
+      activated = span;
+      return () -> { };
+    }
+  }
+
+  static class RecordedSpan implements RequestSpan {
+    final String name;
+    final RecordedSpan parent;
+    final Instant startTime;
+    final Map<String, Object> attributes = new HashMap<>();
+    Instant endTime;
+    StatusCode status;
+    boolean ended;
+
+    RecordedSpan(String name, RecordedSpan parent, Instant startTime) {
+      this.name = name;
+      this.parent = parent;
+      this.startTime = startTime;
+    }
+
+    @Override
+    public void attribute(String key, String value) {
+      attributes.put(key, value);
+    }
+
+    @Override
+    public void attribute(String key, boolean value) {
+      attributes.put(key, value);
+    }
+
+    @Override
+    public void attribute(String key, long value) {
+      attributes.put(key, value);
+    }
+
+    @Override
+    public void event(String name, Instant timestamp) {
+    }
+
+    @Override
+    public void status(StatusCode status) {
+      this.status = status;
+    }
+
+    @Override
+    public void end() {
+      ended = true;
+    }
+
+    @Override
+    public void end(Instant endTime) {
+      this.endTime = endTime;
+      ended = true;
+    }
+
+    @Override
+    public void requestContext(RequestContext requestContext) {
+    }
+  }
+
+}
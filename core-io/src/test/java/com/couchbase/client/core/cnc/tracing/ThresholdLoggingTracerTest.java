@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.tracing;
+
+import com.couchbase.client.core.cnc.SimpleEventBus;
+import com.couchbase.client.core.cnc.events.tracing.OverThresholdRequestsRecordedEvent;
+import com.couchbase.client.core.env.ThresholdLoggingTracerConfig;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.service.ServiceType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.couchbase.client.test.Util.waitUntilCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the aggregation behavior of the {@link ThresholdLoggingTracer}.
+ */
+class ThresholdLoggingTracerTest {
+
+  private SimpleEventBus eventBus;
+  private ThresholdLoggingTracer tracer;
+
+  @BeforeEach
+  void beforeEach() {
+    eventBus = new SimpleEventBus(true);
+    tracer = ThresholdLoggingTracer.create(eventBus, ThresholdLoggingTracerConfig.builder()
+      .kvThreshold(Duration.ofMillis(10))
+      .sampleSize(2)
+      .emitInterval(Duration.ofMillis(200))
+      .build());
+    tracer.start().block();
+  }
+
+  @AfterEach
+  void afterEach() {
+    tracer.stop(Duration.ofSeconds(1)).block();
+  }
+
+  @Test
+  void keepsSlowestRequestsAndCountsAll() {
+    finishSpan(Duration.ofMillis(50), 0x1);
+    finishSpan(Duration.ofMillis(20), 0x2);
+    finishSpan(Duration.ofMillis(30), 0x3);
+    // Below threshold, must not be counted
+    finishSpan(Duration.ofMillis(1), 0x4);
+
+    waitUntilCondition(() -> !overThresholdEvents().isEmpty());
+
+    String description = overThresholdEvents().get(0).description();
+    assertTrue(description.contains("\"total_count\":3"));
+    assertTrue(description.contains("\"operation_id\":\"0x1\""));
+    assertTrue(description.contains("\"operation_id\":\"0x3\""));
+    assertFalse(description.contains("\"operation_id\":\"0x2\""));
+    assertFalse(description.contains("\"operation_id\":\"0x4\""));
+  }
+
+  private List<OverThresholdRequestsRecordedEvent> overThresholdEvents() {
+    return eventBus
+      .publishedEvents()
+      .stream()
+      .filter(e -> e instanceof OverThresholdRequestsRecordedEvent)
+      .map(e -> (OverThresholdRequestsRecordedEvent) e)
+      .collect(Collectors.toList());
+  }
+
+  private void finishSpan(final Duration latency, final int opaque) {
+    GetRequest request = mock(GetRequest.class);
+    RequestContext context = mock(RequestContext.class);
+    when(request.context()).thenReturn(context);
+    when(request.serviceType()).thenReturn(ServiceType.KV);
+    when(request.name()).thenReturn("get");
+    when(request.opaque()).thenReturn(opaque);
+    when(request.timeout()).thenReturn(Duration.ofMillis(2500));
+    doReturn(request).when(context).request();
+    when(context.logicalRequestLatency()).thenReturn(latency.toNanos());
+
+    ThresholdRequestSpan span = (ThresholdRequestSpan) tracer.requestSpan("get", null);
+    span.requestContext(context);
+    span.end();
+  }
+
+}
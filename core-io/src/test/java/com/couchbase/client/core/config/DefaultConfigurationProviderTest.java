@@ -135,6 +135,51 @@ class DefaultConfigurationProviderTest {
     assertEquals(Optional.empty(), ctx.alternateAddress());
   }
 
+  @Test
+  void signalsConfigChangeOnlyForNewerVersions() {
+    Core core = mock(Core.class);
+    when(core.context()).thenReturn(new CoreContext(core, 1, ENVIRONMENT, mock(Authenticator.class)));
+
+    DefaultConfigurationProvider provider = new DefaultConfigurationProvider(core, SeedNode.LOCALHOST);
+    provider.proposeBucketConfig(new ProposedBucketConfigContext(
+      "default",
+      readResource("config_with_external.json", DefaultConfigurationProviderTest.class),
+      ORIGIN
+    ));
+    ConfigVersion current = provider.config().bucketConfig("default").version();
+
+    final AtomicInteger notifications = new AtomicInteger(0);
+    provider.configChangeNotifications().subscribe(v -> notifications.incrementAndGet());
+
+    provider.signalConfigChanged("default", current);
+    provider.signalConfigChanged("default", new ConfigVersion(current.epoch(), current.rev() - 1));
+    assertEquals(0, notifications.get());
+
+    provider.signalConfigChanged("default", new ConfigVersion(current.epoch(), current.rev() + 1));
+    assertEquals(1, notifications.get());
+
+    provider.signalConfigChanged("unknown", new ConfigVersion(1, 1));
+    assertEquals(2, notifications.get());
+  }
+
+  @Test
+  void tracksConfigPushChannels() {
+    Core core = mock(Core.class);
+    when(core.context()).thenReturn(new CoreContext(core, 1, ENVIRONMENT, mock(Authenticator.class)));
+
+    DefaultConfigurationProvider provider = new DefaultConfigurationProvider(core, SeedNode.LOCALHOST);
+    assertFalse(provider.configPushActive("default"));
+
+    provider.signalConfigPushChannel("default", true);
+    provider.signalConfigPushChannel("default", true);
+    provider.signalConfigPushChannel("default", false);
+    assertTrue(provider.configPushActive("default"));
+    assertFalse(provider.configPushActive(null));
+
+    provider.signalConfigPushChannel("default", false);
+    assertFalse(provider.configPushActive("default"));
+  }
+
   @Test
   void ignoreProposedConfigWithLowerOrEqualRev() {
     Core core = mock(Core.class);
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.config.refresher;
+
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.config.ConfigurationProvider;
+import com.couchbase.client.core.util.NanoTimestamp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link ConfigPushBackoff}.
+ */
+class ConfigPushBackoffTest {
+
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(1);
+
+  private ConfigurationProvider provider;
+  private Meter meter;
+  private Counter counter;
+
+  @BeforeEach
+  void setup() {
+    provider = mock(ConfigurationProvider.class);
+    meter = mock(Meter.class);
+    counter = mock(Counter.class);
+    when(meter.counter(eq(TracingIdentifiers.METER_CONFIG_FETCHES_AVOIDED), anyMap())).thenReturn(counter);
+  }
+
+  @Test
+  void pollsAtIntervalIfDisabled() throws Exception {
+    when(provider.configPushActive(any())).thenReturn(true);
+    ConfigPushBackoff backoff = new ConfigPushBackoff(false, POLL_INTERVAL, provider, meter);
+
+    NanoTimestamp lastPoll = NanoTimestamp.now();
+    Thread.sleep(5);
+    assertTrue(backoff.pollDue("bucket", lastPoll, false));
+    assertTrue(backoff.pollDue("bucket", NanoTimestamp.never(), false));
+    verify(counter, never()).incrementBy(1);
+  }
+
+  @Test
+  void backsOffWhilePushIsActive() throws Exception {
+    when(provider.configPushActive("bucket")).thenReturn(true);
+    ConfigPushBackoff backoff = new ConfigPushBackoff(true, POLL_INTERVAL, provider, meter);
+
+    NanoTimestamp lastPoll = NanoTimestamp.now();
+    Thread.sleep(5);
+    assertFalse(backoff.pollDue("bucket", lastPoll, false));
+    assertTrue(backoff.pollDue(null, lastPoll, false));
+    verify(counter, times(1)).incrementBy(1);
+
+    assertTrue(backoff.pollDue("bucket", NanoTimestamp.never(), false));
+  }
+
+  @Test
+  void resumesPollingWhenRefreshFails() throws Exception {
+    when(provider.configPushActive("bucket")).thenReturn(true);
+    ConfigPushBackoff backoff = new ConfigPushBackoff(true, POLL_INTERVAL, provider, meter);
+
+    NanoTimestamp lastPoll = NanoTimestamp.now();
+    Thread.sleep(5);
+    assertTrue(backoff.pollDue("bucket", lastPoll, true));
+  }
+
+}
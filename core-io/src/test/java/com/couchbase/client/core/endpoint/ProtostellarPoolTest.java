@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.endpoint;
+
+import com.couchbase.client.core.cnc.SimpleEventBus;
+import com.couchbase.client.core.cnc.events.endpoint.ProtostellarPoolResizeFailedEvent;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.env.ProtostellarPoolConfig;
+import com.couchbase.client.core.util.HostAndPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProtostellarPoolTest {
+
+  private static final HostAndPort REMOTE = new HostAndPort("127.0.0.1", 18098);
+
+  private final List<ProtostellarEndpoint> created = new ArrayList<>();
+  private final SimpleEventBus eventBus = new SimpleEventBus(true);
+
+  private ProtostellarPool pool(ProtostellarPoolConfig config) {
+    return pool(config, () -> {
+      ProtostellarEndpoint endpoint = mock(ProtostellarEndpoint.class);
+      created.add(endpoint);
+      return endpoint;
+    });
+  }
+
+  private ProtostellarPool pool(ProtostellarPoolConfig config, Supplier<ProtostellarEndpoint> endpointFactory) {
+    return new ProtostellarPool(config, endpointFactory, REMOTE, NoopMeter.INSTANCE, null, eventBus, null);
+  }
+
+  @Test
+  void selectsLeastOutstandingEndpoint() {
+    ProtostellarPool pool = pool(ProtostellarPoolConfig.builder().minChannels(3).maxChannels(3).build());
+    when(created.get(0).outstandingRequests()).thenReturn(5);
+    when(created.get(1).outstandingRequests()).thenReturn(1);
+    when(created.get(2).outstandingRequests()).thenReturn(3);
+
+    for (int i = 0; i < 10; i++) {
+      assertSame(created.get(1), pool.endpoint());
+    }
+  }
+
+  @Test
+  void growsWhenStreamsNearLimit() {
+    ProtostellarPool pool = pool(ProtostellarPoolConfig.builder()
+      .minChannels(1)
+      .maxChannels(2)
+      .maxConcurrentStreams(100)
+      .build());
+    when(created.get(0).resetPeakOutstandingRequests()).thenReturn(80);
+
+    pool.resize();
+    assertEquals(2, pool.endpoints().size());
+
+    when(created.get(0).resetPeakOutstandingRequests()).thenReturn(100);
+    when(created.get(1).resetPeakOutstandingRequests()).thenReturn(100);
+    pool.resize();
+    assertEquals(2, pool.endpoints().size());
+  }
+
+  @Test
+  void shrinksAndDrainsIdleEndpoints() {
+    ProtostellarPool pool = pool(ProtostellarPoolConfig.builder()
+      .minChannels(1)
+      .maxChannels(2)
+      .maxConcurrentStreams(100)
+      .build());
+    when(created.get(0).resetPeakOutstandingRequests()).thenReturn(80);
+    pool.resize();
+    assertEquals(2, pool.endpoints().size());
+
+    ProtostellarEndpoint busy = created.get(0);
+    ProtostellarEndpoint idle = created.get(1);
+    when(busy.resetPeakOutstandingRequests()).thenReturn(10);
+    when(idle.resetPeakOutstandingRequests()).thenReturn(0);
+    when(idle.outstandingRequests()).thenReturn(1);
+
+    pool.resize();
+    assertEquals(1, pool.endpoints().size());
+    assertSame(busy, pool.endpoint());
+    verify(idle, never()).shutdown(Duration.ZERO);
+
+    when(idle.outstandingRequests()).thenReturn(0);
+    pool.resize();
+    verify(idle).shutdown(Duration.ZERO);
+  }
+
+  @Test
+  void publishesEventIfResizeFails() {
+    ProtostellarEndpoint first = mock(ProtostellarEndpoint.class);
+    AtomicBoolean failing = new AtomicBoolean();
+    ProtostellarPool pool = pool(ProtostellarPoolConfig.builder()
+      .minChannels(1)
+      .maxChannels(2)
+      .maxConcurrentStreams(100)
+      .build(), () -> {
+      if (failing.get()) {
+        throw new IllegalStateException("channel creation failed");
+      }
+      return first;
+    });
+    when(first.resetPeakOutstandingRequests()).thenReturn(80);
+    failing.set(true);
+
+    pool.resize();
+    assertEquals(1, pool.endpoints().size());
+    assertEquals(1, eventBus.publishedEvents().size());
+    ProtostellarPoolResizeFailedEvent event = (ProtostellarPoolResizeFailedEvent) eventBus.publishedEvents().get(0);
+    assertTrue(event.cause() instanceof IllegalStateException);
+  }
+
+}
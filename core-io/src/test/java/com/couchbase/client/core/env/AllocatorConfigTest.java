@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.env;
+
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocatorMetric;
+import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.io.netty.MeteredByteBufAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AllocatorConfigTest {
+
+  @Test
+  void usesNettyDefaultAllocatorIfNotCustomized() {
+    assertSame(ByteBufAllocator.DEFAULT, AllocatorConfig.create().createAllocator());
+  }
+
+  @Test
+  void createsCustomizedPooledAllocator() {
+    int chunkSize = AllocatorConfig.MIN_CHUNK_SIZE << 4;
+    AllocatorConfig config = AllocatorConfig
+      .arenaCount(2)
+      .chunkSize(chunkSize)
+      .threadLocalCaches(false)
+      .build();
+
+    ByteBufAllocator allocator = config.createAllocator();
+    assertTrue(allocator instanceof PooledByteBufAllocator);
+
+    PooledByteBufAllocatorMetric metric = ((PooledByteBufAllocator) allocator).metric();
+    assertEquals(2, metric.numDirectArenas());
+    assertEquals(2, metric.numHeapArenas());
+    assertEquals(chunkSize, metric.chunkSize());
+    assertEquals(0, metric.smallCacheSize());
+    assertEquals(0, metric.normalCacheSize());
+  }
+
+  @Test
+  void rejectsInvalidSettings() {
+    assertThrows(InvalidArgumentException.class, () -> AllocatorConfig.arenaCount(-1));
+    assertThrows(InvalidArgumentException.class, () -> AllocatorConfig.chunkSize(AllocatorConfig.MIN_CHUNK_SIZE + 1));
+    assertThrows(InvalidArgumentException.class, () -> AllocatorConfig.chunkSize(AllocatorConfig.MIN_CHUNK_SIZE / 2));
+    assertThrows(InvalidArgumentException.class, () -> AllocatorConfig.chunkSize(AllocatorConfig.MAX_CHUNK_SIZE * 2));
+  }
+
+  @Test
+  void exposesAllocatorThroughIoEnvironment() {
+    IoEnvironment env = IoEnvironment.allocatorConfig(AllocatorConfig.arenaCount(1)).build();
+    try {
+      assertEquals(1, env.allocatorConfig().arenaCount());
+      assertEquals(1, ((PooledByteBufAllocator) env.allocator()).metric().numDirectArenas());
+    } finally {
+      env.shutdown(Duration.ofSeconds(5)).block();
+    }
+  }
+
+  @Test
+  void meteredAllocatorCountsAllocatedBytes() {
+    AtomicLong allocated = new AtomicLong();
+    Counter counter = allocated::addAndGet;
+    MeteredByteBufAllocator allocator = new MeteredByteBufAllocator(ByteBufAllocator.DEFAULT, counter);
+
+    ByteBuf first = allocator.buffer(128);
+    ByteBuf second = allocator.directBuffer(64);
+    try {
+      assertEquals(first.capacity() + second.capacity(), allocated.get());
+    } finally {
+      first.release();
+      second.release();
+    }
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.env;
+
+import com.couchbase.client.core.deps.io.netty.channel.EventLoopGroup;
+import com.couchbase.client.core.deps.io.netty.channel.nio.NioEventLoopGroup;
+import com.couchbase.client.core.io.netty.IoUringTransport;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Verifies the transport selection of the {@link IoEnvironment}.
+ */
+class IoEnvironmentTest {
+
+  @Test
+  void ioUringIsDisabledByDefault() {
+    IoEnvironment env = IoEnvironment.builder().build();
+    try {
+      assertFalse(env.ioUringEnabled());
+      assertFalse(IoUringTransport.isEventLoopGroup(env.kvEventLoopGroup().get()));
+    } finally {
+      env.shutdown(Duration.ofSeconds(5)).block();
+    }
+  }
+
+  @Test
+  void fallsBackIfIoUringIsUnavailable() {
+    assumeFalse(IoUringTransport.isAvailable());
+    assertNotNull(IoUringTransport.unavailabilityCause());
+
+    IoEnvironment env = IoEnvironment.builder().enableIoUring(true).build();
+    try {
+      EventLoopGroup group = env.kvEventLoopGroup().get();
+      assertFalse(IoUringTransport.isEventLoopGroup(group));
+      assertNotNull(group);
+    } finally {
+      env.shutdown(Duration.ofSeconds(5)).block();
+    }
+  }
+
+  @Test
+  void ignoresIoUringIfNativeIoIsDisabled() {
+    IoEnvironment env = IoEnvironment.builder().enableNativeIo(false).enableIoUring(true).build();
+    try {
+      assertTrue(env.kvEventLoopGroup().get() instanceof NioEventLoopGroup);
+    } finally {
+      env.shutdown(Duration.ofSeconds(5)).block();
+    }
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.deps.io.netty.bootstrap.Bootstrap;
+import com.couchbase.client.core.deps.io.netty.bootstrap.ServerBootstrap;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.channel.Channel;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelInitializer;
+import com.couchbase.client.core.deps.io.netty.channel.DefaultEventLoopGroup;
+import com.couchbase.client.core.deps.io.netty.channel.EventLoopGroup;
+import com.couchbase.client.core.deps.io.netty.channel.SimpleChannelInboundHandler;
+import com.couchbase.client.core.deps.io.netty.channel.local.LocalAddress;
+import com.couchbase.client.core.deps.io.netty.channel.local.LocalChannel;
+import com.couchbase.client.core.deps.io.netty.channel.local.LocalServerChannel;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http.DefaultFullHttpResponse;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http.FullHttpRequest;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http.FullHttpResponse;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http.HttpClientCodec;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http.HttpHeaderNames;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http.HttpObjectAggregator;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http.HttpResponseStatus;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http.HttpVersion;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http2.Http2MultiplexHandler;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http2.Http2StreamChannel;
+import com.couchbase.client.core.deps.io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import com.couchbase.client.core.deps.io.netty.util.CharsetUtil;
+import com.couchbase.client.core.endpoint.BaseEndpoint;
+import com.couchbase.client.core.endpoint.EndpointContext;
+import com.couchbase.client.core.endpoint.NoopCircuitBreaker;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.PasswordAuthenticator;
+import com.couchbase.client.core.io.netty.query.QueryHandlerSwitcher;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.query.QueryRequest;
+import com.couchbase.client.core.msg.query.QueryResponse;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.util.HostAndPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that the {@link Http2StreamDispatcher} multiplexes requests over a single HTTP/2 connection.
+ */
+class Http2StreamDispatcherTest {
+
+  private static final String RESPONSE = "{\"requestID\":\"1\",\"results\":[],\"status\":\"success\"}";
+
+  private CoreEnvironment env;
+  private CoreContext coreContext;
+  private EndpointContext endpointContext;
+  private EventLoopGroup group;
+
+  @BeforeEach
+  void setup() {
+    env = CoreEnvironment.create();
+    coreContext = new CoreContext(mock(Core.class), 1, env, PasswordAuthenticator.create("user", "pass"));
+    endpointContext = new EndpointContext(coreContext, new HostAndPort("127.0.0.1", 1234),
+      NoopCircuitBreaker.INSTANCE, ServiceType.QUERY, Optional.empty(), Optional.empty(), Optional.empty());
+    group = new DefaultEventLoopGroup(2);
+  }
+
+  @AfterEach
+  void teardown() {
+    group.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).awaitUninterruptibly();
+    env.shutdown();
+  }
+
+  @Test
+  void sendsConcurrentRequestsAsStreams() throws Exception {
+    Set<Channel> connections = ConcurrentHashMap.newKeySet();
+    Set<Integer> streams = ConcurrentHashMap.newKeySet();
+    LocalAddress address = new LocalAddress("Http2StreamDispatcherTest");
+
+    Channel server = new ServerBootstrap()
+      .group(group)
+      .channel(LocalServerChannel.class)
+      .childHandler(new ChannelInitializer<LocalChannel>() {
+        @Override
+        protected void initChannel(final LocalChannel ch) {
+          connections.add(ch);
+          ch.pipeline().addLast(Http2FrameCodecBuilder.forServer().build());
+          ch.pipeline().addLast(new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+            @Override
+            protected void initChannel(final Http2StreamChannel stream) {
+              streams.add(stream.stream().id());
+              stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(true));
+              stream.pipeline().addLast(new HttpObjectAggregator(Integer.MAX_VALUE));
+              stream.pipeline().addLast(new QueryResponder());
+            }
+          }));
+        }
+      })
+      .bind(address)
+      .sync()
+      .channel();
+
+    BaseEndpoint endpoint = mock(BaseEndpoint.class);
+    when(endpoint.remoteHostname()).thenReturn("127.0.0.1");
+    when(endpoint.remotePort()).thenReturn(1234);
+    when(endpoint.context()).thenReturn(endpointContext);
+
+    Channel client = new Bootstrap()
+      .group(group)
+      .channel(LocalChannel.class)
+      .handler(new ChannelInitializer<LocalChannel>() {
+        @Override
+        protected void initChannel(final LocalChannel ch) {
+          Http2StreamDispatcher.init(endpoint, (ep, pipeline) -> {
+            pipeline.addLast(new HttpClientCodec());
+            pipeline.addLast(
+              ChunkedHandlerSwitcher.SWITCHER_IDENTIFIER,
+              new QueryHandlerSwitcher(ep, endpointContext)
+            );
+          }, ch.pipeline());
+        }
+      })
+      .connect(address)
+      .sync()
+      .channel();
+
+    try {
+      int numRequests = 10;
+      List<QueryRequest> requests = new ArrayList<>();
+      for (int i = 0; i < numRequests; i++) {
+        QueryRequest request = new QueryRequest(Duration.ofSeconds(10), coreContext, env.retryStrategy(),
+          coreContext.authenticator(), "statement", "{}".getBytes(CharsetUtil.UTF_8), false, null, null, null,
+          null, null);
+        requests.add(request);
+        client.writeAndFlush(request);
+      }
+
+      for (QueryRequest request : requests) {
+        QueryResponse response = request.response().get(10, TimeUnit.SECONDS);
+        assertEquals(ResponseStatus.SUCCESS, response.status());
+      }
+      verify(endpoint, timeout(10_000).times(numRequests)).markRequestCompletion();
+      assertEquals(1, connections.size());
+      assertEquals(numRequests, streams.size());
+    } finally {
+      client.close().sync();
+      server.close().sync();
+    }
+  }
+
+  private static class QueryResponder extends SimpleChannelInboundHandler<FullHttpRequest> {
+    @Override
+    protected void channelRead0(final ChannelHandlerContext ctx, final FullHttpRequest msg) {
+      FullHttpResponse response = new DefaultFullHttpResponse(
+        HttpVersion.HTTP_1_1,
+        HttpResponseStatus.OK,
+        Unpooled.copiedBuffer(RESPONSE, CharsetUtil.UTF_8)
+      );
+      response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+      ctx.writeAndFlush(response);
+    }
+  }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link ConnectTimings}.
+ */
+class ConnectTimingsTest {
+
+  @Test
+  void recordsSavingsOfOverlappingSteps() throws Exception {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    try {
+      ConnectTimings.start(channel, FeatureNegotiatingHandler.class);
+      ConnectTimings.start(channel, ErrorMapLoadingHandler.class);
+      Thread.sleep(20);
+      ConnectTimings.stop(channel, FeatureNegotiatingHandler.class, false);
+      ConnectTimings.stop(channel, ErrorMapLoadingHandler.class, false);
+
+      Duration savings = ConnectTimings.pipeliningSavings(channel);
+      assertTrue(savings.compareTo(Duration.ofMillis(15)) >= 0, savings.toString());
+      assertEquals(savings, ConnectTimings.toMap(channel).get(ConnectTimings.PIPELINING_SAVINGS));
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  void recordsNoSavingsForSequentialSteps() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    try {
+      ConnectTimings.record(channel, FeatureNegotiatingHandler.class);
+      ConnectTimings.record(channel, ErrorMapLoadingHandler.class);
+
+      assertEquals(Duration.ZERO, ConnectTimings.pipeliningSavings(channel));
+      assertFalse(ConnectTimings.toMap(channel).containsKey(ConnectTimings.PIPELINING_SAVINGS));
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+}
@@ -27,6 +27,7 @@ import com.couchbase.client.core.endpoint.EndpointContext;
 import com.couchbase.client.core.env.Authenticator;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.env.TimeoutConfig;
+import com.couchbase.client.core.env.UserAgent;
 import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.core.util.HostAndPort;
 import com.couchbase.client.core.cnc.SimpleEventBus;
@@ -43,7 +44,10 @@ import org.junit.jupiter.api.Test;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -56,6 +60,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -65,6 +70,13 @@ import static org.mockito.Mockito.when;
  */
 class ErrorMapLoadingHandlerTest extends AbstractKeyValueEmbeddedChannelTest {
 
+  /**
+   * The features which are acknowledged in the success_hello_response.txt resource.
+   */
+  private static final Set<ServerFeature> HELLO_FEATURES = EnumSet.of(ServerFeature.TCPNODELAY,
+    ServerFeature.XATTR, ServerFeature.XERROR, ServerFeature.SELECT_BUCKET,
+    ServerFeature.SNAPPY, ServerFeature.TRACING);
+
   private EndpointContext endpointContext;
 
   @BeforeEach
@@ -76,6 +88,7 @@ class ErrorMapLoadingHandlerTest extends AbstractKeyValueEmbeddedChannelTest {
     TimeoutConfig timeoutConfig = mock(TimeoutConfig.class);
     when(env.eventBus()).thenReturn(eventBus);
     when(env.timeoutConfig()).thenReturn(timeoutConfig);
+    when(env.userAgent()).thenReturn(new UserAgent("some", Optional.empty(), Optional.empty(), Optional.empty()));
     when(timeoutConfig.connectTimeout()).thenReturn(Duration.ofMillis(1000));
     CoreContext coreContext = new CoreContext(mock(Core.class), 1, env, mock(Authenticator.class));
     endpointContext = new EndpointContext(coreContext, new HostAndPort("127.0.0.1", 1234),
@@ -359,4 +372,76 @@ class ErrorMapLoadingHandlerTest extends AbstractKeyValueEmbeddedChannelTest {
     waitUntilCondition(channelActiveFired::get);
   }
 
+  /**
+   * With a handshake cache, the cached error map is applied once the features have been negotiated, without
+   * loading it from the server again.
+   */
+  @Test
+  void appliesCachedErrorMapAfterFeatureNegotiation() {
+    NodeHandshakeCache cache = new NodeHandshakeCache();
+    ErrorMap cached = cache.errorMap(
+      endpointContext.remoteSocket(),
+      HELLO_FEATURES,
+      cache.features(endpointContext.remoteSocket(), HELLO_FEATURES, HELLO_FEATURES),
+      new ErrorMap(2, 1, Collections.emptyMap())
+    );
+
+    channel.pipeline()
+      .addLast(new FeatureNegotiatingHandler(endpointContext, HELLO_FEATURES, cache))
+      .addLast(new ErrorMapLoadingHandler(endpointContext, cache, HELLO_FEATURES));
+    ChannelFuture connectFuture = channel.connect(new InetSocketAddress("1.2.3.4", 1234));
+
+    channel.pipeline().fireChannelActive();
+    channel.runPendingTasks();
+    ByteBuf writtenRequest = channel.readOutbound();
+    verifyRequest(writtenRequest, MemcacheProtocol.Opcode.HELLO.opcode(), true, false, true);
+    ReferenceCountUtil.release(writtenRequest);
+    assertNull(channel.readOutbound());
+
+    channel.writeInbound(decodeHexDump(readResource("success_hello_response.txt", FeatureNegotiatingHandlerTest.class)));
+    channel.runPendingTasks();
+
+    assertTrue(connectFuture.isSuccess());
+    assertNull(channel.readOutbound());
+    assertSame(cached, channel.attr(ChannelAttributes.ERROR_MAP_KEY).get());
+    assertNull(channel.pipeline().get(ErrorMapLoadingHandler.class));
+  }
+
+  /**
+   * With a handshake cache but no cached error map, it is loaded after the features have been negotiated and
+   * stored for the next connection.
+   */
+  @Test
+  void loadsErrorMapAfterFeatureNegotiationIfNotCached() {
+    NodeHandshakeCache cache = new NodeHandshakeCache();
+
+    channel.pipeline()
+      .addLast(new FeatureNegotiatingHandler(endpointContext, HELLO_FEATURES, cache))
+      .addLast(new ErrorMapLoadingHandler(endpointContext, cache, HELLO_FEATURES));
+    ChannelFuture connectFuture = channel.connect(new InetSocketAddress("1.2.3.4", 1234));
+
+    channel.pipeline().fireChannelActive();
+    channel.runPendingTasks();
+    ByteBuf writtenRequest = channel.readOutbound();
+    verifyRequest(writtenRequest, MemcacheProtocol.Opcode.HELLO.opcode(), true, false, true);
+    ReferenceCountUtil.release(writtenRequest);
+    assertNull(channel.readOutbound());
+
+    channel.writeInbound(decodeHexDump(readResource("success_hello_response.txt", FeatureNegotiatingHandlerTest.class)));
+    channel.runPendingTasks();
+    assertFalse(connectFuture.isDone());
+
+    writtenRequest = channel.readOutbound();
+    verifyRequest(writtenRequest, MemcacheProtocol.Opcode.ERROR_MAP.opcode(), false, false, true);
+    ReferenceCountUtil.release(writtenRequest);
+
+    channel.writeInbound(decodeHexDump(readResource("success_errormap_response.txt", ErrorMapLoadingHandlerTest.class)));
+    channel.runPendingTasks();
+
+    assertTrue(connectFuture.isSuccess());
+    ErrorMap loaded = channel.attr(ChannelAttributes.ERROR_MAP_KEY).get();
+    assertNotNull(loaded);
+    assertSame(loaded, cache.errorMap(endpointContext.remoteSocket(), HELLO_FEATURES, HELLO_FEATURES));
+  }
+
 }
@@ -22,6 +22,9 @@ import com.couchbase.client.core.cnc.EventBus;
 import com.couchbase.client.core.cnc.events.io.DurabilityTimeoutCoercedEvent;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.deps.io.netty.buffer.CompositeByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.env.Authenticator;
@@ -32,14 +35,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Set;
 import java.util.function.Function;
 
 import static com.couchbase.client.core.util.CbCollections.setOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptySet;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -238,4 +246,55 @@ class MemcacheProtocolTest {
       assertEquals((encoded & i), encoded);
     }
   }
+
+  @Test
+  void composesLargeDirectBodies() {
+    byte[] content = new byte[MemcacheProtocol.COMPOSITE_BODY_THRESHOLD];
+    Arrays.fill(content, (byte) 'a');
+    ByteBuf body = Unpooled.directBuffer(content.length).writeBytes(content);
+
+    ByteBuf request = encodeSet(body);
+    ReferenceCountUtil.release(body);
+    try {
+      assertTrue(request instanceof CompositeByteBuf);
+      assertTrue(request.isDirect());
+      assertEquals(1, body.refCnt());
+      assertEquals(MemcacheProtocol.HEADER_SIZE + 8 + 3 + content.length, request.readableBytes());
+      assertArrayEquals(content, MemcacheProtocol.bodyAsBytes(request));
+    } finally {
+      ReferenceCountUtil.release(request);
+      assertEquals(0, body.refCnt());
+    }
+  }
+
+  @Test
+  void copiesHeapAndSmallBodies() {
+    ByteBuf heapBody = Unpooled.wrappedBuffer(new byte[MemcacheProtocol.COMPOSITE_BODY_THRESHOLD]);
+    ByteBuf smallBody = Unpooled.directBuffer().writeBytes("{}".getBytes(UTF_8));
+
+    for (ByteBuf body : Arrays.asList(heapBody, smallBody)) {
+      byte[] content = ByteBufUtil.getBytes(body);
+      ByteBuf request = encodeSet(body);
+      try {
+        assertFalse(request instanceof CompositeByteBuf);
+        assertArrayEquals(content, MemcacheProtocol.bodyAsBytes(request));
+      } finally {
+        ReferenceCountUtil.release(request);
+        assertEquals(1, body.refCnt());
+        ReferenceCountUtil.release(body);
+      }
+    }
+  }
+
+  private static ByteBuf encodeSet(final ByteBuf body) {
+    ByteBuf extras = ALLOC.buffer(8).writeInt(0).writeInt(0);
+    ByteBuf key = Unpooled.copiedBuffer("foo", UTF_8);
+    try {
+      return MemcacheProtocol.flexibleRequest(ALLOC, MemcacheProtocol.Opcode.SET, (byte) 0, (short) 0, 1, 0,
+        Unpooled.EMPTY_BUFFER, extras, key, body);
+    } finally {
+      ReferenceCountUtil.release(extras);
+      ReferenceCountUtil.release(key);
+    }
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.util.HostAndPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Verifies the functionality of the {@link NodeHandshakeCache}.
+ */
+class NodeHandshakeCacheTest {
+
+  private static final HostAndPort NODE = new HostAndPort("127.0.0.1", 11210);
+
+  private static final Set<ServerFeature> REQUESTED = EnumSet.of(
+    ServerFeature.XERROR, ServerFeature.SELECT_BUCKET, ServerFeature.COLLECTIONS
+  );
+
+  @Test
+  void sharesFeaturesAndErrorMapBetweenConnections() {
+    NodeHandshakeCache cache = new NodeHandshakeCache(16, Duration.ofMinutes(1));
+
+    Set<ServerFeature> first = cache.features(NODE, REQUESTED, EnumSet.of(ServerFeature.XERROR));
+    Set<ServerFeature> second = cache.features(NODE, REQUESTED, EnumSet.of(ServerFeature.XERROR));
+    assertSame(first, second);
+
+    assertNull(cache.errorMap(NODE, REQUESTED, second));
+    ErrorMap loaded = cache.errorMap(NODE, REQUESTED, second, errorMap(1));
+    assertSame(loaded, cache.errorMap(NODE, REQUESTED, second, errorMap(1)));
+    assertSame(loaded, cache.errorMap(NODE, REQUESTED, second));
+  }
+
+  @Test
+  void keepsEntriesPerRequestedFeatures() {
+    NodeHandshakeCache cache = new NodeHandshakeCache(16, Duration.ofMinutes(1));
+    Set<ServerFeature> otherRequested = EnumSet.of(ServerFeature.XERROR);
+
+    Set<ServerFeature> features = cache.features(NODE, REQUESTED, EnumSet.of(ServerFeature.XERROR));
+    ErrorMap loaded = cache.errorMap(NODE, REQUESTED, features, errorMap(1));
+
+    // A core which requests other features negotiates on its own and does not replace the entry.
+    Set<ServerFeature> otherFeatures = cache.features(NODE, otherRequested, EnumSet.of(ServerFeature.XERROR));
+    assertNull(cache.errorMap(NODE, otherRequested, otherFeatures));
+    assertSame(loaded, cache.errorMap(NODE, REQUESTED, features));
+  }
+
+  @Test
+  void dropsErrorMapWhenNegotiatedFeaturesChange() {
+    NodeHandshakeCache cache = new NodeHandshakeCache(16, Duration.ofMinutes(1));
+
+    Set<ServerFeature> features = cache.features(NODE, REQUESTED, EnumSet.of(ServerFeature.XERROR));
+    cache.errorMap(NODE, REQUESTED, features, errorMap(1));
+
+    Set<ServerFeature> upgraded = EnumSet.of(ServerFeature.XERROR, ServerFeature.COLLECTIONS);
+    assertNull(cache.errorMap(NODE, REQUESTED, upgraded));
+    cache.features(NODE, REQUESTED, upgraded);
+    assertNull(cache.errorMap(NODE, REQUESTED, upgraded));
+    assertNull(cache.errorMap(NODE, REQUESTED, features));
+  }
+
+  @Test
+  void doesNotCacheErrorMapOfOutdatedConnection() {
+    NodeHandshakeCache cache = new NodeHandshakeCache(16, Duration.ofMinutes(1));
+
+    Set<ServerFeature> upgraded = cache.features(NODE, REQUESTED, EnumSet.of(ServerFeature.XERROR, ServerFeature.COLLECTIONS));
+    ErrorMap loaded = errorMap(1);
+    assertSame(loaded, cache.errorMap(NODE, REQUESTED, EnumSet.of(ServerFeature.XERROR), loaded));
+    assertNull(cache.errorMap(NODE, REQUESTED, upgraded));
+  }
+
+  @Test
+  void expiresEntries() {
+    NodeHandshakeCache cache = new NodeHandshakeCache(16, Duration.ZERO);
+
+    Set<ServerFeature> features = cache.features(NODE, REQUESTED, EnumSet.of(ServerFeature.XERROR));
+    assertEquals(features, cache.features(NODE, REQUESTED, EnumSet.of(ServerFeature.XERROR)));
+    cache.errorMap(NODE, REQUESTED, features, errorMap(1));
+    assertNull(cache.errorMap(NODE, REQUESTED, features));
+  }
+
+  private static ErrorMap errorMap(final int revision) {
+    return new ErrorMap(2, revision, Collections.emptyMap());
+  }
+
+}
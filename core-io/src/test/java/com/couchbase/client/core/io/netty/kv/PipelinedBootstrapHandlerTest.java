@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelDuplexHandler;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelOutboundHandlerAdapter;
+import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifies the functionality of the {@link PipelinedBootstrapHandler}.
+ */
+class PipelinedBootstrapHandlerTest {
+
+  private EmbeddedChannel channel;
+  private AtomicInteger flushes;
+
+  @BeforeEach
+  void setup() {
+    channel = new EmbeddedChannel();
+    flushes = new AtomicInteger();
+    channel.pipeline().addLast(new ChannelOutboundHandlerAdapter() {
+      @Override
+      public void flush(final ChannelHandlerContext ctx) throws Exception {
+        flushes.incrementAndGet();
+        super.flush(ctx);
+      }
+    });
+  }
+
+  @AfterEach
+  void teardown() {
+    channel.finishAndReleaseAll();
+  }
+
+  /**
+   * All requests written while the channel becomes active must be sent with a single flush.
+   */
+  @Test
+  void flushesHandshakeRequestsOnce() {
+    channel.pipeline()
+      .addLast(new PipelinedBootstrapHandler())
+      .addLast(new WritingHandler())
+      .addLast(new WritingHandler())
+      .addLast(new WritingHandler());
+
+    channel.pipeline().fireChannelActive();
+
+    assertEquals(1, flushes.get());
+    assertEquals(3, channel.outboundMessages().size());
+    assertNull(channel.pipeline().get(PipelinedBootstrapHandler.class));
+  }
+
+  /**
+   * Once the handshake requests are flushed, later writes (like further SASL steps) must not be held back.
+   */
+  @Test
+  void doesNotHoldBackLaterFlushes() {
+    channel.pipeline()
+      .addLast(new PipelinedBootstrapHandler())
+      .addLast(new WritingHandler());
+
+    channel.pipeline().fireChannelActive();
+    channel.writeAndFlush(Unpooled.buffer());
+
+    assertEquals(2, flushes.get());
+    assertEquals(2, channel.outboundMessages().size());
+  }
+
+  /**
+   * Writes and flushes a request on channel active and propagates the event right away.
+   */
+  private static class WritingHandler extends ChannelDuplexHandler {
+    @Override
+    public void channelActive(final ChannelHandlerContext ctx) {
+      ctx.writeAndFlush(Unpooled.buffer());
+      ctx.fireChannelActive();
+    }
+  }
+
+}
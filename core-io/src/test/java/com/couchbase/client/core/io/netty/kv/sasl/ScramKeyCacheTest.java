@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv.sasl;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.NameCallback;
+import javax.security.auth.callback.PasswordCallback;
+import javax.security.sasl.SaslException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link ScramKeyCache} and its use by the {@link ScramSaslClient}.
+ */
+class ScramKeyCacheTest {
+
+  private static final byte[] SALT = "salt".getBytes(UTF_8);
+  private static final int ITERATIONS = 4096;
+
+  @Test
+  void evictsLeastRecentlyUsedAndWipesKeys() {
+    ScramKeyCache cache = new ScramKeyCache(2, Duration.ofMinutes(1));
+    byte[] fingerprint = {1};
+    byte[] clientKey = {2};
+
+    cache.put(key("a"), fingerprint, clientKey, new byte[] {3});
+    cache.put(key("b"), fingerprint, clientKey, new byte[] {3});
+    assertArrayEquals(clientKey, cache.get(key("a"), fingerprint)[0]);
+    cache.put(key("c"), fingerprint, clientKey, new byte[] {3});
+
+    assertEquals(2, cache.size());
+    assertTrue(cache.contains(key("a"), fingerprint));
+    assertFalse(cache.contains(key("b"), fingerprint));
+    assertTrue(cache.contains(key("c"), fingerprint));
+  }
+
+  @Test
+  void expiresEntries() {
+    ScramKeyCache cache = new ScramKeyCache(2, Duration.ZERO);
+    cache.put(key("a"), new byte[] {1}, new byte[] {2}, new byte[] {3});
+    assertFalse(cache.contains(key("a"), new byte[] {1}));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void requiresMatchingPassword() {
+    ScramKeyCache cache = new ScramKeyCache(2, Duration.ofMinutes(1));
+    cache.put(key("a"), new byte[] {1}, new byte[] {2}, new byte[] {3});
+    assertNull(cache.get(key("a"), new byte[] {9}));
+    assertNull(cache.get(new ScramKeyCache.Key("SCRAM-SHA256", "a", SALT, ITERATIONS + 1), new byte[] {1}));
+  }
+
+  @Test
+  void reusesDerivedKeysAcrossClients() throws Exception {
+    ScramKeyCache cache = new ScramKeyCache(8, Duration.ofMinutes(1));
+    AtomicReference<String> password = new AtomicReference<>("password");
+
+    assertTrue(authenticate(cache, password));
+    assertEquals(1, cache.size());
+    assertFalse(authenticate(cache, password));
+
+    password.set("changed");
+    assertTrue(authenticate(cache, password));
+    assertFalse(authenticate(cache, password));
+  }
+
+  @Test
+  void rejectsWrongServerSignature() throws Exception {
+    ScramKeyCache cache = new ScramKeyCache(8, Duration.ofMinutes(1));
+    ScramSaslClient client = client(cache, new AtomicReference<>("password"));
+    client.evaluateChallenge(serverFirst(start(client)).getBytes(UTF_8));
+
+    assertThrows(
+      SaslException.class,
+      () -> client.evaluateChallenge("v=AAAA".getBytes(UTF_8))
+    );
+  }
+
+  /**
+   * Runs a full SCRAM-SHA256 exchange and returns if the keys had to be derived off the event loop.
+   */
+  private static boolean authenticate(final ScramKeyCache cache, final AtomicReference<String> password)
+    throws Exception {
+    ScramSaslClient client = client(cache, password);
+    String clientNonce = start(client);
+    String clientFirstBare = "n=user,r=" + clientNonce;
+    String serverFirst = serverFirst(clientNonce);
+
+    boolean deferred = client.shouldEvaluateOffEventLoop(serverFirst.getBytes(UTF_8));
+    String clientFinal = new String(client.evaluateChallenge(serverFirst.getBytes(UTF_8)), UTF_8);
+    String clientFinalNoProof = clientFinal.substring(0, clientFinal.indexOf(",p="));
+
+    byte[] saltedPassword = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+      .generateSecret(new PBEKeySpec(password.get().toCharArray(), SALT, ITERATIONS, 256))
+      .getEncoded();
+    String authMessage = clientFirstBare + "," + serverFirst + "," + clientFinalNoProof;
+    byte[] serverSignature = hmac(hmac(saltedPassword, "Server Key".getBytes(UTF_8)), authMessage.getBytes(UTF_8));
+
+    client.evaluateChallenge(("v=" + Base64.getEncoder().encodeToString(serverSignature)).getBytes(UTF_8));
+    assertTrue(client.isComplete());
+    return deferred;
+  }
+
+  private static ScramSaslClient client(final ScramKeyCache cache, final AtomicReference<String> password)
+    throws Exception {
+    CallbackHandler callbacks = (Callback[] cbs) -> {
+      for (Callback cb : cbs) {
+        if (cb instanceof NameCallback) {
+          ((NameCallback) cb).setName("user");
+        } else if (cb instanceof PasswordCallback) {
+          ((PasswordCallback) cb).setPassword(password.get().toCharArray());
+        }
+      }
+    };
+    return new ScramSaslClient(ScramSaslClientFactory.Mode.SCRAM_SHA256, callbacks, cache);
+  }
+
+  /**
+   * Sends the client-first-message and returns the client nonce from it.
+   */
+  private static String start(final ScramSaslClient client) throws Exception {
+    assertFalse(client.shouldEvaluateOffEventLoop(new byte[0]));
+    String clientFirst = new String(client.evaluateChallenge(new byte[0]), UTF_8);
+    return clientFirst.substring(clientFirst.indexOf(",r=") + 3);
+  }
+
+  private static String serverFirst(final String clientNonce) {
+    return "r=" + clientNonce + "server,s=" + Base64.getEncoder().encodeToString(SALT) + ",i=" + ITERATIONS;
+  }
+
+  private static byte[] hmac(final byte[] key, final byte[] data) throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(key, "HmacSHA256"));
+    return mac.doFinal(data);
+  }
+
+  private static ScramKeyCache.Key key(final String user) {
+    return new ScramKeyCache.Key("SCRAM-SHA256", user, SALT, ITERATIONS);
+  }
+
+}
@@ -241,6 +241,26 @@ class CompressionTest {
     ReferenceCountUtil.release(encoded);
   }
 
+  @Test
+  void doesNotCompressBufferContentUpsert() {
+    ByteBuf content = Unpooled.directBuffer(longContent.length).writeBytes(longContent);
+    UpsertRequest request = new UpsertRequest(key, content, expiry, preserveExpiry, flags, timeout,
+      coreContext, cid, retryStrategy, durability, null);
+
+    // The same buffer is sent on every attempt, and only released once the request completes.
+    for (int i = 0; i < 2; i++) {
+      ByteBuf encoded = request.encode(allocator, 0, ctx(true));
+      assertEquals(0, datatype(encoded));
+      assertEquals(Unpooled.wrappedBuffer(longContent), rawBody(encoded).get());
+
+      ReferenceCountUtil.release(encoded);
+      assertEquals(1, content.refCnt());
+    }
+
+    request.fail(new RuntimeException());
+    assertEquals(0, content.refCnt());
+  }
+
   private KeyValueChannelContext ctx(boolean enabled) {
     return new KeyValueChannelContext(
       CompressionConfig.builder().enable(enabled).build(),
@@ -20,6 +20,7 @@ import com.couchbase.client.core.Core;
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.config.ClusterConfig;
 import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.config.MemcachedBucketConfig;
 import com.couchbase.client.core.config.NodeInfo;
 import com.couchbase.client.core.env.Authenticator;
 import com.couchbase.client.core.env.CoreEnvironment;
@@ -37,6 +38,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -81,6 +83,19 @@ class KeyValueLocatorTest {
     verify(node2Mock, never()).send(getRequestMock);
   }
 
+  @Test
+  void activeNodeIndexForKey() {
+    CouchbaseBucketConfig bucketMock = mock(CouchbaseBucketConfig.class);
+    when(bucketMock.numberOfPartitions()).thenReturn(1024);
+    when(bucketMock.nodeIndexForActive(656, false)).thenReturn((short) 1);
+    assertEquals(1, KeyValueLocator.activeNodeIndexForKey("key", bucketMock));
+
+    when(bucketMock.numberOfPartitions()).thenReturn(0);
+    assertEquals(-1, KeyValueLocator.activeNodeIndexForKey("key", bucketMock));
+
+    assertEquals(-1, KeyValueLocator.activeNodeIndexForKey("key", mock(MemcachedBucketConfig.class)));
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   void pickFastForwardIfAvailableAndNmvbSeen() {
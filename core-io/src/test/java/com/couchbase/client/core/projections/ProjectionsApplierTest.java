@@ -25,12 +25,17 @@ import com.couchbase.client.core.msg.kv.SubdocCommandType;
 import com.couchbase.client.core.msg.kv.SubdocGetResponse;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
 import static com.couchbase.client.core.util.CbCollections.mapOf;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ProjectionsApplierTest {
   @Test
@@ -87,6 +92,80 @@ class ProjectionsApplierTest {
     );
   }
 
+  @Test
+  void arrays() {
+    check(
+        mapOf(
+            "l1[0]", "\"v1\"",
+            "k2", "[1,2]"),
+        mapOf(
+            "l1", asList("v1"),
+            "k2", asList(1, 2))
+    );
+  }
+
+  @Test
+  void nestsIntoPreviousFragment() {
+    Map<String, byte[]> fields = new LinkedHashMap<>();
+    fields.put("l1", "{\"k1\":\"v1\",\"k2\":{\"k3\":3}}".getBytes(UTF_8));
+    fields.put("l1.k4", "4".getBytes(UTF_8));
+
+    assertEquals(
+        Mapper.convertValue(
+            mapOf(
+                "l1", mapOf(
+                    "k1", "v1",
+                    "k2", mapOf("k3", 3),
+                    "k4", 4
+                )),
+            JsonNode.class),
+        Mapper.decodeIntoTree(ProjectionsApplier.reconstructDocument(fields)));
+  }
+
+  @Test
+  void splicesFragmentsVerbatim() {
+    Map<String, byte[]> fields = new LinkedHashMap<>();
+    fields.put("geo.lat", "49.282730".getBytes(UTF_8));
+    fields.put("geo.name", "\"Caf\\u00e9 \\\"Z\\\"\"".getBytes(UTF_8));
+    fields.put("raw", "{ \"a\" : 1 }".getBytes(UTF_8));
+
+    assertEquals(
+        "{\"geo\":{\"lat\":49.282730,\"name\":\"Caf\\u00e9 \\\"Z\\\"\"},\"raw\":{ \"a\" : 1 }}",
+        new String(ProjectionsApplier.reconstructDocument(fields), UTF_8));
+  }
+
+  @Test
+  void extractsPathsFromDocument() {
+    byte[] document = ("{\"k3\":true,\"k4\":[1,2],\"l1\":{\"k2\":\"v2\",\"l2\":{\"k1\":\"v1\",\"k5\":5}},"
+        + "\"a/b\":{\"c~d\":null}}").getBytes(UTF_8);
+
+    byte[] result = ProjectionsApplier.extract(document, asList("l1.l2.k1", "l1.k2", "k3", "k4", "a/b.c~d", "missing"));
+
+    assertEquals(
+        Mapper.convertValue(
+            mapOf(
+                "k3", true,
+                "k4", asList(1, 2),
+                "l1", mapOf(
+                    "k2", "v2",
+                    "l2", mapOf(
+                        "k1", "v1"
+                    )
+                ),
+                "a/b", singletonMap("c~d", null)),
+            JsonNode.class),
+        Mapper.decodeIntoTree(result));
+  }
+
+  @Test
+  void canOnlyExtractPlainNonOverlappingPaths() {
+    assertTrue(ProjectionsApplier.canExtract(asList("l1.k1", "l1.k2", "l10")));
+    assertFalse(ProjectionsApplier.canExtract(asList("l1", "l1.k2")));
+    assertFalse(ProjectionsApplier.canExtract(asList("l1", "l1")));
+    assertFalse(ProjectionsApplier.canExtract(asList("l1[0]", "k2")));
+    assertFalse(ProjectionsApplier.canExtract(asList("`l1.k1`", "k2")));
+  }
+
   private static void check(Map<String, String> subdocResponseFields,
                             Map<String, Object> expectedJson) {
     byte[] result = ProjectionsApplier.reconstructDocument(response(subdocResponseFields));
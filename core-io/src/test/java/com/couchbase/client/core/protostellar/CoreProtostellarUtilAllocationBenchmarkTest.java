@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.protostellar;
+
+import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
+import com.couchbase.client.protostellar.kv.v1.GetResponse;
+import com.couchbase.client.protostellar.kv.v1.UpsertRequest;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the bytes allocated per conversion of a 64KiB document between copying the content and passing it
+ * through with {@link CoreProtostellarUtil#wrap(byte[])} and {@link CoreProtostellarUtil#unwrap(ByteString)}.
+ * <p>
+ * The numbers depend on the JVM and are only reported at INFO level, not asserted, so run it manually (with the
+ * logger of this class at INFO) when changing the conversion.
+ */
+@Disabled // Disabled as this is for manual testing only
+class CoreProtostellarUtilAllocationBenchmarkTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CoreProtostellarUtilAllocationBenchmarkTest.class);
+
+  private static final int DOCUMENT_SIZE = 64 * 1024;
+  private static final int ITERATIONS = 1_000;
+
+  @Test
+  void compareBytesPerOp() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+    assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+    byte[] content = new byte[DOCUMENT_SIZE];
+    GetResponse response = GetResponse.newBuilder().setContentUncompressed(ByteString.copyFrom(content)).build();
+
+    long copiedRequest = bytesPerOp(threads, () -> upsert(ByteString.copyFrom(content)));
+    long wrappedRequest = bytesPerOp(threads, () -> upsert(CoreProtostellarUtil.wrap(content)));
+    long copiedResponse = bytesPerOp(threads, () -> response.getContentUncompressed().toByteArray());
+    long unwrappedResponse = bytesPerOp(threads, () -> CoreProtostellarUtil.unwrap(response.getContentUncompressed()));
+
+    LOGGER.info("Bytes/op for a {} byte document:\n  request:  copyFrom={} wrap={}\n  response: toByteArray={} unwrap={}",
+      DOCUMENT_SIZE, copiedRequest, wrappedRequest, copiedResponse, unwrappedResponse);
+  }
+
+  private static UpsertRequest upsert(ByteString content) {
+    return UpsertRequest.newBuilder()
+      .setBucketName("default")
+      .setScopeName("_default")
+      .setCollectionName("_default")
+      .setKey("id")
+      .setContentUncompressed(content)
+      .build();
+  }
+
+  private static long bytesPerOp(com.sun.management.ThreadMXBean threads, Supplier<Object> op) {
+    long threadId = Thread.currentThread().getId();
+    Object sink = null;
+    // Warm up, so the measured iterations do not include class loading and compilation.
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink = op.get();
+    }
+
+    long start = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink = op.get();
+    }
+    long allocated = threads.getThreadAllocatedBytes(threadId) - start;
+
+    if (sink == null) {
+      throw new IllegalStateException("Operation returned null");
+    }
+    return allocated / ITERATIONS;
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.protostellar;
+
+import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
+import com.couchbase.client.protostellar.kv.v1.GetResponse;
+import com.couchbase.client.protostellar.kv.v1.UpsertRequest;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CoreProtostellarUtilTest {
+
+  private static final int DOCUMENT_SIZE = 64 * 1024;
+
+  @Test
+  void wrapsContentWithoutCopying() {
+    byte[] content = "{\"foo\":\"bar\"}".getBytes(UTF_8);
+
+    UpsertRequest request = UpsertRequest.newBuilder()
+      .setKey("id")
+      .setContentUncompressed(CoreProtostellarUtil.wrap(content))
+      .build();
+
+    assertSame(content, CoreProtostellarUtil.unwrap(request.getContentUncompressed()));
+  }
+
+  @Test
+  void unwrapsParsedContentWithoutCopying() throws Exception {
+    byte[] content = "{\"foo\":\"bar\"}".getBytes(UTF_8);
+    byte[] wire = GetResponse.newBuilder().setContentUncompressed(ByteString.copyFrom(content)).build().toByteArray();
+
+    GetResponse response = GetResponse.parseFrom(wire);
+    byte[] unwrapped = CoreProtostellarUtil.unwrap(response.getContentUncompressed());
+
+    assertArrayEquals(content, unwrapped);
+    assertSame(unwrapped, CoreProtostellarUtil.unwrap(response.getContentUncompressed()));
+  }
+
+  @Test
+  void copiesContentNotBackedByOwnArray() {
+    ByteString substring = ByteString.copyFromUtf8("hello world").substring(6);
+    assertArrayEquals("world".getBytes(UTF_8), CoreProtostellarUtil.unwrap(substring));
+
+    ByteString concatenated = ByteString.copyFromUtf8("hello ").concat(ByteString.copyFromUtf8("world"));
+    assertArrayEquals("hello world".getBytes(UTF_8), CoreProtostellarUtil.unwrap(concatenated));
+
+    assertEquals(0, CoreProtostellarUtil.unwrap(ByteString.EMPTY).length);
+  }
+
+  @Test
+  void passesLargeDocumentsThroughWithoutCopying() throws Exception {
+    byte[] content = new byte[DOCUMENT_SIZE];
+    content[DOCUMENT_SIZE - 1] = 1;
+
+    UpsertRequest request = upsert(CoreProtostellarUtil.wrap(content));
+    assertSame(content, CoreProtostellarUtil.unwrap(request.getContentUncompressed()));
+
+    UpsertRequest parsed = UpsertRequest.parseFrom(request.toByteArray());
+    byte[] unwrapped = CoreProtostellarUtil.unwrap(parsed.getContentUncompressed());
+    assertArrayEquals(content, unwrapped);
+    assertSame(unwrapped, CoreProtostellarUtil.unwrap(parsed.getContentUncompressed()));
+  }
+
+  private static UpsertRequest upsert(ByteString content) {
+    return UpsertRequest.newBuilder()
+      .setBucketName("default")
+      .setScopeName("_default")
+      .setCollectionName("_default")
+      .setKey("id")
+      .setContentUncompressed(content)
+      .build();
+  }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.protostellar;
+
+import com.couchbase.client.core.CoreKeyspace;
+import com.couchbase.client.core.CoreProtostellar;
+import com.couchbase.client.core.api.kv.CoreGetResult;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.deps.com.google.protobuf.ByteString;
+import com.couchbase.client.core.env.CompressionConfig;
+import com.couchbase.client.core.protostellar.kv.CoreProtostellarKeyValueResponses;
+import com.couchbase.client.protostellar.kv.v1.CompressionEnabled;
+import com.couchbase.client.protostellar.kv.v1.GetResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProtostellarCompressionTest {
+
+  private static final CoreKeyspace KEYSPACE = new CoreKeyspace("bucket", "_default", "_default");
+  private static final byte[] COMPRESSIBLE = repeat("{\"name\":\"couchbase\"}", 50);
+
+  private static byte[] repeat(String input, int times) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      sb.append(input);
+    }
+    return sb.toString().getBytes(UTF_8);
+  }
+
+  private static ProtostellarCompression compression(CompressionConfig.Builder builder) {
+    return new ProtostellarCompression(builder.build(), NoopMeter.INSTANCE);
+  }
+
+  @Test
+  void compressesEligibleContent() {
+    ProtostellarCompression compression = compression(CompressionConfig.builder());
+
+    byte[] compressed = compression.compress(COMPRESSIBLE);
+    assertNotNull(compressed);
+    assertTrue(compressed.length < COMPRESSIBLE.length);
+    assertArrayEquals(COMPRESSIBLE, compression.decompress(compressed));
+    assertEquals(CompressionEnabled.COMPRESSION_ENABLED_OPTIONAL, compression.readMode());
+  }
+
+  @Test
+  void skipsContentBelowMinSize() {
+    ProtostellarCompression compression = compression(CompressionConfig.builder().minSize(COMPRESSIBLE.length + 1));
+    assertNull(compression.compress(COMPRESSIBLE));
+  }
+
+  @Test
+  void skipsContentNotMeetingMinRatio() {
+    byte[] random = new byte[1024];
+    new Random(42).nextBytes(random);
+
+    ProtostellarCompression compression = compression(CompressionConfig.builder());
+    assertNull(compression.compress(random));
+  }
+
+  @Test
+  void skipsWhenDisabled() {
+    ProtostellarCompression compression = compression(CompressionConfig.builder().enable(false));
+    assertNull(compression.compress(COMPRESSIBLE));
+    assertNull(compression.readMode());
+  }
+
+  @Test
+  void decompressesResponseContentLazily() {
+    ProtostellarCompression compression = spy(compression(CompressionConfig.builder()));
+    CoreProtostellar core = mock(CoreProtostellar.class);
+    when(core.compression()).thenReturn(compression);
+
+    byte[] compressed = compression.compress(COMPRESSIBLE);
+    GetResponse response = GetResponse.newBuilder()
+      .setContentCompressed(ByteString.copyFrom(compressed))
+      .build();
+
+    CoreGetResult result = CoreProtostellarKeyValueResponses.convertResponse(core, KEYSPACE, "key", response);
+    verify(compression, never()).decompress(any());
+
+    assertArrayEquals(COMPRESSIBLE, result.content());
+    assertArrayEquals(COMPRESSIBLE, result.content());
+    verify(compression, times(1)).decompress(any());
+  }
+
+  @Test
+  void decompressesOnceUnderConcurrentAccess() throws Exception {
+    ProtostellarCompression compression = spy(compression(CompressionConfig.builder()));
+    CoreProtostellar core = mock(CoreProtostellar.class);
+    when(core.compression()).thenReturn(compression);
+
+    GetResponse response = GetResponse.newBuilder()
+      .setContentCompressed(ByteString.copyFrom(compression.compress(COMPRESSIBLE)))
+      .build();
+    CoreGetResult result = CoreProtostellarKeyValueResponses.convertResponse(core, KEYSPACE, "key", response);
+
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<byte[]>> contents = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        contents.add(executor.submit(() -> {
+          start.await();
+          return result.content();
+        }));
+      }
+      start.countDown();
+      for (Future<byte[]> content : contents) {
+        assertArrayEquals(COMPRESSIBLE, content.get(10, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(compression, times(1)).decompress(any());
+  }
+
+  @Test
+  void passesUncompressedResponseContentThrough() {
+    CoreProtostellar core = mock(CoreProtostellar.class);
+    byte[] content = Arrays.copyOf(COMPRESSIBLE, 10);
+    GetResponse response = GetResponse.newBuilder()
+      .setContentUncompressed(ByteString.copyFrom(content))
+      .build();
+
+    CoreGetResult result = CoreProtostellarKeyValueResponses.convertResponse(core, KEYSPACE, "key", response);
+    assertArrayEquals(content, result.content());
+  }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.retry;
+
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.node.NodeIdentifier;
+import com.couchbase.client.core.util.HostAndPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link JitteredRetryStrategy}.
+ */
+class JitteredRetryStrategyTest {
+
+  private static final NodeIdentifier NODE1 = new NodeIdentifier("node1", 8091);
+  private static final NodeIdentifier NODE2 = new NodeIdentifier("node2", 8091);
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void jittersDelaysWithinBounds() throws Exception {
+    JitteredRetryStrategy strategy = new JitteredRetryStrategy(JitteredRetryStrategy.builder()
+      .defaultPolicy(JitteredRetryStrategy.Policy.jittered(Duration.ofMillis(10), Duration.ofMillis(100))), now::get);
+
+    Set<Duration> delays = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      Duration delay = delay(strategy, request(NODE1, Duration.ofMillis(20)), RetryReason.ENDPOINT_NOT_AVAILABLE);
+      assertTrue(delay.compareTo(Duration.ofMillis(10)) >= 0);
+      assertTrue(delay.compareTo(Duration.ofMillis(60)) <= 0);
+      delays.add(delay);
+    }
+    assertTrue(delays.size() > 1);
+
+    for (int i = 0; i < 100; i++) {
+      Duration delay = delay(strategy, request(NODE1, Duration.ofMillis(90)), RetryReason.ENDPOINT_NOT_AVAILABLE);
+      assertTrue(delay.compareTo(Duration.ofMillis(100)) <= 0);
+    }
+  }
+
+  @Test
+  void appliesPolicyPerReason() throws Exception {
+    JitteredRetryStrategy strategy = new JitteredRetryStrategy(JitteredRetryStrategy.builder()
+      .policy(RetryReason.KV_LOCKED, JitteredRetryStrategy.Policy.noRetry())
+      .policy(RetryReason.KV_TEMPORARY_FAILURE,
+        JitteredRetryStrategy.Policy.jittered(Duration.ofSeconds(1), Duration.ofSeconds(1))), now::get);
+
+    assertFalse(strategy.shouldRetry(request(NODE1, null), RetryReason.KV_LOCKED).get().duration().isPresent());
+    assertEquals(Duration.ofSeconds(1), delay(strategy, request(NODE1, null), RetryReason.KV_TEMPORARY_FAILURE));
+  }
+
+  @Test
+  void failsFastOnceBudgetIsExhausted() throws Exception {
+    JitteredRetryStrategy strategy = new JitteredRetryStrategy(JitteredRetryStrategy.builder()
+      .retryBudget(2, 1), now::get);
+
+    assertTrue(retries(strategy, NODE1, RetryReason.ENDPOINT_NOT_AVAILABLE));
+    assertTrue(retries(strategy, NODE1, RetryReason.ENDPOINT_NOT_AVAILABLE));
+    assertFalse(retries(strategy, NODE1, RetryReason.ENDPOINT_NOT_AVAILABLE));
+
+    // Every node has its own budget, and reasons which wait for the SDK itself do not take from it.
+    assertTrue(retries(strategy, NODE2, RetryReason.ENDPOINT_NOT_AVAILABLE));
+    assertTrue(retries(strategy, NODE1, RetryReason.BUCKET_OPEN_IN_PROGRESS));
+
+    now.addAndGet(Duration.ofSeconds(1).toNanos());
+    assertTrue(retries(strategy, NODE1, RetryReason.ENDPOINT_NOT_AVAILABLE));
+    assertFalse(retries(strategy, NODE1, RetryReason.ENDPOINT_NOT_AVAILABLE));
+  }
+
+  @Test
+  void doesNotBudgetRequestsWhichAreNotRoutedToANode() throws Exception {
+    JitteredRetryStrategy strategy = new JitteredRetryStrategy(JitteredRetryStrategy.builder()
+      .retryBudget(1, 0), now::get);
+
+    assertTrue(retries(strategy, NODE1, RetryReason.ENDPOINT_NOT_AVAILABLE));
+    assertFalse(retries(strategy, NODE1, RetryReason.ENDPOINT_NOT_AVAILABLE));
+
+    // Requests which have never been routed to a node neither share a budget nor take from any.
+    for (int i = 0; i < 3; i++) {
+      assertTrue(retries(strategy, null, RetryReason.ENDPOINT_NOT_AVAILABLE));
+      assertTrue(retries(strategy, null, RetryReason.NODE_NOT_AVAILABLE));
+    }
+
+    // The node a request was dispatched to before is not charged if it could not be routed this time.
+    assertTrue(retries(strategy, NODE1, RetryReason.NODE_NOT_AVAILABLE));
+    assertTrue(retries(strategy, NODE1, RetryReason.SERVICE_NOT_AVAILABLE));
+  }
+
+  @Test
+  void chargesTheNodeTheRequestIsRoutedTo() throws Exception {
+    JitteredRetryStrategy strategy = new JitteredRetryStrategy(JitteredRetryStrategy.builder()
+      .retryBudget(1, 0), now::get);
+
+    assertTrue(retries(strategy, NODE1, RetryReason.ENDPOINT_NOT_AVAILABLE));
+
+    // Last written to a socket of the first node, but routed to the second one now.
+    Request<?> rerouted = request(NODE2, null);
+    when(rerouted.context().lastDispatchedTo()).thenReturn(new HostAndPort(NODE1.address(), 11210));
+    assertTrue(strategy.shouldRetry(rerouted, RetryReason.ENDPOINT_NOT_AVAILABLE).get().duration().isPresent());
+    assertFalse(retries(strategy, NODE2, RetryReason.ENDPOINT_NOT_AVAILABLE));
+
+    // Targeted requests are charged to their target, even before they are routed.
+    Request<?> targeted = request(null, null);
+    when(targeted.target()).thenReturn(NODE1);
+    assertFalse(strategy.shouldRetry(targeted, RetryReason.NODE_NOT_AVAILABLE).get().duration().isPresent());
+  }
+
+  @Test
+  void doesNotRetryNonIdempotentRequestsIfReasonDisallows() throws Exception {
+    Request<?> request = request(NODE1, null);
+    when(request.idempotent()).thenReturn(false);
+
+    RetryAction action = JitteredRetryStrategy.INSTANCE
+      .shouldRetry(request, RetryReason.CHANNEL_CLOSED_WHILE_IN_FLIGHT).get();
+    assertFalse(action.duration().isPresent());
+  }
+
+  @Test
+  void jittersReasonsWhichAreAlwaysRetried() {
+    JitteredRetryStrategy strategy = new JitteredRetryStrategy(JitteredRetryStrategy.builder()
+      .retryBudget(1, 0), now::get);
+
+    for (int i = 0; i < 10; i++) {
+      Duration delay = strategy.alwaysRetryDelay(request(NODE1, Duration.ofMillis(100)), RetryReason.KV_NOT_MY_VBUCKET);
+      assertTrue(delay.compareTo(Duration.ofMillis(1)) >= 0);
+      assertTrue(delay.compareTo(Duration.ofMillis(300)) <= 0);
+    }
+  }
+
+  private static boolean retries(final JitteredRetryStrategy strategy, final NodeIdentifier node,
+                                 final RetryReason reason) throws Exception {
+    return strategy.shouldRetry(request(node, null), reason).get().duration().isPresent();
+  }
+
+  private static Duration delay(final JitteredRetryStrategy strategy, final Request<?> request,
+                                final RetryReason reason) throws Exception {
+    return strategy.shouldRetry(request, reason).get().duration().get();
+  }
+
+  private static Request<?> request(final NodeIdentifier node, final Duration lastRetryDuration) {
+    Request<?> request = mock(Request.class);
+    RequestContext ctx = mock(RequestContext.class);
+    when(request.idempotent()).thenReturn(true);
+    when(request.context()).thenReturn(ctx);
+    when(ctx.lastDispatchedToNode()).thenReturn(node);
+    when(ctx.lastRetryDuration()).thenReturn(lastRetryDuration);
+    return request;
+  }
+
+}
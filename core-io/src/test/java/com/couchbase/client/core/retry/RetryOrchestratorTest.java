@@ -186,4 +186,36 @@ class RetryOrchestratorTest {
     assertEquals(RetryReason.UNKNOWN, retryEvent.retryReason());
   }
 
+  @Test
+  @SuppressWarnings({"unchecked"})
+  void asksStrategyForDelayOfReasonsWhichAreAlwaysRetried() {
+    Timer timer = Timer.createAndStart(CoreEnvironment.DEFAULT_MAX_NUM_REQUESTS_IN_RETRY);
+
+    RetryStrategy retryStrategy = mock(RetryStrategy.class);
+    when(retryStrategy.alwaysRetryDelay(any(Request.class), eq(RetryReason.KV_NOT_MY_VBUCKET)))
+      .thenReturn(Duration.ofMillis(20));
+    Request<?> request = mock(Request.class);
+    RequestContext requestContext = mock(RequestContext.class);
+    when(request.completed()).thenReturn(false);
+    when(request.context()).thenReturn(requestContext);
+    when(request.retryStrategy()).thenReturn(retryStrategy);
+    when(request.absoluteTimeout()).thenReturn(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2500));
+
+    Core core = mock(Core.class);
+    CoreEnvironment env = mock(CoreEnvironment.class);
+    when(env.timer()).thenReturn(timer);
+    when(env.eventBus()).thenReturn(new SimpleEventBus(true));
+
+    CoreContext ctx = new CoreContext(core, 1, env, mock(Authenticator.class));
+    RetryOrchestrator.maybeRetry(ctx, request, RetryReason.KV_NOT_MY_VBUCKET);
+
+    verify(requestContext, times(1))
+      .incrementRetryAttempts(Duration.ofMillis(20), RetryReason.KV_NOT_MY_VBUCKET);
+    verify(retryStrategy, never()).shouldRetry(any(Request.class), any(RetryReason.class));
+
+    waitUntilCondition(() -> !Mockito.mockingDetails(core).getInvocations().isEmpty());
+    verify(core, times(1)).send(request, false);
+    timer.stop();
+  }
+
 }
@@ -732,6 +732,54 @@ class PooledServiceTest {
     verify(mock1, atLeastOnce()).disconnect();
   }
 
+  /**
+   * With the warm pool enabled, an endpoint which was just used is kept past its idle time and another one is
+   * connected ahead of demand.
+   */
+  @Test
+  void keepsRecentlyUsedEndpointsWarm() throws Exception {
+    Endpoint mock1 = mock(Endpoint.class);
+    when(mock1.state()).thenReturn(EndpointState.CONNECTED);
+    Sinks.Many<EndpointState> states = Sinks.many().multicast().directBestEffort();
+    when(mock1.states()).thenReturn(states.asFlux());
+    when(mock1.outstandingRequests()).thenReturn(1L);
+
+    Endpoint mock2 = mock(Endpoint.class);
+    when(mock2.state()).thenReturn(EndpointState.CONNECTING);
+    when(mock2.states()).thenReturn(Sinks.many().multicast().<EndpointState>directBestEffort().asFlux());
+
+    final List<Endpoint> mocks = Arrays.asList(mock1, mock2);
+    final AtomicInteger invocation = new AtomicInteger();
+    MockedService service = new MockedService(
+      new MockedServiceConfig(0, 4, Duration.ofMillis(50), false, true),
+      () -> mocks.get(invocation.getAndIncrement()),
+      new FirstEndpointSelectionStrategy()
+    );
+
+    NoopRequest request = new NoopRequest(
+      Duration.ofSeconds(1),
+      serviceContext,
+      BestEffortRetryStrategy.INSTANCE,
+      CollectionIdentifier.fromDefault("bucket")
+    );
+    service.send(request);
+
+    waitUntilCondition(() -> service.trackedEndpoints().size() == 1);
+    states.tryEmitNext(EndpointState.CONNECTING);
+    states.tryEmitNext(EndpointState.CONNECTED);
+
+    waitUntilCondition(() -> service.trackedEndpoints().size() == 2);
+    verify(mock2, times(1)).connect();
+
+    when(mock1.outstandingRequests()).thenReturn(0L);
+    when(mock1.lastResponseReceived()).thenReturn(System.nanoTime());
+
+    Thread.sleep(200);
+
+    verify(mock1, never()).disconnect();
+    verify(mock2, never()).disconnect();
+  }
+
   class MockedService extends PooledService {
 
     List<Endpoint> trackedEndpoints = new ArrayList<>();
@@ -783,16 +831,22 @@ class PooledServiceTest {
     private final int max;
     private final Duration idle;
     private final boolean pipelined;
+    private final boolean warmPool;
 
     MockedServiceConfig(int min, int max) {
       this(min, max, Duration.ofSeconds(30), false);
     }
 
     MockedServiceConfig(int min, int max, Duration idle, boolean pipelined) {
+      this(min, max, idle, pipelined, false);
+    }
+
+    MockedServiceConfig(int min, int max, Duration idle, boolean pipelined, boolean warmPool) {
       this.max = max;
       this.min = min;
       this.idle = idle;
       this.pipelined = pipelined;
+      this.warmPool = warmPool;
     }
 
     @Override
@@ -815,6 +869,11 @@ class PooledServiceTest {
       return pipelined;
     }
 
+    @Override
+    public boolean warmPool() {
+      return warmPool;
+    }
+
   }
 
   static class FirstEndpointSelectionStrategy implements EndpointSelectionStrategy {
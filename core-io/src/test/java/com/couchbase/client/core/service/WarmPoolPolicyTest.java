@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link WarmPoolPolicy}.
+ */
+class WarmPoolPolicyTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void staysAtMinimumWithoutLoad() {
+    WarmPoolPolicy policy = new WarmPoolPolicy(Duration.ofSeconds(60));
+    policy.record(0, SECOND);
+    assertEquals(0, policy.targetSize(0, 12));
+    assertEquals(2, policy.targetSize(2, 12));
+  }
+
+  @Test
+  void followsIncreasesWithHeadroom() {
+    WarmPoolPolicy policy = new WarmPoolPolicy(Duration.ofSeconds(60));
+    policy.record(4, SECOND);
+    assertEquals(6, policy.targetSize(0, 12));
+    assertEquals(5, policy.targetSize(0, 5));
+  }
+
+  @Test
+  void decaysSlowlyAfterLoad() {
+    WarmPoolPolicy policy = new WarmPoolPolicy(Duration.ofSeconds(60));
+    policy.record(4, SECOND);
+
+    // one quiet minute only brings it down to about a third
+    long now = SECOND;
+    for (int i = 0; i < 600; i++) {
+      now += SECOND / 10;
+      policy.record(0, now);
+    }
+    assertTrue(policy.average() > 1.4 && policy.average() < 1.5, "average: " + policy.average());
+    assertEquals(3, policy.targetSize(0, 12));
+
+    // and a long quiet period lets the pool shrink back to the minimum
+    for (int i = 0; i < 3000; i++) {
+      now += SECOND / 10;
+      policy.record(0, now);
+    }
+    assertEquals(1, policy.targetSize(1, 12));
+  }
+
+}
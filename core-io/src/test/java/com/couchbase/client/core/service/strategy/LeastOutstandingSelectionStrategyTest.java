@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.msg.Request;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.couchbase.client.core.util.CbCollections.listOf;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+class LeastOutstandingSelectionStrategyTest {
+
+  @Test
+  void checksForEmptyEndpointList() {
+    LeastOutstandingSelectionStrategy strategy = new LeastOutstandingSelectionStrategy();
+    assertNull(strategy.select(request(), emptyList()));
+  }
+
+  @Test
+  void selectsEndpointWithFewestOutstandingRequests() {
+    LeastOutstandingSelectionStrategy strategy = new LeastOutstandingSelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      readyEndpoint(7),
+      readyEndpoint(2),
+      readyEndpoint(5)
+    );
+
+    for (int i = 0; i < 10; i++) {
+      assertSame(endpoints.get(1), strategy.select(request(), endpoints));
+    }
+  }
+
+  @Test
+  void ignoresUnreadyEndpoints() {
+    LeastOutstandingSelectionStrategy strategy = new LeastOutstandingSelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      unreadyEndpoint(),
+      readyEndpoint(3),
+      unreadyEndpoint()
+    );
+
+    for (int i = 0; i < 10; i++) {
+      assertSame(endpoints.get(1), strategy.select(request(), endpoints));
+    }
+  }
+
+  @Test
+  void returnsNullIfAllUnready() {
+    LeastOutstandingSelectionStrategy strategy = new LeastOutstandingSelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      unreadyEndpoint(),
+      unreadyEndpoint()
+    );
+
+    assertNull(strategy.select(request(), endpoints));
+  }
+
+  @Test
+  void rotatesOverIdleEndpoints() {
+    LeastOutstandingSelectionStrategy strategy = new LeastOutstandingSelectionStrategy();
+
+    List<Endpoint> endpoints = listOf(
+      readyEndpoint(0),
+      readyEndpoint(0),
+      readyEndpoint(0)
+    );
+
+    Set<Endpoint> selected = new HashSet<>();
+    for (int i = 0; i < endpoints.size(); i++) {
+      selected.add(strategy.select(request(), endpoints));
+    }
+    assertEquals(new HashSet<>(endpoints), selected);
+  }
+
+  private static Endpoint readyEndpoint(long outstanding) {
+    Endpoint e = Mockito.mock(Endpoint.class);
+    when(e.state()).thenReturn(EndpointState.CONNECTED);
+    when(e.freeToWrite()).thenReturn(true);
+    when(e.outstandingRequests()).thenReturn(outstanding);
+    return e;
+  }
+
+  private static Endpoint unreadyEndpoint() {
+    Endpoint e = Mockito.mock(Endpoint.class);
+    when(e.state()).thenReturn(EndpointState.DISCONNECTING);
+    when(e.freeToWrite()).thenReturn(false);
+    return e;
+  }
+
+  private static Request<?> request() {
+    return Mockito.mock(Request.class);
+  }
+}
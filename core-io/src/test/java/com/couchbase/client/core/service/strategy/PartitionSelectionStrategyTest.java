@@ -18,6 +18,7 @@ package com.couchbase.client.core.service.strategy;
 
 import com.couchbase.client.core.endpoint.Endpoint;
 import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.env.KvPartitionAffinity;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.kv.GetRequest;
 import com.couchbase.client.core.service.EndpointSelectionStrategy;
@@ -25,7 +26,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -64,7 +67,7 @@ class PartitionSelectionStrategyTest {
   }
 
   @Test
-  void selectNullIfPinedIsNotConnected() {
+  void fallsBackIfPinnedIsNotConnected() {
     EndpointSelectionStrategy strategy = new PartitionSelectionStrategy();
 
     Endpoint endpoint1 = mock(Endpoint.class);
@@ -85,10 +88,83 @@ class PartitionSelectionStrategyTest {
     Endpoint selected = strategy.select(request, endpoints);
 
     for (int i = 0; i < 1000; i++) {
-      assertNull(selected);
+      assertNotNull(selected);
+      assertNotEquals(selected, endpoint1);
     }
   }
 
+  @Test
+  void selectNullIfNoneIsConnected() {
+    EndpointSelectionStrategy strategy = new PartitionSelectionStrategy();
+
+    Endpoint endpoint1 = endpoint(EndpointState.DISCONNECTED, 0);
+    Endpoint endpoint2 = endpoint(EndpointState.CONNECTING, 0);
+
+    GetRequest request = mock(GetRequest.class);
+    when(request.partition()).thenReturn((short) 12);
+    assertNull(strategy.select(request, Arrays.asList(endpoint1, endpoint2)));
+  }
+
+  @Test
+  void keepsPinnedEvenIfFarBehind() {
+    EndpointSelectionStrategy strategy = new PartitionSelectionStrategy();
+
+    Endpoint endpoint1 = endpoint(EndpointState.CONNECTED, PartitionSelectionStrategy.SPILL_THRESHOLD * 10);
+    Endpoint endpoint2 = endpoint(EndpointState.CONNECTED, 0);
+
+    GetRequest request = mock(GetRequest.class);
+    when(request.partition()).thenReturn((short) 12);
+    assertSame(endpoint1, strategy.select(request, Arrays.asList(endpoint1, endpoint2)));
+  }
+
+  @Test
+  void fallsBackIfPinnedIsNotWritable() {
+    EndpointSelectionStrategy strategy = new PartitionSelectionStrategy();
+
+    Endpoint endpoint1 = endpoint(EndpointState.CONNECTED, 0);
+    Endpoint endpoint2 = endpoint(EndpointState.CONNECTED, 5);
+    when(endpoint1.freeToWrite()).thenReturn(false);
+
+    GetRequest request = mock(GetRequest.class);
+    when(request.partition()).thenReturn((short) 12);
+    assertSame(endpoint2, strategy.select(request, Arrays.asList(endpoint1, endpoint2)));
+  }
+
+  @Test
+  void loadAwareKeepsPinnedUnlessFarBehind() {
+    EndpointSelectionStrategy strategy = new PartitionSelectionStrategy(KvPartitionAffinity.LOAD_AWARE);
+
+    Endpoint endpoint1 = endpoint(EndpointState.CONNECTED, PartitionSelectionStrategy.SPILL_THRESHOLD + 4);
+    Endpoint endpoint2 = endpoint(EndpointState.CONNECTED, 10);
+    List<Endpoint> endpoints = Arrays.asList(endpoint1, endpoint2);
+
+    GetRequest request = mock(GetRequest.class);
+    when(request.partition()).thenReturn((short) 12);
+    assertSame(endpoint1, strategy.select(request, endpoints));
+
+    when(endpoint2.outstandingRequests()).thenReturn(0L);
+    assertSame(endpoint2, strategy.select(request, endpoints));
+  }
+
+  @Test
+  void spreadsPartitionWithoutAffinity() {
+    EndpointSelectionStrategy strategy = new PartitionSelectionStrategy(KvPartitionAffinity.NONE);
+
+    Endpoint endpoint1 = endpoint(EndpointState.CONNECTED, 0);
+    Endpoint endpoint2 = endpoint(EndpointState.CONNECTED, 0);
+    Endpoint endpoint3 = endpoint(EndpointState.CONNECTED, 5);
+    List<Endpoint> endpoints = Arrays.asList(endpoint1, endpoint2, endpoint3);
+
+    GetRequest request = mock(GetRequest.class);
+    when(request.partition()).thenReturn((short) 12);
+
+    Set<Endpoint> selected = new HashSet<>();
+    for (int i = 0; i < 10; i++) {
+      selected.add(strategy.select(request, endpoints));
+    }
+    assertEquals(new HashSet<>(Arrays.asList(endpoint1, endpoint2)), selected);
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   void returnNullIfEmptyEndpointList() {
@@ -98,4 +174,12 @@ class PartitionSelectionStrategyTest {
     assertNull(selected);
   }
 
+  private static Endpoint endpoint(final EndpointState state, final long outstanding) {
+    Endpoint endpoint = mock(Endpoint.class);
+    when(endpoint.state()).thenReturn(state);
+    when(endpoint.freeToWrite()).thenReturn(true);
+    when(endpoint.outstandingRequests()).thenReturn(outstanding);
+    return endpoint;
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import javax.naming.NameNotFoundException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies the functionality of the {@link DnsResolutionCache}.
+ */
+class DnsResolutionCacheTest {
+
+  private static final Duration TTL = Duration.ofSeconds(10);
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void returnsCachedSrvRecordsWithinTtl() {
+    StubLookup lookup = new StubLookup();
+    lookup.srvAnswers.add(Mono.just(srv("node1")));
+    DnsResolutionCache cache = new DnsResolutionCache(lookup, now::get);
+
+    assertEquals(targets("node1"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+    advance(TTL.minusSeconds(1));
+    assertEquals(targets("node1"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+    assertEquals(1, lookup.srvLookups.get());
+  }
+
+  @Test
+  void servesStaleEntryWhileRefreshing() {
+    StubLookup lookup = new StubLookup();
+    Sinks.One<DnsResolutionCache.Answer<HostAndPort>> refresh = Sinks.one();
+    lookup.srvAnswers.add(Mono.just(srv("node1")));
+    lookup.srvAnswers.add(refresh.asMono());
+    DnsResolutionCache cache = new DnsResolutionCache(lookup, now::get);
+
+    cache.resolveSrv("_couchbase._tcp.example.com").block();
+    advance(TTL.plusSeconds(1));
+
+    // The refresh has not completed yet, so the stale records are returned right away.
+    assertEquals(targets("node1"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+    assertEquals(targets("node1"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+    assertEquals(2, lookup.srvLookups.get());
+
+    refresh.tryEmitValue(srv("node2"));
+    assertEquals(targets("node2"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+    assertEquals(2, lookup.srvLookups.get());
+  }
+
+  @Test
+  void looksUpAgainOnceStaleEntryIsTooOld() {
+    StubLookup lookup = new StubLookup();
+    lookup.srvAnswers.add(Mono.just(srv("node1")));
+    lookup.srvAnswers.add(Mono.just(srv("node2")));
+    DnsResolutionCache cache = new DnsResolutionCache(lookup, now::get);
+
+    cache.resolveSrv("_couchbase._tcp.example.com").block();
+    advance(TTL.plus(DnsResolutionCache.STALE_FOR));
+
+    assertEquals(targets("node2"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+    assertEquals(2, lookup.srvLookups.get());
+  }
+
+  @Test
+  void doesNotCacheFailures() {
+    StubLookup lookup = new StubLookup();
+    lookup.srvAnswers.add(Mono.error(new NameNotFoundException()));
+    lookup.srvAnswers.add(Mono.just(srv("node1")));
+    DnsResolutionCache cache = new DnsResolutionCache(lookup, now::get);
+
+    assertThrows(RuntimeException.class, () -> cache.resolveSrv("_couchbase._tcp.example.com").block());
+    assertEquals(targets("node1"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+  }
+
+  @Test
+  void capsTtlOfEntries() {
+    StubLookup lookup = new StubLookup();
+    lookup.srvAnswers.add(Mono.just(new DnsResolutionCache.Answer<>(targets("node1"), Duration.ofDays(1))));
+    lookup.srvAnswers.add(Mono.just(srv("node2")));
+    DnsResolutionCache cache = new DnsResolutionCache(lookup, now::get);
+
+    cache.resolveSrv("_couchbase._tcp.example.com").block();
+    advance(DnsResolutionCache.MAX_TTL.plus(DnsResolutionCache.STALE_FOR));
+
+    assertEquals(targets("node2"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+  }
+
+  @Test
+  void neverServesEntriesStaleForLongerThanTheirTtl() {
+    StubLookup lookup = new StubLookup();
+    lookup.srvAnswers.add(Mono.just(new DnsResolutionCache.Answer<>(targets("node1"), Duration.ofSeconds(1))));
+    lookup.srvAnswers.add(Mono.just(srv("node2")));
+    DnsResolutionCache cache = new DnsResolutionCache(lookup, now::get);
+
+    cache.resolveSrv("_couchbase._tcp.example.com").block();
+    advance(Duration.ofSeconds(2));
+
+    assertEquals(targets("node2"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+  }
+
+  @Test
+  void doesNotCacheEntriesWithZeroTtl() {
+    StubLookup lookup = new StubLookup();
+    lookup.srvAnswers.add(Mono.just(new DnsResolutionCache.Answer<>(targets("node1"), Duration.ZERO)));
+    lookup.srvAnswers.add(Mono.just(srv("node2")));
+    DnsResolutionCache cache = new DnsResolutionCache(lookup, now::get);
+
+    assertEquals(targets("node1"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+    assertEquals(targets("node2"), cache.resolveSrv("_couchbase._tcp.example.com").block());
+    assertEquals(2, lookup.srvLookups.get());
+  }
+
+  @Test
+  void derivesJdkLookupTtlFromJvmSettings() {
+    assertEquals(DnsResolutionCache.DEFAULT_JDK_LOOKUP_TTL, DnsResolutionCache.jdkLookupTtl(null, null));
+    assertEquals(DnsResolutionCache.DEFAULT_JDK_LOOKUP_TTL, DnsResolutionCache.jdkLookupTtl("bogus", null));
+    assertEquals(Duration.ofSeconds(10), DnsResolutionCache.jdkLookupTtl("10", "20"));
+    assertEquals(Duration.ofSeconds(20), DnsResolutionCache.jdkLookupTtl(null, "20"));
+    assertEquals(Duration.ZERO, DnsResolutionCache.jdkLookupTtl("0", null));
+    assertEquals(DnsResolutionCache.MAX_TTL, DnsResolutionCache.jdkLookupTtl("-1", null));
+    assertEquals(DnsResolutionCache.MAX_TTL, DnsResolutionCache.jdkLookupTtl("86400", null));
+  }
+
+  @Test
+  void sharesConcurrentAddressLookups() throws Exception {
+    StubLookup lookup = new StubLookup();
+    Sinks.One<DnsResolutionCache.Answer<InetAddress>> answer = Sinks.one();
+    lookup.addressAnswers.add(answer.asMono());
+    DnsResolutionCache cache = new DnsResolutionCache(lookup, now::get);
+
+    Mono<List<InetAddress>> first = cache.resolveAddresses("node1").cache();
+    Mono<List<InetAddress>> second = cache.resolveAddresses("node1").cache();
+    first.subscribe();
+    second.subscribe();
+
+    InetAddress address = InetAddress.getByAddress("node1", new byte[]{10, 0, 0, 1});
+    answer.tryEmitValue(new DnsResolutionCache.Answer<>(Collections.singletonList(address), TTL));
+
+    assertEquals(Collections.singletonList(address), first.block());
+    assertEquals(Collections.singletonList(address), second.block());
+    assertEquals(1, lookup.addressLookups.get());
+  }
+
+  private void advance(final Duration duration) {
+    now.addAndGet(duration.toNanos());
+  }
+
+  private static List<HostAndPort> targets(final String host) {
+    return Collections.singletonList(new HostAndPort(host, 11210));
+  }
+
+  private static DnsResolutionCache.Answer<HostAndPort> srv(final String host) {
+    return new DnsResolutionCache.Answer<>(targets(host), TTL);
+  }
+
+  /**
+   * Stands in for the DNS server, returning the queued answers in order.
+   */
+  private static class StubLookup implements DnsResolutionCache.Lookup {
+    final Queue<Mono<DnsResolutionCache.Answer<HostAndPort>>> srvAnswers = new ArrayDeque<>();
+    final Queue<Mono<DnsResolutionCache.Answer<InetAddress>>> addressAnswers = new ArrayDeque<>();
+    final AtomicInteger srvLookups = new AtomicInteger();
+    final AtomicInteger addressLookups = new AtomicInteger();
+
+    @Override
+    public Mono<DnsResolutionCache.Answer<HostAndPort>> srv(final String name) {
+      return Mono.defer(() -> {
+        srvLookups.incrementAndGet();
+        Mono<DnsResolutionCache.Answer<HostAndPort>> answer = srvAnswers.poll();
+        return answer == null ? Mono.error(new NameNotFoundException(name)) : answer;
+      });
+    }
+
+    @Override
+    public Mono<DnsResolutionCache.Answer<InetAddress>> addresses(final String host) {
+      return Mono.defer(() -> {
+        addressLookups.incrementAndGet();
+        Mono<DnsResolutionCache.Answer<InetAddress>> answer = addressAnswers.poll();
+        return answer == null ? Mono.error(new UnknownHostException(host)) : answer;
+      });
+    }
+  }
+
+}
@@ -25,6 +25,9 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.couchbase.client.java.kv.GetOptions.getOptions;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -216,4 +219,32 @@ class GetProjectionIntegrationTest extends JavaIntegrationTest {
     assertEquals(49.282730, obj.getNumber("lat").doubleValue(), 0.1);
     assertEquals(1, decoded.size());
   }
+
+  @IgnoreWhen(clusterTypes = ClusterType.MOCKED, isProtostellarWillWorkLater = true)
+  @Test
+  void moreThanSixteenPaths() {
+    JsonObject wide = JsonObject.create();
+    List<String> paths = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      wide.put("field" + i, JsonObject.create().put("value", i).put("other", "x"));
+      paths.add("field" + i + ".value");
+    }
+    String id = "get-projection-wide-test";
+    collection.upsert(id, wide);
+
+    // 20 paths are split into two lookups, 40 paths are projected from the full document.
+    for (int count : new int[]{20, 40}) {
+      for (boolean withExpiry : new boolean[]{false, true}) {
+        JsonObject decoded = collection.get(id, getOptions()
+            .project(paths.subList(0, count))
+            .withExpiry(withExpiry)).contentAsObject();
+        assertEquals(count, decoded.size());
+        for (int i = 0; i < count; i++) {
+          JsonObject field = decoded.getObject("field" + i);
+          assertEquals(1, field.size());
+          assertEquals(i, field.getInt("value").intValue());
+        }
+      }
+    }
+  }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java;
+
+import com.couchbase.client.core.deps.org.HdrHistogram.Histogram;
+import com.couchbase.client.core.io.netty.IoUringTransport;
+import com.couchbase.client.java.util.JavaIntegrationTest;
+import com.couchbase.client.test.IgnoreWhen;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the throughput and the latency of the KV pipeline between the epoll and the io_uring transport.
+ * <p>
+ * Only throughput and latency are compared. System calls are not counted here, since the per-process counters
+ * in {@code /proc/self/io} do not include {@code epoll_wait} or {@code io_uring_enter}. To compare them, attach
+ * {@code perf stat -e raw_syscalls:sys_enter -p <pid>} (or {@code strace -c -f -p <pid>}) to the JVM for each
+ * run. Run it on linux with a kernel that supports io_uring (5.9 or later) against a cluster on another machine.
+ */
+@Disabled // Disabled as this is for manual testing only
+@IgnoreWhen(isProtostellar = true)
+class KvTransportBenchmarkIntegrationTest extends JavaIntegrationTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(KvTransportBenchmarkIntegrationTest.class);
+
+  private static final int CONCURRENCY = 256;
+  private static final Duration WARMUP = Duration.ofSeconds(10);
+  private static final Duration RUN = Duration.ofSeconds(30);
+
+  @Test
+  void compareEpollAndIoUring() {
+    assumeTrue(IoUringTransport.isAvailable(), () -> "io_uring is not available: "
+      + IoUringTransport.unavailabilityCause());
+
+    Result epoll = run(false);
+    Result ioUring = run(true);
+
+    LOGGER.info("Transport comparison:\n{}\n{}\n{}", Result.HEADER, epoll.format("epoll"), ioUring.format("io_uring"));
+  }
+
+  private Result run(final boolean ioUring) {
+    Cluster cluster = createCluster(env -> env.ioEnvironment(io -> io.enableIoUring(ioUring)));
+    try {
+      Bucket bucket = cluster.bucket(config().bucketname());
+      bucket.waitUntilReady(WAIT_UNTIL_READY_DEFAULT);
+      Collection collection = bucket.defaultCollection();
+
+      for (int i = 0; i < 1024; i++) {
+        collection.upsert("transport-benchmark-" + i, "Hello, world");
+      }
+
+      load(collection, WARMUP, new Histogram(3));
+
+      Histogram latencies = new Histogram(3);
+      long start = System.nanoTime();
+      long ops = load(collection, RUN, latencies);
+      long elapsed = System.nanoTime() - start;
+
+      return new Result(ops, elapsed, latencies);
+    } finally {
+      cluster.disconnect();
+    }
+  }
+
+  private static long load(final Collection collection, final Duration duration, final Histogram latencies) {
+    long end = System.nanoTime() + duration.toNanos();
+    return Flux
+      .range(0, Integer.MAX_VALUE)
+      .takeWhile(i -> System.nanoTime() < end)
+      .flatMap(i -> {
+        long start = System.nanoTime();
+        return collection.reactive()
+          .get("transport-benchmark-" + (i % 1024))
+          .doOnNext(r -> {
+            synchronized (latencies) {
+              latencies.recordValue(System.nanoTime() - start);
+            }
+          });
+      }, CONCURRENCY)
+      .count()
+      .block();
+  }
+
+  private static class Result {
+    static final String HEADER = String.format("%-10s %12s %10s %10s", "transport", "ops/sec", "p50 µs", "p99 µs");
+
+    private final long ops;
+    private final long elapsedNanos;
+    private final Histogram latencies;
+
+    Result(long ops, long elapsedNanos, Histogram latencies) {
+      this.ops = ops;
+      this.elapsedNanos = elapsedNanos;
+      this.latencies = latencies;
+    }
+
+    String format(String transport) {
+      double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+      return String.format("%-10s %12.0f %10d %10d",
+        transport,
+        ops / seconds,
+        TimeUnit.NANOSECONDS.toMicros(latencies.getValueAtPercentile(50)),
+        TimeUnit.NANOSECONDS.toMicros(latencies.getValueAtPercentile(99)));
+    }
+  }
+
+}
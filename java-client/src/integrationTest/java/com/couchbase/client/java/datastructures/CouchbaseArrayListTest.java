@@ -30,6 +30,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
@@ -437,4 +438,60 @@ class CouchbaseArrayListTest extends JavaIntegrationTest {
         list.clear();
         assertThrows(ConcurrentModificationException.class, () -> it.add(5));
     }
+
+    @Test
+    void shouldIterateInPages() {
+        List<Integer> list = collection.list(uuid, Integer.class, ArrayListOptions.arrayListOptions().pageSize(2));
+        list.addAll(Arrays.asList(1,2,3,4,5));
+
+        ListIterator<Integer> it = list.listIterator();
+        int i = 1;
+        while (it.hasNext()) {
+            assertEquals(i++, it.next().intValue());
+        }
+        assertEquals(6, i);
+        while (it.hasPrevious()) {
+            assertEquals(--i, it.previous().intValue());
+        }
+        assertEquals(1, i);
+    }
+
+    @Test
+    void shouldRemoveViaPagedIterator() {
+        List<Integer> list = collection.list(uuid, Integer.class, ArrayListOptions.arrayListOptions().pageSize(2));
+        list.addAll(Arrays.asList(1,2,3,4,5));
+
+        ListIterator<Integer> it = list.listIterator();
+        while (it.hasNext()) {
+            int val = it.next().intValue();
+            if (val % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(Arrays.asList(1,3,5), new ArrayList<>(list));
+    }
+
+    @Test
+    void shouldFailPagedIterationIfListChanged() {
+        List<Integer> list = collection.list(uuid, Integer.class, ArrayListOptions.arrayListOptions().pageSize(2));
+        list.addAll(Arrays.asList(1,2,3,4,5));
+
+        Iterator<Integer> it = list.iterator();
+        it.next();
+        it.next();
+        // change list _after_ the first page has been loaded
+        list.add(100);
+        assertThrows(ConcurrentModificationException.class, it::next);
+    }
+
+    @Test
+    void shouldIterateWithSnapshotCache() {
+        List<Integer> list = collection.list(uuid, Integer.class, ArrayListOptions.arrayListOptions().cacheSnapshot(true));
+        list.addAll(Arrays.asList(1,2,3,4,5));
+
+        assertTrue(list.contains(3));
+        list.remove(2);
+        assertFalse(list.contains(3));
+        assertEquals(Arrays.asList(1,2,4,5), new ArrayList<>(list));
+    }
 }
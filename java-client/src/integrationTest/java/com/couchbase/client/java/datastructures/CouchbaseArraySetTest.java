@@ -122,6 +122,30 @@ class CouchbaseArraySetTest extends JavaIntegrationTest {
         assertFalse(set.contains(6));
     }
 
+    @Test
+    void shouldContainsWithSnapshotCache() {
+        CouchbaseArraySet<Integer> set = new CouchbaseArraySet<>(uuid, collection, Integer.class,
+          ArraySetOptions.arraySetOptions().cacheSnapshot(true));
+        set.addAll(Arrays.asList(1,2,3,4,5));
+        assertTrue(set.contains(3));
+        assertTrue(set.contains(3));
+        set.remove(3);
+        assertFalse(set.contains(3));
+        assertTrue(set.contains(4));
+    }
+
+    @Test
+    void shouldIterateInPages() {
+        CouchbaseArraySet<Integer> set = new CouchbaseArraySet<>(uuid, collection, Integer.class,
+          ArraySetOptions.arraySetOptions().pageSize(2));
+        set.addAll(Arrays.asList(1,2,3,4,5));
+        Set<Integer> seen = new HashSet<>();
+        for (Integer value : set) {
+            seen.add(value);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(1,2,3,4,5)), seen);
+    }
+
     @Test
     void canAddObjectsThatAreClose()  {
         CouchbaseArraySet<Object> set = new CouchbaseArraySet<>(uuid, collection, Object.class, options);
@@ -76,7 +76,7 @@ class KeyValueErrorIntegrationTest extends JavaIntegrationTest {
     cluster.disconnect();
   }
 
-  @IgnoreWhen(isProtostellarWillWorkLater = true) // Fails with DocumentNotFound rather than InvalidArgument when sending 17 projections.  Needs raising but very low priority.
+  @IgnoreWhen(isProtostellarWillWorkLater = true) // Projections beyond the Sub-Document limit are only split on the classic path so far.
   @Test
   void verifyGetExceptions() {
     DocumentNotFoundException thrown = assertThrows(
@@ -90,8 +90,9 @@ class KeyValueErrorIntegrationTest extends JavaIntegrationTest {
     assertThrows(InvalidArgumentException.class, () -> collection.get(null));
     assertThrows(InvalidArgumentException.class, () -> collection.get("", getOptions().withExpiry(true)));
 
-    List<String> tooManyFields = IntStream.rangeClosed(1, 17).boxed().map(Object::toString).collect(Collectors.toList());
-    assertThrows(InvalidArgumentException.class, () -> collection.get("foo", getOptions().project(tooManyFields)));
+    // More fields than a single lookup supports are split, so this is a regular lookup of a missing document.
+    List<String> manyFields = IntStream.rangeClosed(1, 17).boxed().map(Object::toString).collect(Collectors.toList());
+    assertThrows(DocumentNotFoundException.class, () -> collection.get(UUID.randomUUID().toString(), getOptions().project(manyFields)));
   }
 
   @Test
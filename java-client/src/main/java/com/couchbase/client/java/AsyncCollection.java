@@ -27,6 +27,7 @@ import com.couchbase.client.core.error.context.ReducedKeyValueErrorContext;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.service.kv.ReplicaHelper;
 import com.couchbase.client.core.util.PreventsGarbageCollection;
+import com.couchbase.client.java.codec.BufferAwareContent;
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.codec.Transcoder;
 import com.couchbase.client.java.env.ClusterEnvironment;
@@ -473,7 +474,7 @@ public class AsyncCollection {
     return kvOps.insertAsync(
         opts,
         id,
-        () -> transcoder.encode(content),
+        () -> BufferAwareContent.encode(transcoder, content),
         opts.toCoreDurability(),
         opts.expiry().encode()
       )
@@ -508,7 +509,7 @@ public class AsyncCollection {
     return kvOps.upsertAsync(
         opts,
         id,
-        () -> transcoder.encode(content),
+        () -> BufferAwareContent.encode(transcoder, content),
         opts.toCoreDurability(),
         opts.expiry().encode(),
         opts.preserveExpiry()
@@ -544,7 +545,7 @@ public class AsyncCollection {
     return kvOps.replaceAsync(
         opts,
         id,
-        () -> transcoder.encode(content),
+        () -> BufferAwareContent.encode(transcoder, content),
         opts.cas(),
         opts.toCoreDurability(),
         opts.expiry().encode(),
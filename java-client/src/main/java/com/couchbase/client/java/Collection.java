@@ -29,6 +29,7 @@ import com.couchbase.client.core.error.DocumentUnretrievableException;
 import com.couchbase.client.core.error.FeatureNotAvailableException;
 import com.couchbase.client.core.error.TimeoutException;
 import com.couchbase.client.core.error.context.ReducedKeyValueErrorContext;
+import com.couchbase.client.java.codec.BufferAwareContent;
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.codec.Transcoder;
 import com.couchbase.client.java.datastructures.CouchbaseArrayList;
@@ -518,7 +519,7 @@ public class Collection {
     return new MutationResult(kvOps.insertBlocking(
       opts,
       id,
-      () -> transcoder.encode(content),
+      () -> BufferAwareContent.encode(transcoder, content),
       opts.toCoreDurability(),
       opts.expiry().encode()
     ));
@@ -556,7 +557,7 @@ public class Collection {
     return new MutationResult(kvOps.upsertBlocking(
       opts,
       id,
-      () -> transcoder.encode(content),
+      () -> BufferAwareContent.encode(transcoder, content),
       opts.toCoreDurability(),
       opts.expiry().encode(),
       opts.preserveExpiry()
@@ -599,7 +600,7 @@ public class Collection {
     return new MutationResult(kvOps.replaceBlocking(
       opts,
       id,
-      () -> transcoder.encode(content),
+      () -> BufferAwareContent.encode(transcoder, content),
       opts.cas(),
       opts.toCoreDurability(),
       opts.expiry().encode(),
@@ -25,6 +25,7 @@ import com.couchbase.client.core.deps.io.grpc.Metadata;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.error.TimeoutException;
 import com.couchbase.client.core.error.context.ReducedKeyValueErrorContext;
+import com.couchbase.client.java.codec.BufferAwareContent;
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.codec.Transcoder;
 import com.couchbase.client.java.env.ClusterEnvironment;
@@ -468,7 +469,7 @@ public class ReactiveCollection {
     return kvOps.insertReactive(
         opts,
         id,
-        () -> transcoder.encode(content),
+        () -> BufferAwareContent.encode(transcoder, content),
         opts.toCoreDurability(),
         opts.expiry().encode()
       )
@@ -503,7 +504,7 @@ public class ReactiveCollection {
     return kvOps.upsertReactive(
         opts,
         id,
-        () -> transcoder.encode(content),
+        () -> BufferAwareContent.encode(transcoder, content),
         opts.toCoreDurability(),
         opts.expiry().encode(),
         opts.preserveExpiry()
@@ -539,7 +540,7 @@ public class ReactiveCollection {
     return kvOps.replaceReactive(
         opts,
         id,
-        () -> transcoder.encode(content),
+        () -> BufferAwareContent.encode(transcoder, content),
         opts.cas(),
         opts.toCoreDurability(),
         opts.expiry().encode(),
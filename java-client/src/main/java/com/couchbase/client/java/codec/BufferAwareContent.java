@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.codec;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.api.kv.CoreBufferEncodedContent;
+import com.couchbase.client.core.api.kv.CoreEncodedContent;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Content of a {@link BufferAwareTranscoder}, which is only encoded once core asks for it either in a buffer or as
+ * a byte array.
+ */
+@Stability.Internal
+public class BufferAwareContent implements CoreBufferEncodedContent {
+
+  private final BufferAwareTranscoder transcoder;
+  private final Object input;
+  private byte[] encoded;
+  private int flags;
+
+  private BufferAwareContent(final BufferAwareTranscoder transcoder, final Object input) {
+    this.transcoder = requireNonNull(transcoder);
+    this.input = input;
+  }
+
+  /**
+   * Encodes the input with the given transcoder, leaving the encoding to core if the transcoder is buffer aware.
+   *
+   * @param transcoder the transcoder to encode the input with.
+   * @param input the input object to encode.
+   * @return the content to hand to core.
+   */
+  public static CoreEncodedContent encode(final Transcoder transcoder, final Object input) {
+    return transcoder instanceof BufferAwareTranscoder
+      ? new BufferAwareContent((BufferAwareTranscoder) transcoder, input)
+      : transcoder.encode(input);
+  }
+
+  @Override
+  public void encodeTo(final ByteBuf buffer) {
+    flags = transcoder.encodeTo(input, buffer);
+  }
+
+  @Override
+  public byte[] encoded() {
+    if (encoded == null) {
+      Transcoder.EncodedValue value = transcoder.encode(input);
+      encoded = value.encoded();
+      flags = value.flags();
+    }
+    return encoded;
+  }
+
+  @Override
+  public int flags() {
+    return flags;
+  }
+
+}
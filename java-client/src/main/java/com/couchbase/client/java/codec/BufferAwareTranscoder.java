@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.codec;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.error.DecodingFailureException;
+
+/**
+ * A {@link Transcoder} which can also encode into and decode from a buffer instead of a byte array.
+ * <p>
+ * If compression is disabled, the SDK encodes documents of a buffer-aware transcoder straight into a pooled buffer
+ * which is sent to the server without being copied again, and reused if the request is retried. Otherwise, and for
+ * transcoders which do not implement this interface, {@link #encode(Object)} is used.
+ */
+@Stability.Volatile
+public interface BufferAwareTranscoder extends Transcoder {
+
+  /**
+   * Encodes the given input into the wire representation based on the data format, writing it into the buffer.
+   *
+   * @param input the input object to encode.
+   * @param buffer the buffer to write the wire representation into.
+   * @return the flags to be used on the wire.
+   */
+  int encodeTo(Object input, ByteBuf buffer);
+
+  /**
+   * Decodes the readable bytes of the buffer into the entity based on the data format.
+   * <p>
+   * The buffer is neither consumed nor released.
+   *
+   * @param target the target type to decode.
+   * @param input the buffer holding the wire representation to decode.
+   * @param flags the flags on the wire
+   * @param <T> the generic type used for the decoding target.
+   * @return the decoded entity.
+   */
+  <T> T decode(Class<T> target, ByteBuf input, int flags);
+
+  /**
+   * Decodes the readable bytes of the buffer into the entity based on the data format.
+   * <p>
+   * The buffer is neither consumed nor released.
+   *
+   * @param target the target type to decode.
+   * @param input the buffer holding the wire representation to decode.
+   * @param flags the flags on the wire
+   * @param <T> the generic type used for the decoding target.
+   * @return the decoded entity.
+   */
+  default <T> T decode(TypeRef<T> target, ByteBuf input, int flags) {
+    throw new DecodingFailureException(getClass().getSimpleName() + " does not support decoding via TypeRef.");
+  }
+
+}
@@ -25,6 +25,8 @@ import com.couchbase.client.core.json.Mapper;
 import com.couchbase.client.java.encryption.databind.jackson.repackaged.RepackagedEncryptionModule;
 import com.couchbase.client.java.json.RepackagedJsonValueModule;
 
+import java.io.OutputStream;
+
 import static com.couchbase.client.core.logging.RedactableArgument.redactUser;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -81,6 +83,20 @@ public class DefaultJsonSerializer implements JsonSerializer {
     }
   }
 
+  @Override
+  public void serialize(final Object input, final OutputStream output) {
+    if (input instanceof byte[]) {
+      JsonSerializer.super.serialize(input, output);
+      return;
+    }
+
+    try {
+      mapper.writeValue(output, input);
+    } catch (Throwable t) {
+      throw new EncodingFailureException("Serializing of content + " + redactUser(input) + " to JSON failed.", t);
+    }
+  }
+
   @Override
   public <T> T deserialize(final Class<T> target, final byte[] input) {
     if (target.equals(byte[].class)) {
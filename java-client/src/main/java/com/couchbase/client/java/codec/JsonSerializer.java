@@ -17,6 +17,10 @@
 package com.couchbase.client.java.codec;
 
 import com.couchbase.client.core.error.DecodingFailureException;
+import com.couchbase.client.core.error.EncodingFailureException;
+
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * The {@link JsonSerializer} handles the serialization and deserialization of raw json data into java objects.
@@ -31,6 +35,24 @@ public interface JsonSerializer {
    */
   byte[] serialize(Object input);
 
+  /**
+   * Serializes the given input into the output stream.
+   * <p>
+   * The default implementation writes the result of {@link #serialize(Object)}, serializers which can write to a
+   * stream directly override it to skip the intermediate byte array.
+   *
+   * @param input the object as input.
+   * @param output the stream to write the serialized output to.
+   */
+  default void serialize(Object input, OutputStream output) {
+    byte[] serialized = serialize(input);
+    try {
+      output.write(serialized);
+    } catch (IOException e) {
+      throw new EncodingFailureException("Writing the serialized content to the output failed.", e);
+    }
+  }
+
   /**
    * Deserializes raw input into the target class.
    *
@@ -16,13 +16,16 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufOutputStream;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.msg.kv.CodecFlags;
 import com.couchbase.client.java.CommonOptions;
 
 import static java.util.Objects.requireNonNull;
 
-public class JsonTranscoder implements Transcoder {
+public class JsonTranscoder implements BufferAwareTranscoder {
 
   private final JsonSerializer serializer;
 
@@ -36,6 +39,18 @@ public class JsonTranscoder implements Transcoder {
 
   @Override
   public EncodedValue encode(final Object input) {
+    checkEncodable(input);
+    return new EncodedValue(serializer.serialize(input), CodecFlags.JSON_COMPAT_FLAGS);
+  }
+
+  @Override
+  public int encodeTo(final Object input, final ByteBuf buffer) {
+    checkEncodable(input);
+    serializer.serialize(input, new ByteBufOutputStream(buffer));
+    return CodecFlags.JSON_COMPAT_FLAGS;
+  }
+
+  private static void checkEncodable(final Object input) {
     if (input instanceof CommonOptions.BuiltCommonOptions || input instanceof CommonOptions) {
       throw InvalidArgumentException.fromMessage("No content provided, cannot " +
         "encode " + input.getClass().getSimpleName() + " as content!");
@@ -46,8 +61,6 @@ public class JsonTranscoder implements Transcoder {
         "If you want to store already encoded JSON, use the RawJsonTranscoder, otherwise store it " +
         "with the RawBinaryTranscoder!");
     }
-
-    return new EncodedValue(serializer.serialize(input), CodecFlags.JSON_COMPAT_FLAGS);
   }
 
   @Override
@@ -65,4 +78,21 @@ public class JsonTranscoder implements Transcoder {
     return serializer.deserialize(target, input);
   }
 
+  @Override
+  public <T> T decode(final Class<T> target, final ByteBuf input, int flags) {
+    return decode(target, bytesOf(input), flags);
+  }
+
+  @Override
+  public <T> T decode(final TypeRef<T> target, final ByteBuf input, int flags) {
+    return decode(target, bytesOf(input), flags);
+  }
+
+  /**
+   * Returns the readable bytes of the buffer, without copying them if they are exactly its backing array.
+   */
+  private static byte[] bytesOf(final ByteBuf input) {
+    return ByteBufUtil.getBytes(input, input.readerIndex(), input.readableBytes(), false);
+  }
+
 }
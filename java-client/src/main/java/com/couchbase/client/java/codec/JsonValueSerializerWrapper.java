@@ -21,6 +21,8 @@ import com.couchbase.client.core.error.EncodingFailureException;
 import com.couchbase.client.java.json.JacksonTransformers;
 import com.couchbase.client.java.json.JsonValue;
 
+import java.io.OutputStream;
+
 import static com.couchbase.client.core.logging.RedactableArgument.redactUser;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
@@ -48,6 +50,19 @@ public class JsonValueSerializerWrapper implements JsonSerializer {
     return wrapped.serialize(input);
   }
 
+  @Override
+  public void serialize(Object input, OutputStream output) {
+    if (input instanceof JsonValue) {
+      try {
+        JacksonTransformers.MAPPER.writeValue(output, input);
+        return;
+      } catch (Exception e) {
+        throw new EncodingFailureException("Serializing of content + " + redactUser(input) + " to JSON failed.", e);
+      }
+    }
+    wrapped.serialize(input, output);
+  }
+
   @Override
   public <T> T deserialize(Class<T> target, byte[] input) {
     if (JsonValue.class.isAssignableFrom(target)) {
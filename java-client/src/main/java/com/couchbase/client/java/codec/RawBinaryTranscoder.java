@@ -16,12 +16,14 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.msg.kv.CodecFlags;
 import com.couchbase.client.java.CommonOptions;
 
-public class RawBinaryTranscoder implements Transcoder {
+public class RawBinaryTranscoder implements BufferAwareTranscoder {
 
   public static RawBinaryTranscoder INSTANCE = new RawBinaryTranscoder();
 
@@ -41,6 +43,13 @@ public class RawBinaryTranscoder implements Transcoder {
     }
   }
 
+  @Override
+  public int encodeTo(final Object input, final ByteBuf buffer) {
+    EncodedValue encoded = encode(input);
+    buffer.writeBytes(encoded.encoded());
+    return encoded.flags();
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> T decode(final Class<T> target, final byte[] input, int flags) {
@@ -51,4 +60,14 @@ public class RawBinaryTranscoder implements Transcoder {
     }
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T decode(final Class<T> target, final ByteBuf input, int flags) {
+    if (target.equals(byte[].class)) {
+      return (T) ByteBufUtil.getBytes(input);
+    } else {
+      throw new DecodingFailureException("RawBinaryTranscoder can only decode into byte[]!");
+    }
+  }
+
 }
@@ -16,6 +16,8 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.msg.kv.CodecFlags;
@@ -23,7 +25,7 @@ import com.couchbase.client.java.CommonOptions;
 
 import java.nio.charset.StandardCharsets;
 
-public class RawJsonTranscoder implements Transcoder {
+public class RawJsonTranscoder implements BufferAwareTranscoder {
 
   public static RawJsonTranscoder INSTANCE = new RawJsonTranscoder();
 
@@ -45,6 +47,19 @@ public class RawJsonTranscoder implements Transcoder {
     }
   }
 
+  @Override
+  public int encodeTo(final Object input, final ByteBuf buffer) {
+    if (input instanceof String) {
+      // Written as UTF-8 straight into the buffer, without encoding it into an intermediate array first
+      buffer.writeCharSequence((String) input, StandardCharsets.UTF_8);
+      return CodecFlags.JSON_COMPAT_FLAGS;
+    }
+
+    EncodedValue encoded = encode(input);
+    buffer.writeBytes(encoded.encoded());
+    return encoded.flags();
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> T decode(final Class<T> target, final byte[] input, int flags) {
@@ -57,4 +72,16 @@ public class RawJsonTranscoder implements Transcoder {
     }
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T decode(final Class<T> target, final ByteBuf input, int flags) {
+    if (target.equals(byte[].class)) {
+      return (T) ByteBufUtil.getBytes(input);
+    } else if (target.equals(String.class)) {
+      return (T) input.toString(StandardCharsets.UTF_8);
+    } else {
+      throw new DecodingFailureException("RawJsonTranscoder can only decode into either byte[] or String!");
+    }
+  }
+
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.datastructures;
+
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.kv.LookupInOptions;
+import com.couchbase.client.java.kv.LookupInResult;
+import com.couchbase.client.java.kv.LookupInSpec;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import static com.couchbase.client.java.kv.CommonDatastructureOptions.MAX_PAGE_SIZE;
+
+/**
+ * A view over a document containing a toplevel JSON array, used by the data structure iterators to access elements
+ * by index and to keep track of the CAS their mutations are performed against.
+ * <p>
+ * The window is either a full snapshot of the array (loaded with a single get) or it is loaded page by page through
+ * subdoc lookups, so that iterating over a large array does not need to fetch and decode the whole document up front.
+ * <p>
+ * In paged mode, the first page also counts the elements of the array, so the size is known from the beginning. The
+ * CAS of that first lookup is remembered and every subsequent page is checked against it: if the document has been
+ * modified by someone else in the meantime, the indexes of the already visited elements cannot be trusted anymore
+ * and a {@link ConcurrentModificationException} is raised. Mutations performed through the owning iterator are
+ * reported through {@link #replaced(int, Object, long)}, {@link #removed(int, long)} and
+ * {@link #inserted(int, Object, long)} so the window stays in sync.
+ *
+ * @param <E> the type of the elements in the array.
+ */
+class ArrayWindow<E> {
+
+    private final Collection collection;
+    private final String id;
+    private final Class<E> entityTypeClass;
+    private final int pageSize;
+    private final LookupInOptions lookupInOptions;
+
+    private long cas;
+    private int size;
+    private int windowStart;
+    private List<E> window;
+
+    private ArrayWindow(final Collection collection, final String id, final Class<E> entityTypeClass,
+                        final int pageSize, final LookupInOptions lookupInOptions) {
+        this.collection = collection;
+        this.id = id;
+        this.entityTypeClass = entityTypeClass;
+        this.pageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        this.lookupInOptions = lookupInOptions;
+    }
+
+    /**
+     * Creates a window which holds all elements of the array in memory.
+     *
+     * @param elements the elements of the array, which are taken over by the window.
+     * @param cas the CAS of the document the elements have been loaded from, or 0 if it does not exist.
+     * @param startIndex the index the iteration starts at, used for bounds checking.
+     */
+    static <E> ArrayWindow<E> snapshot(final List<E> elements, final long cas, final int startIndex) {
+        if (startIndex < 0 || startIndex > elements.size()) {
+            throw new IndexOutOfBoundsException("Index: " + startIndex);
+        }
+        ArrayWindow<E> window = new ArrayWindow<>(null, null, null, MAX_PAGE_SIZE, null);
+        window.cas = cas;
+        window.size = elements.size();
+        window.windowStart = 0;
+        window.window = elements;
+        return window;
+    }
+
+    /**
+     * Creates a window which loads the array page by page, eagerly loading the first page at the given index.
+     *
+     * @param collection the collection which holds the document.
+     * @param id the id of the document.
+     * @param entityTypeClass the type the elements are decoded into.
+     * @param pageSize the number of elements to load per lookup.
+     * @param lookupInOptions the options to use for each lookup.
+     * @param startIndex the index of the first element to load.
+     */
+    static <E> ArrayWindow<E> paged(final Collection collection, final String id, final Class<E> entityTypeClass,
+                                    final int pageSize, final LookupInOptions lookupInOptions, final int startIndex) {
+        if (startIndex < 0) {
+            throw new IndexOutOfBoundsException("Index: " + startIndex);
+        }
+        ArrayWindow<E> window = new ArrayWindow<>(collection, id, entityTypeClass, pageSize, lookupInOptions);
+        window.loadFirstPage(startIndex);
+        return window;
+    }
+
+    /**
+     * Returns the CAS the window is currently validated against, or 0 if the document did not exist.
+     */
+    long cas() {
+        return cas;
+    }
+
+    /**
+     * Returns the number of elements in the array as of the last known CAS.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the element at the given index, loading the page around it if it is not part of the current window.
+     * <p>
+     * When the index is located before the current window, the page is loaded so that it ends at the index, which
+     * keeps backwards iteration at one lookup per page as well.
+     *
+     * @param index the index of the element, must be within {@link #size()}.
+     * @return the element at the given index.
+     */
+    E get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        if (!inWindow(index)) {
+            int start = index < windowStart ? Math.max(0, index - pageSize + 1) : index;
+            loadPage(start);
+        }
+        return window.get(index - windowStart);
+    }
+
+    /**
+     * Records that the element at the given index has been replaced on the server.
+     *
+     * @param index the index of the replaced element.
+     * @param element the new element.
+     * @param newCas the CAS returned by the mutation.
+     */
+    void replaced(final int index, final E element, final long newCas) {
+        this.cas = newCas;
+        if (inWindow(index)) {
+            window.set(index - windowStart, element);
+        }
+    }
+
+    /**
+     * Records that the element at the given index has been removed on the server.
+     *
+     * @param index the index of the removed element.
+     * @param newCas the CAS returned by the mutation.
+     */
+    void removed(final int index, final long newCas) {
+        this.cas = newCas;
+        this.size--;
+        if (inWindow(index)) {
+            window.remove(index - windowStart);
+        } else if (index < windowStart) {
+            windowStart--;
+        }
+    }
+
+    /**
+     * Records that an element has been inserted at the given index on the server.
+     *
+     * @param index the index of the inserted element.
+     * @param element the inserted element.
+     * @param newCas the CAS returned by the mutation.
+     */
+    void inserted(final int index, final E element, final long newCas) {
+        this.cas = newCas;
+        this.size++;
+        if (index >= windowStart && index <= windowStart + window.size()) {
+            window.add(index - windowStart, element);
+        } else if (index < windowStart) {
+            windowStart++;
+        }
+    }
+
+    private boolean inWindow(final int index) {
+        return index >= windowStart && index < windowStart + window.size();
+    }
+
+    private void loadFirstPage(final int startIndex) {
+        int count = Math.min(pageSize, MAX_PAGE_SIZE - 1);
+        List<LookupInSpec> specs = new ArrayList<>(count + 1);
+        specs.add(LookupInSpec.count(""));
+        for (int i = 0; i < count; i++) {
+            specs.add(LookupInSpec.get("[" + (startIndex + i) + "]"));
+        }
+
+        LookupInResult result;
+        try {
+            result = collection.lookupIn(id, specs, lookupInOptions);
+        } catch (DocumentNotFoundException e) {
+            this.cas = 0;
+            this.size = 0;
+            this.windowStart = 0;
+            this.window = new ArrayList<>(0);
+            if (startIndex > 0) {
+                throw new IndexOutOfBoundsException("Index: " + startIndex);
+            }
+            return;
+        }
+
+        this.cas = result.cas();
+        this.size = result.contentAs(0, Integer.class);
+        if (startIndex > size) {
+            throw new IndexOutOfBoundsException("Index: " + startIndex);
+        }
+        this.windowStart = startIndex;
+        this.window = decode(result, 1, count);
+    }
+
+    private void loadPage(final int start) {
+        int count = Math.min(pageSize, size - start);
+        List<LookupInSpec> specs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            specs.add(LookupInSpec.get("[" + (start + i) + "]"));
+        }
+
+        LookupInResult result;
+        try {
+            result = collection.lookupIn(id, specs, lookupInOptions);
+        } catch (DocumentNotFoundException e) {
+            throw new ConcurrentModificationException("Document was removed since iterator creation: " + e);
+        }
+        if (result.cas() != cas) {
+            throw new ConcurrentModificationException("Document was modified since iterator creation");
+        }
+        this.windowStart = start;
+        this.window = decode(result, 0, count);
+    }
+
+    private List<E> decode(final LookupInResult result, final int offset, final int count) {
+        List<E> decoded = new ArrayList<>(count);
+        for (int i = offset; i < offset + count; i++) {
+            if (!result.exists(i)) {
+                break;
+            }
+            decoded.add(result.contentAs(i, entityTypeClass));
+        }
+        return decoded;
+    }
+
+}
@@ -22,6 +22,7 @@ import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.error.CouchbaseException;
@@ -36,7 +37,6 @@ import com.couchbase.client.core.error.CasMismatchException;
 import com.couchbase.client.core.error.DocumentExistsException;
 import com.couchbase.client.java.kv.ArrayListOptions;
 import com.couchbase.client.java.kv.GetOptions;
-import com.couchbase.client.java.kv.GetResult;
 import com.couchbase.client.java.kv.InsertOptions;
 import com.couchbase.client.java.kv.LookupInOptions;
 import com.couchbase.client.java.kv.LookupInResult;
@@ -70,6 +70,7 @@ public class CouchbaseArrayList<E> extends AbstractList<E> {
     private final LookupInOptions lookupInOptions;
     private final InsertOptions insertOptions;
     private final Class<E> entityTypeClass;
+    private final DocumentSnapshot<JsonArray> snapshot;
 
     /**
      * Create a new {@link Collection Couchbase-backed} List, backed by the document identified by <code>id</code>
@@ -99,6 +100,9 @@ public class CouchbaseArrayList<E> extends AbstractList<E> {
         this.getOptions = optionsIn.getOptions();
         this.lookupInOptions = optionsIn.lookupInOptions();
         this.insertOptions = optionsIn.insertOptions();
+        this.snapshot = new DocumentSnapshot<>(
+          collection, id, JsonArray.class, arrayListOptions.cacheSnapshot(), getOptions, lookupInOptions
+        );
     }
 
     @Override
@@ -263,19 +267,20 @@ public class CouchbaseArrayList<E> extends AbstractList<E> {
 
     @Override
     public boolean contains(Object o) {
-        // This grabs entire list locally, to search for o
+        // This walks the list through the iterator, so either grabs the entire list locally
+        // or pages through it and stops at the first match (see ArrayListOptions#pageSize)
         return super.contains(o);
     }
 
     @Override
     public Iterator<E> iterator() {
-        // This grabs entire list to create iterator
+        // This grabs entire list or its first page to create iterator
         return new CouchbaseListIterator(0);
     }
 
     @Override
     public ListIterator<E> listIterator(int index) {
-        // This grabs entire list to create iterator
+        // This grabs entire list or its first page to create iterator
         return new CouchbaseListIterator(index);
     }
 
@@ -290,42 +295,54 @@ public class CouchbaseArrayList<E> extends AbstractList<E> {
 
     private class CouchbaseListIterator implements ListIterator<E> {
 
-        private long cas;
-        private final ListIterator<E> delegate;
+        private final ArrayWindow<E> window;
 
         private int cursor;
         private int lastVisited;
 
-        @SuppressWarnings("unchecked")
         CouchbaseListIterator(int index) {
+            if (arrayListOptions.pageSize() > 0) {
+                this.window = ArrayWindow.paged(
+                  collection, id, entityTypeClass, arrayListOptions.pageSize(), lookupInOptions, index
+                );
+            } else {
+                this.window = loadSnapshot(index);
+            }
+            this.lastVisited = -1;
+            this.cursor = index;
+        }
+
+        @SuppressWarnings("unchecked")
+        private ArrayWindow<E> loadSnapshot(int index) {
             JsonArray current;
+            long cas;
             try {
-                GetResult result = collection.get(id, getOptions);
-                current = result.contentAs(JsonArray.class);
-                this.cas = result.cas();
+                DocumentSnapshot.Snapshot<JsonArray> result = snapshot.load();
+                current = result.content();
+                cas = result.cas();
             } catch (DocumentNotFoundException e) {
                 current = JsonArray.create();
-                this.cas = 0;
+                cas = 0;
             }
             //Care not to use toList, as it will convert internal JsonObject/JsonArray to Map/List
             List<E> list = new ArrayList<>(current.size());
             for (E value : (Iterable<E>) current) {
                 list.add(value);
             }
-
-            this.delegate = list.listIterator(index);
-            this.lastVisited = -1;
-            this.cursor = index;
+            return ArrayWindow.snapshot(list, cas, index);
         }
 
         @Override
         public boolean hasNext() {
-            return delegate.hasNext();
+            return cursor < window.size();
         }
 
         @Override
         public E next() {
-            E next = delegate.next();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            E next = window.get(cursor);
             lastVisited = cursor;
             cursor++;
             return next;
@@ -333,12 +350,15 @@ public class CouchbaseArrayList<E> extends AbstractList<E> {
 
         @Override
         public boolean hasPrevious() {
-            return delegate.hasPrevious();
+            return cursor > 0;
         }
 
         @Override
         public E previous() {
-            E previous = delegate.previous();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            E previous = window.get(cursor - 1);
             cursor--;
             lastVisited = cursor;
             return previous;
@@ -346,12 +366,12 @@ public class CouchbaseArrayList<E> extends AbstractList<E> {
 
         @Override
         public int nextIndex() {
-            return delegate.nextIndex();
+            return cursor;
         }
 
         @Override
         public int previousIndex() {
-            return delegate.previousIndex();
+            return cursor - 1;
         }
 
         @Override
@@ -365,12 +385,11 @@ public class CouchbaseArrayList<E> extends AbstractList<E> {
                 MutateInResult updated = collection.mutateIn(
                     id,
                     Collections.singletonList(MutateInSpec.remove(idx)),
-                    arrayListOptions.mutateInOptions().cas(cas)
+                    arrayListOptions.mutateInOptions().cas(window.cas())
                 );
                 //update the cas so that several removes in a row can work
-                this.cas = updated.cas();
+                window.removed(index, updated.cas());
                 //also correctly reset the state:
-                delegate.remove();
                 this.cursor = lastVisited;
                 this.lastVisited = -1;
             } catch (CasMismatchException | DocumentNotFoundException ex) {
@@ -391,12 +410,10 @@ public class CouchbaseArrayList<E> extends AbstractList<E> {
                 MutateInResult updated = collection.mutateIn(
                     id,
                     Collections.singletonList(MutateInSpec.replace(idx, e)),
-                    arrayListOptions.mutateInOptions().cas(cas)
+                    arrayListOptions.mutateInOptions().cas(window.cas())
                 );
                 //update the cas so that several mutations in a row can work
-                this.cas = updated.cas();
-                //also correctly reset the state:
-                delegate.set(e);
+                window.replaced(index, e, updated.cas());
             } catch (CasMismatchException | DocumentNotFoundException ex) {
                 throw new ConcurrentModificationException("List was modified since iterator creation: " + ex);
             } catch (PathNotFoundException ex) {
@@ -406,6 +423,10 @@ public class CouchbaseArrayList<E> extends AbstractList<E> {
 
         @Override
         public void add(E e) {
+            add(e, window.cas());
+        }
+
+        private void add(E e, long cas) {
             int index = this.cursor;
             String idx = "[" + index + "]";
             try {
@@ -415,17 +436,15 @@ public class CouchbaseArrayList<E> extends AbstractList<E> {
                     arrayListOptions.mutateInOptions().cas(cas)
                 );
                 //update the cas so that several mutations in a row can work
-                this.cas = updated.cas();
+                window.inserted(index, e, updated.cas());
                 //also correctly reset the state:
-                delegate.add(e);
                 this.cursor++;
                 this.lastVisited = -1;
             } catch (DocumentNotFoundException ex) {
-                if (delegate.nextIndex() == 0 && !delegate.hasNext()) {
+                if (cursor == 0 && window.size() == 0) {
                     // ok, so we just tried to add to a doc we have not
                     // created yet.
-                    this.cas = createEmptyList();
-                    add(e);
+                    add(e, createEmptyList());
                 } else {
                     throw new ConcurrentModificationException("List was modified since iterator creation", ex);
                 }
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import com.couchbase.client.core.annotation.Stability;
@@ -36,7 +37,6 @@ import com.couchbase.client.java.json.JsonValue;
 import com.couchbase.client.core.error.CasMismatchException;
 import com.couchbase.client.java.kv.ArraySetOptions;
 import com.couchbase.client.java.kv.GetOptions;
-import com.couchbase.client.java.kv.GetResult;
 import com.couchbase.client.java.kv.LookupInOptions;
 import com.couchbase.client.java.kv.LookupInResult;
 import com.couchbase.client.java.kv.LookupInSpec;
@@ -66,6 +66,8 @@ public class CouchbaseArraySet<T> extends AbstractSet<T> {
     private ArraySetOptions.Built arraySetOptions;
     private final GetOptions getOptions;
     private final LookupInOptions lookupInOptions;
+    private final Class<T> entityTypeClass;
+    private final DocumentSnapshot<JsonArray> snapshot;
 
     /**
      * Create a new {@link CouchbaseArraySet}, backed by the document identified by <code>id</code>
@@ -85,6 +87,7 @@ public class CouchbaseArraySet<T> extends AbstractSet<T> {
         notNull(options, "ArraySetOptions", () ->  ReducedKeyValueErrorContext.create(id, collection.bucketName(), collection.scopeName(), collection.name()));
         this.id = id;
         this.collection = collection;
+        this.entityTypeClass = entityType;
 
         // copy the options just in case they are reused later
         ArraySetOptions.Built optionsIn = options.build();
@@ -94,6 +97,9 @@ public class CouchbaseArraySet<T> extends AbstractSet<T> {
         this.arraySetOptions = arrayOpts.build();
         this.getOptions = optionsIn.getOptions();
         this.lookupInOptions = optionsIn.lookupInOptions();
+        this.snapshot = new DocumentSnapshot<>(
+          collection, id, JsonArray.class, arraySetOptions.cacheSnapshot(), getOptions, lookupInOptions
+        );
     }
 
     @Override
@@ -127,11 +133,10 @@ public class CouchbaseArraySet<T> extends AbstractSet<T> {
     @Override
     public boolean contains(Object t) {
         //TODO subpar implementation for a Set, use ARRAY_CONTAINS when available
+        // (with the snapshot cache enabled, this only needs a CAS check as long as the set did not change)
         enforcePrimitive(t);
         try {
-            GetResult result = collection.get(id, getOptions);
-
-            JsonArray current = result.contentAs(JsonArray.class);
+            JsonArray current = snapshot.load().content();
             for (Object in : current) {
                 if (safeEquals(in, t)) {
                     return true;
@@ -145,7 +150,7 @@ public class CouchbaseArraySet<T> extends AbstractSet<T> {
 
     @Override
     public Iterator<T> iterator() {
-        return new CouchbaseArraySetIterator<>();
+        return new CouchbaseArraySetIterator();
     }
 
     @Override
@@ -170,8 +175,8 @@ public class CouchbaseArraySet<T> extends AbstractSet<T> {
 
         for (int i = 0; i < arraySetOptions.casMismatchRetries(); i++) {
             try {
-                GetResult result = collection.get(id);
-                JsonArray current = result.contentAsArray();
+                DocumentSnapshot.Snapshot<JsonArray> result = snapshot.load();
+                JsonArray current = result.content();
                 long cas = result.cas();
                 int index = 0;
                 boolean found = false;
@@ -232,45 +237,56 @@ public class CouchbaseArraySet<T> extends AbstractSet<T> {
         return expected.equals(tested);
     }
 
-    private class CouchbaseArraySetIterator<E> implements Iterator<E> {
-        private long cas;
-        private final Iterator<E> delegate;
+    private class CouchbaseArraySetIterator implements Iterator<T> {
+        private final ArrayWindow<T> window;
         private int lastVisited;
         private int cursor;
 
-        @SuppressWarnings("unchecked")
         CouchbaseArraySetIterator() {
+            if (arraySetOptions.pageSize() > 0) {
+                this.window = ArrayWindow.paged(
+                  collection, id, entityTypeClass, arraySetOptions.pageSize(), lookupInOptions, 0
+                );
+            } else {
+                this.window = loadSnapshot();
+            }
+            this.lastVisited = -1;
+            this.cursor = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private ArrayWindow<T> loadSnapshot() {
             JsonArray current;
+            long cas;
             try {
-                GetResult result = collection.get(id);
-
-                current = result.contentAs(JsonArray.class);
-                // We use a list rather than a set, so the index of the
-                // removed item matches the index in the actual document in
-                // the server
-                this.cas = result.cas();
+                DocumentSnapshot.Snapshot<JsonArray> result = snapshot.load();
+                current = result.content();
+                cas = result.cas();
             } catch (DocumentNotFoundException e) {
                 current = JsonArray.create();
-                this.cas = 0;
+                cas = 0;
             }
-            ArrayList<E> list = new ArrayList<>(current.size());
-            for (E value : (Iterable<E>) current) {
+            // We use a list rather than a set, so the index of the
+            // removed item matches the index in the actual document in
+            // the server
+            ArrayList<T> list = new ArrayList<>(current.size());
+            for (T value : (Iterable<T>) current) {
                 list.add(value);
             }
-
-            this.delegate = list.iterator();
-            this.lastVisited = -1;
-            this.cursor = 0;
+            return ArrayWindow.snapshot(list, cas, 0);
         }
 
         @Override
         public boolean hasNext() {
-            return delegate.hasNext();
+            return cursor < window.size();
         }
 
         @Override
-        public E next() {
-            E next = delegate.next();
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T next = window.get(cursor);
             lastVisited = cursor;
             cursor++;
             return next;
@@ -290,11 +306,10 @@ public class CouchbaseArraySet<T> extends AbstractSet<T> {
                 MutateInResult updated = collection.mutateIn(
                   id,
                   Collections.singletonList(MutateInSpec.remove(idx)),
-                  arraySetOptions.mutateInOptions().cas(cas));
+                  arraySetOptions.mutateInOptions().cas(window.cas()));
                 //update the cas so that several removes in a row can work
-                this.cas = updated.cas();
+                window.removed(index, updated.cas());
                 //also correctly reset the state:
-                delegate.remove();
                 this.cursor = lastVisited;
                 this.lastVisited = -1;
             } catch (CasMismatchException | DocumentNotFoundException ex) {
@@ -305,4 +320,4 @@ public class CouchbaseArraySet<T> extends AbstractSet<T> {
         }
 
     }
-}
\ No newline at end of file
+}
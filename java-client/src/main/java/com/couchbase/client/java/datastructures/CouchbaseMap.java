@@ -71,6 +71,7 @@ public class CouchbaseMap<E> extends AbstractMap<String, E> {
     private final GetOptions getOptions;
     private final LookupInOptions lookupInOptions;
     private final InsertOptions insertOptions;
+    private final DocumentSnapshot<JsonObject> snapshot;
 
     /**
      * Create a new {@link CouchbaseMap}, backed by the document identified by <code>id</code>
@@ -99,6 +100,9 @@ public class CouchbaseMap<E> extends AbstractMap<String, E> {
         this.getOptions = optionsIn.getOptions();
         this.lookupInOptions = optionsIn.lookupInOptions();
         this.insertOptions = optionsIn.insertOptions();
+        this.snapshot = new DocumentSnapshot<>(
+          collection, id, JsonObject.class, mapOptions.cacheSnapshot(), getOptions, lookupInOptions
+        );
     }
 
     @Override
@@ -191,7 +195,7 @@ public class CouchbaseMap<E> extends AbstractMap<String, E> {
     public Set<Entry<String, E>> entrySet() {
         JsonObject obj;
         try {
-            obj = collection.get(id, getOptions).contentAsObject();
+            obj = snapshot.load().content();
         } catch (DocumentNotFoundException e) {
             obj = JsonObject.create();
         }
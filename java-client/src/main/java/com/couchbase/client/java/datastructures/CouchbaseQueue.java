@@ -16,9 +16,12 @@
 package com.couchbase.client.java.datastructures;
 
 import java.util.AbstractQueue;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 
 import com.couchbase.client.core.annotation.Stability;
@@ -34,7 +37,6 @@ import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
 import com.couchbase.client.core.error.CasMismatchException;
 import com.couchbase.client.java.kv.CommonDatastructureOptions;
-import com.couchbase.client.java.kv.GetResult;
 import com.couchbase.client.java.kv.LookupInOptions;
 import com.couchbase.client.java.kv.LookupInResult;
 import com.couchbase.client.java.kv.LookupInSpec;
@@ -68,6 +70,7 @@ public class CouchbaseQueue<E> extends AbstractQueue<E> {
     private final Class<E> entityTypeClass;
     private final QueueOptions.Built queueOptions;
     private final LookupInOptions lookupInOptions;
+    private final DocumentSnapshot<JsonArray> snapshot;
 
     /**
      * Create a new {@link Collection Couchbase-backed} Queue, backed by the document identified by <code>id</code>
@@ -94,6 +97,9 @@ public class CouchbaseQueue<E> extends AbstractQueue<E> {
         optionsIn.copyInto(opts);
         this.queueOptions = opts.build();
         this.lookupInOptions = optionsIn.lookupInOptions();
+        this.snapshot = new DocumentSnapshot<>(
+          collection, id, JsonArray.class, queueOptions.cacheSnapshot(), optionsIn.getOptions(), lookupInOptions
+        );
     }
 
     @Override
@@ -171,37 +177,48 @@ public class CouchbaseQueue<E> extends AbstractQueue<E> {
 
     public class CouchbaseQueueIterator<E> implements Iterator<E> {
 
-        private long cas;
-        private final Iterator<E> delegate;
+        private final ArrayWindow<E> window;
         private int lastVisited = -1;
         private boolean doneRemove = false;
 
         @SuppressWarnings("unchecked")
         CouchbaseQueueIterator() {
-            JsonArray content;
-            try {
-                GetResult result = collection.get(id);
-                this.cas = result.cas();
-                content = result.contentAsArray();
-            } catch (DocumentNotFoundException e) {
-                this.cas = 0;
-                content = JsonArray.create();
+            if (queueOptions.pageSize() > 0) {
+                this.window = ArrayWindow.paged(
+                  collection, id, (Class<E>) entityTypeClass, queueOptions.pageSize(), lookupInOptions, 0
+                );
+            } else {
+                JsonArray content;
+                long cas;
+                try {
+                    DocumentSnapshot.Snapshot<JsonArray> result = snapshot.load();
+                    cas = result.cas();
+                    content = result.content();
+                } catch (DocumentNotFoundException e) {
+                    cas = 0;
+                    content = JsonArray.create();
+                }
+                List<E> list = new ArrayList<>(content.size());
+                for (E value : (Iterable<E>) content) {
+                    list.add(value);
+                }
+                this.window = ArrayWindow.snapshot(list, cas, 0);
             }
-            this.delegate = (Iterator<E>) content.iterator();
         }
 
         @Override
         public boolean hasNext() {
-            return delegate.hasNext();
+            return lastVisited + 1 < window.size();
         }
 
         @Override
         public E next() {
-            if (hasNext()) {
-                lastVisited++;
-                doneRemove = false;
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            return delegate.next();
+            lastVisited++;
+            doneRemove = false;
+            return window.get(lastVisited);
         }
 
         @Override
@@ -217,11 +234,9 @@ public class CouchbaseQueue<E> extends AbstractQueue<E> {
             //use the cas to attempt to remove
             try {
                 MutateInResult result = collection.mutateIn(id, Collections.singletonList(MutateInSpec.remove(path)),
-                        queueOptions.mutateInOptions().cas(this.cas));
-                //update the cas
-                this.cas = result.cas();
-                //ok the remove succeeded in DB, let's reflect that in the iterator's backing collection and state
-                delegate.remove();
+                        queueOptions.mutateInOptions().cas(window.cas()));
+                //ok the remove succeeded in DB, let's reflect that in the iterator's backing window, cas and state
+                window.removed(lastVisited, result.cas());
                 doneRemove = true;
                 lastVisited--;
             } catch (CasMismatchException | DocumentNotFoundException e) {
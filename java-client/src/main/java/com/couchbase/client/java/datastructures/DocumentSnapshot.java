@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.datastructures;
+
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.kv.GetOptions;
+import com.couchbase.client.java.kv.GetResult;
+import com.couchbase.client.java.kv.LookupInOptions;
+import com.couchbase.client.java.kv.LookupInSpec;
+
+import java.util.Collections;
+
+/**
+ * Loads the full content of a data structure document, optionally reusing the previously loaded content as long
+ * as its CAS still matches the one on the server.
+ * <p>
+ * Validating the cached content only needs a subdoc count lookup, so for large documents that do not change
+ * often this avoids transferring and decoding the whole document on every membership check or iteration.
+ * <p>
+ * Note that the returned content is shared with the cache and must not be modified by the caller.
+ *
+ * @param <T> the type of the full document content, usually a {@link com.couchbase.client.java.json.JsonArray}
+ *   or a {@link com.couchbase.client.java.json.JsonObject}.
+ */
+class DocumentSnapshot<T> {
+
+    private final Collection collection;
+    private final String id;
+    private final Class<T> contentType;
+    private final boolean cacheEnabled;
+    private final GetOptions getOptions;
+    private final LookupInOptions lookupInOptions;
+
+    private volatile Snapshot<T> cached;
+
+    DocumentSnapshot(final Collection collection, final String id, final Class<T> contentType,
+                     final boolean cacheEnabled, final GetOptions getOptions, final LookupInOptions lookupInOptions) {
+        this.collection = collection;
+        this.id = id;
+        this.contentType = contentType;
+        this.cacheEnabled = cacheEnabled;
+        this.getOptions = getOptions;
+        this.lookupInOptions = lookupInOptions;
+    }
+
+    /**
+     * Returns the current content of the document together with its CAS.
+     *
+     * @return the current snapshot of the document.
+     * @throws DocumentNotFoundException if the document does not exist.
+     */
+    Snapshot<T> load() {
+        Snapshot<T> current = cached;
+        if (cacheEnabled && current != null) {
+            try {
+                long cas = collection.lookupIn(id, Collections.singletonList(LookupInSpec.count("")), lookupInOptions).cas();
+                if (cas == current.cas()) {
+                    return current;
+                }
+            } catch (DocumentNotFoundException e) {
+                cached = null;
+                throw e;
+            }
+        }
+
+        try {
+            GetResult result = collection.get(id, getOptions);
+            Snapshot<T> loaded = new Snapshot<>(result.contentAs(contentType), result.cas());
+            if (cacheEnabled) {
+                cached = loaded;
+            }
+            return loaded;
+        } catch (DocumentNotFoundException e) {
+            cached = null;
+            throw e;
+        }
+    }
+
+    static class Snapshot<T> {
+        private final T content;
+        private final long cas;
+
+        Snapshot(final T content, final long cas) {
+            this.content = content;
+            this.cas = cas;
+        }
+
+        T content() {
+            return content;
+        }
+
+        long cas() {
+            return cas;
+        }
+    }
+
+}
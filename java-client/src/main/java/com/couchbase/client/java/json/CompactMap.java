@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.json;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A map from String keys to values which stores its entries in two parallel arrays, using open addressing with
+ * linear probing.
+ * <p>
+ * Unlike a {@link java.util.HashMap} it does not allocate a node per entry, which makes it considerably smaller
+ * for the small objects typically found in JSON documents. Null values are supported, null keys are not.
+ * <p>
+ * Not thread safe.
+ */
+final class CompactMap extends AbstractMap<String, Object> implements Serializable {
+
+  private static final long serialVersionUID = -2861361633543617290L;
+
+  private static final int MIN_CAPACITY = 4;
+
+  /**
+   * Marks the slot of a removed entry, so lookups keep probing past it.
+   */
+  private static final String DELETED = new String("<deleted>");
+
+  private transient String[] keys;
+  private transient Object[] values;
+  private transient int size;
+  private transient int deleted;
+  private transient int modCount;
+
+  CompactMap() {
+    this(0);
+  }
+
+  CompactMap(final int expectedSize) {
+    int capacity = capacityFor(expectedSize);
+    keys = new String[capacity];
+    values = new Object[capacity];
+  }
+
+  /**
+   * Returns the smallest power of two capacity keeping the table at most 3/4 full.
+   */
+  private static int capacityFor(final int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity - (capacity >>> 2) < expectedSize) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private static int slot(final String key, final int mask) {
+    int h = key.hashCode();
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private int indexOf(final Object key) {
+    if (!(key instanceof String)) {
+      return -1;
+    }
+    int mask = keys.length - 1;
+    for (int i = slot((String) key, mask); ; i = (i + 1) & mask) {
+      String k = keys[i];
+      if (k == null) {
+        return -1;
+      }
+      if (k != DELETED && k.equals(key)) {
+        return i;
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public Object get(final Object key) {
+    int i = indexOf(key);
+    return i < 0 ? null : values[i];
+  }
+
+  @Override
+  public Object put(final String key, final Object value) {
+    Objects.requireNonNull(key, "The key is not allowed to be null");
+
+    int mask = keys.length - 1;
+    int firstDeleted = -1;
+    int i = slot(key, mask);
+    for (; ; i = (i + 1) & mask) {
+      String k = keys[i];
+      if (k == null) {
+        break;
+      }
+      if (k == DELETED) {
+        if (firstDeleted < 0) {
+          firstDeleted = i;
+        }
+      } else if (k.equals(key)) {
+        Object previous = values[i];
+        values[i] = value;
+        return previous;
+      }
+    }
+
+    if (firstDeleted >= 0) {
+      i = firstDeleted;
+      deleted--;
+    } else if (size + deleted + 1 > keys.length - (keys.length >>> 2)) {
+      rehash(capacityFor(size + 1));
+      return put(key, value);
+    }
+
+    keys[i] = key;
+    values[i] = value;
+    size++;
+    modCount++;
+    return null;
+  }
+
+  @Override
+  public Object remove(final Object key) {
+    int i = indexOf(key);
+    if (i < 0) {
+      return null;
+    }
+    Object previous = values[i];
+    removeAt(i);
+    return previous;
+  }
+
+  private void removeAt(final int i) {
+    keys[i] = DELETED;
+    values[i] = null;
+    size--;
+    deleted++;
+    modCount++;
+  }
+
+  @Override
+  public void clear() {
+    if (size > 0 || deleted > 0) {
+      Arrays.fill(keys, null);
+      Arrays.fill(values, null);
+      size = 0;
+      deleted = 0;
+      modCount++;
+    }
+  }
+
+  private void rehash(final int capacity) {
+    String[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new String[capacity];
+    values = new Object[capacity];
+    size = 0;
+    deleted = 0;
+    int mask = capacity - 1;
+    for (int j = 0; j < oldKeys.length; j++) {
+      String k = oldKeys[j];
+      if (k != null && k != DELETED) {
+        int i = slot(k, mask);
+        while (keys[i] != null) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = k;
+        values[i] = oldValues[j];
+        size++;
+      }
+    }
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+    for (int i = 0; i < keys.length; i++) {
+      String k = keys[i];
+      if (k != null && k != DELETED) {
+        out.writeObject(k);
+        out.writeObject(values[i]);
+      }
+    }
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int entries = in.readInt();
+    if (entries < 0) {
+      throw new InvalidObjectException("Invalid size: " + entries);
+    }
+    keys = new String[capacityFor(entries)];
+    values = new Object[keys.length];
+    for (int i = 0; i < entries; i++) {
+      put((String) in.readObject(), in.readObject());
+    }
+  }
+
+  @Override
+  public void forEach(final BiConsumer<? super String, ? super Object> action) {
+    int expectedModCount = modCount;
+    for (int i = 0; i < keys.length; i++) {
+      String k = keys[i];
+      if (k != null && k != DELETED) {
+        action.accept(k, values[i]);
+      }
+    }
+    if (modCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    return new AbstractSet<Map.Entry<String, Object>>() {
+      @Override
+      public Iterator<Map.Entry<String, Object>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public void clear() {
+        CompactMap.this.clear();
+      }
+    };
+  }
+
+  private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+    private int next = advance(0);
+    private int current = -1;
+    private int expectedModCount = modCount;
+
+    private int advance(int i) {
+      while (i < keys.length && (keys[i] == null || keys[i] == DELETED)) {
+        i++;
+      }
+      return i;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < keys.length;
+    }
+
+    @Override
+    public Map.Entry<String, Object> next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      current = next;
+      next = advance(next + 1);
+      return new Entry(current);
+    }
+
+    @Override
+    public void remove() {
+      if (current < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      removeAt(current);
+      current = -1;
+      expectedModCount = modCount;
+    }
+  }
+
+  private final class Entry implements Map.Entry<String, Object> {
+    private final int index;
+    private final String key;
+
+    Entry(final int index) {
+      this.index = index;
+      this.key = keys[index];
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public Object getValue() {
+      return keys[index] == key ? values[index] : get(key);
+    }
+
+    @Override
+    public Object setValue(final Object value) {
+      if (keys[index] != key) {
+        return put(key, value);
+      }
+      Object previous = values[index];
+      values[index] = value;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      return key.equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+}
@@ -49,6 +49,13 @@ public class JsonObject extends JsonValue implements Serializable {
 
     private static final long serialVersionUID = 8817717605659870262L;
 
+    /**
+     * If set, objects are backed by a {@link CompactMap} instead of a {@link HashMap}, which uses considerably
+     * less memory per field.
+     */
+    private static final boolean COMPACT = Boolean.parseBoolean(
+        System.getProperty("com.couchbase.json.compactObjects", "false"));
+
     /**
      * The backing {@link Map} for the object.
      */
@@ -60,14 +67,14 @@ public class JsonObject extends JsonValue implements Serializable {
      * The internal map is initialized with the default capacity.
      */
     private JsonObject() {
-        content = new HashMap<>();
+        content = COMPACT ? new CompactMap() : new HashMap<>();
     }
 
     /**
      * Private constructor to create the object with a custom initial capacity.
      */
     private JsonObject(int initialCapacity) {
-        content = new HashMap<>(initialCapacity);
+        content = COMPACT ? new CompactMap(initialCapacity) : new HashMap<>(initialCapacity);
     }
 
     /**
@@ -557,6 +564,13 @@ public class JsonObject extends JsonValue implements Serializable {
         return copy;
     }
 
+    /**
+     * Returns the backing map without copying it, for serializers which write it directly.
+     */
+    Map<String, Object> content() {
+        return content;
+    }
+
     /**
      * Checks if the {@link JsonObject} contains the field name.
      *
@@ -28,6 +28,7 @@ import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.SerializerP
 import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.module.SimpleModule;
 
 import java.io.IOException;
+import java.util.Map;
 
 @Stability.Internal
 public class RepackagedJsonValueModule extends SimpleModule {
@@ -45,19 +46,72 @@ public class RepackagedJsonValueModule extends SimpleModule {
     addDeserializer(JsonArray.class, new JsonArrayDeserializer());
   }
 
+  /**
+   * Writes the object straight to the generator, instead of converting it to a Map first.
+   */
   static class JsonObjectSerializer extends JsonSerializer<JsonObject> {
     @Override
     public void serialize(JsonObject value, JsonGenerator jgen,
                           SerializerProvider provider) throws IOException {
-      jgen.writeObject(value.toMap());
+      writeObject(value, jgen, provider);
     }
   }
 
+  /**
+   * Writes the array straight to the generator, instead of converting it to a List first.
+   */
   static class JsonArraySerializer extends JsonSerializer<JsonArray> {
     @Override
     public void serialize(JsonArray value, JsonGenerator jgen,
                           SerializerProvider provider) throws IOException {
-      jgen.writeObject(value.toList());
+      writeArray(value, jgen, provider);
+    }
+  }
+
+  private static void writeObject(final JsonObject value, final JsonGenerator jgen,
+                                  final SerializerProvider provider) throws IOException {
+    Map<String, Object> content = value.content();
+    jgen.writeStartObject(value, content.size());
+    for (Map.Entry<String, Object> entry : content.entrySet()) {
+      jgen.writeFieldName(entry.getKey());
+      writeValue(entry.getValue(), jgen, provider);
+    }
+    jgen.writeEndObject();
+  }
+
+  private static void writeArray(final JsonArray value, final JsonGenerator jgen,
+                                 final SerializerProvider provider) throws IOException {
+    jgen.writeStartArray(value, value.size());
+    for (Object element : value) {
+      writeValue(element, jgen, provider);
+    }
+    jgen.writeEndArray();
+  }
+
+  /**
+   * Writes the types JSON values usually hold without looking up a serializer, and hands anything
+   * else (like BigDecimal) to the provider as before.
+   */
+  private static void writeValue(final Object value, final JsonGenerator jgen,
+                                 final SerializerProvider provider) throws IOException {
+    if (value == null) {
+      jgen.writeNull();
+    } else if (value instanceof String) {
+      jgen.writeString((String) value);
+    } else if (value instanceof Integer) {
+      jgen.writeNumber((Integer) value);
+    } else if (value instanceof Long) {
+      jgen.writeNumber((Long) value);
+    } else if (value instanceof Double) {
+      jgen.writeNumber((Double) value);
+    } else if (value instanceof Boolean) {
+      jgen.writeBoolean((Boolean) value);
+    } else if (value instanceof JsonObject) {
+      writeObject((JsonObject) value, jgen, provider);
+    } else if (value instanceof JsonArray) {
+      writeArray((JsonArray) value, jgen, provider);
+    } else {
+      provider.defaultSerializeValue(value, jgen);
     }
   }
 
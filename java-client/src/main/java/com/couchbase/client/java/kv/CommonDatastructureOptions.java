@@ -17,12 +17,22 @@
 package com.couchbase.client.java.kv;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.java.CommonOptions;
 
 public abstract class CommonDatastructureOptions<SELF extends CommonDatastructureOptions<SELF>> extends CommonOptions<SELF> {
 
     private static final int DEFAULT_CAS_MISMATCH_RETRIES = 10;
+
+    /**
+     * The maximum number of elements which can be fetched in a single page, bound by the
+     * maximum number of paths a single subdoc lookup can carry.
+     */
+    public static final int MAX_PAGE_SIZE = 16;
+
     private int casMismatchRetries;
+    private int pageSize;
+    private boolean cacheSnapshot;
 
     protected CommonDatastructureOptions() {
         this.casMismatchRetries = DEFAULT_CAS_MISMATCH_RETRIES;
@@ -34,6 +44,47 @@ public abstract class CommonDatastructureOptions<SELF extends CommonDatastructur
         return self();
     }
 
+    /**
+     * Makes iterators fetch the backing JSON array in windows of the given number of elements instead
+     * of loading the whole document up front.
+     * <p>
+     * Each window is loaded through a single subdoc lookup, so the page size cannot be larger than
+     * {@link #MAX_PAGE_SIZE}. A paged iterator is fail-fast: if the document is modified by someone else
+     * while iterating, fetching the next window throws a {@link java.util.ConcurrentModificationException}.
+     * <p>
+     * The default is 0, which loads the whole document when the iterator is created.
+     *
+     * @param pageSize the number of elements to fetch per round trip, or 0 to disable paging.
+     * @return this options class for chaining purposes.
+     */
+    @Stability.Volatile
+    public SELF pageSize(int pageSize) {
+        if (pageSize < 0 || pageSize > MAX_PAGE_SIZE) {
+            throw InvalidArgumentException.fromMessage(
+              "The page size must be between 0 and " + MAX_PAGE_SIZE + ", but got " + pageSize);
+        }
+        this.pageSize = pageSize;
+        return self();
+    }
+
+    /**
+     * Keeps the last fully loaded document in memory and reuses it as long as its CAS still matches the one
+     * on the server.
+     * <p>
+     * Operations which need the whole document (like membership checks or non-paged iteration) then only
+     * perform a small subdoc lookup to validate the CAS and skip transferring and decoding the full content
+     * if it did not change in the meantime. Note that this trades heap for network, since the cached content
+     * is retained for as long as the data structure instance is alive.
+     *
+     * @param cacheSnapshot true if the CAS-validated snapshot cache should be used.
+     * @return this options class for chaining purposes.
+     */
+    @Stability.Volatile
+    public SELF cacheSnapshot(boolean cacheSnapshot) {
+        this.cacheSnapshot = cacheSnapshot;
+        return self();
+    }
+
     @Stability.Internal
     public abstract class BuiltCommonDatastructureOptions extends BuiltCommonOptions {
 
@@ -41,6 +92,14 @@ public abstract class CommonDatastructureOptions<SELF extends CommonDatastructur
             return casMismatchRetries;
         }
 
+        public int pageSize() {
+            return pageSize;
+        }
+
+        public boolean cacheSnapshot() {
+            return cacheSnapshot;
+        }
+
         // We need to create various specific Options, which use the CommonOptions base, so
         // lets do that here
         public LookupInOptions lookupInOptions() {
@@ -84,6 +143,8 @@ public abstract class CommonDatastructureOptions<SELF extends CommonDatastructur
             c.timeout(this.timeout().orElse(null));
             c.clientContext(this.clientContext());
             c.casMismatchRetries(this.casMismatchRetries());
+            c.pageSize(this.pageSize());
+            c.cacheSnapshot(this.cacheSnapshot());
         }
     }
 }
@@ -83,8 +83,9 @@ public class GetOptions extends CommonOptions<GetOptions> {
   /**
    * Allows to specify a custom list paths to fetch from the document instead of the whole.
    * <p>
-   * Note that a maximum of 16 individual paths can be projected at a time due to a server limitation. If you need
-   * more than that, think about fetching less-generic paths or the full document straight away.
+   * Note that the server can only look up 16 individual paths at a time (15 together with the expiry). More paths are
+   * served by splitting them across several lookups or by fetching the full document and projecting it on the client,
+   * so consider fetching less-generic paths or the full document straight away.
    *
    * @param path a path that should be loaded if present.
    * @param morePaths additional paths that should be loaded if present.
@@ -98,8 +99,9 @@ public class GetOptions extends CommonOptions<GetOptions> {
   /**
    * Allows to specify a custom list paths to fetch from the document instead of the whole.
    * <p>
-   * Note that a maximum of 16 individual paths can be projected at a time due to a server limitation. If you need
-   * more than that, think about fetching less-generic paths or the full document straight away.
+   * Note that the server can only look up 16 individual paths at a time (15 together with the expiry). More paths are
+   * served by splitting them across several lookups or by fetching the full document and projecting it on the client,
+   * so consider fetching less-generic paths or the full document straight away.
    *
    * @param paths each individual path that should be loaded if present.
    * @return the {@link GetOptions} to allow method chaining.
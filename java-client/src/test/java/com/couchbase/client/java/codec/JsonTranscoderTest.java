@@ -16,6 +16,11 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.api.kv.CoreBufferEncodedContent;
+import com.couchbase.client.core.api.kv.CoreEncodedContent;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.msg.kv.CodecFlags;
 import com.couchbase.client.java.json.JsonArray;
@@ -126,4 +131,59 @@ class JsonTranscoderTest {
     assertThrows(InvalidArgumentException.class, () -> JSON_TRANSCODER.decode(byte[].class, new byte[] {}, CodecFlags.JSON_COMPAT_FLAGS));
   }
 
+
+  @Test
+  void encodesJsonObjectIntoBuffer() {
+    JsonObject input = JsonObject.create().put("foo", "bar");
+    ByteBuf buffer = Unpooled.buffer();
+    try {
+      int flags = ((BufferAwareTranscoder) JSON_TRANSCODER).encodeTo(input, buffer);
+      assertEquals(CodecFlags.JSON_COMPAT_FLAGS, flags);
+      assertEquals("{\"foo\":\"bar\"}", buffer.toString(StandardCharsets.UTF_8));
+    } finally {
+      buffer.release();
+    }
+  }
+
+  @Test
+  void decodesJsonObjectFromBuffer() {
+    ByteBuf input = Unpooled.copiedBuffer("{\"foo\":\"bar\"}", StandardCharsets.UTF_8);
+    try {
+      JsonObject decoded = ((BufferAwareTranscoder) JSON_TRANSCODER)
+        .decode(JsonObject.class, input, CodecFlags.JSON_COMPAT_FLAGS);
+      assertEquals(JsonObject.create().put("foo", "bar"), decoded);
+      assertEquals(0, input.readerIndex());
+    } finally {
+      input.release();
+    }
+  }
+
+  @Test
+  void rejectsByteArrayEncodeIntoBuffer() {
+    ByteBuf buffer = Unpooled.buffer();
+    try {
+      assertThrows(InvalidArgumentException.class, () ->
+        ((BufferAwareTranscoder) JSON_TRANSCODER).encodeTo(new byte[] {}, buffer));
+    } finally {
+      buffer.release();
+    }
+  }
+
+  @Test
+  void leavesEncodingToCore() {
+    CoreEncodedContent content = BufferAwareContent.encode(JSON_TRANSCODER, JsonObject.create().put("foo", "bar"));
+    assertTrue(content instanceof CoreBufferEncodedContent);
+
+    ByteBuf buffer = Unpooled.buffer();
+    try {
+      ((CoreBufferEncodedContent) content).encodeTo(buffer);
+      assertEquals(CodecFlags.JSON_COMPAT_FLAGS, content.flags());
+      assertArrayEquals(content.encoded(), ByteBufUtil.getBytes(buffer));
+    } finally {
+      buffer.release();
+    }
+
+    assertFalse(BufferAwareContent.encode(SerializableTranscoder.INSTANCE, "foo") instanceof CoreBufferEncodedContent);
+  }
+
 }
@@ -16,6 +16,8 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.msg.kv.CodecFlags;
 import org.junit.jupiter.api.Test;
@@ -78,4 +80,35 @@ class RawJsonTranscoderTest {
     assertArrayEquals(input, output);
   }
 
+
+  @Test
+  void encodesJsonPassthroughStringIntoBuffer() {
+    String input = "{\"hello\": true}";
+    ByteBuf buffer = Unpooled.buffer();
+    try {
+      int flags = RawJsonTranscoder.INSTANCE.encodeTo(input, buffer);
+      assertEquals(CodecFlags.JSON_COMPAT_FLAGS, flags);
+      assertEquals(input, buffer.toString(StandardCharsets.UTF_8));
+    } finally {
+      buffer.release();
+    }
+  }
+
+  @Test
+  void decodesJsonPassthroughStringFromBuffer() {
+    String input = "{\"hello\": true}";
+    ByteBuf buffer = Unpooled.copiedBuffer(input, StandardCharsets.UTF_8);
+    try {
+      assertEquals(input, RawJsonTranscoder.INSTANCE.decode(String.class, buffer, CodecFlags.JSON_COMPAT_FLAGS));
+      assertArrayEquals(
+        input.getBytes(StandardCharsets.UTF_8),
+        RawJsonTranscoder.INSTANCE.decode(byte[].class, buffer, CodecFlags.JSON_COMPAT_FLAGS)
+      );
+      assertThrows(DecodingFailureException.class, () ->
+        RawJsonTranscoder.INSTANCE.decode(Object.class, buffer, CodecFlags.JSON_COMPAT_FLAGS));
+    } finally {
+      buffer.release();
+    }
+  }
+
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactMapTest {
+
+  @Test
+  void behavesLikeHashMap() {
+    Map<String, Object> expected = new HashMap<>();
+    Map<String, Object> actual = new CompactMap();
+    Random random = new Random(42);
+
+    for (int i = 0; i < 10_000; i++) {
+      String key = "k" + random.nextInt(200);
+      int op = random.nextInt(3);
+      if (op == 0) {
+        assertEquals(expected.remove(key), actual.remove(key));
+      } else {
+        Object value = op == 1 ? null : i;
+        assertEquals(expected.put(key, value), actual.put(key, value));
+      }
+      assertEquals(expected.size(), actual.size());
+      assertEquals(expected.containsKey(key), actual.containsKey(key));
+      assertEquals(expected.get(key), actual.get(key));
+    }
+
+    assertEquals(expected, actual);
+    assertEquals(actual, expected);
+    assertEquals(expected.hashCode(), actual.hashCode());
+  }
+
+  @Test
+  void removesThroughIterator() {
+    Map<String, Object> map = new CompactMap();
+    for (int i = 0; i < 20; i++) {
+      map.put("k" + i, i);
+    }
+
+    Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+    while (it.hasNext()) {
+      if ((Integer) it.next().getValue() % 2 == 0) {
+        it.remove();
+      }
+    }
+    map.keySet().remove("k1");
+    map.values().removeIf(v -> v.equals(3));
+
+    assertEquals(8, map.size());
+    assertFalse(map.containsKey("k0"));
+    assertFalse(map.containsKey("k1"));
+    assertFalse(map.containsKey("k3"));
+    assertEquals(19, map.get("k19"));
+  }
+
+  @Test
+  void setsValueThroughEntry() {
+    Map<String, Object> map = new CompactMap();
+    map.put("a", 1);
+    map.entrySet().iterator().next().setValue(2);
+    assertEquals(singletonMap("a", 2), map);
+  }
+
+  @Test
+  void rejectsNullKeys() {
+    Map<String, Object> map = new CompactMap();
+    assertThrows(NullPointerException.class, () -> map.put(null, 1));
+    assertNull(map.get(null));
+    assertFalse(map.containsKey(null));
+  }
+
+  @Test
+  void serializesWithoutRemovedEntries() throws Exception {
+    CompactMap map = new CompactMap();
+    map.put("a", 1);
+    map.put("b", JsonObject.create().put("c", true));
+    map.remove("a");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(map);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      Object copy = in.readObject();
+      assertTrue(copy instanceof CompactMap);
+      assertEquals(map, copy);
+    }
+  }
+
+}
@@ -16,6 +16,7 @@
 
 package com.couchbase.client.kotlin
 
+import com.couchbase.client.core.Core
 import com.couchbase.client.core.CoreKeyspace
 import com.couchbase.client.core.annotation.SinceCouchbase
 import com.couchbase.client.core.api.CoreCouchbaseOps
@@ -33,6 +34,7 @@ import com.couchbase.client.core.kv.*
 import com.couchbase.client.core.manager.CoreCollectionQueryIndexManager
 import com.couchbase.client.core.msg.Request
 import com.couchbase.client.core.msg.Response
+import com.couchbase.client.core.node.KeyValueLocator
 import com.couchbase.client.kotlin.annotations.UncommittedCouchbaseApi
 import com.couchbase.client.kotlin.annotations.VolatileCouchbaseApi
 import com.couchbase.client.kotlin.codec.Content
@@ -41,10 +43,13 @@ import com.couchbase.client.kotlin.codec.Transcoder
 import com.couchbase.client.kotlin.codec.TypeRef
 import com.couchbase.client.kotlin.codec.typeRef
 import com.couchbase.client.kotlin.env.ClusterEnvironment
+import com.couchbase.client.kotlin.internal.mapConcurrently
 import com.couchbase.client.kotlin.internal.toOptional
 import com.couchbase.client.kotlin.internal.toSaturatedInt
 import com.couchbase.client.kotlin.internal.toStringUtf8
+import com.couchbase.client.kotlin.kv.BulkResult
 import com.couchbase.client.kotlin.kv.Counter
+import com.couchbase.client.kotlin.kv.DEFAULT_BULK_CONCURRENCY
 import com.couchbase.client.kotlin.kv.DEFAULT_SCAN_BATCH_ITEM_LIMIT
 import com.couchbase.client.kotlin.kv.DEFAULT_SCAN_BATCH_SIZE_LIMIT
 import com.couchbase.client.kotlin.kv.Durability
@@ -129,9 +134,10 @@ public class Collection internal constructor(
      * @param project Prunes the returned JSON content, retaining only the elements
      * rooted at the specified sub-document paths, as well as any intermediate
      * parent elements required to preserve the document structure.
-     * A maximum of 16 paths can be projected at a time (15 if `withExpiry` is true).
-     * To work around this limitation, consider specifying shallower paths or
-     * fetching the whole document.
+     * The server can only look up 16 paths at a time (15 if `withExpiry` is true).
+     * More paths are served by splitting them across several lookups or by
+     * fetching the whole document and projecting it on the client, so consider
+     * specifying shallower paths or fetching the whole document.
      *
      * @throws DocumentNotFoundException if a document with ID [id] is not found in the collection.
      */
@@ -174,6 +180,46 @@ public class Collection internal constructor(
         null
     }
 
+    /**
+     * Gets many documents from this collection, issuing up to [concurrency]
+     * requests at a time to each node.
+     *
+     * IDs are grouped by the node that hosts them, so a slow node does not hold up
+     * requests to the other nodes. Results are emitted in completion order, not in
+     * the order of [ids]. IDs are only consumed as fast as results are collected.
+     *
+     * A failure to get one document does not fail the returned flow; instead it is
+     * reported in the [BulkResult] for that document. For example, a missing document
+     * results in a [BulkResult.error] that is a [DocumentNotFoundException].
+     *
+     * @param ids The IDs of the documents to get.
+     * @param concurrency The maximum number of requests in flight per node.
+     * @see get
+     */
+    @VolatileCouchbaseApi
+    public fun getAll(
+        ids: Flow<String>,
+        common: CommonOptions = CommonOptions.Default,
+        withExpiry: Boolean = false,
+        project: List<String> = emptyList(),
+        concurrency: Int = DEFAULT_BULK_CONCURRENCY,
+    ): Flow<BulkResult<GetResult>> {
+        return ids.mapConcurrently(concurrency, ::nodeIndexFor) { id ->
+            BulkResult.of(id) { get(id, common, withExpiry, project) }
+        }
+    }
+
+    /**
+     * Returns the index of the node hosting the active partition of the document,
+     * or -1 if it is not known. Used only for grouping bulk operations;
+     * requests are still routed by core.
+     */
+    private fun nodeIndexFor(id: String): Int {
+        val core = couchbaseOps as? Core ?: return -1
+        val config = core.clusterConfig().bucketConfig(collectionId.bucket()) ?: return -1
+        return KeyValueLocator.activeNodeIndexForKey(id, config)
+    }
+
     /**
      * Depending on the scan [type], returns from this collection:
      *
@@ -485,6 +531,50 @@ public class Collection internal constructor(
         }
     }
 
+    /**
+     * Inserts or updates many documents, issuing up to [concurrency]
+     * requests at a time to each node.
+     *
+     * Documents are grouped by the node that hosts them, and results are emitted
+     * in completion order. Documents are only consumed as fast as results are collected.
+     * A failure to upsert one document is reported in the [BulkResult] for that document,
+     * and does not fail the returned flow.
+     *
+     * @param documents Pairs of document ID and content.
+     * @param transcoder defaults to the transcoder configured on the cluster environment.
+     * @param concurrency The maximum number of requests in flight per node.
+     * @see upsert
+     */
+    @VolatileCouchbaseApi
+    public inline fun <reified T> upsertAll(
+        documents: Flow<Pair<String, T>>,
+        common: CommonOptions = CommonOptions.Default,
+        transcoder: Transcoder? = null,
+        durability: Durability = Durability.none(),
+        expiry: Expiry = Expiry.None,
+        @SinceCouchbase("7.0") preserveExpiry: Boolean = false,
+        concurrency: Int = DEFAULT_BULK_CONCURRENCY,
+    ): Flow<BulkResult<MutationResult>> =
+        internalUpsertAll(documents, typeRef(), common, transcoder, durability, expiry, preserveExpiry, concurrency)
+
+    @PublishedApi
+    internal fun <T> internalUpsertAll(
+        documents: Flow<Pair<String, T>>,
+        contentType: TypeRef<T>,
+        common: CommonOptions,
+        transcoder: Transcoder?,
+        durability: Durability,
+        expiry: Expiry,
+        preserveExpiry: Boolean,
+        concurrency: Int,
+    ): Flow<BulkResult<MutationResult>> {
+        return documents.mapConcurrently(concurrency, { nodeIndexFor(it.first) }) { (id, content) ->
+            BulkResult.of(id) {
+                internalUpsert(id, content, contentType, common, transcoder, durability, expiry, preserveExpiry)
+            }
+        }
+    }
+
     /**
      * @throws DocumentNotFoundException if a document with ID [id] is not found in the collection.
      * @throws CasMismatchException if [cas] != 0 and does not match the existing document's CAS value.
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.kotlin.internal
+
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.SendChannel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.collect
+import kotlinx.coroutines.launch
+
+/**
+ * Applies [transform] to each element with at most [concurrency] transforms
+ * in flight per group, and emits the results in completion order.
+ *
+ * Each group (as returned by [groupOf]) gets its own lane: a queue holding up to [concurrency]
+ * elements, drained by [concurrency] workers. A slow group only holds up the upstream flow
+ * once its queue is full. Results are handed to the collector without buffering,
+ * so workers wait for a slow collector instead of piling up results.
+ */
+internal fun <T, R> Flow<T>.mapConcurrently(
+    concurrency: Int,
+    groupOf: (T) -> Any? = { null },
+    transform: suspend (T) -> R,
+): Flow<R> {
+    require(concurrency > 0) { "concurrency must be > 0, but got $concurrency" }
+
+    val upstream = this
+    return channelFlow {
+        val lanes = HashMap<Any?, SendChannel<T>>()
+        try {
+            upstream.collect { element ->
+                val lane = lanes.getOrPut(groupOf(element)) {
+                    Channel<T>(concurrency).also { queue ->
+                        repeat(concurrency) {
+                            launch {
+                                for (queued in queue) send(transform(queued))
+                            }
+                        }
+                    }
+                }
+                lane.send(element)
+            }
+        } finally {
+            lanes.values.forEach { it.close() }
+        }
+    }.buffer(Channel.RENDEZVOUS)
+}
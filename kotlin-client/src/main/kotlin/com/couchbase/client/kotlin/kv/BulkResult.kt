@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.kotlin.kv
+
+import com.couchbase.client.kotlin.annotations.VolatileCouchbaseApi
+import kotlinx.coroutines.CancellationException
+
+/**
+ * Default number of concurrent requests per node for bulk operations
+ * like [com.couchbase.client.kotlin.Collection.getAll].
+ */
+@VolatileCouchbaseApi
+public const val DEFAULT_BULK_CONCURRENCY: Int = 16
+
+/**
+ * The outcome of the operation on a single document in a bulk operation
+ * like [com.couchbase.client.kotlin.Collection.getAll].
+ *
+ * A failure of one document does not fail the whole bulk operation;
+ * instead, the exception is reported in the [BulkResult] for that document.
+ */
+@VolatileCouchbaseApi
+public class BulkResult<out T> internal constructor(
+    /**
+     * The ID of the document this result is for.
+     */
+    public val id: String,
+    private val value: T?,
+    /**
+     * The exception the operation failed with, or null if it succeeded.
+     */
+    public val error: Throwable?,
+) {
+    public val isSuccess: Boolean
+        get() = error == null
+
+    /**
+     * Returns the result of the operation, or throws the exception it failed with.
+     */
+    @Suppress("UNCHECKED_CAST")
+    public fun getOrThrow(): T {
+        error?.let { throw it }
+        return value as T
+    }
+
+    /**
+     * Returns the result of the operation, or null if it failed.
+     */
+    public fun getOrNull(): T? = value
+
+    override fun toString(): String {
+        return if (error == null) "BulkResult(id='$id', value=$value)" else "BulkResult(id='$id', error=$error)"
+    }
+
+    internal companion object {
+        /**
+         * Runs the operation for a single document, capturing any failure other than cancellation.
+         */
+        internal inline fun <T> of(id: String, block: () -> T): BulkResult<T> {
+            return try {
+                BulkResult(id, block(), null)
+            } catch (t: CancellationException) {
+                throw t
+            } catch (t: Throwable) {
+                BulkResult(id, null, t)
+            }
+        }
+    }
+}
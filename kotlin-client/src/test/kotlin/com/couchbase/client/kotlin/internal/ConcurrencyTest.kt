@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.kotlin.internal
+
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.asFlow
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class ConcurrencyTest {
+
+    @Test
+    fun `emits every result in completion order`() = runBlocking {
+        val results = listOf(30L, 10L, 20L).asFlow()
+            .mapConcurrently(concurrency = 3) { delay(it); it }
+            .toList()
+
+        assertEquals(listOf(10L, 20L, 30L), results)
+    }
+
+    @Test
+    fun `limits concurrency per group`() = runBlocking {
+        val inFlight = ConcurrentHashMap<Int, AtomicInteger>()
+        val maxInFlight = ConcurrentHashMap<Int, Int>()
+
+        val results = (0 until 100).asFlow()
+            .mapConcurrently(concurrency = 4, groupOf = { it % 2 }) {
+                val group = it % 2
+                val current = inFlight.computeIfAbsent(group) { AtomicInteger() }.incrementAndGet()
+                maxInFlight.merge(group, current, ::maxOf)
+                delay(5)
+                inFlight.getValue(group).decrementAndGet()
+                it
+            }
+            .toList()
+
+        assertEquals((0 until 100).toSet(), results.toSet())
+        assertEquals(mapOf(0 to 4, 1 to 4), maxInFlight)
+    }
+
+    @Test
+    fun `rejects non-positive concurrency`() {
+        assertThrows<IllegalArgumentException> { listOf(1).asFlow().mapConcurrently(0) { it } }
+    }
+}
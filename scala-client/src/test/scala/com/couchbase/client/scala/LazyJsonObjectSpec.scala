@@ -0,0 +1,71 @@
+package com.couchbase.client.scala
+
+import java.nio.charset.StandardCharsets
+
+import com.couchbase.client.core.error.InvalidArgumentException
+import com.couchbase.client.scala.codec.Conversions
+import com.couchbase.client.scala.json.{JsonObject, LazyJsonObject}
+import org.junit.jupiter.api.{Assertions, Test}
+
+class LazyJsonObjectSpec {
+
+  val raw =
+    """{"name" : "John Smith", "age":29.50,
+      |"address":[{"address":"123 Fake Street","regional":{"county:":"essex"}}],"alive":true,"pet":null}""".stripMargin
+
+  @Test
+  def read_fields(): Unit = {
+    val j = LazyJsonObject.fromJson(raw)
+    assert(j.str("name") == "John Smith")
+    assert(j.numDouble("age") == 29.5)
+    assert(j.num("age") == 29)
+    assert(j.bool("alive"))
+    assert(j.obj("pet") == null)
+    assert(j.arr("address").obj(0).obj("regional").str("county:") == "essex")
+    assert(j.size == 5)
+    assert(j.containsKey("pet"))
+    assert(!j.containsKey("missing"))
+    Assertions.assertThrows(classOf[NoSuchElementException], () => (j.get("missing")))
+    Assertions.assertThrows(classOf[RuntimeException], () => (j.bool("name")))
+  }
+
+  @Test
+  def untouched_is_written_verbatim(): Unit = {
+    val j = LazyJsonObject.fromJson(raw)
+    j.str("name")
+    j.numDouble("age")
+    assert(j.toString == raw)
+  }
+
+  @Test
+  def modified_fields_are_reencoded(): Unit = {
+    val j = LazyJsonObject.fromJson("""{"a" : 1.50, "b":{"c":2}, "d":"x"}""")
+    j.put("d", "y").remove("missing").put("e", false)
+    j.obj("b").put("c", 3)
+    assert(j.toString == """{"a" : 1.50,"b":{"c":3},"d":"y","e":false}""")
+
+    j.remove("a").remove("b").remove("d").remove("e")
+    assert(j.isEmpty)
+    assert(j.toString == "{}")
+  }
+
+  @Test
+  def converts_to_json_object(): Unit = {
+    val j = LazyJsonObject.fromJson(raw)
+    assert(j.toJsonObject == JsonObject.fromJson(raw))
+  }
+
+  @Test
+  def codec_round_trip(): Unit = {
+    val decoded = Conversions.decode[LazyJsonObject](raw.getBytes(StandardCharsets.UTF_8)).get
+    assert(decoded.str("name") == "John Smith")
+    val encoded = Conversions.encode(decoded).get
+    assert(new String(encoded, StandardCharsets.UTF_8) == raw)
+  }
+
+  @Test
+  def rejects_non_objects(): Unit = {
+    Assertions.assertThrows(classOf[InvalidArgumentException], () => (LazyJsonObject.fromJson("[1,2]")))
+    Assertions.assertThrows(classOf[InvalidArgumentException], () => (LazyJsonObject.fromJson("""{"a":""")))
+  }
+}
@@ -34,6 +34,8 @@ public class JacksonTransformers {
     public static final SimpleModule JSON_VALUE_MODULE = new SimpleModule("JsonValueModule",
         new Version(1, 0, 0, null, null, null));
 
+    private static final JsonValueDeserializer VALUE_DESERIALIZER = new JsonValueDeserializer();
+
     private JacksonTransformers() {}
 
     static {
@@ -125,6 +127,34 @@ public class JacksonTransformers {
             return target;
         }
 
+        protected Object decodeValue(final JsonParser parser, final JsonToken current) throws IOException {
+            if (current == null) {
+                throw new IllegalStateException("Expecting a JSON value, but input was empty");
+            }
+            switch (current) {
+                case START_OBJECT:
+                    return decodeObject(parser, JsonObject.create());
+                case START_ARRAY:
+                    return decodeArray(parser, JsonArray.create());
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    return parser.getBooleanValue();
+                case VALUE_STRING:
+                    return parser.getValueAsString();
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    Number numberValue = parser.getNumberValue();
+                    if (numberValue instanceof Double && decimalForFloat) {
+                        numberValue = parser.getDecimalValue();
+                    }
+                    return numberValue;
+                case VALUE_NULL:
+                    return null;
+                default:
+                    throw new IllegalStateException("Could not decode JSON token: " + current);
+            }
+        }
+
         protected JsonArray decodeArray(final JsonParser parser, final JsonArray target) throws IOException {
             JsonToken current = parser.nextToken();
             while (current != null && current != JsonToken.END_ARRAY) {
@@ -176,6 +206,14 @@ public class JacksonTransformers {
         }
     }
 
+    static class JsonValueDeserializer extends AbstractJsonValueDeserializer<Object> {
+        @Override
+        public Object deserialize(JsonParser jp, DeserializationContext ctx)
+            throws IOException {
+            return decodeValue(jp, jp.getCurrentToken());
+        }
+    }
+
     static class JsonObjectDeserializer extends AbstractJsonValueDeserializer<JsonObject> {
         @Override
         public JsonObject deserialize(JsonParser jp, DeserializationContext ctx)
@@ -189,6 +227,15 @@ public class JacksonTransformers {
         }
     }
 
+    /**
+     * Decodes a single JSON value of any type, as it would be decoded inside a [[JsonObject]].
+     */
+    public static Object bytesToJsonValue(byte[] input, int offset, int length) throws Exception {
+        try (JsonParser parser = MAPPER.getFactory().createParser(input, offset, length)) {
+            return VALUE_DESERIALIZER.decodeValue(parser, parser.nextToken());
+        }
+    }
+
     public static JsonObject stringToJsonObject(String input) throws Exception {
         return MAPPER.readValue(input, JsonObject.class);
     }
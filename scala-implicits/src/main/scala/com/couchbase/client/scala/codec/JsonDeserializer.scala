@@ -17,7 +17,13 @@ package com.couchbase.client.scala.codec
 import java.nio.charset.StandardCharsets
 
 import com.couchbase.client.core.error.DecodingFailureException
-import com.couchbase.client.scala.json.{JsonArray, JsonArraySafe, JsonObject, JsonObjectSafe}
+import com.couchbase.client.scala.json.{
+  JsonArray,
+  JsonArraySafe,
+  JsonObject,
+  JsonObjectSafe,
+  LazyJsonObject
+}
 import com.couchbase.client.scala.transformers.JacksonTransformers
 import io.circe.Json
 import org.json4s.JValue
@@ -86,6 +92,19 @@ object JsonDeserializer {
     }
   }
 
+  /** `JsonDeserializer` converting a binary representation of a document into a `LazyJsonObject`, which only
+    * parses fields when they are accessed.
+    */
+  implicit object LazyJsonObjectConvert extends JsonDeserializer[LazyJsonObject] {
+    override def deserialize(bytes: Array[Byte]): Try[LazyJsonObject] = {
+      val out = Try(LazyJsonObject.fromJson(bytes))
+      out match {
+        case Success(_)   => out
+        case Failure(err) => Failure(new DecodingFailureException(err))
+      }
+    }
+  }
+
   /** `JsonDeserializer` converting a binary representation of a document into a `JsonObjectSafe`. */
   implicit object JsonObjectSafeConvert extends JsonDeserializer[JsonObjectSafe] {
     override def deserialize(bytes: Array[Byte]): Try[JsonObjectSafe] = {
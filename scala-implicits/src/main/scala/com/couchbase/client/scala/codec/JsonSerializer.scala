@@ -16,7 +16,13 @@
 package com.couchbase.client.scala.codec
 
 import com.couchbase.client.core.deps.io.netty.util.CharsetUtil
-import com.couchbase.client.scala.json.{JsonArray, JsonArraySafe, JsonObject, JsonObjectSafe}
+import com.couchbase.client.scala.json.{
+  JsonArray,
+  JsonArraySafe,
+  JsonObject,
+  JsonObjectSafe,
+  LazyJsonObject
+}
 import com.couchbase.client.scala.kv.MutateInMacro
 import com.couchbase.client.scala.transformers.JacksonTransformers
 
@@ -76,6 +82,16 @@ object JsonSerializer {
     }
   }
 
+  /** `JsonSerializer` that can convert a `LazyJsonObject` into `Array[Byte]` for sending to the server.
+    *
+    * Fields that have not been modified are written back verbatim.
+    */
+  implicit object LazyJsonObjectConvert extends JsonSerializer[LazyJsonObject] {
+    override def serialize(content: LazyJsonObject): Try[Array[Byte]] = {
+      Try(content.toBytes)
+    }
+  }
+
   /** `JsonSerializer` that can convert a `JsonObjectSafe` into `Array[Byte]` for sending to the server. */
   implicit object JsonObjectSafeConvert extends JsonSerializer[JsonObjectSafe] {
     override def serialize(content: JsonObjectSafe): Try[Array[Byte]] = {
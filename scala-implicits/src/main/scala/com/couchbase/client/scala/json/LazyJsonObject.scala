@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2024 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.scala.json
+
+import java.io.ByteArrayOutputStream
+import java.nio.charset.StandardCharsets
+import java.util
+
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonToken
+import com.couchbase.client.core.error.InvalidArgumentException
+import com.couchbase.client.scala.transformers.JacksonTransformers
+
+import scala.collection.{Set => CSet, mutable}
+import scala.util.control.NonFatal
+
+/** A representation of a JSON object that keeps the raw bytes of the document, and only parses fields when they are
+  * first accessed.
+  *
+  * Decoding a `LazyJsonObject` only builds an index of where each top-level field is in the document.  This makes
+  * reading a handful of fields from a large document much cheaper than decoding it into a [[JsonObject]], which
+  * parses every field up front.
+  *
+  * It can be modified with `put` and `remove`.  When it is encoded again, fields that have not been modified are
+  * written back verbatim from the original bytes.  Fields holding a [[JsonObject]] or [[JsonArray]] that has been
+  * accessed are re-encoded, as the returned object may since have been mutated.
+  *
+  * Nested objects are returned as regular [[JsonObject]]s, so only the top level is lazy.
+  *
+  * Like [[JsonObject]], many methods will throw exceptions, for instance if a field is requested that does not exist.
+  *
+  * @define Name              the field's key
+  * @define NotExist          if the field does not exist
+  * @define SupportedNumTypes the supported number types (Int, Double, Float, Long, Short)
+  */
+final class LazyJsonObject private (
+    private val bytes: Array[Byte],
+    private val index: util.LinkedHashMap[String, LazyJsonObject.Slice]
+) {
+  // Values of original fields that have been parsed
+  private val parsed = new util.HashMap[String, Any]()
+  // Fields that have been put, whether they were in the original document or not
+  private val changed = new util.LinkedHashMap[String, Any]()
+  // Original fields that have been removed
+  private val removed = new util.HashSet[String]()
+
+  /** Gets a value from this object, parsing it if it has not been accessed before.
+    *
+    * @param name  $Name
+    *
+    * @throws NoSuchElementException $NotExist
+    */
+  def get(name: String): Any = {
+    if (changed.containsKey(name)) {
+      changed.get(name)
+    } else {
+      val slice = if (removed.contains(name)) null else index.get(name)
+      if (slice == null) {
+        throw new NoSuchElementException(s"Field $name does not exist")
+      }
+      val cached = parsed.get(name)
+      if (cached != null || parsed.containsKey(name)) {
+        cached
+      } else {
+        val value =
+          try {
+            JacksonTransformers.bytesToJsonValue(bytes, slice.valueStart, slice.valueEnd - slice.valueStart)
+          } catch {
+            case NonFatal(err) =>
+              throw new InvalidArgumentException(s"Failed to decode field $name", err, null)
+          }
+        parsed.put(name, value)
+        value
+      }
+    }
+  }
+
+  /** Gets a String value from this object.
+    *
+    * If that value is not itself a String, its `toString` value will be returned.  If the value is `null`, then
+    * `null` will be returned.
+    *
+    * @param name  $Name
+    *
+    * @throws NoSuchElementException $NotExist
+    */
+  def str(name: String): String = ValueConvertor.str(get(name), name)
+
+  /** Gets an Int value from this object, converting it as [[JsonObject.num]] does.
+    *
+    * @param name  $Name
+    *
+    * @throws NoSuchElementException   $NotExist
+    * @throws InvalidArgumentException  if the value was not one of $SupportedNumTypes or String
+    */
+  def num(name: String): Int = ValueConvertor.num(get(name), name)
+
+  /** Gets a Long value from this object, converting it as [[JsonObject.numLong]] does.
+    *
+    * @param name  $Name
+    *
+    * @throws NoSuchElementException   $NotExist
+    * @throws InvalidArgumentException  if the value was not one of $SupportedNumTypes or String
+    */
+  def numLong(name: String): Long = ValueConvertor.numLong(get(name), name)
+
+  /** Gets a Double value from this object, converting it as [[JsonObject.numDouble]] does.
+    *
+    * @param name  $Name
+    *
+    * @throws NoSuchElementException   $NotExist
+    * @throws InvalidArgumentException  if the value was not one of $SupportedNumTypes or String
+    */
+  def numDouble(name: String): Double = ValueConvertor.numDouble(get(name), name)
+
+  /** Gets a Float value from this object, converting it as [[JsonObject.numFloat]] does.
+    *
+    * @param name  $Name
+    *
+    * @throws NoSuchElementException   $NotExist
+    * @throws InvalidArgumentException  if the value was not one of $SupportedNumTypes or String
+    */
+  def numFloat(name: String): Float = ValueConvertor.numFloat(get(name), name)
+
+  /** Gets a Boolean value from this object.
+    *
+    * @param name  $Name
+    *
+    * @throws NoSuchElementException   $NotExist
+    * @throws InvalidArgumentException  if the value was not a Boolean
+    */
+  def bool(name: String): Boolean = ValueConvertor.bool(get(name), name)
+
+  /** Gets a `JsonObject` value from this object.
+    *
+    * If that value is `null`, then `null` will be returned.
+    *
+    * @param name  $Name
+    *
+    * @throws NoSuchElementException   $NotExist
+    * @throws InvalidArgumentException  if the value was not of type `JsonObject`
+    */
+  def obj(name: String): JsonObject = ValueConvertor.obj(get(name), name)
+
+  /** Gets a `JsonArray` value from this object.
+    *
+    * If that value is `null`, then `null` will be returned.
+    *
+    * @param name  $Name
+    *
+    * @throws NoSuchElementException   $NotExist
+    * @throws InvalidArgumentException  if the value was not of type `JsonArray`
+    */
+  def arr(name: String): JsonArray = ValueConvertor.arr(get(name), name)
+
+  /** Puts a value into this object, which should be of one of the types supported by [[JsonObject]].
+    *
+    * This mutates this object.  The returned `LazyJsonObject` is a reference to this, not a copy.
+    *
+    * @param name  $Name
+    *
+    * @return a reference to this, to allow chaining operations
+    */
+  def put(name: String, value: Any): LazyJsonObject = {
+    removed.remove(name)
+    parsed.remove(name)
+    changed.put(name, value)
+    this
+  }
+
+  /** Removes a key from this object.
+    *
+    * This mutates this object.  The returned `LazyJsonObject` is a reference to this, not a copy.
+    *
+    * If the object does not contain the key then this is a no-op.
+    *
+    * @param name  $Name
+    *
+    * @return a reference to this, to allow chaining operations
+    */
+  def remove(name: String): LazyJsonObject = {
+    changed.remove(name)
+    parsed.remove(name)
+    if (index.containsKey(name)) {
+      removed.add(name)
+    }
+    this
+  }
+
+  /** Returns true if this contains a key.
+    *
+    * @param name  $Name
+    */
+  def containsKey(name: String): Boolean = {
+    changed.containsKey(name) || (index.containsKey(name) && !removed.contains(name))
+  }
+
+  /** Returns a `collection.Set` of all keys in this, in document order followed by any added keys. */
+  def names: CSet[String] = {
+    val out = mutable.LinkedHashSet[String]()
+    index.keySet.forEach(name => if (!removed.contains(name)) out += name)
+    changed.keySet.forEach(name => out += name)
+    out
+  }
+
+  /** Returns the number of keys in this. */
+  def size: Int = names.size
+
+  /** Returns true if this contains no keys. */
+  def isEmpty: Boolean = size == 0
+
+  /** Returns true if this contains keys. */
+  def nonEmpty: Boolean = !isEmpty
+
+  /** Parses all fields that have not been parsed yet, and returns them as a [[JsonObject]]. */
+  def toJsonObject: JsonObject = {
+    val out = JsonObject.create
+    names.foreach(name => out.put(name, get(name)))
+    out
+  }
+
+  /** Encodes this object, writing back every field that has not been modified verbatim. */
+  def toBytes: Array[Byte] = {
+    if (changed.isEmpty && removed.isEmpty && !parsed.values.stream.anyMatch(v => LazyJsonObject.isContainer(v))) {
+      bytes
+    } else {
+      val out   = new ByteArrayOutputStream(bytes.length + 16)
+      var first = true
+
+      def startField(): Unit = {
+        out.write(if (first) '{' else ',')
+        first = false
+      }
+
+      def writeEncoded(name: String, value: Any): Unit = {
+        startField()
+        out.write(JacksonTransformers.MAPPER.writeValueAsBytes(name))
+        out.write(':')
+        out.write(JacksonTransformers.MAPPER.writeValueAsBytes(value))
+      }
+
+      index.forEach((name, slice) => {
+        if (changed.containsKey(name)) {
+          writeEncoded(name, changed.get(name))
+        } else if (!removed.contains(name)) {
+          val value = parsed.get(name)
+          if (LazyJsonObject.isContainer(value)) {
+            writeEncoded(name, value)
+          } else {
+            startField()
+            out.write(bytes, slice.nameStart, slice.valueEnd - slice.nameStart)
+          }
+        }
+      })
+      changed.forEach((name, value) => if (!index.containsKey(name)) writeEncoded(name, value))
+
+      if (first) out.write('{')
+      out.write('}')
+      out.toByteArray
+    }
+  }
+
+  /** Returns the JSON this object encodes to, e.g. """{"foo":"bar"}""". */
+  override def toString: String = new String(toBytes, StandardCharsets.UTF_8)
+}
+
+/** Methods to construct a `LazyJsonObject`. */
+object LazyJsonObject {
+
+  /** Where a top-level field is in the document: the start of its name, and the bounds of its value. */
+  private[json] case class Slice(nameStart: Int, valueStart: Int, valueEnd: Int)
+
+  private[json] def isContainer(value: Any): Boolean = value match {
+    case _: JsonObject | _: JsonArray | _: JsonObjectSafe | _: JsonArraySafe => true
+    case _                                                                   => false
+  }
+
+  /** Constructs a `LazyJsonObject` from the bytes of a JSON object.
+    *
+    * Only the top-level structure is scanned; field values are parsed on first access.  The array must not be
+    * modified afterwards.
+    *
+    * @throws InvalidArgumentException if the bytes do not contain a valid JSON object
+    */
+  def fromJson(bytes: Array[Byte]): LazyJsonObject = {
+    try {
+      new LazyJsonObject(bytes, buildIndex(bytes))
+    } catch {
+      case NonFatal(err) => throw new InvalidArgumentException("Failed to decode json", err, null)
+    }
+  }
+
+  /** Constructs a `LazyJsonObject` from a String representing a valid JSON object ("""{"foo":"bar"}""").
+    *
+    * @throws InvalidArgumentException if the String does not contain a valid JSON object
+    */
+  def fromJson(json: String): LazyJsonObject = fromJson(json.getBytes(StandardCharsets.UTF_8))
+
+  private def buildIndex(bytes: Array[Byte]): util.LinkedHashMap[String, Slice] = {
+    val index  = new util.LinkedHashMap[String, Slice]()
+    val parser = JacksonTransformers.MAPPER.getFactory.createParser(bytes)
+    try {
+      val start = parser.nextToken()
+      if (start != JsonToken.START_OBJECT) {
+        throw new IllegalStateException(s"Expecting Object as root level object, was: $start")
+      }
+
+      var token = parser.nextToken()
+      while (token == JsonToken.FIELD_NAME) {
+        val name      = parser.getCurrentName
+        val nameStart = parser.getTokenLocation.getByteOffset.toInt
+        val value     = parser.nextToken()
+        val valueStart = parser.getTokenLocation.getByteOffset.toInt
+        if (value.isStructStart) parser.skipChildren() else parser.finishToken()
+        val valueEnd = parser.getCurrentLocation.getByteOffset.toInt
+
+        // Like JsonObject, the last of any duplicate fields wins
+        index.remove(name)
+        index.put(name, Slice(nameStart, valueStart, valueEnd))
+        token = parser.nextToken()
+      }
+
+      if (token != JsonToken.END_OBJECT) {
+        throw new IllegalStateException(s"Expecting end of object, was: $token")
+      }
+      index
+    } finally {
+      parser.close()
+    }
+  }
+}
@@ -102,6 +102,11 @@ public class OpenTelemetryRequestSpan implements RequestSpan {
     span.end();
   }
 
+  @Override
+  public void end(Instant endTime) {
+    span.end(endTime);
+  }
+
   @Override
   public void requestContext(final RequestContext requestContext) {
     // no need for the request context in this implementation
@@ -34,6 +34,7 @@ import reactor.util.annotation.Nullable;
 
 import java.net.URL;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Enumeration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -137,6 +138,11 @@ public class OpenTelemetryRequestTracer implements RequestTracer, GrpcAwareReque
 
   @Override
   public RequestSpan requestSpan(String operationName, RequestSpan parent) {
+    return requestSpan(operationName, parent, null);
+  }
+
+  @Override
+  public RequestSpan requestSpan(String operationName, RequestSpan parent, @Nullable Instant startTime) {
     try {
       SpanBuilder spanBuilder = tracer.spanBuilder(operationName)
               // Per https://github.com/open-telemetry/opentelemetry-specification/blob/main/specification/trace/semantic_conventions/database.md
@@ -146,6 +152,9 @@ public class OpenTelemetryRequestTracer implements RequestTracer, GrpcAwareReque
       if (parent != null) {
         parentContext = parentContext.with(castSpan(parent));
       }
+      if (startTime != null) {
+        spanBuilder.setStartTimestamp(startTime);
+      }
       Span span = spanBuilder.setParent(parentContext).startSpan();
       return OpenTelemetryRequestSpan.wrap(span);
     } catch (Exception ex) {
@@ -100,6 +100,13 @@ public class OpenTracingRequestSpan implements RequestSpan {
     }
   }
 
+  @Override
+  public void end(final Instant endTime) {
+    try (Scope scope = this.tracer.activateSpan(span)) {
+      span.finish(ChronoUnit.MICROS.between(Instant.EPOCH, endTime));
+    }
+  }
+
   @Override
   public void requestContext(final RequestContext requestContext) {
     // the request context is not needed at this point
@@ -24,6 +24,8 @@ import io.opentracing.Tracer;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Wraps the OpenTracing tracer so it is suitable to be passed in into the couchbase environment and picked up
@@ -65,11 +67,19 @@ public class OpenTracingRequestTracer implements RequestTracer {
 
   @Override
   public RequestSpan requestSpan(final String operationName, final RequestSpan parent) {
+    return requestSpan(operationName, parent, null);
+  }
+
+  @Override
+  public RequestSpan requestSpan(final String operationName, final RequestSpan parent, final Instant startTime) {
     try {
       Tracer.SpanBuilder builder = tracer.buildSpan(operationName);
       if (parent != null) {
         builder.asChildOf(castSpan(parent));
       }
+      if (startTime != null) {
+        builder.withStartTimestamp(ChronoUnit.MICROS.between(Instant.EPOCH, startTime));
+      }
       Span span = builder.start();
       tracer.activateSpan(span).close();
       return OpenTracingRequestSpan.wrap(tracer, span);